@@ -0,0 +1,115 @@
+package com.ecom.api_gateway.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the anonymous catalog response cache (gateway.response-cache.*).
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    // Total body bytes kept in memory
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    // Larger responses are passed through without caching
+    private DataSize maxEntrySize = DataSize.ofKilobytes(512);
+
+    // Requests carrying one of these cookies are treated as authenticated
+    private List<String> authCookieNames = new ArrayList<>(List.of("accessToken"));
+
+    // Cacheable GET paths with their TTL, first match wins
+    private List<Route> routes = new ArrayList<>();
+
+    // Successful non-GET requests on these paths purge the cache
+    private List<String> purgePaths = new ArrayList<>();
+
+    // Mutations that never change a cached response beyond its TTL (checkout reservations), excluded from purge-paths
+    private List<String> purgeExcludePaths = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public DataSize getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    public void setMaxEntrySize(DataSize maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    public List<String> getAuthCookieNames() {
+        return authCookieNames;
+    }
+
+    public void setAuthCookieNames(List<String> authCookieNames) {
+        this.authCookieNames = authCookieNames;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<Route> routes) {
+        this.routes = routes;
+    }
+
+    public List<String> getPurgePaths() {
+        return purgePaths;
+    }
+
+    public void setPurgePaths(List<String> purgePaths) {
+        this.purgePaths = purgePaths;
+    }
+
+    public List<String> getPurgeExcludePaths() {
+        return purgeExcludePaths;
+    }
+
+    public void setPurgeExcludePaths(List<String> purgeExcludePaths) {
+        this.purgeExcludePaths = purgeExcludePaths;
+    }
+
+    public static class Route {
+
+        private String path;
+        private Duration ttl = Duration.ofSeconds(30);
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
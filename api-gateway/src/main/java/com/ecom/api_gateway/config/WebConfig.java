@@ -26,7 +26,10 @@ public class WebConfig {
         corsConfig.setExposedHeaders(Arrays.asList(
             "Authorization",
             "Content-Disposition",
-            "Content-Type"
+            "Content-Type",
+            "ETag",
+            "Last-Modified",
+            "X-Cache"
         ));
         
         corsConfig.setAllowCredentials(true);
@@ -0,0 +1,388 @@
+package com.ecom.api_gateway.filter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.ecom.api_gateway.config.ResponseCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory cache for anonymous GET responses on public catalog routes.
+ *
+ * - Only routes listed in gateway.response-cache.routes are cached, each with its own TTL
+ * - Requests with an Authorization header or auth cookie always go to the service
+ * - Upstream Cache-Control is honoured: no-store / no-cache / private are never stored,
+ *   s-maxage / max-age can only shorten the route TTL
+ * - Successful mutations on gateway.response-cache.purge-paths clear the whole cache,
+ *   except those on purge-exclude-paths (checkout reservations)
+ *
+ * Responses carry X-Cache: HIT | MISS | BYPASS.
+ */
+@Component
+public class CatalogResponseCacheFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogResponseCacheFilter.class);
+
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private static final String LOCALE_COOKIE = "LOCALE";
+
+    private static final Set<HttpMethod> MUTATION_METHODS = Set.of(
+            HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    // Upstream headers replayed on a cache hit
+    private static final List<String> STORED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.VARY);
+
+    private final ResponseCacheProperties properties;
+    private final List<RouteRule> routeRules;
+    private final List<PathPattern> purgePatterns;
+    private final List<PathPattern> purgeExcludePatterns;
+    private final Cache<String, CachedResponse> cache;
+
+    public CatalogResponseCacheFilter(ResponseCacheProperties properties) {
+        this.properties = properties;
+
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        this.routeRules = properties.getRoutes().stream()
+                .map(route -> new RouteRule(parser.parse(route.getPath()), route.getTtl()))
+                .toList();
+        this.purgePatterns = properties.getPurgePaths().stream()
+                .map(parser::parse)
+                .toList();
+        this.purgeExcludePatterns = properties.getPurgeExcludePaths().stream()
+                .map(parser::parse)
+                .toList();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+                        return response.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse response, long currentTime,
+                            long currentDuration) {
+                        return response.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse response, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    // Must wrap the response before NettyWriteResponseFilter writes the upstream body
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        PathContainer path = request.getPath().pathWithinApplication();
+
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            if (MUTATION_METHODS.contains(request.getMethod()) && matchesAny(purgePatterns, path)
+                    && !matchesAny(purgeExcludePatterns, path)) {
+                return chain.filter(exchange).doOnSuccess(done -> purgeIfSuccessful(exchange));
+            }
+            return chain.filter(exchange);
+        }
+
+        Duration routeTtl = findRouteTtl(path);
+        if (routeTtl == null) {
+            return chain.filter(exchange);
+        }
+
+        if (isAuthenticated(request)) {
+            exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "BYPASS");
+            return chain.filter(exchange);
+        }
+
+        String requestCacheControl = cacheControlOf(request.getHeaders());
+        boolean noStore = hasDirective(requestCacheControl, "no-store");
+        boolean noCache = noStore || hasDirective(requestCacheControl, "no-cache")
+                || hasDirective(request.getHeaders().getFirst(HttpHeaders.PRAGMA), "no-cache");
+
+        String key = cacheKey(request);
+        if (!noCache) {
+            CachedResponse cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return writeCached(exchange, cached);
+            }
+        }
+
+        if (noStore) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpResponse cachingResponse = new CachingResponse(exchange.getResponse(), key, routeTtl);
+        return chain.filter(exchange.mutate().response(cachingResponse).build());
+    }
+
+    public void purgeAll() {
+        cache.invalidateAll();
+    }
+
+    private void purgeIfSuccessful(ServerWebExchange exchange) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status != null && status.is2xxSuccessful()) {
+            log.debug("Purging catalog response cache after {} {}",
+                    exchange.getRequest().getMethod(), exchange.getRequest().getPath());
+            purgeAll();
+        }
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.headers());
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+        headers.set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds()));
+
+        if (cached.matchesAny(exchange.getRequest().getHeaders().getIfNoneMatch())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private Duration findRouteTtl(PathContainer path) {
+        return routeRules.stream()
+                .filter(rule -> rule.pattern().matches(path))
+                .map(RouteRule::ttl)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private boolean isAuthenticated(ServerHttpRequest request) {
+        if (request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+            return true;
+        }
+        return properties.getAuthCookieNames().stream()
+                .anyMatch(name -> request.getCookies().containsKey(name));
+    }
+
+    // Same URL can still differ by language (Accept-Language header or LOCALE cookie)
+    private String cacheKey(ServerHttpRequest request) {
+        HttpCookie locale = request.getCookies().getFirst(LOCALE_COOKIE);
+        return request.getURI().getRawPath()
+                + "?" + (request.getURI().getRawQuery() != null ? request.getURI().getRawQuery() : "")
+                + "|" + (request.getHeaders().getFirst(HttpHeaders.ACCEPT_LANGUAGE) != null
+                        ? request.getHeaders().getFirst(HttpHeaders.ACCEPT_LANGUAGE) : "")
+                + "|" + (locale != null ? locale.getValue() : "");
+    }
+
+    private static boolean matchesAny(List<PathPattern> patterns, PathContainer path) {
+        return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private static String cacheControlOf(HttpHeaders headers) {
+        return headers.getCacheControl();
+    }
+
+    private static boolean hasDirective(String headerValue, String directive) {
+        if (headerValue == null) {
+            return false;
+        }
+        for (String part : headerValue.toLowerCase(Locale.ROOT).split(",")) {
+            if (part.trim().equals(directive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * TTL allowed by the upstream Cache-Control, capped by the route TTL; null when the response must not be stored.
+     */
+    static Duration allowedTtl(String cacheControl, Duration routeTtl) {
+        if (cacheControl == null || cacheControl.isBlank()) {
+            return routeTtl;
+        }
+
+        Long maxAge = null;
+        Long sharedMaxAge = null;
+        for (String part : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            String directive = part.trim();
+            if (directive.equals("no-store") || directive.equals("no-cache") || directive.equals("private")) {
+                return null;
+            }
+            if (directive.startsWith("s-maxage=")) {
+                sharedMaxAge = parseSeconds(directive.substring("s-maxage=".length()));
+            } else if (directive.startsWith("max-age=")) {
+                maxAge = parseSeconds(directive.substring("max-age=".length()));
+            }
+        }
+
+        Long seconds = sharedMaxAge != null ? sharedMaxAge : maxAge;
+        if (seconds == null) {
+            return routeTtl;
+        }
+        if (seconds <= 0) {
+            return null;
+        }
+        Duration upstreamTtl = Duration.ofSeconds(seconds);
+        return upstreamTtl.compareTo(routeTtl) < 0 ? upstreamTtl : routeTtl;
+    }
+
+    private static Long parseSeconds(String value) {
+        try {
+            return Long.parseLong(value.replace("\"", "").trim());
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private record RouteRule(PathPattern pattern, Duration ttl) {
+    }
+
+    private record CachedResponse(HttpHeaders headers, byte[] body, Duration ttl, long storedAtMillis) {
+
+        long ageSeconds() {
+            return Math.max(0, (System.currentTimeMillis() - storedAtMillis) / 1000);
+        }
+
+        boolean matchesAny(List<String> ifNoneMatch) {
+            String eTag = headers.getETag();
+            if (eTag == null || ifNoneMatch.isEmpty()) {
+                return false;
+            }
+            String current = stripWeak(eTag);
+            return ifNoneMatch.stream().anyMatch(candidate -> candidate.equals("*") || stripWeak(candidate).equals(current));
+        }
+
+        private static String stripWeak(String eTag) {
+            return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+        }
+    }
+
+    /**
+     * Buffers a cacheable upstream body, stores it, then writes it to the client unchanged.
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final Duration routeTtl;
+
+        CachingResponse(ServerHttpResponse delegate, String key, Duration routeTtl) {
+            super(delegate);
+            this.key = key;
+            this.routeTtl = routeTtl;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+
+            Duration ttl = storableTtl();
+            if (ttl == null) {
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(Flux.from(body))
+                    .flatMap(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+
+                        if (bytes.length <= properties.getMaxEntrySize().toBytes()) {
+                            cache.put(key, new CachedResponse(copyStoredHeaders(), bytes, ttl, System.currentTimeMillis()));
+                        }
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    })
+                    .switchIfEmpty(Mono.defer(() -> super.writeWith(Flux.empty())));
+        }
+
+        private Duration storableTtl() {
+            HttpStatusCode status = getStatusCode();
+            if (status == null || status.value() != HttpStatus.OK.value()) {
+                return null;
+            }
+
+            HttpHeaders headers = getHeaders();
+            if (headers.containsKey(HttpHeaders.SET_COOKIE) || headers.getVary().contains("*")) {
+                return null;
+            }
+
+            MediaType contentType = headers.getContentType();
+            if (contentType == null || !isJson(contentType)) {
+                return null;
+            }
+
+            long contentLength = headers.getContentLength();
+            if (contentLength > properties.getMaxEntrySize().toBytes()) {
+                return null;
+            }
+
+            return allowedTtl(headers.getCacheControl(), routeTtl);
+        }
+
+        private boolean isJson(MediaType contentType) {
+            return contentType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                    || (contentType.getSubtypeSuffix() != null && contentType.getSubtypeSuffix().equals("json"));
+        }
+
+        private HttpHeaders copyStoredHeaders() {
+            HttpHeaders stored = new HttpHeaders();
+            for (String name : STORED_HEADERS) {
+                List<String> values = getHeaders().get(name);
+                if (values != null) {
+                    stored.put(name, List.copyOf(values));
+                }
+            }
+            return HttpHeaders.readOnlyHttpHeaders(stored);
+        }
+    }
+}
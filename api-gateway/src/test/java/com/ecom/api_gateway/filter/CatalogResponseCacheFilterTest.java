@@ -0,0 +1,166 @@
+package com.ecom.api_gateway.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.ecom.api_gateway.config.ResponseCacheProperties;
+
+import reactor.core.publisher.Mono;
+
+class CatalogResponseCacheFilterTest {
+
+    private static final String PUBLIC_CACHE_CONTROL = "public, max-age=0, s-maxage=60";
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CatalogResponseCacheFilter filter = new CatalogResponseCacheFilter(properties());
+
+    // Anonymous reads
+    @Test
+    void shouldServeSecondAnonymousGetFromCache() {
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/v1/products?page=0"));
+        filter.filter(first, upstream(PUBLIC_CACHE_CONTROL)).block();
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/api/v1/products?page=0"));
+        filter.filter(second, upstream(PUBLIC_CACHE_CONTROL)).block();
+
+        assertEquals("MISS", cacheStatus(first));
+        assertEquals("HIT", cacheStatus(second));
+        assertEquals("{\"call\":1}", second.getResponse().getBodyAsString().block());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldKeySeparatelyByQueryAndLanguage() {
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products?page=0")), upstream(PUBLIC_CACHE_CONTROL)).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products?page=1")), upstream(PUBLIC_CACHE_CONTROL)).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products?page=0")
+                .header(HttpHeaders.ACCEPT_LANGUAGE, "vi")), upstream(PUBLIC_CACHE_CONTROL)).block();
+
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldBypassAuthenticatedRequests() {
+        for (int i = 0; i < 2; i++) {
+            MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/products")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+            filter.filter(exchange, upstream(PUBLIC_CACHE_CONTROL)).block();
+            assertEquals("BYPASS", cacheStatus(exchange));
+        }
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products")
+                .cookie(new HttpCookie("accessToken", "token"))), upstream(PUBLIC_CACHE_CONTROL)).block();
+
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldNotStorePrivateResponses() {
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products")), upstream("private, no-cache")).block();
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/api/v1/products"));
+        filter.filter(second, upstream("private, no-cache")).block();
+
+        assertEquals("MISS", cacheStatus(second));
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldIgnoreRoutesThatAreNotConfigured() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/orders"));
+        filter.filter(exchange, upstream(PUBLIC_CACHE_CONTROL)).block();
+
+        assertNull(cacheStatus(exchange));
+    }
+
+    // Purge
+    @Test
+    void shouldPurgeAfterSuccessfulMutation() {
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products")), upstream(PUBLIC_CACHE_CONTROL)).block();
+
+        filter.filter(exchange(MockServerHttpRequest.put("/api/v1/products/1")), upstream(PUBLIC_CACHE_CONTROL)).block();
+        MockServerWebExchange reread = exchange(MockServerHttpRequest.get("/api/v1/products"));
+        filter.filter(reread, upstream(PUBLIC_CACHE_CONTROL)).block();
+
+        assertEquals("MISS", cacheStatus(reread));
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldNotPurgeOnExcludedMutation() {
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products")), upstream(PUBLIC_CACHE_CONTROL)).block();
+
+        filter.filter(exchange(MockServerHttpRequest.post("/api/v1/variants/7/reservations")), upstream(PUBLIC_CACHE_CONTROL)).block();
+        MockServerWebExchange afterReserve = exchange(MockServerHttpRequest.get("/api/v1/products"));
+        filter.filter(afterReserve, upstream(PUBLIC_CACHE_CONTROL)).block();
+        assertEquals("HIT", cacheStatus(afterReserve));
+
+        filter.filter(exchange(MockServerHttpRequest.patch("/api/v1/variants/7/stock")), upstream(PUBLIC_CACHE_CONTROL)).block();
+        MockServerWebExchange afterStockWrite = exchange(MockServerHttpRequest.get("/api/v1/products"));
+        filter.filter(afterStockWrite, upstream(PUBLIC_CACHE_CONTROL)).block();
+        assertEquals("MISS", cacheStatus(afterStockWrite));
+    }
+
+    // Upstream Cache-Control
+    @Test
+    void shouldCapUpstreamTtlByRouteTtl() {
+        Duration routeTtl = Duration.ofSeconds(30);
+
+        assertEquals(routeTtl, CatalogResponseCacheFilter.allowedTtl(null, routeTtl));
+        assertEquals(routeTtl, CatalogResponseCacheFilter.allowedTtl("public, s-maxage=600", routeTtl));
+        assertEquals(Duration.ofSeconds(10), CatalogResponseCacheFilter.allowedTtl("public, max-age=0, s-maxage=10", routeTtl));
+        assertEquals(Duration.ofSeconds(5), CatalogResponseCacheFilter.allowedTtl("max-age=5", routeTtl));
+    }
+
+    @Test
+    void shouldRefuseTtlForUncacheableResponses() {
+        Duration routeTtl = Duration.ofSeconds(30);
+
+        assertNull(CatalogResponseCacheFilter.allowedTtl("no-store", routeTtl));
+        assertNull(CatalogResponseCacheFilter.allowedTtl("private, max-age=60", routeTtl));
+        assertNull(CatalogResponseCacheFilter.allowedTtl("public, max-age=0", routeTtl));
+    }
+
+    private GatewayFilterChain upstream(String cacheControl) {
+        return exchange -> {
+            int call = upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setCacheControl(cacheControl);
+            byte[] body = ("{\"call\":" + call + "}").getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+
+    private static String cacheStatus(MockServerWebExchange exchange) {
+        return exchange.getResponse().getHeaders().getFirst(CatalogResponseCacheFilter.CACHE_STATUS_HEADER);
+    }
+
+    private static ResponseCacheProperties properties() {
+        ResponseCacheProperties.Route products = new ResponseCacheProperties.Route();
+        products.setPath("/api/v1/products/**");
+        products.setTtl(Duration.ofSeconds(30));
+
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setRoutes(List.of(products));
+        properties.setPurgePaths(List.of("/api/v1/products/**", "/api/v1/variants/**"));
+        properties.setPurgeExcludePaths(List.of("/api/v1/variants/*/reservations"));
+        return properties;
+    }
+}
@@ -0,0 +1,165 @@
+package com.ecom.product_service.cache;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-filter cache of catalog COUNT(*) results used for approximate page totals.
+ *
+ * A cold key is counted once (concurrent callers share the same load). After
+ * refresh-after, the stale value keeps being served while a single background
+ * recount runs; entries are dropped entirely after expire-after. Writes do not evict:
+ * staleness is bounded by those two settings, and listings flag cached totals as approximate.
+ *
+ * Option facet counts of a listing are cached under the same keys; they are loaded once
+ * per key and simply expire after refresh-after.
+ */
+@Slf4j
+@Component
+public class CatalogCountCache {
+
+    private final Cache<String, CachedCount> counts;
+    private final Cache<String, Map<String, Map<String, Long>>> facets;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final TaskExecutor taskExecutor;
+    private final Duration refreshAfter;
+
+    public CatalogCountCache(
+            TaskExecutor taskExecutor,
+            @Value("${catalog.count-cache.max-size:10000}") long maxSize,
+            @Value("${catalog.count-cache.refresh-after:30s}") Duration refreshAfter,
+            @Value("${catalog.count-cache.expire-after:10m}") Duration expireAfter) {
+        this.taskExecutor = taskExecutor;
+        this.refreshAfter = refreshAfter;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfter)
+                .build();
+        this.facets = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(refreshAfter)
+                .build();
+    }
+
+    /**
+     * Builds a cache key from a query scope and its filter values, e.g. key("brands", search).
+     */
+    public static String key(String scope, Object... filters) {
+        return Stream.concat(Stream.of(scope), Stream.of(filters).map(CatalogCountCache::normalize))
+                .collect(Collectors.joining("|"));
+    }
+
+    /**
+     * Returns the cached count for the key, counting synchronously only on a cold miss.
+     */
+    public long getCount(String key, LongSupplier exactCount) {
+        return lookup(key, exactCount).count();
+    }
+
+    /**
+     * Total supplier for PageableExecutionUtils.getPage: exact COUNT when requested, cached otherwise.
+     * Once the page is built, {@link PageTotal#isApproximate()} tells whether the total came from the cache.
+     */
+    public PageTotal totalSupplier(String key, LongSupplier exactCount, boolean exact) {
+        return new PageTotal(key, exactCount, exact);
+    }
+
+    /**
+     * Returns the cached option facets (name -> value -> product count) for the key, loading them on a miss.
+     */
+    public Map<String, Map<String, Long>> getFacets(String key, Supplier<Map<String, Map<String, Long>>> loader) {
+        return facets.get(key, k -> loader.get());
+    }
+
+    private CachedCount lookup(String key, LongSupplier exactCount) {
+        CachedCount cached = counts.get(key, k -> new CachedCount(exactCount.getAsLong(), System.nanoTime()));
+
+        if (cached.isOlderThan(refreshAfter) && refreshing.add(key)) {
+            scheduleRefresh(key, exactCount);
+        }
+        return cached;
+    }
+
+    private void scheduleRefresh(String key, LongSupplier exactCount) {
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    counts.put(key, new CachedCount(exactCount.getAsLong(), System.nanoTime()));
+                } catch (RuntimeException e) {
+                    log.warn("Failed to refresh catalog count for key {}: {}", key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.remove(key);
+            log.warn("Could not schedule catalog count refresh for key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static String normalize(Object filter) {
+        if (filter == null) {
+            return "";
+        }
+        return filter instanceof String text
+                ? text.toLowerCase(Locale.ROOT)
+                : Objects.toString(filter);
+    }
+
+    /**
+     * Page total of one listing request. Not approximate when the total was counted for this
+     * request: exact requested, a cold key, or never asked because the page itself gave the total.
+     */
+    public final class PageTotal implements LongSupplier {
+
+        private final String key;
+        private final LongSupplier exactCount;
+        private final boolean exact;
+        private boolean approximate;
+
+        private PageTotal(String key, LongSupplier exactCount, boolean exact) {
+            this.key = key;
+            this.exactCount = exactCount;
+            this.exact = exact;
+        }
+
+        @Override
+        public long getAsLong() {
+            if (exact) {
+                return exactCount.getAsLong();
+            }
+            long requestedAt = System.nanoTime();
+            CachedCount cached = lookup(key, exactCount);
+            approximate = cached.loadedAtNanos() < requestedAt;
+            return cached.count();
+        }
+
+        public boolean isApproximate() {
+            return approximate;
+        }
+    }
+
+    private record CachedCount(long count, long loadedAtNanos) {
+
+        boolean isOlderThan(Duration age) {
+            return System.nanoTime() - loadedAtNanos > age.toNanos();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ecom.product_service.cache;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ecom.datasource.PrimaryPinning;
+import com.ecom.product_service.dto.PriceSeriesBucket;
+import com.ecom.product_service.event.PriceHistoryChangedEvent;
+import com.ecom.product_service.response.PriceSeriesResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through cache of {@link PriceSeriesResponse} for GET /api/v1/products/{id}/price-history/series,
+ * one entry per (product, bucket, range).
+ *
+ * Recording a price change publishes PriceHistoryChangedEvent; all series of that product are
+ * evicted after the commit. Stock and other product writes leave the entries alone.
+ */
+@Component
+public class PriceSeriesCache {
+
+    private static final String CACHE_NAME = "priceSeries";
+
+    private final Cache<Key, PriceSeriesResponse> series;
+
+    public PriceSeriesCache(
+            MeterRegistry meterRegistry,
+            @Value("${catalog.price-series-cache.max-size:2000}") long maxSize,
+            @Value("${catalog.price-series-cache.ttl:10m}") Duration ttl) {
+        this.series = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, series, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached series or loads it once per key (from the primary, like ProductDetailCache).
+     * Exceptions from the loader are not cached.
+     */
+    public PriceSeriesResponse get(Long productId, PriceSeriesBucket bucket, LocalDate from, LocalDate to,
+            Supplier<PriceSeriesResponse> loader) {
+        return series.get(new Key(productId, bucket, from, to), key -> PrimaryPinning.onPrimary(loader));
+    }
+
+    public void evict(Long productId) {
+        series.asMap().keySet().removeIf(key -> key.productId().equals(productId));
+    }
+
+    // fallbackExecution: also evict when the write happened outside a transaction
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPriceHistoryChanged(PriceHistoryChangedEvent event) {
+        evict(event.getProductId());
+    }
+
+    private record Key(Long productId, PriceSeriesBucket bucket, LocalDate from, LocalDate to) {
+    }
+}
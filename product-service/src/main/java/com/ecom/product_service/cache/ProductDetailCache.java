@@ -0,0 +1,100 @@
+package com.ecom.product_service.cache;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ecom.datasource.PrimaryPinning;
+import com.ecom.product_service.event.ProductChangedEvent;
+import com.ecom.product_service.response.ProductResponse;
+import com.ecom.product_service.util.ETagUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-through cache of {@link ProductResponse} for GET /api/v1/products/{id}.
+ *
+ * Concurrent misses for the same id share a single load (Caffeine computes per key),
+ * so a cold popular product hits the database once. Entries are evicted after the
+ * writing transaction commits; hit/miss/eviction counts are exported as cache.* metrics
+ * with tag cache=productDetail. Each entry carries a strong ETag of its response body.
+ */
+@Slf4j
+@Component
+public class ProductDetailCache {
+
+    private static final String CACHE_NAME = "productDetail";
+
+    private final Cache<Long, CachedProduct> products;
+    private final ObjectMapper objectMapper;
+
+    public ProductDetailCache(
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            @Value("${catalog.product-cache.max-size:5000}") long maxSize,
+            @Value("${catalog.product-cache.ttl:10m}") Duration ttl) {
+        this.products = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.objectMapper = objectMapper;
+        CaffeineCacheMetrics.monitor(meterRegistry, products, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached product or loads it; exceptions from the loader (e.g. not found) are not cached.
+     * Loads read the primary: an entry is reloaded right after a write and would otherwise keep
+     * a lagging replica's copy for the whole TTL.
+     */
+    public CachedProduct get(Long productId, Function<Long, ProductResponse> loader) {
+        return products.get(productId, id -> PrimaryPinning.onPrimary(() -> toCachedProduct(loader.apply(id))));
+    }
+
+    public void evict(Long productId) {
+        products.invalidate(productId);
+    }
+
+    public void evictAll() {
+        products.invalidateAll();
+    }
+
+    // The ETag is a hash of the serialized response, computed once per load so 304 checks stay cheap
+    private CachedProduct toCachedProduct(ProductResponse response) {
+        try {
+            return new CachedProduct(response, ETagUtils.strongETag(objectMapper.writeValueAsBytes(response)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize product " + response.getId(), e);
+        }
+    }
+
+    // fallbackExecution: also evict when the write happened outside a transaction
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.affectsAllProducts()) {
+            log.debug("Evicting all cached product details");
+            evictAll();
+        } else {
+            evict(event.getProductId());
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedProduct {
+        private final ProductResponse response;
+        private final String eTag;
+    }
+}
@@ -0,0 +1,177 @@
+package com.ecom.product_service.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ecom.product_service.dto.SuggestionType;
+import com.ecom.product_service.event.SuggestionSourceChangedEvent;
+import com.ecom.product_service.repository.BrandRepository;
+import com.ecom.product_service.repository.CategoryRepository;
+import com.ecom.product_service.repository.ProductRepository;
+import com.ecom.product_service.response.SuggestionResponse;
+import com.ecom.product_service.util.SearchQueryUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory prefix index over product, brand and category names for search-as-you-type.
+ *
+ * Every name is folded like the database search (lower-case, no diacritics, đ -> d) and stored once
+ * per word start, so "iph" and "15" both find "Apple iPhone 15". Keys live in a sorted skip list;
+ * a lookup is a range scan [prefix, prefix + Character.MAX_VALUE), which stays sub-millisecond and lock-free for readers.
+ * Built on startup, then kept current from {@link SuggestionSourceChangedEvent} after each commit.
+ */
+@Slf4j
+@Component
+public class SuggestionIndex {
+
+    // Separates the folded text from the entry id so equal names of different entries do not collide
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Word starts indexed per name; later words rarely matter for completion
+    private static final int MAX_WORDS_PER_NAME = 8;
+
+    // Upper bound on keys scanned per lookup, keeps short prefixes like "a" cheap
+    private static final int MAX_SCANNED_KEYS = 200;
+
+    private final ProductRepository productRepository;
+    private final BrandRepository brandRepository;
+    private final CategoryRepository categoryRepository;
+
+    private final ConcurrentSkipListMap<String, Entry> prefixes = new ConcurrentSkipListMap<>();
+    private final Map<String, List<String>> keysByEntry = new ConcurrentHashMap<>();
+
+    public SuggestionIndex(ProductRepository productRepository, BrandRepository brandRepository,
+            CategoryRepository categoryRepository) {
+        this.productRepository = productRepository;
+        this.brandRepository = brandRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        productRepository.findAllSuggestionSources()
+                .forEach(source -> upsert(SuggestionType.PRODUCT, source.getId(), source.getName(), source.getSlug()));
+        brandRepository.findByIsDeletedFalse()
+                .forEach(brand -> upsert(SuggestionType.BRAND, brand.getId(), brand.getName(), null));
+        categoryRepository.findByIsDeletedFalse()
+                .forEach(category -> upsert(SuggestionType.CATEGORY, category.getId(), category.getName(), category.getSlug()));
+
+        log.info("Suggestion index built: {} entries, {} keys in {} ms",
+                keysByEntry.size(), prefixes.size(), System.currentTimeMillis() - start);
+    }
+
+    // fallbackExecution: also apply writes that happened outside a transaction
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSourceChanged(SuggestionSourceChangedEvent event) {
+        if (event.isRemoved()) {
+            remove(event.getType(), event.getId());
+        } else {
+            upsert(event.getType(), event.getId(), event.getName(), event.getSlug());
+        }
+    }
+
+    /**
+     * Up to limit entries having a word that starts with the folded query.
+     * Names starting with the query rank first, then shorter names.
+     */
+    public List<SuggestionResponse> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+
+        NavigableMap<String, Entry> range = prefixes.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        Map<String, Entry> candidates = new LinkedHashMap<>();
+        int scanned = 0;
+        for (Entry entry : range.values()) {
+            candidates.putIfAbsent(entry.entryKey(), entry);
+            if (++scanned >= MAX_SCANNED_KEYS) {
+                break;
+            }
+        }
+
+        return candidates.values().stream()
+                .sorted(Comparator
+                        .comparing((Entry entry) -> !entry.normalizedName().startsWith(prefix))
+                        .thenComparingInt(entry -> entry.normalizedName().length())
+                        .thenComparing(Entry::normalizedName))
+                .limit(limit)
+                .map(Entry::toResponse)
+                .toList();
+    }
+
+    public synchronized void upsert(SuggestionType type, Long id, String name, String slug) {
+        remove(type, id);
+
+        String normalizedName = normalize(name);
+        if (normalizedName.isEmpty()) {
+            return;
+        }
+
+        Entry entry = new Entry(type, id, name, slug, normalizedName);
+        List<String> keys = new ArrayList<>();
+        int wordStart = 0;
+        for (int word = 0; word < MAX_WORDS_PER_NAME && wordStart >= 0; word++) {
+            String key = normalizedName.substring(wordStart) + KEY_SEPARATOR + entry.entryKey();
+            prefixes.put(key, entry);
+            keys.add(key);
+
+            int space = normalizedName.indexOf(' ', wordStart);
+            wordStart = space < 0 ? -1 : space + 1;
+        }
+        keysByEntry.put(entry.entryKey(), keys);
+    }
+
+    public synchronized void remove(SuggestionType type, Long id) {
+        List<String> keys = keysByEntry.remove(entryKey(type, id));
+        if (keys != null) {
+            keys.forEach(prefixes::remove);
+        }
+    }
+
+    // "Điện thoại  Samsung-S24" -> "dien thoai samsung s24"
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return NON_WORD.matcher(SearchQueryUtils.foldAccents(text)).replaceAll(" ").trim();
+    }
+
+    private static String entryKey(SuggestionType type, Long id) {
+        return type.name() + ":" + id;
+    }
+
+    private record Entry(SuggestionType type, Long id, String name, String slug, String normalizedName) {
+
+        String entryKey() {
+            return SuggestionIndex.entryKey(type, id);
+        }
+
+        SuggestionResponse toResponse() {
+            return SuggestionResponse.builder()
+                    .type(type)
+                    .id(id)
+                    .name(name)
+                    .slug(slug)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.ecom.product_service.cache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ecom.product_service.dto.ResourceVersion;
+import com.ecom.product_service.event.ProductChangedEvent;
+import com.ecom.product_service.response.VariantAvailabilityResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-product availability matrix for GET /api/v1/products/{id}/variants/availability.
+ *
+ * Entries are evicted after variant writes commit (ProductChangedEvent from updateStock,
+ * updateVariant, deleteVariant, ...). Each entry also remembers the variants version it was
+ * built for and is rebuilt when the version moves, which covers stock written without that
+ * event (reservations, hot-SKU flushes, warehouse batches) since they all bump updated_at.
+ */
+@Slf4j
+@Component
+public class VariantAvailabilityCache {
+
+    private static final String CACHE_NAME = "variantAvailability";
+
+    private final Cache<Long, CachedAvailability> matrices;
+
+    public VariantAvailabilityCache(
+            MeterRegistry meterRegistry,
+            @Value("${catalog.availability-cache.max-size:5000}") long maxSize,
+            @Value("${catalog.availability-cache.ttl:10m}") Duration ttl) {
+        this.matrices = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, matrices, CACHE_NAME);
+    }
+
+    /**
+     * Returns the matrix built for this version, building it (once per key) otherwise.
+     * Callers pin the whole lookup to the primary, so the version and the matrix come from one node.
+     * Exceptions from the loader (e.g. product not found) are not cached.
+     */
+    public VariantAvailabilityResponse get(Long productId, ResourceVersion version,
+            Function<Long, VariantAvailabilityResponse> loader) {
+        LocalDateTime lastModified = version != null ? version.getLastModified() : null;
+        Long itemCount = version != null ? version.getItemCount() : null;
+
+        return matrices.asMap().compute(productId, (id, cached) ->
+                cached != null && cached.isFor(lastModified, itemCount)
+                        ? cached
+                        : new CachedAvailability(loader.apply(id), lastModified, itemCount))
+                .response();
+    }
+
+    public void evict(Long productId) {
+        matrices.invalidate(productId);
+    }
+
+    public void evictAll() {
+        matrices.invalidateAll();
+    }
+
+    // fallbackExecution: also evict when the write happened outside a transaction
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.affectsAllProducts()) {
+            log.debug("Evicting all cached availability matrices");
+            evictAll();
+        } else {
+            evict(event.getProductId());
+        }
+    }
+
+    private record CachedAvailability(VariantAvailabilityResponse response, LocalDateTime lastModified, Long itemCount) {
+
+        boolean isFor(LocalDateTime versionLastModified, Long versionItemCount) {
+            return Objects.equals(lastModified, versionLastModified) && Objects.equals(itemCount, versionItemCount);
+        }
+    }
+}
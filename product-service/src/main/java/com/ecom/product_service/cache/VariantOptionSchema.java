@@ -0,0 +1,71 @@
+package com.ecom.product_service.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.ecom.product_service.model.ProductVariantOption;
+
+/**
+ * Immutable, compiled view of a product's variant options for validation.
+ *
+ * Holds detached copies of the options in display order (safe to share between requests)
+ * and, per option name, the set of allowed values, so checking a selection is O(keys).
+ */
+public final class VariantOptionSchema {
+
+    private final List<ProductVariantOption> options;
+    private final Map<String, Set<String>> allowedValues;
+
+    private VariantOptionSchema(List<ProductVariantOption> options, Map<String, Set<String>> allowedValues) {
+        this.options = options;
+        this.allowedValues = allowedValues;
+    }
+
+    /**
+     * @param options the product's options in display order (as returned by findByProductIdOrderByDisplayOrder)
+     */
+    public static VariantOptionSchema compile(List<ProductVariantOption> options) {
+        List<ProductVariantOption> copies = new ArrayList<>(options.size());
+        Map<String, Set<String>> allowedValues = new HashMap<>();
+        for (ProductVariantOption option : options) {
+            ProductVariantOption copy = ProductVariantOption.builder()
+                    .optionName(option.getOptionName())
+                    .optionValues(option.getOptionValues().clone())
+                    .displayOrder(option.getDisplayOrder())
+                    .build();
+            copy.setId(option.getId());
+            copies.add(copy);
+            allowedValues.put(option.getOptionName(), Set.of(distinct(option.getOptionValues())));
+        }
+        return new VariantOptionSchema(Collections.unmodifiableList(copies), Collections.unmodifiableMap(allowedValues));
+    }
+
+    /**
+     * Options in display order. Shared instances: callers must not modify them.
+     */
+    public List<ProductVariantOption> options() {
+        return options;
+    }
+
+    public boolean isEmpty() {
+        return options.isEmpty();
+    }
+
+    /**
+     * @return allowed values of the option, or null when the product has no option with that name
+     */
+    public Set<String> allowedValues(String optionName) {
+        return allowedValues.get(optionName);
+    }
+
+    // Set.of rejects duplicates and nulls, which TEXT[] does not rule out
+    private static String[] distinct(String[] values) {
+        return Arrays.stream(values).filter(Objects::nonNull).distinct().toArray(String[]::new);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecom.product_service.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ecom.datasource.PrimaryPinning;
+import com.ecom.product_service.event.VariantOptionsChangedEvent;
+import com.ecom.product_service.model.ProductVariantOption;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-product {@link VariantOptionSchema} used to validate variant option values on every
+ * create / update / resolve without reloading product_variant_options.
+ *
+ * Option definitions change rarely and only through ProductVariantService, which publishes
+ * {@link VariantOptionsChangedEvent}; the product is evicted after that transaction commits.
+ * Stock and variant writes do not touch the schema. The TTL bounds staleness of changes
+ * committed by another instance.
+ */
+@Slf4j
+@Component
+public class VariantOptionSchemaCache {
+
+    private static final String CACHE_NAME = "variantOptionSchema";
+
+    private final Cache<Long, VariantOptionSchema> schemas;
+
+    public VariantOptionSchemaCache(
+            MeterRegistry meterRegistry,
+            @Value("${catalog.option-schema-cache.max-size:10000}") long maxSize,
+            @Value("${catalog.option-schema-cache.ttl:5m}") Duration ttl) {
+        this.schemas = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, schemas, CACHE_NAME);
+    }
+
+    /**
+     * Returns the compiled schema, loading the options (once per key, from the primary) on a miss.
+     * Do not call after changing the product's options in the same transaction: the uncommitted
+     * state would be cached.
+     */
+    public VariantOptionSchema get(Long productId, Function<Long, List<ProductVariantOption>> loader) {
+        return schemas.get(productId, id -> VariantOptionSchema.compile(PrimaryPinning.onPrimary(() -> loader.apply(id))));
+    }
+
+    public void evict(Long productId) {
+        schemas.invalidate(productId);
+    }
+
+    // fallbackExecution: also evict when the write happened outside a transaction
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOptionsChanged(VariantOptionsChangedEvent event) {
+        log.debug("Evicting option schema for productId: {}", event.getProductId());
+        evict(event.getProductId());
+    }
+}
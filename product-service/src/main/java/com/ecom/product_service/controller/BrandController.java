@@ -6,10 +6,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.ecom.product_service.response.BrandResponse;
 import com.ecom.product_service.response.PageResponse;
+import com.ecom.product_service.service.CatalogVersionService;
 import com.ecom.product_service.service.BrandService;
+import com.ecom.product_service.util.ETagUtils;
 
 import lombok.RequiredArgsConstructor;
 
@@ -19,21 +22,25 @@ import lombok.RequiredArgsConstructor;
 public class BrandController {
 
     private final BrandService brandService;
+    private final CatalogVersionService catalogVersionService;
 
     // Get paginated brands with optional search
     @GetMapping
     public ResponseEntity<PageResponse<BrandResponse>> getAllBrands(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) String search) {
-        PageResponse<BrandResponse> response = brandService.getAllBrands(page, size, search);
-        return ResponseEntity.ok(response);
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "false") boolean exactTotal,
+            WebRequest webRequest) {
+        return ETagUtils.conditionalGet(webRequest, catalogVersionService.getCatalogVersion(),
+                () -> brandService.getAllBrands(page, size, search, exactTotal), page, size, search, exactTotal);
     }
 
     // Get brand details by ID
+    // Validators follow the brand row and its products (productCount), not the whole catalog
     @GetMapping("/{id}")
-    public ResponseEntity<BrandResponse> getBrandById(@PathVariable Long id) {
-        BrandResponse response = brandService.getBrandById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<BrandResponse> getBrandById(@PathVariable Long id, WebRequest webRequest) {
+        return ETagUtils.conditionalGet(webRequest, catalogVersionService.getBrandVersion(id),
+                () -> brandService.getBrandById(id), id);
     }
 }
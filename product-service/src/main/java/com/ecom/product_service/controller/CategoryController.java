@@ -6,10 +6,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.ecom.product_service.response.CategoryResponse;
 import com.ecom.product_service.response.PageResponse;
+import com.ecom.product_service.service.CatalogVersionService;
 import com.ecom.product_service.service.CategoryService;
+import com.ecom.product_service.util.ETagUtils;
 
 import lombok.RequiredArgsConstructor;
 
@@ -19,21 +22,25 @@ import lombok.RequiredArgsConstructor;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CatalogVersionService catalogVersionService;
 
     // Get paginated categories with optional search
     @GetMapping
     public ResponseEntity<PageResponse<CategoryResponse>> getAllCategories(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) String search) {
-        PageResponse<CategoryResponse> response = categoryService.getAllCategories(page, size, search);
-        return ResponseEntity.ok(response);
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "false") boolean exactTotal,
+            WebRequest webRequest) {
+        return ETagUtils.conditionalGet(webRequest, catalogVersionService.getCatalogVersion(),
+                () -> categoryService.getAllCategories(page, size, search, exactTotal), page, size, search, exactTotal);
     }
 
     // Get category details by ID
+    // Validators follow the category, its parent and its children, not the whole catalog
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id) {
-        CategoryResponse response = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id, WebRequest webRequest) {
+        return ETagUtils.conditionalGet(webRequest, catalogVersionService.getCategoryVersion(id),
+                () -> categoryService.getCategoryById(id), id);
     }
 }
@@ -1,5 +1,8 @@
 package com.ecom.product_service.controller;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -7,12 +10,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.ecom.product_service.client.UserClient;
+import com.ecom.product_service.dto.ResourceVersion;
 import com.ecom.product_service.dto.UserDTO;
 import com.ecom.product_service.response.PageResponse;
 import com.ecom.product_service.response.ProductResponse;
+import com.ecom.product_service.response.SuggestionResponse;
+import com.ecom.product_service.service.CatalogVersionService;
 import com.ecom.product_service.service.ProductService;
+import com.ecom.product_service.service.SuggestionService;
+import com.ecom.product_service.util.ETagUtils;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +35,8 @@ public class ProductController {
 
     private final UserClient userClient;
     private final ProductService productService;
+    private final CatalogVersionService catalogVersionService;
+    private final SuggestionService suggestionService;
 
     // Test endpoint to verify UserService connectivity
     @GetMapping("/get-user-info")
@@ -53,29 +64,69 @@ public class ProductController {
     }
 
     // Get paginated products with filters
+    // search uses full-text matching; sort = newest (default) | relevance | price_asc | price_desc
+    // minPrice / maxPrice match the sellable price range (active variants, else product price)
+    // Pass after (empty for the first page, then nextCursor) for keyset paging without total counts
+    // Totals may come from a cache (then approximateTotal=true); exactTotal=true always counts
+    // optionFilter=Color:Red&optionFilter=Size:M keeps products with an active variant matching all pairs
+    // facets=true (implied by optionFilter) adds per option value product counts
     @GetMapping
     public ResponseEntity<PageResponse<ProductResponse>> getAllProducts(
             Authentication authentication,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String search,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean exactTotal,
             @RequestParam(required = false) Long statusId,
             @RequestParam(required = false) Long categoryId,
-            @RequestParam(required = false) Long brandId) {
+            @RequestParam(required = false) Long brandId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) List<String> optionFilter,
+            @RequestParam(defaultValue = "false") boolean facets,
+            WebRequest webRequest) {
         boolean isAdmin = hasAdminRole(authentication);
-        PageResponse<ProductResponse> response = productService.getAllProducts(
-                page, size, search, statusId, categoryId, brandId, isAdmin);
-        return ResponseEntity.ok(response);
+
+        // Option filters and facets read variants, so variant writes must change the ETag too
+        boolean readsVariants = facets || (optionFilter != null && !optionFilter.isEmpty());
+        ResourceVersion version = readsVariants
+                ? catalogVersionService.getCatalogWithVariantsVersion()
+                : catalogVersionService.getCatalogVersion();
+        return ETagUtils.conditionalGet(webRequest, version,
+                () -> productService.getAllProducts(page, size, search, sort, after, exactTotal,
+                        statusId, categoryId, brandId, minPrice, maxPrice, optionFilter, facets, isAdmin),
+                isAdmin, page, size, search, sort, after, exactTotal, statusId, categoryId, brandId, minPrice, maxPrice,
+                optionFilter, facets);
+    }
+
+    // Search-as-you-type: product, brand and category names having a word that starts with q
+    // Accent-insensitive ("dien" matches "Điện"), served from an in-memory index
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<SuggestionResponse> suggestions = suggestionService.suggest(q, limit);
+        return ResponseEntity.ok().cacheControl(ETagUtils.cacheControl()).body(suggestions);
     }
 
     // Get product details by ID
+    // ETag is a hash of the cached response, so 304s are answered from the product cache
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponse> getProductById(
             Authentication authentication,
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
         boolean isAdmin = hasAdminRole(authentication);
+
+        String eTag = productService.getProductETag(id, isAdmin);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         ProductResponse response = productService.getProductById(id, isAdmin);
-        return ResponseEntity.ok(response);
+        return ETagUtils.okWithValidators(eTag, -1).body(response);
     }
 
     private boolean hasAdminRole(Authentication authentication) {
@@ -1,8 +1,10 @@
 package com.ecom.product_service.controller;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.ecom.product_service.dto.ProductPriceHistoryRequest;
 import com.ecom.product_service.response.PageResponse;
+import com.ecom.product_service.response.PriceSeriesResponse;
 import com.ecom.product_service.response.ProductPriceHistoryResponse;
 import com.ecom.product_service.service.ProductPriceHistoryService;
 
@@ -31,16 +34,18 @@ public class ProductPriceHistoryController {
 
     private final ProductPriceHistoryService productPriceHistoryService;
 
-    // Get paginated price history for a product
+    // Get paginated price history for a product (?from=&to=, same window and retention as /all)
     @GetMapping("/products/{productId}/price-history")
     public ResponseEntity<PageResponse<ProductPriceHistoryResponse>> getPriceHistory(
             @PathVariable Long productId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) BigDecimal minPrice,
-            @RequestParam(required = false) BigDecimal maxPrice) {
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
         PageResponse<ProductPriceHistoryResponse> response = productPriceHistoryService.getPriceHistoryByProductId(
-                productId, page, size, minPrice, maxPrice);
+                productId, page, size, minPrice, maxPrice, from, to);
         return ResponseEntity.ok(response);
     }
 
@@ -58,17 +63,37 @@ public class ProductPriceHistoryController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
-    // Get complete price history for a product
+    // Get the price history of a product and its variants between from and to (?from=&to=)
+    // from / to are ISO dates (inclusive), defaulting to the last 12 months. Months past
+    // catalog.price-history.partitions.retention-months (24) are detached and never returned.
     @GetMapping("/products/{productId}/price-history/all")
-    public ResponseEntity<List<ProductPriceHistoryResponse>> getProductPriceHistory(@PathVariable Long productId) {
-        List<ProductPriceHistoryResponse> response = productPriceHistoryService.getProductPriceHistory(productId);
+    public ResponseEntity<List<ProductPriceHistoryResponse>> getProductPriceHistory(
+            @PathVariable Long productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<ProductPriceHistoryResponse> response = productPriceHistoryService.getProductPriceHistory(productId, from, to);
+        return ResponseEntity.ok(response);
+    }
+
+    // Chart series: daily / weekly OHLC buckets of the product and variant prices (?bucket=day|week&from=&to=)
+    // from / to are ISO dates (inclusive), defaulting to the last 90 days or 52 weeks
+    @GetMapping("/products/{productId}/price-history/series")
+    public ResponseEntity<PriceSeriesResponse> getPriceSeries(
+            @PathVariable Long productId,
+            @RequestParam(defaultValue = "day") String bucket,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        PriceSeriesResponse response = productPriceHistoryService.getPriceSeries(productId, bucket, from, to);
         return ResponseEntity.ok(response);
     }
 
-    // Get price history for a specific variant
+    // Get price history for a specific variant (?from=&to=, same window and retention as /all)
     @GetMapping("/products/variants/{variantId}/price-history")
-    public ResponseEntity<List<ProductPriceHistoryResponse>> getVariantPriceHistory(@PathVariable Long variantId) {
-        List<ProductPriceHistoryResponse> response = productPriceHistoryService.getVariantPriceHistory(variantId);
+    public ResponseEntity<List<ProductPriceHistoryResponse>> getVariantPriceHistory(
+            @PathVariable Long variantId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<ProductPriceHistoryResponse> response = productPriceHistoryService.getVariantPriceHistory(variantId, from, to);
         return ResponseEntity.ok(response);
     }
 }
@@ -7,9 +7,12 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.ecom.product_service.response.ProductStatusResponse;
+import com.ecom.product_service.service.CatalogVersionService;
 import com.ecom.product_service.service.ProductStatusService;
+import com.ecom.product_service.util.ETagUtils;
 
 import lombok.RequiredArgsConstructor;
 
@@ -19,18 +22,20 @@ import lombok.RequiredArgsConstructor;
 public class ProductStatusController {
 
     private final ProductStatusService productStatusService;
+    private final CatalogVersionService catalogVersionService;
 
     // Get all product statuses
     @GetMapping
-    public ResponseEntity<List<ProductStatusResponse>> getAllProductStatuses() {
-        List<ProductStatusResponse> response = productStatusService.getAllProductStatuses();
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<ProductStatusResponse>> getAllProductStatuses(WebRequest webRequest) {
+        return ETagUtils.conditionalGet(webRequest, catalogVersionService.getCatalogVersion(),
+                () -> productStatusService.getAllProductStatuses());
     }
 
     // Get product status by ID
+    // Validators follow the status row only
     @GetMapping("/{id}")
-    public ResponseEntity<ProductStatusResponse> getProductStatusById(@PathVariable Long id) {
-        ProductStatusResponse response = productStatusService.getProductStatusById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<ProductStatusResponse> getProductStatusById(@PathVariable Long id, WebRequest webRequest) {
+        return ETagUtils.conditionalGet(webRequest, catalogVersionService.getProductStatusVersion(id),
+                () -> productStatusService.getProductStatusById(id), id);
     }
 }
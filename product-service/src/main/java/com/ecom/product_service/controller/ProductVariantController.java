@@ -1,9 +1,14 @@
 package com.ecom.product_service.controller;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -17,17 +22,26 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.ecom.product_service.dto.BulkVariantRequest;
+import com.ecom.product_service.dto.GenerateVariantsRequest;
 import com.ecom.product_service.dto.ProductVariantOptionRequest;
 import com.ecom.product_service.dto.ProductVariantRequest;
+import com.ecom.product_service.response.GenerateVariantsResponse;
 import com.ecom.product_service.response.ProductVariantOptionResponse;
 import com.ecom.product_service.response.ProductVariantResponse;
 import com.ecom.product_service.response.ProductWithVariantsResponse;
 import com.ecom.product_service.response.SuccessResponse;
+import com.ecom.product_service.response.VariantAvailabilityResponse;
+import com.ecom.product_service.service.CatalogVersionService;
 import com.ecom.product_service.service.MessageService;
 import com.ecom.product_service.service.ProductVariantService;
+import com.ecom.product_service.service.StockAdjustmentService;
+import com.ecom.product_service.util.ETagUtils;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -38,6 +52,8 @@ public class ProductVariantController {
 
     private final ProductVariantService variantService;
     private final MessageService messageService;
+    private final CatalogVersionService catalogVersionService;
+    private final StockAdjustmentService stockAdjustmentService;
 
     // Create or update variant options (Admin only)
     @PreAuthorize("hasRole('ADMIN')")
@@ -56,9 +72,11 @@ public class ProductVariantController {
 
     // Get all variant options for a product
     @GetMapping("/products/{productId}/variants/options")
-    public ResponseEntity<List<ProductVariantOptionResponse>> getVariantOptions(@PathVariable Long productId) {
-        List<ProductVariantOptionResponse> responses = variantService.getVariantOptions(productId);
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<ProductVariantOptionResponse>> getVariantOptions(
+            @PathVariable Long productId,
+            WebRequest webRequest) {
+        return ETagUtils.conditionalGet(webRequest, catalogVersionService.getVariantsVersion(productId),
+                () -> variantService.getVariantOptions(productId), "options", productId);
     }
 
     // Delete all variant options (Admin only)
@@ -146,29 +164,73 @@ public class ProductVariantController {
                         .build());
     }
 
+    // Generate one variant per option combination (Admin only)
+    // SKUs come from skuTemplate, prices from base price + per-value adjustments; existing combinations are skipped
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/products/{productId}/variants/generate")
+    public ResponseEntity<SuccessResponse<GenerateVariantsResponse>> generateVariants(
+            @PathVariable Long productId,
+            @Valid @RequestBody GenerateVariantsRequest request) {
+        GenerateVariantsResponse response = variantService.generateVariants(productId, request);
+        String message = messageService.getMessage("success.variants.generated",
+                new Object[]{response.getCreated(), response.getSkippedExisting()});
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(SuccessResponse.<GenerateVariantsResponse>builder()
+                        .message(message)
+                        .data(response)
+                        .build());
+    }
+
     // Get all variants for a product
     @GetMapping("/products/{productId}/variants")
     public ResponseEntity<List<ProductVariantResponse>> getVariants(
             Authentication authentication,
             @PathVariable Long productId,
-            @RequestParam(defaultValue = "false") Boolean activeOnly) {
+            @RequestParam(defaultValue = "false") Boolean activeOnly,
+            WebRequest webRequest) {
         boolean isAdmin = hasAdminRole(authentication);
-        List<ProductVariantResponse> responses = variantService.getVariants(productId, activeOnly, isAdmin);
-        return ResponseEntity.ok(responses);
+
+        return ETagUtils.conditionalGet(webRequest, catalogVersionService.getVariantsVersion(productId),
+                () -> variantService.getVariants(productId, activeOnly, isAdmin), "variants", productId, activeOnly, isAdmin);
     }
 
     // Get variant by ID
     @GetMapping("/variants/{variantId}")
-    public ResponseEntity<ProductVariantResponse> getVariantById(@PathVariable Long variantId) {
-        ProductVariantResponse response = variantService.getVariantById(variantId);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<ProductVariantResponse> getVariantById(@PathVariable Long variantId, WebRequest webRequest) {
+        return ETagUtils.conditionalGet(webRequest, catalogVersionService.getVariantVersion(variantId),
+                () -> variantService.getVariantById(variantId), "variant", variantId);
     }
 
     // Get default variant for a product
     @GetMapping("/products/{productId}/variants/default")
-    public ResponseEntity<ProductVariantResponse> getDefaultVariant(@PathVariable Long productId) {
-        ProductVariantResponse response = variantService.getDefaultVariant(productId);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<ProductVariantResponse> getDefaultVariant(@PathVariable Long productId, WebRequest webRequest) {
+        return ETagUtils.conditionalGet(webRequest, catalogVersionService.getVariantsVersion(productId),
+                () -> variantService.getDefaultVariant(productId), "default", productId);
+    }
+
+    // Resolve the variant for a selection, e.g. ?Color=Red&Size=M (every option, exact values)
+    // One lookup on the stored combination hash instead of matching optionValues client-side
+    @GetMapping("/products/{productId}/variants/resolve")
+    public ResponseEntity<ProductVariantResponse> resolveVariant(
+            @PathVariable Long productId,
+            @RequestParam Map<String, String> selection,
+            WebRequest webRequest) {
+        // lang is consumed by LocaleChangeInterceptor, it is not an option
+        Map<String, String> options = new HashMap<>(selection);
+        options.remove("lang");
+
+        return ETagUtils.conditionalGet(webRequest, catalogVersionService.getVariantsVersion(productId),
+                () -> variantService.resolveVariant(productId, options), "resolve", productId, new TreeMap<>(options));
+    }
+
+    // Availability matrix for the option picker: axes + Base64 bitsets (active, inStock, lowStock)
+    // Bit index is the mixed-radix position of a combination, last axis varying fastest
+    @GetMapping("/products/{productId}/variants/availability")
+    public ResponseEntity<VariantAvailabilityResponse> getVariantAvailability(
+            @PathVariable Long productId,
+            WebRequest webRequest) {
+        return ETagUtils.conditionalGet(webRequest, catalogVersionService.getVariantsVersion(productId),
+                () -> variantService.getVariantAvailability(productId), "availability", productId);
     }
 
     // Update variant (Admin only)
@@ -200,6 +262,19 @@ public class ProductVariantController {
                 .build());
     }
 
+    // Warehouse stock sync (Admin only)
+    // Body: NDJSON (or a JSON array) of {"id" | "sku", "stockQuantity" | "delta"}, streamed and applied 1000 keys per statement
+    // Response: one NDJSON line per key with its status, written as each chunk is applied
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/variants/stock/batch",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void adjustStockBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        stockAdjustmentService.applyBatch(request.getInputStream(), response.getOutputStream());
+    }
+
     // Soft delete variant (Admin only)
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/variants/{variantId}")
@@ -212,10 +287,12 @@ public class ProductVariantController {
     @GetMapping("/products/{productId}/variants/detail")
     public ResponseEntity<ProductWithVariantsResponse> getProductWithVariants(
             Authentication authentication,
-            @PathVariable Long productId) {
+            @PathVariable Long productId,
+            WebRequest webRequest) {
         boolean isAdmin = hasAdminRole(authentication);
-        ProductWithVariantsResponse response = variantService.getProductWithVariants(productId, isAdmin);
-        return ResponseEntity.ok(response);
+
+        return ETagUtils.conditionalGet(webRequest, catalogVersionService.getVariantsVersion(productId),
+                () -> variantService.getProductWithVariants(productId, isAdmin), "detail", productId, isAdmin);
     }
 
     private boolean hasAdminRole(Authentication authentication) {
@@ -0,0 +1,79 @@
+package com.ecom.product_service.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecom.product_service.dto.StockReservationRequest;
+import com.ecom.product_service.response.StockReservationResponse;
+import com.ecom.product_service.response.SuccessResponse;
+import com.ecom.product_service.service.MessageService;
+import com.ecom.product_service.security.UserContext;
+import com.ecom.product_service.service.StockReservationService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+public class StockReservationController {
+
+    private final StockReservationService reservationService;
+    private final MessageService messageService;
+
+    // Reserve stock of a variant (checkout)
+    // Fails with 400 instead of overselling when less than quantity is left; the hold expires after ttlSeconds
+    // The hold belongs to the caller: only they (or an admin) can commit or release it
+    @PostMapping("/variants/{variantId}/reservations")
+    public ResponseEntity<SuccessResponse<StockReservationResponse>> reserve(
+            @PathVariable Long variantId,
+            @Valid @RequestBody StockReservationRequest request) {
+        StockReservationResponse response = reservationService.reserve(variantId, request, UserContext.getCurrentUserId());
+        String message = messageService.getMessage("success.reservation.created");
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(SuccessResponse.<StockReservationResponse>builder()
+                        .message(message)
+                        .data(response)
+                        .build());
+    }
+
+    // Commit a reservation (order placed); the stock stays taken
+    @PostMapping("/reservations/{reservationId}/commit")
+    public ResponseEntity<SuccessResponse<StockReservationResponse>> commit(
+            @PathVariable Long reservationId,
+            Authentication authentication) {
+        StockReservationResponse response = reservationService.commit(
+                reservationId, UserContext.getCurrentUserId(), hasAdminRole(authentication));
+        String message = messageService.getMessage("success.reservation.committed");
+        return ResponseEntity.ok(SuccessResponse.<StockReservationResponse>builder()
+                .message(message)
+                .data(response)
+                .build());
+    }
+
+    // Release a reservation (cart abandoned, payment failed); the stock goes back to the variant
+    @PostMapping("/reservations/{reservationId}/release")
+    public ResponseEntity<SuccessResponse<StockReservationResponse>> release(
+            @PathVariable Long reservationId,
+            Authentication authentication) {
+        StockReservationResponse response = reservationService.release(
+                reservationId, UserContext.getCurrentUserId(), hasAdminRole(authentication));
+        String message = messageService.getMessage("success.reservation.released");
+        return ResponseEntity.ok(SuccessResponse.<StockReservationResponse>builder()
+                .message(message)
+                .data(response)
+                .build());
+    }
+
+    private boolean hasAdminRole(Authentication authentication) {
+        if (authentication == null) return false;
+        return authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.ecom.product_service.controller.admin;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ecom.product_service.inventory.LowStockAlertStream;
+import com.ecom.product_service.response.LowStockVariantResponse;
+import com.ecom.product_service.response.PageResponse;
+import com.ecom.product_service.service.ProductVariantService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/admin/variants")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminVariantController {
+
+    private final ProductVariantService variantService;
+    private final LowStockAlertStream lowStockAlertStream;
+
+    // Low-stock variants across all products (stock <= threshold), lowest stock first (Admin only)
+    @GetMapping("/low-stock")
+    public ResponseEntity<PageResponse<LowStockVariantResponse>> getLowStockVariants(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(variantService.getLowStockVariants(page, size));
+    }
+
+    // Live low-stock alerts as server-sent events (Admin only)
+    // One "low-stock" event each time a variant drops to its threshold, whatever the stock write:
+    // updateStock / updateVariant, reservations, hot-SKU flushes or warehouse batches (see LowStockEvent)
+    @GetMapping(value = "/low-stock/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLowStockAlerts() {
+        return lowStockAlertStream.subscribe();
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecom.product_service.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Rules for POST /products/{id}/variants/generate: one variant per combination of the product's option values.
+ *
+ * skuTemplate placeholders: {SLUG} product slug, {ID} product id, {VALUES} all values in option order,
+ * {OptionName} the value of that option (e.g. {Color}). The result is upper-cased, accents removed and
+ * anything outside A-Z / 0-9 turned into '-'.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenerateVariantsRequest {
+
+    @Size(max = 100, message = "{error.variant.sku-too-long}")
+    private String skuTemplate = "{SLUG}-{VALUES}";
+
+    // Base price; the product price when omitted
+    @DecimalMin(value = "0.01", message = "{error.variant.price-invalid}")
+    @Digits(integer = 10, fraction = 2, message = "{error.variant.price-format-invalid}")
+    private BigDecimal price;
+
+    @DecimalMin(value = "0.01", message = "{error.variant.compare-price-invalid}")
+    @Digits(integer = 10, fraction = 2, message = "{error.variant.price-format-invalid}")
+    private BigDecimal compareAtPrice;
+
+    // Added to the base price per option value, e.g. {"Size": {"XL": 20000}}
+    private Map<String, Map<String, BigDecimal>> priceAdjustments;
+
+    @Min(value = 0, message = "{error.variant.stock-invalid}")
+    private Integer stockQuantity = 0;
+
+    @Min(value = 0, message = "{error.variant.low-stock-threshold-invalid}")
+    private Integer lowStockThreshold = 5;
+
+    private Boolean isActive = true;
+
+    // false: fail when a combination already has a variant instead of skipping it
+    private Boolean skipExisting = true;
+}
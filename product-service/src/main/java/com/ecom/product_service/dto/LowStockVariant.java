@@ -0,0 +1,21 @@
+package com.ecom.product_service.dto;
+
+/**
+ * Native-query projection of a variant at or below its low-stock threshold.
+ */
+public interface LowStockVariant {
+
+    Long getVariantId();
+
+    String getSku();
+
+    String getVariantName();
+
+    Long getProductId();
+
+    String getProductName();
+
+    Integer getStockQuantity();
+
+    Integer getLowStockThreshold();
+}
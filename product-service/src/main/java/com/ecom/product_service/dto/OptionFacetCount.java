@@ -0,0 +1,13 @@
+package com.ecom.product_service.dto;
+
+/**
+ * Native-query projection of one option facet: how many listed products offer optionName = optionValue.
+ */
+public interface OptionFacetCount {
+
+    String getOptionName();
+
+    String getOptionValue();
+
+    Long getProductCount();
+}
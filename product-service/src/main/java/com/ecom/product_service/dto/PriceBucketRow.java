@@ -0,0 +1,25 @@
+package com.ecom.product_service.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Native-query projection of one OHLC bucket of price changes.
+ * variantId is null for changes of the product price itself.
+ */
+public interface PriceBucketRow {
+
+    Long getVariantId();
+
+    LocalDateTime getBucketStart();
+
+    BigDecimal getOpenPrice();
+
+    BigDecimal getHighPrice();
+
+    BigDecimal getLowPrice();
+
+    BigDecimal getClosePrice();
+
+    Long getChanges();
+}
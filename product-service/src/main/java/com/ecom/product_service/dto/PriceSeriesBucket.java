@@ -0,0 +1,55 @@
+package com.ecom.product_service.dto;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Bucket size of the price history series ({@code bucket} query parameter).
+ * The value is also the PostgreSQL date_trunc unit (weeks start on Monday).
+ */
+public enum PriceSeriesBucket {
+
+    DAY("day", ChronoUnit.DAYS, 90),
+    WEEK("week", ChronoUnit.WEEKS, 52);
+
+    private final String value;
+    private final ChronoUnit unit;
+    // Buckets covered when the request has no from date
+    private final int defaultBuckets;
+
+    PriceSeriesBucket(String value, ChronoUnit unit, int defaultBuckets) {
+        this.value = value;
+        this.unit = unit;
+        this.defaultBuckets = defaultBuckets;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public LocalDate defaultFrom(LocalDate to) {
+        return to.minus(defaultBuckets, unit).plusDays(1);
+    }
+
+    /**
+     * Number of buckets touched by the inclusive date range [from, to].
+     */
+    public long bucketsBetween(LocalDate from, LocalDate to) {
+        return unit.between(from, to) + 1;
+    }
+
+    /**
+     * Resolves the bucket from its request value (case-insensitive).
+     * Blank input falls back to {@link #DAY}; unknown input returns null.
+     */
+    public static PriceSeriesBucket fromValue(String value) {
+        if (value == null || value.isBlank()) {
+            return DAY;
+        }
+        return Arrays.stream(values())
+                .filter(bucket -> bucket.value.equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElse(null);
+    }
+}
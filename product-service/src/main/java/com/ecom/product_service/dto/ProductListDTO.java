@@ -15,6 +15,8 @@ public class ProductListDTO {
     private String slug;
     private String description;
     private BigDecimal price;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
     private Integer availability;
 
     // Status info
@@ -42,6 +44,8 @@ public class ProductListDTO {
             String slug,
             String description,
             BigDecimal price,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
             Integer availability,
             Long statusId,
             String statusName,
@@ -58,6 +62,8 @@ public class ProductListDTO {
         this.slug = slug;
         this.description = description;
         this.price = price;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
         this.availability = availability;
         this.statusId = statusId;
         this.statusName = statusName;
@@ -0,0 +1,39 @@
+package com.ecom.product_service.dto;
+
+import java.util.Arrays;
+
+/**
+ * Supported orderings for the public product listing ({@code sort} query parameter).
+ */
+public enum ProductSort {
+
+    NEWEST("newest"),
+    RELEVANCE("relevance"),
+    // Cheapest first by sellable min_price, most expensive first by max_price (products.min_price / max_price)
+    PRICE_ASC("price_asc"),
+    PRICE_DESC("price_desc");
+
+    private final String value;
+
+    ProductSort(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Resolves the sort option from its request value (case-insensitive).
+     * Blank input falls back to {@link #NEWEST}; unknown input returns null.
+     */
+    public static ProductSort fromValue(String value) {
+        if (value == null || value.isBlank()) {
+            return NEWEST;
+        }
+        return Arrays.stream(values())
+                .filter(sort -> sort.value.equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.ecom.product_service.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Native-query projection describing the current version of a set of rows
+ * (latest updated_at + row count, so hard deletes also change it).
+ */
+public interface ResourceVersion {
+
+    LocalDateTime getLastModified();
+
+    Long getItemCount();
+}
@@ -0,0 +1,22 @@
+package com.ecom.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One line of POST /api/v1/variants/stock/batch.
+ * Key: exactly one of id / sku. Value: exactly one of stockQuantity (absolute) / delta.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentRequest {
+
+    private Long id;
+    private String sku;
+    private Integer stockQuantity;
+    private Integer delta;
+}
@@ -0,0 +1,16 @@
+package com.ecom.product_service.dto;
+
+/**
+ * Outcome of one key in a stock batch.
+ */
+public enum StockAdjustmentStatus {
+    UPDATED,
+    // Resulting stock equals the current stock, the row was not written
+    UNCHANGED,
+    NOT_FOUND,
+    // A delta would take the stock below zero, the row was not written
+    NEGATIVE_STOCK,
+    // The same variant was addressed by id and by sku in one chunk; the later line was applied
+    DUPLICATE,
+    INVALID
+}
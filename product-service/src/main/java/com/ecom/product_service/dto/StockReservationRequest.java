@@ -0,0 +1,30 @@
+package com.ecom.product_service.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationRequest {
+
+    @NotNull(message = "{error.reservation.quantity-required}")
+    @Min(value = 1, message = "{error.reservation.quantity-invalid}")
+    @Max(value = 100, message = "{error.reservation.quantity-too-large}")
+    private Integer quantity;
+
+    // Hold duration; null = inventory.reservation.default-ttl
+    @Min(value = 1, message = "{error.reservation.ttl-invalid}")
+    private Long ttlSeconds;
+
+    // Cart / order id of the caller, stored for tracing only
+    @Size(max = 100, message = "{error.reservation.reference-too-long}")
+    private String reference;
+}
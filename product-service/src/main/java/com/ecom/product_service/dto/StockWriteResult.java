@@ -0,0 +1,13 @@
+package com.ecom.product_service.dto;
+
+/**
+ * Native-query projection returned by the conditional stock statements (reservation take,
+ * hot-SKU flush): the variant written and whether that write took it into low stock.
+ */
+public interface StockWriteResult {
+
+    Long getVariantId();
+
+    // Stock was above low_stock_threshold before the statement and is at or below it now
+    Boolean getLowStockCrossed();
+}
@@ -0,0 +1,13 @@
+package com.ecom.product_service.dto;
+
+/**
+ * Projection used to (re)build the suggestion index without loading full entities.
+ */
+public interface SuggestionSource {
+
+    Long getId();
+
+    String getName();
+
+    String getSlug();
+}
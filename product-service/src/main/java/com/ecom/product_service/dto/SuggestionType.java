@@ -0,0 +1,10 @@
+package com.ecom.product_service.dto;
+
+/**
+ * Kind of entity returned by GET /api/v1/products/suggest.
+ */
+public enum SuggestionType {
+    PRODUCT,
+    BRAND,
+    CATEGORY
+}
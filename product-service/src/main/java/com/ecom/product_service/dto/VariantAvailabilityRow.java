@@ -0,0 +1,18 @@
+package com.ecom.product_service.dto;
+
+/**
+ * Native-query projection of the variant fields behind the availability matrix.
+ */
+public interface VariantAvailabilityRow {
+
+    Long getId();
+
+    // Raw option_values JSON
+    String getOptionValues();
+
+    Integer getStockQuantity();
+
+    Integer getLowStockThreshold();
+
+    Boolean getActive();
+}
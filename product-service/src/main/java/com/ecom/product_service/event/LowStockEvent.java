@@ -0,0 +1,23 @@
+package com.ecom.product_service.event;
+
+import com.ecom.product_service.response.LowStockVariantResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published with the stock write when a variant's stock drops from above its low-stock
+ * threshold to at or below it. Staying low, or changing while already low, does not
+ * publish again; the variant has to recover above the threshold first.
+ *
+ * Entity writes (updateStock, updateVariant) publish it directly; reservations, hot-SKU flushes
+ * and warehouse batches go through LowStockAlertPublisher.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class LowStockEvent {
+
+    private final LowStockVariantResponse variant;
+}
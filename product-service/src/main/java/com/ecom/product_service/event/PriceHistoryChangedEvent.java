@@ -0,0 +1,17 @@
+package com.ecom.product_service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published inside write transactions when a price history row is recorded for a product
+ * or one of its variants. The price series cache evicts the product after commit.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PriceHistoryChangedEvent {
+
+    private final Long productId;
+}
@@ -0,0 +1,26 @@
+package com.ecom.product_service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published inside write transactions whenever data rendered in a product's detail changes
+ * (product fields, images, variants, options). Listeners react after commit.
+ * A null productId means every product may be affected (e.g. brand or category rename).
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProductChangedEvent {
+
+    private final Long productId;
+
+    public static ProductChangedEvent allProducts() {
+        return new ProductChangedEvent(null);
+    }
+
+    public boolean affectsAllProducts() {
+        return productId == null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecom.product_service.event;
+
+import com.ecom.product_service.dto.SuggestionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published inside write transactions when a product, brand or category is created, renamed or deleted.
+ * The suggestion index applies it after commit.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SuggestionSourceChangedEvent {
+
+    private final SuggestionType type;
+    private final Long id;
+    private final String name;
+    private final String slug;
+    private final boolean removed;
+
+    public static SuggestionSourceChangedEvent upserted(SuggestionType type, Long id, String name, String slug) {
+        return new SuggestionSourceChangedEvent(type, id, name, slug, false);
+    }
+
+    public static SuggestionSourceChangedEvent removed(SuggestionType type, Long id) {
+        return new SuggestionSourceChangedEvent(type, id, null, null, true);
+    }
+}
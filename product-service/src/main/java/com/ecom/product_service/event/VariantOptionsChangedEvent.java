@@ -0,0 +1,17 @@
+package com.ecom.product_service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published inside write transactions when a product's option definitions change
+ * (names, values, replace-all, delete). The option schema cache evicts the product after commit.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class VariantOptionsChangedEvent {
+
+    private final Long productId;
+}
@@ -0,0 +1,48 @@
+package com.ecom.product_service.inventory;
+
+import java.util.Collection;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.ecom.product_service.dto.LowStockVariant;
+import com.ecom.product_service.event.LowStockEvent;
+import com.ecom.product_service.repository.ProductVariantRepository;
+import com.ecom.product_service.response.LowStockVariantResponse;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publishes {@link LowStockEvent} for stock written by SQL statements rather than through the
+ * entity (reservations, hot-SKU flushes, warehouse batches). Those statements only report which
+ * variants crossed the threshold; the alert details are loaded here, one query per call.
+ */
+@Component
+@RequiredArgsConstructor
+public class LowStockAlertPublisher {
+
+    private final ProductVariantRepository variantRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void publish(Collection<Long> variantIds) {
+        if (variantIds.isEmpty()) {
+            return;
+        }
+        for (LowStockVariant variant : variantRepository.findLowStockVariantsByIds(variantIds)) {
+            eventPublisher.publishEvent(new LowStockEvent(toResponse(variant)));
+        }
+    }
+
+    public static LowStockVariantResponse toResponse(LowStockVariant variant) {
+        return LowStockVariantResponse.builder()
+                .variantId(variant.getVariantId())
+                .sku(variant.getSku())
+                .variantName(variant.getVariantName())
+                .productId(variant.getProductId())
+                .productName(variant.getProductName())
+                .stockQuantity(variant.getStockQuantity())
+                .lowStockThreshold(variant.getLowStockThreshold())
+                .outOfStock(variant.getStockQuantity() <= 0)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecom.product_service.inventory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ecom.product_service.event.LowStockEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Server-sent event stream of low-stock crossings for ops dashboards
+ * (GET /api/v1/admin/variants/low-stock/stream).
+ *
+ * Alerts are pushed after the write commits; clients that connect later catch up through the
+ * paginated low-stock listing. Each alert is also logged, so it reaches log-based alerting even
+ * with no subscriber.
+ */
+@Slf4j
+@Component
+public class LowStockAlertStream {
+
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+    private final Duration timeout;
+
+    public LowStockAlertStream(@Value("${inventory.low-stock.stream-timeout:30m}") Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+        subscribers.add(emitter);
+        return emitter;
+    }
+
+    // fallbackExecution: also alert when the write happened outside a transaction
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLowStock(LowStockEvent event) {
+        log.warn("Low stock: variant {} ({}) of product {} at {} (threshold {})",
+                event.getVariant().getVariantId(), event.getVariant().getSku(), event.getVariant().getProductId(),
+                event.getVariant().getStockQuantity(), event.getVariant().getLowStockThreshold());
+
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name("low-stock")
+                        .id(String.valueOf(event.getVariant().getVariantId()))
+                        .data(event.getVariant()));
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter callbacks may not have fired yet
+                subscribers.remove(emitter);
+            }
+        }
+    }
+}
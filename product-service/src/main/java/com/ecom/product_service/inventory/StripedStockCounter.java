@@ -0,0 +1,96 @@
+package com.ecom.product_service.inventory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free stock counter for one hot SKU, split into stripes so concurrent buyers
+ * decrement different cache lines instead of all CAS-ing the same word.
+ *
+ * Units only enter through {@link #add(long)} (a lease) or a give-back, so the counter can never hand
+ * out more than it was given. A buyer starts at its own stripe and moves on to the next
+ * ones when a stripe runs dry; an order larger than any single stripe is served by
+ * {@link #rebalance(int)}, which gathers all stripes under a lock.
+ */
+public class StripedStockCounter {
+
+    // 8 longs = 64 bytes, one stripe per cache line
+    private static final int PADDING = 8;
+
+    private final int stripes;
+    private final AtomicLongArray slots;
+    private final LongAdder taken = new LongAdder();
+
+    public StripedStockCounter(int stripes) {
+        this.stripes = Math.max(1, stripes);
+        this.slots = new AtomicLongArray(this.stripes * PADDING);
+    }
+
+    public boolean tryTake(int quantity) {
+        int start = (int) (Thread.currentThread().threadId() % stripes);
+        for (int i = 0; i < stripes; i++) {
+            int slot = ((start + i) % stripes) * PADDING;
+            long available;
+            while ((available = slots.get(slot)) >= quantity) {
+                if (slots.compareAndSet(slot, available, available - quantity)) {
+                    taken.add(quantity);
+                    return true;
+                }
+            }
+        }
+        return rebalance(quantity);
+    }
+
+    // Spread new units evenly; the remainder goes to the first stripes
+    public void add(long units) {
+        long share = units / stripes;
+        long remainder = units % stripes;
+        for (int i = 0; i < stripes; i++) {
+            long amount = share + (i < remainder ? 1 : 0);
+            if (amount > 0) {
+                slots.addAndGet(i * PADDING, amount);
+            }
+        }
+    }
+
+    // Undoes a take; taken() shrinks, so the next flush writes a negative delta (units back to the lease)
+    public void giveBack(int quantity) {
+        taken.add(-quantity);
+        add(quantity);
+    }
+
+    // Units left in this counter (a moment-in-time estimate while buyers are active)
+    public long remaining() {
+        long sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += slots.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    // Net units handed out since creation; a flusher writes back the difference to its last value
+    public long taken() {
+        return taken.sum();
+    }
+
+    // Empties the counter and returns the units that were left
+    public synchronized long drain() {
+        long sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += slots.getAndSet(i * PADDING, 0);
+        }
+        return sum;
+    }
+
+    // Slow path: the units may be there in total but split across stripes
+    private synchronized boolean rebalance(int quantity) {
+        long total = drain();
+        boolean served = total >= quantity;
+        if (served) {
+            total -= quantity;
+            taken.add(quantity);
+        }
+        add(total);
+        return served;
+    }
+}
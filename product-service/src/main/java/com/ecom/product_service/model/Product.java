@@ -5,6 +5,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -40,6 +42,15 @@ public class Product extends BaseEntity {
     @Column(nullable = false, precision = 12, scale = 2)
     private BigDecimal price;
 
+    // Sellable price range (active variants, else price), maintained by trg_products_price_range
+    // and trg_product_variant_stats_price_range; re-read after every write
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "min_price", precision = 12, scale = 2, insertable = false, updatable = false)
+    private BigDecimal minPrice;
+
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "max_price", precision = 12, scale = 2, insertable = false, updatable = false)
+    private BigDecimal maxPrice;
 
     @Column(nullable = false)
     private Integer availability = 0;
@@ -48,6 +59,10 @@ public class Product extends BaseEntity {
     @Column(name = "is_deleted", nullable = false)
     private Boolean isDeleted = false;
 
+    // Denormalized from product_images (is_thumbnail = true), maintained by ProductImageServiceImpl
+    @Column(name = "thumbnail_url", length = 500)
+    private String thumbnailUrl;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "status_id", nullable = false, foreignKey = @ForeignKey(name = "fk_products_status"))
     private ProductStatus status;
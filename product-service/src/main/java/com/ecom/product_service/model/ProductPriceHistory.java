@@ -49,7 +49,8 @@ public class ProductPriceHistory {
     @Column(name = "changed_by", length = 100)
     private String changedBy;
 
-    @Column(name = "changed_at")
+    // Partition key (monthly partitions, see V16): part of the table's primary key and required
+    @Column(name = "changed_at", nullable = false)
     private LocalDateTime changedAt = LocalDateTime.now();
 
     @Transient
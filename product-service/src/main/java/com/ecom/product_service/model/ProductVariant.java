@@ -3,10 +3,13 @@ package com.ecom.product_service.model;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
+import com.ecom.product_service.util.OptionValuesCodec;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -15,11 +18,15 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
 @Table(name = "product_variants")
@@ -57,6 +64,10 @@ public class ProductVariant extends BaseEntity {
     @Column(name = "option_values", nullable = false, columnDefinition = "jsonb")
     private String optionValuesJson;
 
+    // Canonical combination hash (OptionHashUtils), unique per product among non-deleted variants
+    @Column(name = "option_hash", length = 32)
+    private String optionHash;
+
     @Builder.Default
     @Column(name = "is_default")
     private Boolean isDefault = false;
@@ -72,6 +83,14 @@ public class ProductVariant extends BaseEntity {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    // Decoded optionValuesJson, valid while the JSON text is the same instance it was decoded from
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient OptionValuesMemo optionValuesMemo;
+
     @Transient
     public boolean isOutOfStock() {
         return stockQuantity != null && stockQuantity <= 0;
@@ -98,9 +117,25 @@ public class ProductVariant extends BaseEntity {
                 .divide(compareAtPrice, 2, RoundingMode.HALF_UP);
     }
 
+    /**
+     * Unmodifiable view of optionValuesJson, decoded once per JSON value (see {@link OptionValuesCodec}).
+     */
+    @Transient
+    public Map<String, String> getOptionValues() {
+        OptionValuesMemo memo = optionValuesMemo;
+        if (memo == null || memo.json() != optionValuesJson) {
+            memo = new OptionValuesMemo(optionValuesJson, OptionValuesCodec.decode(optionValuesJson));
+            optionValuesMemo = memo;
+        }
+        return memo.values();
+    }
+
     @Transient
     public void softDelete() {
         this.deletedAt = LocalDateTime.now();
         this.isActive = false;
     }
+
+    private record OptionValuesMemo(String json, Map<String, String> values) {
+    }
 }
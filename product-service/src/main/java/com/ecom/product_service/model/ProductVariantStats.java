@@ -0,0 +1,53 @@
+package com.ecom.product_service.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Read-only view of the aggregates maintained by the trg_product_variant_stats trigger (V9)
+@Entity
+@Immutable
+@Table(name = "product_variant_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductVariantStats {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    // Non-deleted variants, including inactive ones
+    @Column(name = "total_variants", nullable = false)
+    private Integer totalVariants;
+
+    @Column(name = "active_variants", nullable = false)
+    private Integer activeVariants;
+
+    // Bounds over active, non-deleted variants; null when there are none
+    @Column(name = "min_price", precision = 12, scale = 2)
+    private BigDecimal minPrice;
+
+    @Column(name = "max_price", precision = 12, scale = 2)
+    private BigDecimal maxPrice;
+
+    @Column(name = "default_variant_id")
+    private Long defaultVariantId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Stats of a product that never had a variant (no row yet)
+    public static ProductVariantStats empty(Long productId) {
+        return new ProductVariantStats(productId, 0, 0, null, null, null, null);
+    }
+}
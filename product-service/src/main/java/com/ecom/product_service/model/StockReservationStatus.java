@@ -0,0 +1,8 @@
+package com.ecom.product_service.model;
+
+public enum StockReservationStatus {
+    RESERVED,
+    COMMITTED,
+    RELEASED,
+    EXPIRED
+}
@@ -1,12 +1,14 @@
 package com.ecom.product_service.repository;
 
-import org.springframework.data.domain.Page;
+import java.util.List;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.ecom.product_service.dto.ResourceVersion;
 import com.ecom.product_service.model.Brand;
 
 @Repository
@@ -17,11 +19,25 @@ public interface BrandRepository extends JpaRepository<Brand, Long> {
 
     @Query("SELECT b FROM Brand b " +
             "WHERE (:search IS NULL OR :search = '') OR LOWER(b.name) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<Brand> findAllWithSearch(@Param("search") String search, Pageable pageable);
+    List<Brand> findAllWithSearch(@Param("search") String search, Pageable pageable);
+
+    List<Brand> findByIsDeletedFalse();
+
+    @Query("SELECT COUNT(b) FROM Brand b " +
+            "WHERE (:search IS NULL OR :search = '') OR LOWER(b.name) LIKE LOWER(CONCAT('%', :search, '%'))")
+    long countWithSearch(@Param("search") String search);
 
     @Query("SELECT COUNT(p) FROM Product p WHERE p.brand.id = :brandId")
     Long countProductsByBrandId(@Param("brandId") Long brandId);
 
     @Query("SELECT COUNT(p) > 0 FROM Product p WHERE p.brand.id = :brandId")
     boolean hasProducts(@Param("brandId") Long brandId);
+
+    // Version of one brand response (the brand row and its productCount) for conditional GET; no row when unknown
+    @Query(value = "SELECT GREATEST(b.updated_at, " +
+            "(SELECT MAX(p.updated_at) FROM products p WHERE p.brand_id = b.id)) AS \"lastModified\", " +
+            "(SELECT COUNT(*) FROM products p WHERE p.brand_id = b.id) AS \"itemCount\" " +
+            "FROM brands b WHERE b.id = :brandId",
+            nativeQuery = true)
+    ResourceVersion findBrandVersion(@Param("brandId") Long brandId);
 }
@@ -2,13 +2,13 @@ package com.ecom.product_service.repository;
 
 import java.util.List;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.ecom.product_service.dto.ResourceVersion;
 import com.ecom.product_service.model.Category;
 
 @Repository
@@ -18,10 +18,16 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     @Query("SELECT c FROM Category c " +
             "WHERE (:search IS NULL OR :search = '') OR LOWER(c.name) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<Category> findAllWithSearch(@Param("search") String search, Pageable pageable);
+    List<Category> findAllWithSearch(@Param("search") String search, Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM Category c " +
+            "WHERE (:search IS NULL OR :search = '') OR LOWER(c.name) LIKE LOWER(CONCAT('%', :search, '%'))")
+    long countWithSearch(@Param("search") String search);
 
     List<Category> findByParentId(Long parentId);
 
+    List<Category> findByIsDeletedFalse();
+
     boolean existsByParentId(Long parentId);
 
     @Query("SELECT COUNT(c) > 0 FROM Category c WHERE LOWER(c.name) = LOWER(:name)")
@@ -32,4 +38,13 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     @Query("SELECT c FROM Category c WHERE c.parentId = :parentId AND c.isDeleted = false")
     List<Category> findActiveChildrenByParentId(@Param("parentId") Long parentId);
+
+    // Version of one category response (the row, its parent's name and its children) for conditional GET; no row when unknown
+    @Query(value = "SELECT GREATEST(c.updated_at, " +
+            "(SELECT parent.updated_at FROM categories parent WHERE parent.id = c.parent_id), " +
+            "(SELECT MAX(child.updated_at) FROM categories child WHERE child.parent_id = c.id)) AS \"lastModified\", " +
+            "(SELECT COUNT(*) FROM categories child WHERE child.parent_id = c.id) AS \"itemCount\" " +
+            "FROM categories c WHERE c.id = :categoryId",
+            nativeQuery = true)
+    ResourceVersion findCategoryVersion(@Param("categoryId") Long categoryId);
 }
@@ -1,5 +1,7 @@
 package com.ecom.product_service.repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -8,40 +10,95 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.ecom.product_service.dto.PriceBucketRow;
 import com.ecom.product_service.model.ProductPriceHistory;
 
 @Repository
 public interface ProductPriceHistoryRepository extends JpaRepository<ProductPriceHistory, Long> {
 
 
-    @Query("SELECT pph FROM ProductPriceHistory pph " +
-            "LEFT JOIN FETCH pph.product p " +
-            "WHERE p.id = :productId")
-    Page<ProductPriceHistory> findByProductId(@Param("productId") Long productId, Pageable pageable);
-
+    // History reads are bounded on changed_at [:from, :to) so they only touch the months they cover
+    // (see V16); rows of detached partitions (past the retention period) are no longer returned
     @Query("SELECT pph FROM ProductPriceHistory pph " +
             "LEFT JOIN FETCH pph.product p " +
             "LEFT JOIN FETCH pph.variant v " +
             "WHERE (p.id = :productId OR v.product.id = :productId) " +
+            "AND pph.changedAt >= :from AND pph.changedAt < :to " +
             "AND (:minPrice IS NULL OR pph.newPrice >= :minPrice) " +
             "AND (:maxPrice IS NULL OR pph.newPrice <= :maxPrice)")
     Page<ProductPriceHistory> findByProductIdWithFilters(@Param("productId") Long productId,
                                                           @Param("minPrice") java.math.BigDecimal minPrice,
                                                           @Param("maxPrice") java.math.BigDecimal maxPrice,
+                                                          @Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to,
                                                           Pageable pageable);
 
     @Query("SELECT pph FROM ProductPriceHistory AS pph " +
             "LEFT JOIN FETCH pph.variant v " +
             "WHERE v.id = :variantId " +
+            "AND pph.changedAt >= :from AND pph.changedAt < :to " +
             "ORDER BY pph.changedAt DESC")
-    List<ProductPriceHistory> findByVariantIdOrderByCreatedAtDesc(@Param("variantId") Long variantId);
+    List<ProductPriceHistory> findByVariantIdOrderByCreatedAtDesc(@Param("variantId") Long variantId,
+                                                                  @Param("from") LocalDateTime from,
+                                                                  @Param("to") LocalDateTime to);
 
 
     @Query("SELECT pph FROM ProductPriceHistory AS pph " +
             "LEFT JOIN FETCH pph.product p " +
             "LEFT JOIN FETCH pph.variant v " +
-            "WHERE p.id = :productId OR v.product.id = :productId " +
+            "WHERE (p.id = :productId OR v.product.id = :productId) " +
+            "AND pph.changedAt >= :from AND pph.changedAt < :to " +
             "ORDER BY pph.changedAt DESC")
-    List<ProductPriceHistory> findAllByProductIdIncludingVariants(@Param("productId") Long productId);
+    List<ProductPriceHistory> findAllByProductIdIncludingVariants(@Param("productId") Long productId,
+                                                                  @Param("from") LocalDateTime from,
+                                                                  @Param("to") LocalDateTime to);
+
+    // OHLC buckets per price owner (product price = null variantId) over [:from, :to); the changed_at
+    // bounds prune the monthly partitions. open = price before the bucket's first change.
+    @Query(value = "WITH changes AS (" +
+            "  SELECT CAST(NULL AS BIGINT) AS variant_id, h.id, h.old_price, h.new_price, h.changed_at " +
+            "  FROM product_price_history h " +
+            "  WHERE h.product_id = :productId AND h.changed_at >= :from AND h.changed_at < :to " +
+            "  UNION ALL " +
+            "  SELECT h.variant_id, h.id, h.old_price, h.new_price, h.changed_at " +
+            "  FROM product_price_history h " +
+            "  JOIN product_variants v ON v.id = h.variant_id " +
+            "  WHERE v.product_id = :productId AND h.changed_at >= :from AND h.changed_at < :to), " +
+            "keyed AS (" +
+            "  SELECT c.*, date_trunc(CAST(:unit AS TEXT), c.changed_at) AS bucket_start FROM changes c), " +
+            "windowed AS (" +
+            "  SELECT k.variant_id, k.bucket_start, k.new_price, " +
+            "         FIRST_VALUE(COALESCE(k.old_price, k.new_price)) OVER w AS open_price, " +
+            "         LAST_VALUE(k.new_price) OVER w AS close_price " +
+            "  FROM keyed k " +
+            "  WINDOW w AS (PARTITION BY k.variant_id, k.bucket_start ORDER BY k.changed_at, k.id " +
+            "               ROWS BETWEEN UNBOUNDED PRECEDING AND UNBOUNDED FOLLOWING)) " +
+            "SELECT w.variant_id AS \"variantId\", w.bucket_start AS \"bucketStart\", " +
+            "       MIN(w.open_price) AS \"openPrice\", " +
+            "       GREATEST(MAX(w.new_price), MIN(w.open_price)) AS \"highPrice\", " +
+            "       LEAST(MIN(w.new_price), MIN(w.open_price)) AS \"lowPrice\", " +
+            "       MIN(w.close_price) AS \"closePrice\", " +
+            "       COUNT(*) AS \"changes\" " +
+            "FROM windowed w " +
+            "GROUP BY w.variant_id, w.bucket_start " +
+            "ORDER BY w.variant_id NULLS FIRST, w.bucket_start",
+            nativeQuery = true)
+    List<PriceBucketRow> findPriceBuckets(@Param("productId") Long productId,
+                                          @Param("unit") String unit,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
+
+    // --- Monthly partitions (see V16); each call runs on the primary in its own transaction ---
+
+    // Create missing partitions from the month of :from up to :monthsAhead months ahead; returns the created names
+    @Transactional
+    @Query(value = "SELECT create_price_history_partitions(CAST(:from AS DATE), :monthsAhead)", nativeQuery = true)
+    List<String> createPartitions(@Param("from") LocalDate from, @Param("monthsAhead") int monthsAhead);
+
+    // Detach partitions entirely older than :before (a month start), then archive (rename) or drop them
+    @Transactional
+    @Query(value = "SELECT detach_price_history_partitions(CAST(:before AS DATE), :drop)", nativeQuery = true)
+    List<String> detachPartitionsBefore(@Param("before") LocalDate before, @Param("drop") boolean drop);
 }
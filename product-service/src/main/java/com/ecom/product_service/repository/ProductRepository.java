@@ -1,14 +1,23 @@
 package com.ecom.product_service.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.ecom.product_service.dto.OptionFacetCount;
 import com.ecom.product_service.dto.ProductListDTO;
+import com.ecom.product_service.dto.ResourceVersion;
+import com.ecom.product_service.dto.SuggestionSource;
 import com.ecom.product_service.model.Product;
 
 @Repository
@@ -56,13 +65,19 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             "WHERE p.id = :id")
     Product findByIdWithDetails(@Param("id") Long id);
 
-    @Query("""
+    // Shared pieces of the listing queries below, so every variant (page, count, keyset, facets)
+    // applies exactly the same filters. All take :statusId, :categoryId, :brandId, :minPrice,
+    // :maxPrice and :includeDeleted; null filters are skipped.
+
+    String PRODUCT_LIST_SELECT_JPQL = """
             SELECT new com.ecom.product_service.dto.ProductListDTO(
                 p.id,
                 p.name,
                 p.slug,
                 p.description,
                 p.price,
+                p.minPrice,
+                p.maxPrice,
                 p.availability,
                 s.id,
                 s.label,
@@ -73,25 +88,280 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
                 p.isDeleted,
                 p.createdAt,
                 p.updatedAt,
-                (SELECT pi.imageUrl FROM ProductImage pi WHERE pi.product.id = p.id AND pi.isThumbnail = true)
+                p.thumbnailUrl
             )
             FROM Product p
             LEFT JOIN p.status s
             LEFT JOIN p.category c
             LEFT JOIN p.brand b
-            WHERE (:search IS NULL OR :search = '' OR
-                   LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) OR
-                   LOWER(p.description) LIKE LOWER(CONCAT('%', :search, '%')))
-            AND (:statusId IS NULL OR s.id = :statusId)
-            AND (:categoryId IS NULL OR c.id = :categoryId)
-            AND (:brandId IS NULL OR b.id = :brandId)
+            """;
+
+    // Foreign-key paths (p.status.id) resolve without a join, so the count query stays join-free
+    String PRODUCT_FILTER_JPQL = """
+            (:statusId IS NULL OR p.status.id = :statusId)
+            AND (:categoryId IS NULL OR p.category.id = :categoryId)
+            AND (:brandId IS NULL OR p.brand.id = :brandId)
+            AND (:minPrice IS NULL OR p.maxPrice >= :minPrice)
+            AND (:maxPrice IS NULL OR p.minPrice <= :maxPrice)
             AND (:includeDeleted = true OR p.isDeleted = false)
+            """;
+
+    // Native version of PRODUCT_FILTER_JPQL; the casts type the parameters when they are bound as null
+    String PRODUCT_FILTER_SQL = """
+            (CAST(:statusId AS BIGINT) IS NULL OR p.status_id = :statusId)
+            AND (CAST(:categoryId AS BIGINT) IS NULL OR p.category_id = :categoryId)
+            AND (CAST(:brandId AS BIGINT) IS NULL OR p.brand_id = :brandId)
+            AND (CAST(:minPrice AS NUMERIC) IS NULL OR p.max_price >= :minPrice)
+            AND (CAST(:maxPrice AS NUMERIC) IS NULL OR p.min_price <= :maxPrice)
+            AND (:includeDeleted = true OR p.is_deleted = false)
+            """;
+
+    // Products with an active variant whose option_values contain :optionFilter (idx_product_variants_option_values_path)
+    String OPTION_MATCH_SQL = """
+            p.id IN (
+                SELECT v.product_id FROM product_variants v
+                WHERE v.option_values @> CAST(:optionFilter AS JSONB)
+                AND v.is_active = true AND v.deleted_at IS NULL)
+            """;
+
+    // Full-text OR trigram match (idx_products_search_vector, idx_products_search_name_trgm)
+    String SEARCH_MATCH_SQL = """
+            (p.search_vector @@ to_tsquery('simple', :tsQuery) OR :fuzzyTerm <% p.search_name)
+            """;
+
+    @Query(PRODUCT_LIST_SELECT_JPQL + "WHERE " + PRODUCT_FILTER_JPQL)
+    List<ProductListDTO> findAllProductsOptimized(
+            @Param("statusId") Long statusId,
+            @Param("categoryId") Long categoryId,
+            @Param("brandId") Long brandId,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("includeDeleted") boolean includeDeleted,
+            Pageable pageable);
+
+    // Total for findAllProductsOptimized, run separately so callers can serve it from CatalogCountCache
+    @Query("SELECT COUNT(p) FROM Product p WHERE " + PRODUCT_FILTER_JPQL)
+    long countAllProductsOptimized(
+            @Param("statusId") Long statusId,
+            @Param("categoryId") Long categoryId,
+            @Param("brandId") Long brandId,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("includeDeleted") boolean includeDeleted);
+
+    // Same projection as findAllProductsOptimized, for a page of ids resolved by another query
+    @Query(PRODUCT_LIST_SELECT_JPQL + "WHERE p.id IN :ids")
+    List<ProductListDTO> findProductListByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Accent-insensitive search: full-text match on the weighted products.search_vector
+     * (GIN: idx_products_search_vector) OR trigram word similarity on products.search_name
+     * (GIN: idx_products_search_name_trgm) for typo tolerance. Both branches are index-backed.
+     * Returns only ids so the page can be hydrated with {@link #findProductListByIds(Collection)}.
+     * sort only switches the relevance rank on; the remaining order comes from the Pageable's Sort
+     * (column names, appended after the rank).
+     * A non-null optionFilter (JSON object) also requires an active variant containing it.
+     */
+    @Query(value = "SELECT p.id FROM products p WHERE " + SEARCH_MATCH_SQL
+            + "AND " + PRODUCT_FILTER_SQL
+            + "AND (CAST(:optionFilter AS JSONB) IS NULL OR " + OPTION_MATCH_SQL + ") "
+            + """
+            ORDER BY
+                CASE WHEN :sort = 'relevance'
+                     THEN ts_rank(p.search_vector, to_tsquery('simple', :tsQuery)) + word_similarity(:fuzzyTerm, p.search_name)
+                END DESC
+            """, nativeQuery = true)
+    List<Long> searchProductIds(
+            @Param("tsQuery") String tsQuery,
+            @Param("fuzzyTerm") String fuzzyTerm,
+            @Param("statusId") Long statusId,
+            @Param("categoryId") Long categoryId,
+            @Param("brandId") Long brandId,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("optionFilter") String optionFilter,
+            @Param("includeDeleted") boolean includeDeleted,
+            @Param("sort") String sort,
+            Pageable pageable);
+
+    // Total for searchProductIds, run separately so callers can serve it from CatalogCountCache
+    @Query(value = "SELECT COUNT(*) FROM products p WHERE " + SEARCH_MATCH_SQL
+            + "AND " + PRODUCT_FILTER_SQL
+            + "AND (CAST(:optionFilter AS JSONB) IS NULL OR " + OPTION_MATCH_SQL + ")",
+            nativeQuery = true)
+    long countSearchProducts(
+            @Param("tsQuery") String tsQuery,
+            @Param("fuzzyTerm") String fuzzyTerm,
+            @Param("statusId") Long statusId,
+            @Param("categoryId") Long categoryId,
+            @Param("brandId") Long brandId,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("optionFilter") String optionFilter,
+            @Param("includeDeleted") boolean includeDeleted);
+
+    /**
+     * Keyset page of the listing (created_at DESC, id DESC), seeking on idx_products_created_at_desc.
+     * The redundant created_at bound gives the planner an index condition; the OR resolves ties.
+     * Pass a Pageable of (0, limit) - no count query is issued.
+     */
+    @Query(PRODUCT_LIST_SELECT_JPQL + "WHERE " + PRODUCT_FILTER_JPQL + """
+            AND p.createdAt <= :cursorCreatedAt
+            AND (p.createdAt < :cursorCreatedAt OR p.id < :cursorId)
+            ORDER BY p.createdAt DESC, p.id DESC
             """)
-    Page<ProductListDTO> findAllProductsOptimized(
-            @Param("search") String search,
+    List<ProductListDTO> findProductsAfterCursor(
             @Param("statusId") Long statusId,
             @Param("categoryId") Long categoryId,
             @Param("brandId") Long brandId,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
             @Param("includeDeleted") boolean includeDeleted,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
             Pageable pageable);
+
+    // Keyset variant of searchProductIds (newest first only), no count query
+    @Query(value = "SELECT p.id FROM products p WHERE " + SEARCH_MATCH_SQL
+            + "AND " + PRODUCT_FILTER_SQL
+            + "AND (CAST(:optionFilter AS JSONB) IS NULL OR " + OPTION_MATCH_SQL + ") "
+            + """
+            AND (p.created_at, p.id) < (:cursorCreatedAt, :cursorId)
+            ORDER BY p.created_at DESC, p.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> searchProductIdsAfterCursor(
+            @Param("tsQuery") String tsQuery,
+            @Param("fuzzyTerm") String fuzzyTerm,
+            @Param("statusId") Long statusId,
+            @Param("categoryId") Long categoryId,
+            @Param("brandId") Long brandId,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("optionFilter") String optionFilter,
+            @Param("includeDeleted") boolean includeDeleted,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            @Param("limit") int limit);
+
+    /**
+     * Listing restricted to products having an active variant whose option_values contain
+     * optionFilter (JSON object, e.g. {"Color":"Red","Size":"M"}). The subquery is answered by
+     * the partial GIN index idx_product_variants_option_values_path. Ordered by the Pageable's Sort
+     * (column names), so each direction gets a plain ORDER BY the price indexes can serve.
+     * Returns only ids so the page can be hydrated with {@link #findProductListByIds(Collection)}.
+     */
+    @Query(value = "SELECT p.id FROM products p WHERE " + OPTION_MATCH_SQL + "AND " + PRODUCT_FILTER_SQL,
+            nativeQuery = true)
+    List<Long> findProductIdsByOptions(
+            @Param("optionFilter") String optionFilter,
+            @Param("statusId") Long statusId,
+            @Param("categoryId") Long categoryId,
+            @Param("brandId") Long brandId,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("includeDeleted") boolean includeDeleted,
+            Pageable pageable);
+
+    // Total for findProductIdsByOptions, run separately so callers can serve it from CatalogCountCache
+    @Query(value = "SELECT COUNT(*) FROM products p WHERE " + OPTION_MATCH_SQL + "AND " + PRODUCT_FILTER_SQL,
+            nativeQuery = true)
+    long countProductsByOptions(
+            @Param("optionFilter") String optionFilter,
+            @Param("statusId") Long statusId,
+            @Param("categoryId") Long categoryId,
+            @Param("brandId") Long brandId,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("includeDeleted") boolean includeDeleted);
+
+    // Keyset variant of findProductIdsByOptions, no count query
+    @Query(value = "SELECT p.id FROM products p WHERE " + OPTION_MATCH_SQL + "AND " + PRODUCT_FILTER_SQL + """
+            AND (p.created_at, p.id) < (:cursorCreatedAt, :cursorId)
+            ORDER BY p.created_at DESC, p.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findProductIdsByOptionsAfterCursor(
+            @Param("optionFilter") String optionFilter,
+            @Param("statusId") Long statusId,
+            @Param("categoryId") Long categoryId,
+            @Param("brandId") Long brandId,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("includeDeleted") boolean includeDeleted,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            @Param("limit") int limit);
+
+    /**
+     * Facet counts for a listing: for every option name/value carried by an active variant,
+     * the number of matching products offering it. Takes the same filters as the listing
+     * (tsQuery / fuzzyTerm / optionFilter may be null), so counts describe the current result set.
+     */
+    @Query(value = """
+            SELECT o.key AS "optionName", o.value AS "optionValue", COUNT(DISTINCT p.id) AS "productCount"
+            FROM products p
+            JOIN product_variants pv
+                ON pv.product_id = p.id AND pv.is_active = true AND pv.deleted_at IS NULL
+            CROSS JOIN LATERAL jsonb_each_text(pv.option_values) o
+            WHERE (CAST(:tsQuery AS TEXT) IS NULL
+                   OR p.search_vector @@ to_tsquery('simple', CAST(:tsQuery AS TEXT))
+                   OR CAST(:fuzzyTerm AS TEXT) <% p.search_name)
+            """
+            + "AND (CAST(:optionFilter AS JSONB) IS NULL OR " + OPTION_MATCH_SQL + ") "
+            + "AND " + PRODUCT_FILTER_SQL + """
+            GROUP BY o.key, o.value
+            ORDER BY o.key, COUNT(DISTINCT p.id) DESC, o.value
+            """, nativeQuery = true)
+    List<OptionFacetCount> findOptionFacets(
+            @Param("tsQuery") String tsQuery,
+            @Param("fuzzyTerm") String fuzzyTerm,
+            @Param("optionFilter") String optionFilter,
+            @Param("statusId") Long statusId,
+            @Param("categoryId") Long categoryId,
+            @Param("brandId") Long brandId,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("includeDeleted") boolean includeDeleted);
+
+    // Keeps products.thumbnail_url in sync with the thumbnail image (null when there is none)
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Product p SET p.thumbnailUrl = :thumbnailUrl, p.updatedAt = :updatedAt WHERE p.id = :productId")
+    int updateThumbnailUrl(@Param("productId") Long productId,
+            @Param("thumbnailUrl") String thumbnailUrl,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Version of everything rendered by catalog listings (products, categories, brands, statuses).
+     * Products are only soft-deleted, so their MAX(updated_at) is enough; the small lookup tables
+     * also contribute their row counts.
+     */
+    @Query(value = """
+            SELECT GREATEST(
+                       (SELECT MAX(updated_at) FROM products),
+                       (SELECT MAX(updated_at) FROM categories),
+                       (SELECT MAX(updated_at) FROM brands),
+                       (SELECT MAX(updated_at) FROM product_status)) AS "lastModified",
+                   (SELECT COUNT(*) FROM categories)
+                       + (SELECT COUNT(*) FROM brands)
+                       + (SELECT COUNT(*) FROM product_status) AS "itemCount"
+            """, nativeQuery = true)
+    ResourceVersion findCatalogVersion();
+
+    // findCatalogVersion plus variant writes (idx_product_variants_updated_at), for option-filtered listings
+    @Query(value = """
+            SELECT GREATEST(
+                       (SELECT MAX(updated_at) FROM products),
+                       (SELECT MAX(updated_at) FROM product_variants),
+                       (SELECT MAX(updated_at) FROM categories),
+                       (SELECT MAX(updated_at) FROM brands),
+                       (SELECT MAX(updated_at) FROM product_status)) AS "lastModified",
+                   (SELECT COUNT(*) FROM categories)
+                       + (SELECT COUNT(*) FROM brands)
+                       + (SELECT COUNT(*) FROM product_status) AS "itemCount"
+            """, nativeQuery = true)
+    ResourceVersion findCatalogWithVariantsVersion();
+
+    @Query("SELECT p.id AS id, p.name AS name, p.slug AS slug FROM Product p WHERE p.isDeleted = false")
+    List<SuggestionSource> findAllSuggestionSources();
 }
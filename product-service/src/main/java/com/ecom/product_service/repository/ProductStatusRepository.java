@@ -4,8 +4,10 @@ import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.ecom.product_service.dto.ResourceVersion;
 import com.ecom.product_service.model.ProductStatus;
 
 @Repository
@@ -13,4 +15,8 @@ public interface ProductStatusRepository extends JpaRepository<ProductStatus, Lo
 
     @Query("SELECT ps FROM ProductStatus ps ORDER BY ps.displayOrder ASC")
     List<ProductStatus> findAllOrderByDisplayOrder();
+
+    @Query(value = "SELECT updated_at AS \"lastModified\", 1 AS \"itemCount\" FROM product_status WHERE id = :statusId",
+            nativeQuery = true)
+    ResourceVersion findStatusVersion(@Param("statusId") Long statusId);
 }
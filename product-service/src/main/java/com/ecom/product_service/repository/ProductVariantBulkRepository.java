@@ -0,0 +1,42 @@
+package com.ecom.product_service.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.ecom.product_service.model.ProductVariant;
+import com.ecom.product_service.response.StockAdjustmentResult;
+
+/**
+ * Set-based variant writes that bypass per-entity IDENTITY inserts (see ProductVariantBulkRepositoryImpl).
+ */
+public interface ProductVariantBulkRepository {
+
+    /**
+     * Reserves count ids from the product_variants sequence in one round trip.
+     */
+    List<Long> allocateVariantIds(int count);
+
+    /**
+     * Inserts variants whose id, createdAt and updatedAt are already set, as one JDBC batch.
+     * Rows are written directly, the persistence context does not track them.
+     */
+    void insertAll(List<ProductVariant> variants);
+
+    /**
+     * SKUs from the given set already used by a non-deleted variant.
+     */
+    List<String> findExistingSkus(Collection<String> skus);
+
+    /**
+     * Applies stock adjustments in one UPDATE ... FROM unnest(...) statement and returns one result per row,
+     * in line order. Deltas are applied to the locked row, so concurrent reservations are not overwritten.
+     * Each row must address a different key (merge repeated keys first).
+     */
+    List<StockAdjustmentResult> applyStockAdjustments(List<StockAdjustmentRow> adjustments);
+
+    /**
+     * Net effect of the lines for one key: stock becomes (stockQuantity, or the current stock when null) + delta.
+     */
+    record StockAdjustmentRow(int line, Long id, String sku, Integer stockQuantity, int delta) {
+    }
+}
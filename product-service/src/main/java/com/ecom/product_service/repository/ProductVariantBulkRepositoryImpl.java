@@ -0,0 +1,180 @@
+package com.ecom.product_service.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.ecom.product_service.dto.StockAdjustmentStatus;
+import com.ecom.product_service.model.ProductVariant;
+import com.ecom.product_service.response.StockAdjustmentResult;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC implementation of {@link ProductVariantBulkRepository}, picked up by Spring Data as a
+ * fragment of ProductVariantRepository. Runs on the connection of the current JPA transaction.
+ *
+ * IDENTITY ids force Hibernate to insert one row per statement; here ids come from the
+ * BIGSERIAL sequence in a single nextval() call, so all rows go out in one batch.
+ */
+@RequiredArgsConstructor
+public class ProductVariantBulkRepositoryImpl implements ProductVariantBulkRepository {
+
+    private static final String ALLOCATE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('product_variants', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO product_variants (id, product_id, sku, variant_name, price, compare_at_price,
+                                          stock_quantity, low_stock_threshold, option_values, option_hash,
+                                          is_default, is_active, display_order, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb), ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String EXISTING_SKUS_SQL =
+            "SELECT sku FROM product_variants WHERE sku IN (:skus) AND deleted_at IS NULL";
+
+    // DISTINCT ON keeps one line per variant when it was addressed by both id and sku.
+    // new stock is computed from the row being updated (v), not from the candidates snapshot.
+    private static final String STOCK_ADJUSTMENT_SQL = """
+            WITH input AS (
+                SELECT *
+                FROM unnest(CAST(? AS int[]), CAST(? AS bigint[]), CAST(? AS text[]), CAST(? AS int[]), CAST(? AS int[]))
+                     AS t(line_no, id, sku, absolute_qty, delta_qty)),
+            candidates AS (
+                SELECT i.line_no, v.id AS variant_id, v.sku, v.stock_quantity AS old_qty, i.absolute_qty, i.delta_qty
+                FROM input i
+                JOIN product_variants v
+                  ON v.deleted_at IS NULL AND (v.id = i.id OR (i.id IS NULL AND v.sku = i.sku))),
+            winners AS (
+                SELECT DISTINCT ON (variant_id) *
+                FROM candidates
+                ORDER BY variant_id, line_no DESC),
+            updated AS (
+                UPDATE product_variants v
+                SET stock_quantity = COALESCE(w.absolute_qty, v.stock_quantity) + w.delta_qty,
+                    updated_at = NOW()
+                FROM winners w
+                WHERE v.id = w.variant_id
+                  AND COALESCE(w.absolute_qty, v.stock_quantity) + w.delta_qty >= 0
+                  AND COALESCE(w.absolute_qty, v.stock_quantity) + w.delta_qty <> v.stock_quantity
+                RETURNING w.line_no, v.stock_quantity,
+                          v.stock_quantity <= v.low_stock_threshold AND w.old_qty > v.low_stock_threshold AS low_stock_crossed)
+            SELECT i.line_no, c.variant_id, COALESCE(c.sku, i.sku) AS sku, c.old_qty,
+                   COALESCE(u.stock_quantity, c.old_qty) AS new_qty,
+                   COALESCE(u.low_stock_crossed, false) AS low_stock_crossed,
+                   CASE
+                       WHEN c.variant_id IS NULL THEN 'NOT_FOUND'
+                       WHEN w.line_no IS NULL THEN 'DUPLICATE'
+                       WHEN u.line_no IS NOT NULL THEN 'UPDATED'
+                       WHEN COALESCE(c.absolute_qty, c.old_qty) + c.delta_qty < 0 THEN 'NEGATIVE_STOCK'
+                       ELSE 'UNCHANGED'
+                   END AS status
+            FROM input i
+            LEFT JOIN candidates c ON c.line_no = i.line_no
+            LEFT JOIN winners w ON w.line_no = i.line_no
+            LEFT JOIN updated u ON u.line_no = i.line_no
+            ORDER BY i.line_no
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Long> allocateVariantIds(int count) {
+        return jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, count);
+    }
+
+    @Override
+    public void insertAll(List<ProductVariant> variants) {
+        if (variants.isEmpty()) {
+            return;
+        }
+
+        // Pending entity changes (e.g. options saved earlier in the transaction) must reach the database first
+        entityManager.flush();
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ProductVariant variant = variants.get(i);
+                ps.setLong(1, variant.getId());
+                ps.setLong(2, variant.getProduct().getId());
+                ps.setString(3, variant.getSku());
+                ps.setString(4, variant.getVariantName());
+                ps.setBigDecimal(5, variant.getPrice());
+                ps.setBigDecimal(6, variant.getCompareAtPrice());
+                ps.setInt(7, variant.getStockQuantity());
+                setNullableInt(ps, 8, variant.getLowStockThreshold());
+                ps.setString(9, variant.getOptionValuesJson());
+                ps.setString(10, variant.getOptionHash());
+                ps.setBoolean(11, variant.getIsDefault());
+                ps.setBoolean(12, variant.getIsActive());
+                ps.setInt(13, variant.getDisplayOrder());
+                ps.setTimestamp(14, Timestamp.valueOf(variant.getCreatedAt()));
+                ps.setTimestamp(15, Timestamp.valueOf(variant.getUpdatedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return variants.size();
+            }
+        });
+    }
+
+    @Override
+    public List<String> findExistingSkus(Collection<String> skus) {
+        if (skus.isEmpty()) {
+            return List.of();
+        }
+        return namedParameterJdbcTemplate.queryForList(EXISTING_SKUS_SQL,
+                new MapSqlParameterSource("skus", skus), String.class);
+    }
+
+    @Override
+    public List<StockAdjustmentResult> applyStockAdjustments(List<StockAdjustmentRow> adjustments) {
+        if (adjustments.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query(STOCK_ADJUSTMENT_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("int",
+                    adjustments.stream().map(StockAdjustmentRow::line).toArray()));
+            ps.setArray(2, connection.createArrayOf("bigint",
+                    adjustments.stream().map(StockAdjustmentRow::id).toArray()));
+            ps.setArray(3, connection.createArrayOf("text",
+                    adjustments.stream().map(StockAdjustmentRow::sku).toArray()));
+            ps.setArray(4, connection.createArrayOf("int",
+                    adjustments.stream().map(StockAdjustmentRow::stockQuantity).toArray()));
+            ps.setArray(5, connection.createArrayOf("int",
+                    adjustments.stream().map(StockAdjustmentRow::delta).toArray()));
+        }, (rs, rowNum) -> StockAdjustmentResult.builder()
+                .line(rs.getInt("line_no"))
+                .variantId(rs.getObject("variant_id", Long.class))
+                .sku(rs.getString("sku"))
+                .previousStock(rs.getObject("old_qty", Integer.class))
+                .stockQuantity(rs.getObject("new_qty", Integer.class))
+                .status(StockAdjustmentStatus.valueOf(rs.getString("status")))
+                .lowStockCrossed(rs.getBoolean("low_stock_crossed"))
+                .build());
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+}
@@ -30,7 +30,7 @@ public interface ProductVariantOptionRepository extends JpaRepository<ProductVar
      * clearAutomatically = true evicts the stale entity from the first-level cache after update.
      */
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query(value = "UPDATE product_variant_options SET option_values = array_append(option_values, :value) WHERE id = :id",
+    @Query(value = "UPDATE product_variant_options SET option_values = array_append(option_values, :value), updated_at = NOW() WHERE id = :id",
            nativeQuery = true)
     void appendOptionValue(@Param("id") Long id, @Param("value") String value);
 
@@ -40,7 +40,7 @@ public interface ProductVariantOptionRepository extends JpaRepository<ProductVar
      * clearAutomatically = true evicts the stale entity from the first-level cache after update.
      */
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query(value = "UPDATE product_variant_options SET option_values = array_remove(option_values, :value) WHERE id = :id",
+    @Query(value = "UPDATE product_variant_options SET option_values = array_remove(option_values, :value), updated_at = NOW() WHERE id = :id",
            nativeQuery = true)
     void removeOptionValue(@Param("id") Long id, @Param("value") String value);
 
@@ -49,7 +49,7 @@ public interface ProductVariantOptionRepository extends JpaRepository<ProductVar
      * Bypasses Hibernate entity tracking for the same reason as above.
      */
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query(value = "UPDATE product_variant_options SET option_name = :newName WHERE id = :id",
+    @Query(value = "UPDATE product_variant_options SET option_name = :newName, updated_at = NOW() WHERE id = :id",
            nativeQuery = true)
     void updateOptionName(@Param("id") Long id, @Param("newName") String newName);
 }
@@ -1,19 +1,26 @@
 package com.ecom.product_service.repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.ecom.product_service.dto.LowStockVariant;
+import com.ecom.product_service.dto.ResourceVersion;
+import com.ecom.product_service.dto.StockWriteResult;
+import com.ecom.product_service.dto.VariantAvailabilityRow;
 import com.ecom.product_service.model.ProductVariant;
 
 @Repository
-public interface ProductVariantRepository extends JpaRepository<ProductVariant, Long> {
+public interface ProductVariantRepository extends JpaRepository<ProductVariant, Long>, ProductVariantBulkRepository {
 
        List<ProductVariant> findByProductIdAndDeletedAtIsNullOrderByDisplayOrder(Long productId);
 
@@ -34,26 +41,6 @@ public interface ProductVariantRepository extends JpaRepository<ProductVariant,
 
        boolean existsBySkuAndDeletedAtIsNull(String sku);
 
-       // Sum stock quantity for all variants of a product
-       @Query("SELECT COALESCE(SUM(v.stockQuantity), 0) FROM ProductVariant v " +
-                     "WHERE v.product.id = :productId AND v.deletedAt IS NULL")
-       Integer sumStockByProductId(@Param("productId") Long productId);
-
-       // Find minimum price among active variants for a product
-       @Query("SELECT MIN(v.price) FROM ProductVariant v " +
-                     "WHERE v.product.id = :productId AND v.isActive = true AND v.deletedAt IS NULL")
-       BigDecimal findMinPriceByProductId(@Param("productId") Long productId);
-
-       // Find maximum price among active variants for a product
-       @Query("SELECT MAX(v.price) FROM ProductVariant v " +
-                     "WHERE v.product.id = :productId AND v.isActive = true AND v.deletedAt IS NULL")
-       BigDecimal findMaxPriceByProductId(@Param("productId") Long productId);
-
-       // Count active variants for a product
-       @Query("SELECT COUNT(v) FROM ProductVariant v " +
-                     "WHERE v.product.id = :productId AND v.isActive = true AND v.deletedAt IS NULL")
-       Integer countActiveVariantsByProductId(@Param("productId") Long productId);
-
        // Count variants excluding soft-deleted ones
        long countByProductIdAndDeletedAtIsNull(Long productId);
 
@@ -65,9 +52,28 @@ public interface ProductVariantRepository extends JpaRepository<ProductVariant,
                      "ORDER BY v.stockQuantity ASC")
        List<ProductVariant> findLowStockVariants(@Param("productId") Long productId);
 
-       // Count ALL non-deleted variants (including inactive) - for totalVariants field
-       @Query("SELECT COUNT(v) FROM ProductVariant v WHERE v.product.id = :productId AND v.deletedAt IS NULL")
-       long countAllVariantsByProductId(@Param("productId") Long productId);
+       // Low-stock variants across all products, most urgent first (served by idx_product_variants_low_stock)
+       @Query(value = "SELECT v.id AS \"variantId\", v.sku AS \"sku\", v.variant_name AS \"variantName\", " +
+                     "v.product_id AS \"productId\", p.name AS \"productName\", " +
+                     "v.stock_quantity AS \"stockQuantity\", v.low_stock_threshold AS \"lowStockThreshold\" " +
+                     "FROM product_variants v JOIN products p ON p.id = v.product_id " +
+                     "WHERE v.deleted_at IS NULL AND v.stock_quantity <= v.low_stock_threshold " +
+                     "AND p.is_deleted = false " +
+                     "ORDER BY v.stock_quantity, v.id",
+                     countQuery = "SELECT COUNT(*) FROM product_variants v JOIN products p ON p.id = v.product_id " +
+                     "WHERE v.deleted_at IS NULL AND v.stock_quantity <= v.low_stock_threshold " +
+                     "AND p.is_deleted = false",
+                     nativeQuery = true)
+       Page<LowStockVariant> findAllLowStock(Pageable pageable);
+
+       // Alert details of variants a stock statement took into low stock (see LowStockAlertPublisher)
+       @Query(value = "SELECT v.id AS \"variantId\", v.sku AS \"sku\", v.variant_name AS \"variantName\", " +
+                     "v.product_id AS \"productId\", p.name AS \"productName\", " +
+                     "v.stock_quantity AS \"stockQuantity\", v.low_stock_threshold AS \"lowStockThreshold\" " +
+                     "FROM product_variants v JOIN products p ON p.id = v.product_id " +
+                     "WHERE v.id IN (:variantIds) AND v.deleted_at IS NULL AND p.is_deleted = false",
+                     nativeQuery = true)
+       List<LowStockVariant> findLowStockVariantsByIds(@Param("variantIds") Collection<Long> variantIds);
 
        // Count how many variants use a specific option value (via JSONB query)
        @Query(value = "SELECT COUNT(*) FROM product_variants " +
@@ -79,14 +85,159 @@ public interface ProductVariantRepository extends JpaRepository<ProductVariant,
                      @Param("optionName") String optionName,
                      @Param("optionValue") String optionValue);
 
+       // Availability matrix input: non-deleted variants without entity hydration
+       @Query(value = "SELECT id AS \"id\", CAST(option_values AS TEXT) AS \"optionValues\", " +
+                     "stock_quantity AS \"stockQuantity\", low_stock_threshold AS \"lowStockThreshold\", " +
+                     "is_active AS \"active\" " +
+                     "FROM product_variants WHERE product_id = :productId AND deleted_at IS NULL",
+                     nativeQuery = true)
+       List<VariantAvailabilityRow> findAvailabilityRows(@Param("productId") Long productId);
+
+       // Variant for an option combination (uq_product_variants_option_hash)
+       Optional<ProductVariant> findByProductIdAndOptionHashAndDeletedAtIsNull(Long productId, String optionHash);
+
+       // Which of the given combination hashes the product's non-deleted variants already use
+       @Query("SELECT v.optionHash FROM ProductVariant v " +
+                     "WHERE v.product.id = :productId AND v.deletedAt IS NULL AND v.optionHash IN :hashes")
+       List<String> findExistingOptionHashes(@Param("productId") Long productId,
+                     @Param("hashes") Collection<String> hashes);
+
+       // Combination hashes of the product's non-deleted variants (variant matrix generation)
+       @Query("SELECT v.optionHash FROM ProductVariant v " +
+                     "WHERE v.product.id = :productId AND v.deletedAt IS NULL AND v.optionHash IS NOT NULL")
+       List<String> findOptionHashesByProductId(@Param("productId") Long productId);
+
+       // Take stock only if enough is left outside hot-SKU leases; the row lock is held for this statement, not a read-modify-write.
+       // Empty when there was not enough; stock_quantity in RETURNING is the new value, so the old one is it plus :quantity
+       @Query(value = "WITH taken AS (" +
+                     "  UPDATE product_variants " +
+                     "  SET stock_quantity = stock_quantity - :quantity, updated_at = NOW() " +
+                     "  WHERE id = :variantId AND stock_quantity - leased_quantity >= :quantity " +
+                     "  AND is_active IS TRUE AND deleted_at IS NULL " +
+                     "  RETURNING id, stock_quantity, low_stock_threshold) " +
+                     "SELECT id AS \"variantId\", " +
+                     "COALESCE(stock_quantity <= low_stock_threshold " +
+                     "  AND stock_quantity + :quantity > low_stock_threshold, false) AS \"lowStockCrossed\" " +
+                     "FROM taken",
+                     nativeQuery = true)
+       Optional<StockWriteResult> decrementStock(@Param("variantId") Long variantId, @Param("quantity") int quantity);
+
+       // Stock the database reserve path can sell: on hand minus the units leased to hot-SKU counters
+       @Query(value = "SELECT stock_quantity - leased_quantity FROM product_variants WHERE id = :variantId",
+                     nativeQuery = true)
+       int findUnleasedStock(@Param("variantId") Long variantId);
+
+       boolean existsByIdAndIsActiveTrueAndDeletedAtIsNull(Long id);
+
+       // --- Hot-SKU stock leases (see V11); each call is one statement in its own transaction ---
+       // Called only from HotStockServiceImpl's startup / scheduled jobs, never from a reservation transaction,
+       // so a lease never holds a second connection next to a buyer's.
+
+       // Lease up to quantity unleased units to nodeId; returns the units granted (0 = nothing left or not sellable)
+       @Transactional
+       @Query(value = "WITH v AS (" +
+                     "  SELECT id, LEAST(GREATEST(stock_quantity - leased_quantity, 0), :quantity) AS granted " +
+                     "  FROM product_variants " +
+                     "  WHERE id = :variantId AND is_active IS TRUE AND deleted_at IS NULL " +
+                     "  FOR UPDATE), " +
+                     "leased AS (" +
+                     "  UPDATE product_variants p SET leased_quantity = p.leased_quantity + v.granted " +
+                     "  FROM v WHERE p.id = v.id AND v.granted > 0 " +
+                     "  RETURNING v.granted), " +
+                     "lease AS (" +
+                     "  INSERT INTO stock_leases (variant_id, node_id, quantity, expires_at) " +
+                     "  SELECT :variantId, :nodeId, granted, NOW() + make_interval(secs => :ttlSeconds) FROM leased " +
+                     "  ON CONFLICT (variant_id, node_id) DO UPDATE " +
+                     "  SET quantity = stock_leases.quantity + EXCLUDED.quantity, " +
+                     "      expires_at = EXCLUDED.expires_at, updated_at = NOW()) " +
+                     "SELECT COALESCE((SELECT granted FROM leased), 0)",
+                     nativeQuery = true)
+       int leaseStock(@Param("variantId") Long variantId, @Param("nodeId") String nodeId,
+                     @Param("quantity") int quantity, @Param("ttlSeconds") double ttlSeconds);
+
+       // Write back units sold from the lease (negative = given back) and renew it; empty when the lease no longer exists (reclaimed).
+       // GREATEST only clamps a row that was already oversold, so stock + :sold is the old stock for the low-stock check
+       @Transactional
+       @Query(value = "WITH lease AS (" +
+                     "  UPDATE stock_leases " +
+                     "  SET quantity = GREATEST(quantity - :sold, 0), " +
+                     "      expires_at = NOW() + make_interval(secs => :ttlSeconds), updated_at = NOW() " +
+                     "  WHERE variant_id = :variantId AND node_id = :nodeId " +
+                     "  RETURNING variant_id), " +
+                     "applied AS (" +
+                     "  UPDATE product_variants p " +
+                     "  SET stock_quantity = GREATEST(p.stock_quantity - :sold, 0), " +
+                     "      leased_quantity = GREATEST(p.leased_quantity - :sold, 0), updated_at = NOW() " +
+                     "  FROM lease WHERE p.id = lease.variant_id AND :sold <> 0 " +
+                     "  RETURNING p.id, p.stock_quantity <= p.low_stock_threshold " +
+                     "    AND p.stock_quantity + :sold > p.low_stock_threshold AS crossed) " +
+                     "SELECT lease.variant_id AS \"variantId\", COALESCE(applied.crossed, false) AS \"lowStockCrossed\" " +
+                     "FROM lease LEFT JOIN applied ON applied.id = lease.variant_id",
+                     nativeQuery = true)
+       Optional<StockWriteResult> flushLeasedSales(@Param("variantId") Long variantId, @Param("nodeId") String nodeId,
+                     @Param("sold") int sold, @Param("ttlSeconds") double ttlSeconds);
+
+       // Write back the last sales and hand every unsold leased unit back; returns 0 when the lease was already reclaimed
+       @Transactional
+       @Query(value = "WITH lease AS (" +
+                     "  DELETE FROM stock_leases WHERE variant_id = :variantId AND node_id = :nodeId " +
+                     "  RETURNING variant_id, quantity), " +
+                     "applied AS (" +
+                     "  UPDATE product_variants p " +
+                     "  SET stock_quantity = GREATEST(p.stock_quantity - :sold, 0), " +
+                     "      leased_quantity = GREATEST(p.leased_quantity - lease.quantity, 0), updated_at = NOW() " +
+                     "  FROM lease WHERE p.id = lease.variant_id " +
+                     "  RETURNING p.id) " +
+                     "SELECT COUNT(*) FROM lease",
+                     nativeQuery = true)
+       int releaseStockLease(@Param("variantId") Long variantId, @Param("nodeId") String nodeId,
+                     @Param("sold") int sold);
+
+       // Return the units of leases whose node stopped renewing them (crash); returns the number of leases reclaimed
+       @Transactional
+       @Query(value = "WITH expired AS (" +
+                     "  DELETE FROM stock_leases WHERE expires_at <= NOW() " +
+                     "  RETURNING variant_id, quantity), " +
+                     "applied AS (" +
+                     "  UPDATE product_variants p " +
+                     "  SET leased_quantity = GREATEST(p.leased_quantity - e.quantity, 0) " +
+                     "  FROM (SELECT variant_id, SUM(quantity) AS quantity FROM expired GROUP BY variant_id) e " +
+                     "  WHERE p.id = e.variant_id " +
+                     "  RETURNING p.id) " +
+                     "SELECT COUNT(*) FROM expired",
+                     nativeQuery = true)
+       int reclaimExpiredStockLeases();
+
+       // Clear the default flag on the product's current default variant in one statement
+       @Modifying(flushAutomatically = true)
+       @Query(value = "UPDATE product_variants SET is_default = FALSE, updated_at = NOW() " +
+                     "WHERE product_id = :productId AND is_default = TRUE AND deleted_at IS NULL",
+                     nativeQuery = true)
+       int clearDefaultVariant(@Param("productId") Long productId);
+
        // Rename an option key in all variants' optionValuesJson for a product
        @Modifying
        @Query(value = "UPDATE product_variants " +
                      "SET option_values = (option_values - :oldName) || " +
-                     "jsonb_build_object(:newName, option_values -> :oldName) " +
+                     "jsonb_build_object(:newName, option_values -> :oldName), " +
+                     "updated_at = NOW() " +
                      "WHERE product_id = :productId AND deleted_at IS NULL",
                      nativeQuery = true)
        void renameOptionInVariants(@Param("productId") Long productId,
                      @Param("oldName") String oldName,
                      @Param("newName") String newName);
+
+       // Version of a product's variant data (product row, variants, options) for conditional GET
+       @Query(value = "SELECT GREATEST(" +
+                     "(SELECT updated_at FROM products WHERE id = :productId), " +
+                     "(SELECT MAX(updated_at) FROM product_variants WHERE product_id = :productId), " +
+                     "(SELECT MAX(updated_at) FROM product_variant_options WHERE product_id = :productId)) AS \"lastModified\", " +
+                     "(SELECT COUNT(*) FROM product_variants WHERE product_id = :productId) + " +
+                     "(SELECT COUNT(*) FROM product_variant_options WHERE product_id = :productId) AS \"itemCount\"",
+                     nativeQuery = true)
+       ResourceVersion findVariantsVersion(@Param("productId") Long productId);
+
+       @Query(value = "SELECT updated_at AS \"lastModified\", 1 AS \"itemCount\" FROM product_variants WHERE id = :variantId",
+                     nativeQuery = true)
+       ResourceVersion findVariantVersion(@Param("variantId") Long variantId);
 }
@@ -0,0 +1,11 @@
+package com.ecom.product_service.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.ecom.product_service.model.ProductVariantStats;
+
+// Rows are written by the database trigger only; keep this repository to reads
+@Repository
+public interface ProductVariantStatsRepository extends JpaRepository<ProductVariantStats, Long> {
+}
@@ -0,0 +1,56 @@
+package com.ecom.product_service.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ecom.product_service.model.StockReservation;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+       // Stock was taken at reserve time, committing only closes the hold (0 rows = unknown, closed or expired).
+       // clearAutomatically = true evicts the hold loaded by the owner check, so the response shows the new status
+       @Modifying(clearAutomatically = true, flushAutomatically = true)
+       @Query(value = "UPDATE stock_reservations SET status = 'COMMITTED', updated_at = NOW() " +
+                     "WHERE id = :id AND status = 'RESERVED' AND expires_at > :now",
+                     nativeQuery = true)
+       int commit(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+       // Close the hold and give its quantity back in one statement (0 rows = unknown or already closed)
+       @Modifying(clearAutomatically = true, flushAutomatically = true)
+       @Query(value = "WITH released AS (" +
+                     "  UPDATE stock_reservations SET status = 'RELEASED', updated_at = NOW() " +
+                     "  WHERE id = :id AND status = 'RESERVED' " +
+                     "  RETURNING variant_id, quantity) " +
+                     "UPDATE product_variants v " +
+                     "SET stock_quantity = v.stock_quantity + r.quantity, updated_at = NOW() " +
+                     "FROM released r WHERE v.id = r.variant_id",
+                     nativeQuery = true)
+       int release(@Param("id") Long id);
+
+       // Expire up to batchSize overdue holds and restock their variants (one UPDATE per variant, not per hold).
+       // SKIP LOCKED lets sweepers on several instances, and concurrent commit/release calls, run without waiting.
+       // The holds are locked by due, so they are closed exactly for the variants restocked. Returns the holds expired.
+       @Modifying
+       @Query(value = "WITH due AS (" +
+                     "  SELECT id, variant_id, quantity FROM stock_reservations " +
+                     "  WHERE status = 'RESERVED' AND expires_at <= :now " +
+                     "  ORDER BY expires_at LIMIT :batchSize " +
+                     "  FOR UPDATE SKIP LOCKED), " +
+                     "restocked AS (" +
+                     "  UPDATE product_variants v " +
+                     "  SET stock_quantity = v.stock_quantity + d.quantity, updated_at = NOW() " +
+                     "  FROM (SELECT variant_id, SUM(quantity) AS quantity FROM due GROUP BY variant_id) d " +
+                     "  WHERE v.id = d.variant_id " +
+                     "  RETURNING v.id) " +
+                     "UPDATE stock_reservations s SET status = 'EXPIRED', updated_at = NOW() " +
+                     "FROM due JOIN restocked r ON r.id = due.variant_id " +
+                     "WHERE s.id = due.id",
+                     nativeQuery = true)
+       int expireOverdue(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
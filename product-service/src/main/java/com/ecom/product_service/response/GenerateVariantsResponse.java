@@ -0,0 +1,18 @@
+package com.ecom.product_service.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GenerateVariantsResponse {
+
+    private Long productId;
+    private Integer totalCombinations;
+    private Integer created;
+    private Integer skippedExisting;
+}
@@ -0,0 +1,22 @@
+package com.ecom.product_service.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LowStockVariantResponse {
+
+    private Long variantId;
+    private String sku;
+    private String variantName;
+    private Long productId;
+    private String productName;
+    private Integer stockQuantity;
+    private Integer lowStockThreshold;
+    private boolean outOfStock;
+}
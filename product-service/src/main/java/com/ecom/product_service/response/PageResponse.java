@@ -1,11 +1,14 @@
 package com.ecom.product_service.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -19,4 +22,20 @@ public class PageResponse<T> {
     private long totalElements;
     private int totalPages;
     private boolean last;
+
+    // true in cursor mode, where the count query is skipped and both totals are -1
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean totalUnknown;
+
+    // true when totals come from the count cache and may lag behind recent writes
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean approximateTotal;
+
+    // Opaque keyset cursor for the next page (cursor mode only)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    // Option name -> value -> matching product count (product listing with optionFilter or facets=true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Map<String, Long>> facets;
 }
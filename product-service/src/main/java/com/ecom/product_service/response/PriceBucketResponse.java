@@ -0,0 +1,26 @@
+package com.ecom.product_service.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceBucketResponse {
+
+    // Null for the product price, otherwise the variant the prices belong to
+    private Long variantId;
+    private LocalDate bucketStart;
+    // Price in effect when the bucket's first change happened (its old price)
+    private BigDecimal open;
+    private BigDecimal high;
+    private BigDecimal low;
+    private BigDecimal close;
+    private Long changes;
+}
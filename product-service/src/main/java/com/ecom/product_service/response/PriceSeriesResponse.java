@@ -0,0 +1,27 @@
+package com.ecom.product_service.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Downsampled price history of a product and its variants.
+ * Only buckets with at least one change are listed; the price is unchanged in between.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceSeriesResponse {
+
+    private Long productId;
+    private String bucket;
+    private LocalDate from;
+    private LocalDate to;
+    // Ordered by variantId (product price first), then bucketStart
+    private List<PriceBucketResponse> buckets;
+}
@@ -21,6 +21,9 @@ public class ProductResponse {
     private String slug;
     private String description;
     private BigDecimal price;
+    // Sellable price range: active variants, else price
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
     private Integer availability;
     private Long statusId;
     private String statusName;
@@ -0,0 +1,31 @@
+package com.ecom.product_service.response;
+
+import com.ecom.product_service.dto.StockAdjustmentStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StockAdjustmentResult {
+
+    // 1-based position of the (last) input line for this key
+    private Integer line;
+    private Long variantId;
+    private String sku;
+    private Integer previousStock;
+    private Integer stockQuantity;
+    private StockAdjustmentStatus status;
+    private String message;
+
+    // The update took the variant into low stock (LowStockEvent); not part of the result stream
+    @JsonIgnore
+    private boolean lowStockCrossed;
+}
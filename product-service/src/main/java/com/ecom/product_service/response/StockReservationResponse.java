@@ -0,0 +1,25 @@
+package com.ecom.product_service.response;
+
+import java.time.LocalDateTime;
+
+import com.ecom.product_service.model.StockReservationStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockReservationResponse {
+
+    private Long id;
+    private Long variantId;
+    private Integer quantity;
+    private StockReservationStatus status;
+    private String reference;
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,24 @@
+package com.ecom.product_service.response;
+
+import com.ecom.product_service.dto.SuggestionType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionResponse {
+
+    private SuggestionType type;
+    private Long id;
+    private String name;
+
+    // Brands have no slug
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String slug;
+}
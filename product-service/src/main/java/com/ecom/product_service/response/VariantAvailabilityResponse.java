@@ -0,0 +1,39 @@
+package com.ecom.product_service.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Which option combinations of a product can be bought, as three bitsets over all combinations.
+ *
+ * Combination index: mixed radix over the value positions in {@code axes}, last axis fastest,
+ * e.g. axes Color[Red, Blue] x Size[S, M, L] -> Blue / M = 1 * 3 + 1 = 4.
+ * Bitsets are Base64 of java.util.BitSet#toByteArray (little-endian): combination i is
+ * bit (i % 8) of byte (i / 8). A combination without a variant has no bit set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VariantAvailabilityResponse {
+
+    private Long productId;
+
+    // Options in display order
+    private List<ProductVariantOptionResponse> axes;
+
+    private int combinations;
+
+    // Variant exists and is active
+    private String active;
+
+    // stock_quantity > 0
+    private String inStock;
+
+    // stock_quantity <= low_stock_threshold
+    private String lowStock;
+}
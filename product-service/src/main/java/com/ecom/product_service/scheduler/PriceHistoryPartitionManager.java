@@ -0,0 +1,82 @@
+package com.ecom.product_service.scheduler;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ecom.product_service.repository.ProductPriceHistoryRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the monthly partitions of product_price_history (V16) ahead of the clock and
+ * detaches the months past the retention period.
+ *
+ * The table has no default partition, so an insert into a month without a partition fails:
+ * partitions are created on startup and on every run, monthsAhead months in advance.
+ * Detached months are renamed *_archived (kept for export) unless drop-detached is set.
+ * The SQL functions serialize on an advisory lock, so every instance may run this.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceHistoryPartitionManager {
+
+    private final ProductPriceHistoryRepository priceHistoryRepository;
+
+    @Value("${catalog.price-history.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    // 0 keeps every month
+    @Value("${catalog.price-history.partitions.retention-months:24}")
+    private int retentionMonths;
+
+    @Value("${catalog.price-history.partitions.drop-detached:false}")
+    private boolean dropDetached;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        createFuturePartitions();
+    }
+
+    @Scheduled(cron = "${catalog.price-history.partitions.maintenance-cron:0 30 3 * * *}")
+    public void maintainPartitions() {
+        createFuturePartitions();
+        detachExpiredPartitions();
+    }
+
+    private void createFuturePartitions() {
+        try {
+            List<String> created = priceHistoryRepository.createPartitions(LocalDate.now().withDayOfMonth(1), monthsAhead);
+            if (!created.isEmpty()) {
+                log.info("Created price history partitions: {}", created);
+            }
+        } catch (RuntimeException e) {
+            // Months already created are unaffected; retried on the next run
+            log.error("Could not create price history partitions: {}", e.getMessage());
+        }
+    }
+
+    private void detachExpiredPartitions() {
+        if (retentionMonths <= 0) {
+            return;
+        }
+
+        LocalDate before = LocalDate.now().withDayOfMonth(1).minusMonths(retentionMonths);
+        try {
+            List<String> detached = priceHistoryRepository.detachPartitionsBefore(before, dropDetached);
+            if (!detached.isEmpty()) {
+                log.info("{} price history partitions before {}: {}",
+                        dropDetached ? "Dropped" : "Archived", before, detached);
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not detach price history partitions before {}: {}", before, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecom.product_service.scheduler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ecom.product_service.service.StockReservationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gives the stock of abandoned holds back. Each batch is its own short transaction,
+ * so a large backlog after downtime never keeps many variant rows locked at once.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockReservationSweeper {
+
+    // Bounds one run; whatever is left is picked up on the next tick
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final StockReservationService reservationService;
+
+    @Value("${inventory.reservation.sweep-batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval:30s}")
+    public void expireOverdueReservations() {
+        int total = 0;
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            int expired = reservationService.expireOverdueReservations(batchSize);
+            total += expired;
+            if (expired < batchSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("Expired {} overdue stock reservations", total);
+        }
+    }
+}
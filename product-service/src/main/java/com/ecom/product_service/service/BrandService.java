@@ -5,7 +5,7 @@ import com.ecom.product_service.response.BrandResponse;
 import com.ecom.product_service.response.PageResponse;
 
 public interface BrandService {
-    PageResponse<BrandResponse> getAllBrands(int page, int size, String search);
+    PageResponse<BrandResponse> getAllBrands(int page, int size, String search, boolean exactTotal);
     BrandResponse getBrandById(Long brandId);
     BrandResponse createBrand(BrandRequest request);
     BrandResponse updateBrand(Long brandId, BrandRequest request);
@@ -0,0 +1,13 @@
+package com.ecom.product_service.service;
+
+import com.ecom.product_service.dto.ResourceVersion;
+
+public interface CatalogVersionService {
+    ResourceVersion getCatalogVersion();
+    ResourceVersion getCatalogWithVariantsVersion();
+    ResourceVersion getVariantsVersion(Long productId);
+    ResourceVersion getVariantVersion(Long variantId);
+    ResourceVersion getBrandVersion(Long brandId);
+    ResourceVersion getCategoryVersion(Long categoryId);
+    ResourceVersion getProductStatusVersion(Long statusId);
+}
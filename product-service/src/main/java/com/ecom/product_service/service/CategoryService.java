@@ -5,7 +5,7 @@ import com.ecom.product_service.response.CategoryResponse;
 import com.ecom.product_service.response.PageResponse;
 
 public interface CategoryService {
-    PageResponse<CategoryResponse> getAllCategories(int page, int size, String search);
+    PageResponse<CategoryResponse> getAllCategories(int page, int size, String search, boolean exactTotal);
     CategoryResponse getCategoryById(Long categoryId);
     CategoryResponse createCategory(CategoryRequest request);
     CategoryResponse updateCategory(Long categoryId,CategoryRequest request);
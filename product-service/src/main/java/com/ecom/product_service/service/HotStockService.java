@@ -0,0 +1,16 @@
+package com.ecom.product_service.service;
+
+public interface HotStockService {
+
+    enum TakeResult {
+        // Not a hot SKU on this node, or its allocation is dry until the next top-up: use the database reserve path
+        NOT_HOT,
+        TAKEN
+    }
+
+    // Takes quantity from this node's leased allocation of the variant; never touches the database
+    TakeResult tryTake(Long variantId, int quantity);
+
+    // Puts back units taken by a reservation whose transaction rolled back
+    void giveBack(Long variantId, int quantity);
+}
@@ -1,20 +1,25 @@
 package com.ecom.product_service.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 import com.ecom.product_service.response.PageResponse;
+import com.ecom.product_service.response.PriceSeriesResponse;
 import com.ecom.product_service.response.ProductPriceHistoryResponse;
 
 public interface ProductPriceHistoryService {
     
     PageResponse<ProductPriceHistoryResponse> getPriceHistoryByProductId(Long productId, int page, int size, 
-                                                                          BigDecimal minPrice, BigDecimal maxPrice);
+                                                                          BigDecimal minPrice, BigDecimal maxPrice,
+                                                                          LocalDate from, LocalDate to);
 
     ProductPriceHistoryResponse createPriceHistory(Long productId, Long variantId, BigDecimal newPrice, 
                                                     String changeReason, String changedBy);
 
-    List<ProductPriceHistoryResponse> getProductPriceHistory(Long productId);
+    List<ProductPriceHistoryResponse> getProductPriceHistory(Long productId, LocalDate from, LocalDate to);
 
-    List<ProductPriceHistoryResponse> getVariantPriceHistory(Long variantId);
+    List<ProductPriceHistoryResponse> getVariantPriceHistory(Long variantId, LocalDate from, LocalDate to);
+
+    PriceSeriesResponse getPriceSeries(Long productId, String bucket, LocalDate from, LocalDate to);
 }
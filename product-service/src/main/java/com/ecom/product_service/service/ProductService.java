@@ -1,5 +1,8 @@
 package com.ecom.product_service.service;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 import com.ecom.product_service.dto.ProductRequest;
 import com.ecom.product_service.response.CreateProductResponse;
 import com.ecom.product_service.response.PageResponse;
@@ -7,10 +10,12 @@ import com.ecom.product_service.response.ProductResponse;
 
 public interface ProductService {
 
-    PageResponse<ProductResponse> getAllProducts(int page, int size, String search, Long statusId, Long categoryId, Long brandId, boolean includeDeleted);
+    PageResponse<ProductResponse> getAllProducts(int page, int size, String search, String sort, String after, boolean exactTotal, Long statusId, Long categoryId, Long brandId, BigDecimal minPrice, BigDecimal maxPrice, List<String> optionFilter, boolean facets, boolean includeDeleted);
 
     ProductResponse getProductById(Long id, boolean includeDeleted);
 
+    String getProductETag(Long id, boolean includeDeleted);
+
     CreateProductResponse createProduct(ProductRequest request);
 
     ProductResponse updateProduct(Long id, ProductRequest request);
@@ -1,13 +1,19 @@
 package com.ecom.product_service.service;
 
 import java.util.List;
+import java.util.Map;
 
 import com.ecom.product_service.dto.BulkVariantRequest;
+import com.ecom.product_service.dto.GenerateVariantsRequest;
 import com.ecom.product_service.dto.ProductVariantOptionRequest;
 import com.ecom.product_service.dto.ProductVariantRequest;
+import com.ecom.product_service.response.GenerateVariantsResponse;
+import com.ecom.product_service.response.LowStockVariantResponse;
+import com.ecom.product_service.response.PageResponse;
 import com.ecom.product_service.response.ProductVariantOptionResponse;
 import com.ecom.product_service.response.ProductVariantResponse;
 import com.ecom.product_service.response.ProductWithVariantsResponse;
+import com.ecom.product_service.response.VariantAvailabilityResponse;
 
 public interface ProductVariantService {
 
@@ -25,11 +31,17 @@ public interface ProductVariantService {
     // --- Variant CRUD ---
     ProductVariantResponse createVariant(Long productId, ProductVariantRequest request);
     List<ProductVariantResponse> createVariantsBulk(Long productId, BulkVariantRequest request);
+    GenerateVariantsResponse generateVariants(Long productId, GenerateVariantsRequest request);
     List<ProductVariantResponse> getVariants(Long productId, Boolean activeOnly, boolean includeDeleted);
     ProductVariantResponse getVariantById(Long variantId);
     ProductVariantResponse getDefaultVariant(Long productId);
+    ProductVariantResponse resolveVariant(Long productId, Map<String, String> selection);
     ProductVariantResponse updateVariant(Long variantId, ProductVariantRequest request);
     void deleteVariant(Long variantId);
     ProductVariantResponse updateStock(Long variantId, Integer newStock);
     ProductWithVariantsResponse getProductWithVariants(Long productId, boolean includeDeleted);
+    VariantAvailabilityResponse getVariantAvailability(Long productId);
+
+    // --- Inventory monitoring ---
+    PageResponse<LowStockVariantResponse> getLowStockVariants(int page, int size);
 }
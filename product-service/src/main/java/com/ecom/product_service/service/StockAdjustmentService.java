@@ -0,0 +1,11 @@
+package com.ecom.product_service.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface StockAdjustmentService {
+
+    // Reads stock adjustment lines (NDJSON or a JSON array) and writes one NDJSON result per key
+    void applyBatch(InputStream body, OutputStream results) throws IOException;
+}
@@ -0,0 +1,18 @@
+package com.ecom.product_service.service;
+
+import com.ecom.product_service.dto.StockReservationRequest;
+import com.ecom.product_service.response.StockReservationResponse;
+
+public interface StockReservationService {
+
+    // Takes the quantity from the variant's stock and holds it for userId until commit, release or expiry
+    StockReservationResponse reserve(Long variantId, StockReservationRequest request, Long userId);
+
+    // Only the user who took the hold, or an admin, may commit or release it
+    StockReservationResponse commit(Long reservationId, Long userId, boolean isAdmin);
+
+    StockReservationResponse release(Long reservationId, Long userId, boolean isAdmin);
+
+    // Expires one batch of overdue holds and returns how many were expired
+    int expireOverdueReservations(int batchSize);
+}
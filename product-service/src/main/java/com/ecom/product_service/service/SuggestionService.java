@@ -0,0 +1,9 @@
+package com.ecom.product_service.service;
+
+import java.util.List;
+
+import com.ecom.product_service.response.SuggestionResponse;
+
+public interface SuggestionService {
+    List<SuggestionResponse> suggest(String query, int limit);
+}
@@ -3,14 +3,20 @@ package com.ecom.product_service.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ecom.product_service.cache.CatalogCountCache;
 import com.ecom.product_service.dto.BrandRequest;
+import com.ecom.product_service.dto.SuggestionType;
+import com.ecom.product_service.event.ProductChangedEvent;
+import com.ecom.product_service.event.SuggestionSourceChangedEvent;
 import com.ecom.product_service.exception.BadRequestException;
 import com.ecom.product_service.exception.ResourceNotFoundException;
 import com.ecom.product_service.mapper.BrandMapper;
@@ -28,20 +34,25 @@ import lombok.RequiredArgsConstructor;
 public class BrandServiceImpl implements BrandService {
     
     private final BrandRepository brandRepository;
+    private final CatalogCountCache catalogCountCache;
+    private final ApplicationEventPublisher eventPublisher;
     private final BrandMapper brandMapper;
     private final MessageService messageService;
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<BrandResponse> getAllBrands(int page, int size, String search) {
+    public PageResponse<BrandResponse> getAllBrands(int page, int size, String search, boolean exactTotal) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Brand> brandPage = brandRepository.findAllWithSearch(search, pageable);
+        List<Brand> brandList = brandRepository.findAllWithSearch(search, pageable);
+        CatalogCountCache.PageTotal total = catalogCountCache.totalSupplier(
+                CatalogCountCache.key("brands", search), () -> brandRepository.countWithSearch(search), exactTotal);
+        Page<Brand> brandPage = PageableExecutionUtils.getPage(brandList, pageable, total);
 
         List<BrandResponse> brandResponses = brandPage.getContent().stream()
                 .map(this::mapToBrandResponse)
                 .collect(Collectors.toList());
 
-        return buildPageResponse(brandPage, brandResponses);
+        return buildPageResponse(brandPage, brandResponses, total.isApproximate());
     }
 
     @Override
@@ -60,6 +71,8 @@ public class BrandServiceImpl implements BrandService {
         brand.setName(request.getName());
 
         Brand savedBrand = brandRepository.save(brand);
+        eventPublisher.publishEvent(SuggestionSourceChangedEvent.upserted(
+                SuggestionType.BRAND, savedBrand.getId(), savedBrand.getName(), null));
         return mapToBrandResponse(savedBrand);
     }
 
@@ -67,13 +80,23 @@ public class BrandServiceImpl implements BrandService {
     @Transactional
     public BrandResponse updateBrand(Long id, BrandRequest request) {
         Brand brand = findBrandByIdOrThrow(id);
+        boolean nameChanged = isBrandNameChanged(brand, request.getName());
 
-        if (isBrandNameChanged(brand, request.getName())) {
+        if (nameChanged) {
             validateBrandNameUnique(request.getName());
         }
 
         brand.setName(request.getName());
         Brand updatedBrand = brandRepository.save(brand);
+
+        // Product details embed the brand name
+        if (nameChanged) {
+            eventPublisher.publishEvent(ProductChangedEvent.allProducts());
+            if (!Boolean.TRUE.equals(updatedBrand.getIsDeleted())) {
+                eventPublisher.publishEvent(SuggestionSourceChangedEvent.upserted(
+                        SuggestionType.BRAND, id, updatedBrand.getName(), null));
+            }
+        }
         
         return mapToBrandResponse(updatedBrand);
     }
@@ -88,6 +111,7 @@ public class BrandServiceImpl implements BrandService {
         
         brand.setIsDeleted(true);
         brandRepository.save(brand);
+        eventPublisher.publishEvent(SuggestionSourceChangedEvent.removed(SuggestionType.BRAND, id));
     }
     
     private Brand findBrandByIdOrThrow(Long id) {
@@ -131,7 +155,8 @@ public class BrandServiceImpl implements BrandService {
         return brandMapper.toBrandResponse(brand, productCount);
     }
 
-    private PageResponse<BrandResponse> buildPageResponse(Page<Brand> brandPage, List<BrandResponse> content) {
+    private PageResponse<BrandResponse> buildPageResponse(Page<Brand> brandPage, List<BrandResponse> content,
+            boolean approximateTotal) {
         return PageResponse.<BrandResponse>builder()
                 .content(content)
                 .pageNumber(brandPage.getNumber())
@@ -139,6 +164,7 @@ public class BrandServiceImpl implements BrandService {
                 .totalElements(brandPage.getTotalElements())
                 .totalPages(brandPage.getTotalPages())
                 .last(brandPage.isLast())
+                .approximateTotal(approximateTotal)
                 .build();
     }
 }
@@ -0,0 +1,70 @@
+package com.ecom.product_service.service.impl;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ecom.product_service.dto.ResourceVersion;
+import com.ecom.product_service.repository.BrandRepository;
+import com.ecom.product_service.repository.CategoryRepository;
+import com.ecom.product_service.repository.ProductRepository;
+import com.ecom.product_service.repository.ProductStatusRepository;
+import com.ecom.product_service.repository.ProductVariantRepository;
+import com.ecom.product_service.service.CatalogVersionService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cheap version lookups used by controllers to answer conditional GETs before building any DTO.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogVersionServiceImpl implements CatalogVersionService {
+
+    private final ProductRepository productRepository;
+    private final ProductVariantRepository variantRepository;
+    private final BrandRepository brandRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductStatusRepository productStatusRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getCatalogVersion() {
+        return productRepository.findCatalogVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getCatalogWithVariantsVersion() {
+        return productRepository.findCatalogWithVariantsVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getVariantsVersion(Long productId) {
+        return variantRepository.findVariantsVersion(productId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getVariantVersion(Long variantId) {
+        return variantRepository.findVariantVersion(variantId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getBrandVersion(Long brandId) {
+        return brandRepository.findBrandVersion(brandId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getCategoryVersion(Long categoryId) {
+        return categoryRepository.findCategoryVersion(categoryId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getProductStatusVersion(Long statusId) {
+        return productStatusRepository.findStatusVersion(statusId);
+    }
+}
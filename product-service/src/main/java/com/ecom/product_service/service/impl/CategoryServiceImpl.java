@@ -3,14 +3,20 @@ package com.ecom.product_service.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ecom.product_service.cache.CatalogCountCache;
 import com.ecom.product_service.dto.CategoryRequest;
+import com.ecom.product_service.dto.SuggestionType;
+import com.ecom.product_service.event.ProductChangedEvent;
+import com.ecom.product_service.event.SuggestionSourceChangedEvent;
 import com.ecom.product_service.exception.BadRequestException;
 import com.ecom.product_service.exception.ResourceNotFoundException;
 import com.ecom.product_service.mapper.CategoryMapper;
@@ -29,20 +35,25 @@ import lombok.RequiredArgsConstructor;
 public class CategoryServiceImpl implements CategoryService {
     
     private final CategoryRepository categoryRepository;
+    private final CatalogCountCache catalogCountCache;
+    private final ApplicationEventPublisher eventPublisher;
     private final CategoryMapper categoryMapper;
     private final MessageService messageService;
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<CategoryResponse> getAllCategories(int page, int size, String search) {
+    public PageResponse<CategoryResponse> getAllCategories(int page, int size, String search, boolean exactTotal) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Category> categoryPage = categoryRepository.findAllWithSearch(search, pageable);
+        List<Category> categoryList = categoryRepository.findAllWithSearch(search, pageable);
+        CatalogCountCache.PageTotal total = catalogCountCache.totalSupplier(
+                CatalogCountCache.key("categories", search), () -> categoryRepository.countWithSearch(search), exactTotal);
+        Page<Category> categoryPage = PageableExecutionUtils.getPage(categoryList, pageable, total);
 
         List<CategoryResponse> categoryResponses = categoryPage.getContent().stream()
                 .map(categoryMapper::toCategoryResponse)
                 .collect(Collectors.toList());
 
-        return buildPageResponse(categoryPage, categoryResponses);
+        return buildPageResponse(categoryPage, categoryResponses, total.isApproximate());
     }
 
     @Override
@@ -67,6 +78,8 @@ public class CategoryServiceImpl implements CategoryService {
 
         Category category = buildCategory(request, slug);
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(SuggestionSourceChangedEvent.upserted(
+                SuggestionType.CATEGORY, savedCategory.getId(), savedCategory.getName(), savedCategory.getSlug()));
         
         return buildCategoryResponse(savedCategory);
     }
@@ -77,10 +90,20 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = findCategoryByIdOrThrow(id);
         
         validateParentCategory(id, request.getParentId());
+        boolean nameChanged = isCategoryNameChanged(category, request.getName());
         updateCategoryNameAndSlug(category, request.getName());
         
         category.setParentId(request.getParentId());
         Category updatedCategory = categoryRepository.save(category);
+
+        // Product details embed the category name
+        if (nameChanged) {
+            eventPublisher.publishEvent(ProductChangedEvent.allProducts());
+            if (!Boolean.TRUE.equals(updatedCategory.getIsDeleted())) {
+                eventPublisher.publishEvent(SuggestionSourceChangedEvent.upserted(
+                        SuggestionType.CATEGORY, id, updatedCategory.getName(), updatedCategory.getSlug()));
+            }
+        }
         
         return buildCategoryResponse(updatedCategory);
     }
@@ -101,6 +124,7 @@ public class CategoryServiceImpl implements CategoryService {
         
         category.setIsDeleted(true);
         categoryRepository.save(category);
+        eventPublisher.publishEvent(SuggestionSourceChangedEvent.removed(SuggestionType.CATEGORY, id));
     }
     
     private Category findCategoryByIdOrThrow(Long id) {
@@ -154,8 +178,12 @@ public class CategoryServiceImpl implements CategoryService {
         return slug;
     }
 
+    private boolean isCategoryNameChanged(Category category, String newName) {
+        return !category.getName().equals(newName);
+    }
+
     private void updateCategoryNameAndSlug(Category category, String newName) {
-        if (category.getName().equals(newName)) {
+        if (!isCategoryNameChanged(category, newName)) {
             return;
         }
 
@@ -202,7 +230,8 @@ public class CategoryServiceImpl implements CategoryService {
         }
     }
 
-    private PageResponse<CategoryResponse> buildPageResponse(Page<Category> categoryPage, List<CategoryResponse> content) {
+    private PageResponse<CategoryResponse> buildPageResponse(Page<Category> categoryPage, List<CategoryResponse> content,
+            boolean approximateTotal) {
         return PageResponse.<CategoryResponse>builder()
                 .content(content)
                 .pageNumber(categoryPage.getNumber())
@@ -210,6 +239,7 @@ public class CategoryServiceImpl implements CategoryService {
                 .totalElements(categoryPage.getTotalElements())
                 .totalPages(categoryPage.getTotalPages())
                 .last(categoryPage.isLast())
+                .approximateTotal(approximateTotal)
                 .build();
     }
 
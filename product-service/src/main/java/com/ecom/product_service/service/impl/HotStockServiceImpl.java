@@ -0,0 +1,198 @@
+package com.ecom.product_service.service.impl;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.ecom.product_service.dto.StockWriteResult;
+import com.ecom.product_service.inventory.LowStockAlertPublisher;
+import com.ecom.product_service.inventory.StripedStockCounter;
+import com.ecom.product_service.repository.ProductVariantRepository;
+import com.ecom.product_service.service.HotStockService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opt-in "hot SKU" mode for flash sales (inventory.hot-sku.variant-ids).
+ *
+ * Each listed variant gets a block of stock leased into a {@link StripedStockCounter}; buyers
+ * decrement it in memory, so the variant row is no longer touched once per sale. Sold units are
+ * written back as one delta per flush interval, which also renews the lease and tops the counter
+ * up when it runs low. Everything unsold is handed back on shutdown.
+ *
+ * Buyers never wait on the database here: a dry counter answers NOT_HOT and the reservation takes
+ * the unleased stock_quantity through the regular conditional UPDATE until the next top-up.
+ *
+ * Write-behind trade-off: if the node dies, the sales since its last flush are not subtracted
+ * from stock_quantity; its lease expires and any node reclaims the unsold units.
+ */
+@Slf4j
+@Service
+public class HotStockServiceImpl implements HotStockService {
+
+    private final ProductVariantRepository variantRepository;
+    private final LowStockAlertPublisher lowStockAlertPublisher;
+    private final List<Long> hotVariantIds;
+    private final int leaseSize;
+    private final int refillBelow;
+    private final int stripes;
+    private final double leaseTtlSeconds;
+    private final String nodeId;
+
+    private final Map<Long, HotSku> hotSkus = new ConcurrentHashMap<>();
+
+    public HotStockServiceImpl(
+            ProductVariantRepository variantRepository,
+            LowStockAlertPublisher lowStockAlertPublisher,
+            @Value("${inventory.hot-sku.variant-ids:}") List<Long> hotVariantIds,
+            @Value("${inventory.hot-sku.lease-size:500}") int leaseSize,
+            @Value("${inventory.hot-sku.refill-below:100}") int refillBelow,
+            @Value("${inventory.hot-sku.stripes:0}") int stripes,
+            @Value("${inventory.hot-sku.lease-ttl:2m}") Duration leaseTtl,
+            @Value("${inventory.hot-sku.node-id:}") String nodeId) {
+        this.variantRepository = variantRepository;
+        this.lowStockAlertPublisher = lowStockAlertPublisher;
+        this.hotVariantIds = hotVariantIds;
+        this.leaseSize = leaseSize;
+        this.refillBelow = refillBelow;
+        this.stripes = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        this.leaseTtlSeconds = leaseTtl.toSeconds();
+        // "pid@host" keeps leases of two instances on one host apart
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : ManagementFactory.getRuntimeMXBean().getName();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void leaseHotSkus() {
+        for (Long variantId : hotVariantIds) {
+            HotSku sku = new HotSku(variantId, new StripedStockCounter(stripes));
+            hotSkus.put(variantId, sku);
+            int granted = sku.refill(leaseSize);
+            log.info("Hot SKU mode for variant {} on node {}: leased {} units", variantId, nodeId, granted);
+        }
+    }
+
+    @Override
+    public TakeResult tryTake(Long variantId, int quantity) {
+        HotSku sku = hotSkus.get(variantId);
+        if (sku == null) {
+            return TakeResult.NOT_HOT;
+        }
+        // Dry (or larger than what is left): no synchronous lease, which would hold a second connection
+        // next to the buyer's transaction; flushSales tops the counter up
+        return sku.counter.tryTake(quantity) ? TakeResult.TAKEN : TakeResult.NOT_HOT;
+    }
+
+    @Override
+    public void giveBack(Long variantId, int quantity) {
+        HotSku sku = hotSkus.get(variantId);
+        if (sku != null && !sku.released) {
+            sku.counter.giveBack(quantity);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.hot-sku.flush-interval:1s}")
+    public void flushSales() {
+        for (HotSku sku : hotSkus.values()) {
+            try {
+                sku.flush();
+                if (!sku.released && sku.counter.remaining() < refillBelow) {
+                    sku.refill(leaseSize);
+                }
+            } catch (RuntimeException e) {
+                // Keep selling from the lease; the delta is retried on the next tick
+                log.warn("Hot SKU flush for variant {} failed: {}", sku.variantId, e.getMessage());
+            }
+        }
+    }
+
+    // Any node may reclaim: a crashed node cannot return its own lease
+    @Scheduled(fixedDelayString = "${inventory.hot-sku.reclaim-interval:30s}")
+    public void reclaimExpiredLeases() {
+        int reclaimed = variantRepository.reclaimExpiredStockLeases();
+        if (reclaimed > 0) {
+            log.warn("Reclaimed {} expired hot-SKU stock leases", reclaimed);
+        }
+    }
+
+    @PreDestroy
+    public void releaseLeases() {
+        for (HotSku sku : hotSkus.values()) {
+            try {
+                sku.release();
+            } catch (RuntimeException e) {
+                log.warn("Could not release hot SKU lease for variant {}: {}", sku.variantId, e.getMessage());
+            }
+        }
+        hotSkus.clear();
+    }
+
+    private class HotSku {
+
+        private final Long variantId;
+        private final StripedStockCounter counter;
+
+        // Guarded by this; counter.taken() at the last successful flush
+        private long flushedTaken;
+        private volatile boolean released;
+
+        HotSku(Long variantId, StripedStockCounter counter) {
+            this.variantId = variantId;
+            this.counter = counter;
+        }
+
+        synchronized int refill(int quantity) {
+            if (released) {
+                return 0;
+            }
+            int granted = variantRepository.leaseStock(variantId, nodeId, quantity, leaseTtlSeconds);
+            counter.add(granted);
+            return granted;
+        }
+
+        synchronized void flush() {
+            if (released) {
+                return;
+            }
+            long taken = counter.taken();
+            int sold = (int) (taken - flushedTaken);
+            Optional<StockWriteResult> flushed = variantRepository.flushLeasedSales(variantId, nodeId, sold, leaseTtlSeconds);
+            if (flushed.isEmpty()) {
+                // Lease was reclaimed (node paused past the TTL): stop selling from memory
+                released = true;
+                counter.drain();
+                hotSkus.remove(variantId);
+                log.error("Hot SKU lease for variant {} was reclaimed; {} unflushed sales not written back",
+                        variantId, sold);
+                return;
+            }
+            flushedTaken = taken;
+            if (Boolean.TRUE.equals(flushed.get().getLowStockCrossed())) {
+                lowStockAlertPublisher.publish(List.of(variantId));
+            }
+        }
+
+        synchronized void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            long unsold = counter.drain();
+            int sold = (int) (counter.taken() - flushedTaken);
+            variantRepository.releaseStockLease(variantId, nodeId, sold);
+            flushedTaken += sold;
+            log.info("Released hot SKU lease for variant {}: {} sold since last flush, {} unsold returned",
+                    variantId, sold, unsold);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -12,12 +13,14 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.ecom.product_service.event.ProductChangedEvent;
 import com.ecom.product_service.exception.BadRequestException;
 import com.ecom.product_service.exception.ResourceNotFoundException;
 import com.ecom.product_service.mapper.ProductImageMapper;
@@ -40,6 +43,7 @@ public class ProductImageServiceImpl implements ProductImageService {
     private final ProductRepository productRepository;
     private final ProductImageMapper productImageMapper;
     private final MessageSource messageSource;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${file.upload-dir:uploads/products}")
     private String uploadDir;
@@ -99,7 +103,12 @@ public class ProductImageServiceImpl implements ProductImageService {
         productImage.setImageUrl(imageUrl);
         productImage.setIsThumbnail(isThumbnail != null ? isThumbnail : false);
 
-        return productImageMapper.toProductImageResponse(productImageRepository.save(productImage));
+        ProductImageResponse response = productImageMapper.toProductImageResponse(productImageRepository.save(productImage));
+        if (Boolean.TRUE.equals(productImage.getIsThumbnail())) {
+            updateProductThumbnail(productId, imageUrl);
+        }
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        return response;
     }
 
     @Override
@@ -145,6 +154,7 @@ public class ProductImageServiceImpl implements ProductImageService {
         }
 
         List<ProductImageResponse> responses = new ArrayList<>();
+        String thumbnailUrl = null;
         for (int i = 0; i < files.size(); i++) {
             String imageUrl = saveFile(files.get(i));
             ProductImage productImage = new ProductImage();
@@ -152,8 +162,17 @@ public class ProductImageServiceImpl implements ProductImageService {
             productImage.setImageUrl(imageUrl);
             productImage.setIsThumbnail(thumbnailIndex != null && thumbnailIndex == i);
             responses.add(productImageMapper.toProductImageResponse(productImageRepository.save(productImage)));
+
+            if (Boolean.TRUE.equals(productImage.getIsThumbnail())) {
+                thumbnailUrl = imageUrl;
+            }
+        }
+
+        if (thumbnailUrl != null) {
+            updateProductThumbnail(productId, thumbnailUrl);
         }
 
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
         return responses;
     }
 
@@ -196,7 +215,10 @@ public class ProductImageServiceImpl implements ProductImageService {
         });
 
         image.setIsThumbnail(true);
-        return productImageMapper.toProductImageResponse(productImageRepository.save(image));
+        ProductImageResponse response = productImageMapper.toProductImageResponse(productImageRepository.save(image));
+        updateProductThumbnail(productId, image.getImageUrl());
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        return response;
     }
 
     @Override
@@ -215,6 +237,15 @@ public class ProductImageServiceImpl implements ProductImageService {
 
         deletePhysicalFile(image.getImageUrl());
         productImageRepository.delete(image);
+        if (Boolean.TRUE.equals(image.getIsThumbnail())) {
+            updateProductThumbnail(productId, null);
+        }
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+    }
+
+    // Same transaction as the image write, so products.thumbnail_url never disagrees with product_images
+    private void updateProductThumbnail(Long productId, String thumbnailUrl) {
+        productRepository.updateThumbnailUrl(productId, thumbnailUrl, LocalDateTime.now());
     }
 
     private Product findProductOrThrow(Long productId, Locale locale) {
@@ -1,10 +1,12 @@
 package com.ecom.product_service.service.impl;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Locale;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.data.domain.Page;
@@ -14,6 +16,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ecom.product_service.cache.PriceSeriesCache;
+import com.ecom.product_service.dto.PriceSeriesBucket;
+import com.ecom.product_service.event.PriceHistoryChangedEvent;
 import com.ecom.product_service.exception.BadRequestException;
 import com.ecom.product_service.exception.ResourceNotFoundException;
 import com.ecom.product_service.mapper.ProductPriceHistoryMapper;
@@ -24,6 +29,8 @@ import com.ecom.product_service.repository.ProductPriceHistoryRepository;
 import com.ecom.product_service.repository.ProductRepository;
 import com.ecom.product_service.repository.ProductVariantRepository;
 import com.ecom.product_service.response.PageResponse;
+import com.ecom.product_service.response.PriceBucketResponse;
+import com.ecom.product_service.response.PriceSeriesResponse;
 import com.ecom.product_service.response.ProductPriceHistoryResponse;
 import com.ecom.product_service.service.ProductPriceHistoryService;
 
@@ -34,17 +41,29 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 @Slf4j
 public class ProductPriceHistoryServiceImpl implements ProductPriceHistoryService {
+
+    // Caps one series response (e.g. ~2.7 years of daily buckets)
+    private static final int MAX_SERIES_BUCKETS = 1000;
+
+    // Default window of the history lists when no from date is given
+    private static final int DEFAULT_HISTORY_MONTHS = 12;
+
     private final ProductPriceHistoryRepository productPriceHistoryRepository;
     private final ProductRepository productRepository;
     private final ProductVariantRepository productVariantRepository;
     private final ProductPriceHistoryMapper productPriceHistoryMapper;
     private final MessageSource messageSource;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PriceSeriesCache priceSeriesCache;
 
     @Override
     @Transactional(readOnly = true)
     public PageResponse<ProductPriceHistoryResponse> getPriceHistoryByProductId(Long productId, int page, int size,
-                                                                                 BigDecimal minPrice, BigDecimal maxPrice) {
+                                                                                 BigDecimal minPrice, BigDecimal maxPrice,
+                                                                                 LocalDate from, LocalDate to) {
         Locale locale = LocaleContextHolder.getLocale();
+        LocalDate rangeTo = to != null ? to : LocalDate.now();
+        LocalDate rangeFrom = historyFrom(from, rangeTo, locale);
         
         if (!productRepository.existsById(productId)) {
             throw new ResourceNotFoundException(
@@ -54,7 +73,7 @@ public class ProductPriceHistoryServiceImpl implements ProductPriceHistoryServic
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("changedAt").descending());
         Page<ProductPriceHistory> historyPage = productPriceHistoryRepository.findByProductIdWithFilters(
-                productId, minPrice, maxPrice, pageable);
+                productId, minPrice, maxPrice, rangeFrom.atStartOfDay(), rangeTo.plusDays(1).atStartOfDay(), pageable);
 
         List<ProductPriceHistoryResponse> historyresponse = historyPage.getContent().stream()
                 .map(productPriceHistoryMapper::toProductPriceHistoryResponse)
@@ -135,13 +154,17 @@ public class ProductPriceHistoryServiceImpl implements ProductPriceHistoryServic
         }
 
         ProductPriceHistory savedHistory = productPriceHistoryRepository.save(priceHistory);
+        eventPublisher.publishEvent(new PriceHistoryChangedEvent(
+            variantId != null ? priceHistory.getVariant().getProduct().getId() : productId));
         return productPriceHistoryMapper.toProductPriceHistoryResponse(savedHistory);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProductPriceHistoryResponse> getProductPriceHistory(Long productId) {
+    public List<ProductPriceHistoryResponse> getProductPriceHistory(Long productId, LocalDate from, LocalDate to) {
         Locale locale = LocaleContextHolder.getLocale();
+        LocalDate rangeTo = to != null ? to : LocalDate.now();
+        LocalDate rangeFrom = historyFrom(from, rangeTo, locale);
         
         if (!productRepository.existsById(productId)) {
             throw new ResourceNotFoundException(
@@ -150,7 +173,7 @@ public class ProductPriceHistoryServiceImpl implements ProductPriceHistoryServic
         }
 
         List<ProductPriceHistory> histories = productPriceHistoryRepository
-            .findAllByProductIdIncludingVariants(productId);
+            .findAllByProductIdIncludingVariants(productId, rangeFrom.atStartOfDay(), rangeTo.plusDays(1).atStartOfDay());
 
         return histories.stream()
             .map(productPriceHistoryMapper::toProductPriceHistoryResponse)
@@ -159,8 +182,10 @@ public class ProductPriceHistoryServiceImpl implements ProductPriceHistoryServic
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProductPriceHistoryResponse> getVariantPriceHistory(Long variantId) {
+    public List<ProductPriceHistoryResponse> getVariantPriceHistory(Long variantId, LocalDate from, LocalDate to) {
         Locale locale = LocaleContextHolder.getLocale();
+        LocalDate rangeTo = to != null ? to : LocalDate.now();
+        LocalDate rangeFrom = historyFrom(from, rangeTo, locale);
         
         if (!productVariantRepository.existsByIdAndDeletedAtIsNull(variantId)) {
             throw new ResourceNotFoundException(
@@ -168,10 +193,79 @@ public class ProductPriceHistoryServiceImpl implements ProductPriceHistoryServic
         }
 
         List<ProductPriceHistory> histories = productPriceHistoryRepository
-            .findByVariantIdOrderByCreatedAtDesc(variantId);
+            .findByVariantIdOrderByCreatedAtDesc(variantId, rangeFrom.atStartOfDay(), rangeTo.plusDays(1).atStartOfDay());
 
         return histories.stream()
             .map(productPriceHistoryMapper::toProductPriceHistoryResponse)
             .collect(Collectors.toList());
     }
+
+    // from / to are inclusive dates; the changed_at bounds keep the reads to the months they cover
+    private LocalDate historyFrom(LocalDate from, LocalDate rangeTo, Locale locale) {
+        LocalDate rangeFrom = from != null ? from : rangeTo.minusMonths(DEFAULT_HISTORY_MONTHS);
+        if (rangeFrom.isAfter(rangeTo)) {
+            throw new BadRequestException(
+                messageSource.getMessage("error.price-history.range-invalid", null, locale));
+        }
+        return rangeFrom;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PriceSeriesResponse getPriceSeries(Long productId, String bucket, LocalDate from, LocalDate to) {
+        Locale locale = LocaleContextHolder.getLocale();
+
+        PriceSeriesBucket seriesBucket = PriceSeriesBucket.fromValue(bucket);
+        if (seriesBucket == null) {
+            throw new BadRequestException(
+                messageSource.getMessage("error.price-history.series-bucket-invalid", new Object[]{bucket}, locale));
+        }
+
+        LocalDate rangeTo = to != null ? to : LocalDate.now();
+        LocalDate rangeFrom = from != null ? from : seriesBucket.defaultFrom(rangeTo);
+        if (rangeFrom.isAfter(rangeTo)) {
+            throw new BadRequestException(
+                messageSource.getMessage("error.price-history.series-range-invalid", null, locale));
+        }
+        if (seriesBucket.bucketsBetween(rangeFrom, rangeTo) > MAX_SERIES_BUCKETS) {
+            throw new BadRequestException(
+                messageSource.getMessage("error.price-history.series-range-too-large",
+                    new Object[]{MAX_SERIES_BUCKETS}, locale));
+        }
+
+        return priceSeriesCache.get(productId, seriesBucket, rangeFrom, rangeTo,
+            () -> loadPriceSeries(productId, seriesBucket, rangeFrom, rangeTo));
+    }
+
+    // One aggregate query: payload is O(buckets), not O(changes).
+    // The existence check lives here so the first statement runs inside the cache's primary pinning.
+    private PriceSeriesResponse loadPriceSeries(Long productId, PriceSeriesBucket bucket, LocalDate from, LocalDate to) {
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException(
+                messageSource.getMessage("error.product-price-history.product-not-found",
+                    new Object[]{productId}, LocaleContextHolder.getLocale()));
+        }
+
+        List<PriceBucketResponse> buckets = productPriceHistoryRepository
+            .findPriceBuckets(productId, bucket.getValue(), from.atStartOfDay(), to.plusDays(1).atStartOfDay())
+            .stream()
+            .map(row -> PriceBucketResponse.builder()
+                .variantId(row.getVariantId())
+                .bucketStart(row.getBucketStart().toLocalDate())
+                .open(row.getOpenPrice())
+                .high(row.getHighPrice())
+                .low(row.getLowPrice())
+                .close(row.getClosePrice())
+                .changes(row.getChanges())
+                .build())
+            .collect(Collectors.toList());
+
+        return PriceSeriesResponse.builder()
+            .productId(productId)
+            .bucket(bucket.getValue())
+            .from(from)
+            .to(to)
+            .buckets(buckets)
+            .build();
+    }
 }
@@ -3,20 +3,36 @@ package com.ecom.product_service.service.impl;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ecom.product_service.cache.CatalogCountCache;
+import com.ecom.product_service.cache.ProductDetailCache;
+import com.ecom.product_service.dto.OptionFacetCount;
 import com.ecom.product_service.dto.ProductAttributeRequest;
+import com.ecom.product_service.dto.ProductCursor;
 import com.ecom.product_service.dto.ProductListDTO;
 import com.ecom.product_service.dto.ProductRequest;
+import com.ecom.product_service.dto.ProductSort;
+import com.ecom.product_service.dto.SuggestionType;
+import com.ecom.product_service.event.PriceHistoryChangedEvent;
+import com.ecom.product_service.event.ProductChangedEvent;
+import com.ecom.product_service.event.SuggestionSourceChangedEvent;
 import com.ecom.product_service.exception.BadRequestException;
 import com.ecom.product_service.exception.ResourceNotFoundException;
 import com.ecom.product_service.mapper.ProductMapper;
@@ -40,7 +56,10 @@ import com.ecom.product_service.response.ProductVariantResponse;
 import com.ecom.product_service.service.MessageService;
 import com.ecom.product_service.service.ProductService;
 import com.ecom.product_service.service.ProductVariantService;
+import com.ecom.product_service.util.SearchQueryUtils;
 import com.ecom.product_service.util.SlugUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -55,40 +74,49 @@ public class ProductServiceImpl implements ProductService {
     private final ProductAttributeRepository productAttributeRepository;
     private final ProductMapper productMapper;
     private final MessageService messageService;
+    private final CatalogCountCache catalogCountCache;
+    private final ProductDetailCache productDetailCache;
+    private final ApplicationEventPublisher eventPublisher;
     private final ProductVariantService productVariantService;
+    private final ObjectMapper objectMapper;
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<ProductResponse> getAllProducts(int page, int size, String search,
-            Long statusId, Long categoryId, Long brandId, boolean includeDeleted) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<ProductListDTO> productPage = productRepository.findAllProductsOptimized(
-                search, statusId, categoryId, brandId, includeDeleted, pageable);
-
-        List<ProductResponse> productresponse = productPage.getContent().stream()
-                .map(productMapper::toProductResponse)
-                .collect(Collectors.toList());
+    public PageResponse<ProductResponse> getAllProducts(int page, int size, String search, String sort, String after,
+            boolean exactTotal, Long statusId, Long categoryId, Long brandId, BigDecimal minPrice, BigDecimal maxPrice,
+            List<String> optionFilter, boolean facets, boolean includeDeleted) {
+        ProductSort productSort = resolveSort(sort);
+        validatePriceRange(minPrice, maxPrice);
+        String tsQuery = SearchQueryUtils.toPrefixTsQuery(search);
+        String fuzzyTerm = tsQuery != null ? SearchQueryUtils.toFuzzyTerm(search) : null;
+        String optionFilterJson = toOptionFilterJson(optionFilter);
+
+        PageResponse<ProductResponse> response;
+        if (after != null) {
+            response = getProductsAfterCursor(size, tsQuery, fuzzyTerm, productSort, after,
+                    statusId, categoryId, brandId, minPrice, maxPrice, optionFilterJson, includeDeleted);
+        } else {
+            response = getProductsPage(page, size, tsQuery, fuzzyTerm, productSort, exactTotal,
+                    statusId, categoryId, brandId, minPrice, maxPrice, optionFilterJson, includeDeleted);
+        }
 
-        return PageResponse.<ProductResponse>builder()
-                .content(productresponse)
-                .pageNumber(productPage.getNumber())
-                .pageSize(productPage.getSize())
-                .totalElements(productPage.getTotalElements())
-                .totalPages(productPage.getTotalPages())
-                .last(productPage.isLast())
-                .build();
+        if (facets || optionFilterJson != null) {
+            response.setFacets(findOptionFacets(tsQuery, fuzzyTerm, optionFilterJson,
+                    statusId, categoryId, brandId, minPrice, maxPrice, includeDeleted));
+        }
+        return response;
     }
 
     @Override
     @Transactional(readOnly = true)
     public ProductResponse getProductById(Long id, boolean includeDeleted) {
-        Product product = productRepository.findByIdWithDetails(id);
-        if (product == null || (!includeDeleted && Boolean.TRUE.equals(product.getIsDeleted()))) {
-            throw new ResourceNotFoundException(
-                messageService.getMessage("error.product.not-found", new Object[]{id})
-            );
-        }
-        return productMapper.toProductResponse(product);
+        return getCachedProduct(id, includeDeleted).getResponse();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getProductETag(Long id, boolean includeDeleted) {
+        return getCachedProduct(id, includeDeleted).getETag();
     }
 
     @Override
@@ -137,6 +165,8 @@ public class ProductServiceImpl implements ProductService {
         }
 
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(SuggestionSourceChangedEvent.upserted(
+                SuggestionType.PRODUCT, savedProduct.getId(), savedProduct.getName(), savedProduct.getSlug()));
 
         // Thêm attributes nếu có (trong cùng transaction)
         if (request.getAttributes() != null && !request.getAttributes().isEmpty()) {
@@ -205,6 +235,7 @@ public class ProductServiceImpl implements ProductService {
             priceHistory.setNewPrice(newPrice);
             priceHistory.setChangedAt(LocalDateTime.now());
             productPriceHistoryRepository.save(priceHistory);
+            eventPublisher.publishEvent(new PriceHistoryChangedEvent(product.getId()));
         }
 
         product.setName(request.getName());
@@ -268,6 +299,10 @@ public class ProductServiceImpl implements ProductService {
         }
 
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(id));
+        eventPublisher.publishEvent(Boolean.TRUE.equals(updatedProduct.getIsDeleted())
+                ? SuggestionSourceChangedEvent.removed(SuggestionType.PRODUCT, id)
+                : SuggestionSourceChangedEvent.upserted(SuggestionType.PRODUCT, id, updatedProduct.getName(), updatedProduct.getSlug()));
         return productMapper.toProductResponse(updatedProduct);
     }
 
@@ -283,8 +318,243 @@ public class ProductServiceImpl implements ProductService {
         
         product.setIsDeleted(true);
         productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(id));
+        eventPublisher.publishEvent(SuggestionSourceChangedEvent.removed(SuggestionType.PRODUCT, id));
     }
     
+    // Offset mode: page + total (cached estimate unless exactTotal)
+    private PageResponse<ProductResponse> getProductsPage(int page, int size, String tsQuery, String fuzzyTerm,
+            ProductSort productSort, boolean exactTotal, Long statusId, Long categoryId, Long brandId,
+            BigDecimal minPrice, BigDecimal maxPrice, String optionFilterJson, boolean includeDeleted) {
+        Pageable pageable;
+        Page<ProductListDTO> productPage;
+        CatalogCountCache.PageTotal total;
+        if (tsQuery != null) {
+            // Search path: full-text + trigram match on accent-folded columns, then hydrate the page by id
+            pageable = PageRequest.of(page, size, idSort(productSort));
+            List<Long> ids = productRepository.searchProductIds(tsQuery, fuzzyTerm, statusId, categoryId, brandId,
+                    minPrice, maxPrice, optionFilterJson, includeDeleted, productSort.getValue(), pageable);
+            total = catalogCountCache.totalSupplier(
+                    CatalogCountCache.key("products:search", tsQuery, fuzzyTerm, statusId, categoryId, brandId,
+                            minPrice, maxPrice, optionFilterJson, includeDeleted),
+                    () -> productRepository.countSearchProducts(tsQuery, fuzzyTerm, statusId, categoryId, brandId,
+                            minPrice, maxPrice, optionFilterJson, includeDeleted),
+                    exactTotal);
+            productPage = PageableExecutionUtils.getPage(findProductListInOrder(ids), pageable, total);
+        } else if (optionFilterJson != null) {
+            // Option path: containment on active variants (GIN), then hydrate the page by id
+            pageable = PageRequest.of(page, size, idSort(productSort));
+            List<Long> ids = productRepository.findProductIdsByOptions(optionFilterJson, statusId, categoryId, brandId,
+                    minPrice, maxPrice, includeDeleted, pageable);
+            total = catalogCountCache.totalSupplier(
+                    CatalogCountCache.key("products:options", optionFilterJson, statusId, categoryId, brandId,
+                            minPrice, maxPrice, includeDeleted),
+                    () -> productRepository.countProductsByOptions(optionFilterJson, statusId, categoryId, brandId,
+                            minPrice, maxPrice, includeDeleted),
+                    exactTotal);
+            productPage = PageableExecutionUtils.getPage(findProductListInOrder(ids), pageable, total);
+        } else {
+            pageable = PageRequest.of(page, size, listingSort(productSort));
+            List<ProductListDTO> products = productRepository.findAllProductsOptimized(
+                    statusId, categoryId, brandId, minPrice, maxPrice, includeDeleted, pageable);
+            total = catalogCountCache.totalSupplier(
+                    CatalogCountCache.key("products", statusId, categoryId, brandId, minPrice, maxPrice, includeDeleted),
+                    () -> productRepository.countAllProductsOptimized(statusId, categoryId, brandId,
+                            minPrice, maxPrice, includeDeleted),
+                    exactTotal);
+            productPage = PageableExecutionUtils.getPage(products, pageable, total);
+        }
+
+        List<ProductResponse> productresponse = productPage.getContent().stream()
+                .map(productMapper::toProductResponse)
+                .collect(Collectors.toList());
+
+        return PageResponse.<ProductResponse>builder()
+                .content(productresponse)
+                .pageNumber(productPage.getNumber())
+                .pageSize(productPage.getSize())
+                .totalElements(productPage.getTotalElements())
+                .totalPages(productPage.getTotalPages())
+                .last(productPage.isLast())
+                .approximateTotal(total.isApproximate())
+                .build();
+    }
+
+    // Keyset mode: seek past the cursor, fetch one extra row to detect the next page, never count
+    private PageResponse<ProductResponse> getProductsAfterCursor(int size, String tsQuery, String fuzzyTerm,
+            ProductSort productSort, String after, Long statusId, Long categoryId, Long brandId,
+            BigDecimal minPrice, BigDecimal maxPrice, String optionFilterJson, boolean includeDeleted) {
+        if (productSort != ProductSort.NEWEST) {
+            throw new BadRequestException(
+                messageService.getMessage("error.product.cursor.sort-unsupported", new Object[]{productSort.getValue()})
+            );
+        }
+
+        ProductCursor cursor = after.isBlank() ? ProductCursor.START : ProductCursor.decode(after);
+        if (cursor == null) {
+            throw new BadRequestException(messageService.getMessage("error.product.cursor.invalid"));
+        }
+
+        List<ProductListDTO> rows;
+        if (tsQuery != null) {
+            List<Long> ids = productRepository.searchProductIdsAfterCursor(tsQuery, fuzzyTerm,
+                    statusId, categoryId, brandId, minPrice, maxPrice, optionFilterJson, includeDeleted,
+                    cursor.getCreatedAt(), cursor.getId(), size + 1);
+            rows = findProductListInOrder(ids);
+        } else if (optionFilterJson != null) {
+            List<Long> ids = productRepository.findProductIdsByOptionsAfterCursor(optionFilterJson,
+                    statusId, categoryId, brandId, minPrice, maxPrice, includeDeleted,
+                    cursor.getCreatedAt(), cursor.getId(), size + 1);
+            rows = findProductListInOrder(ids);
+        } else {
+            rows = productRepository.findProductsAfterCursor(statusId, categoryId, brandId, minPrice, maxPrice,
+                    includeDeleted, cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, size + 1));
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<ProductListDTO> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        List<ProductResponse> content = pageRows.stream()
+                .map(productMapper::toProductResponse)
+                .collect(Collectors.toList());
+
+        return PageResponse.<ProductResponse>builder()
+                .content(content)
+                .pageNumber(0)
+                .pageSize(size)
+                .totalElements(-1)
+                .totalPages(-1)
+                .totalUnknown(true)
+                .last(!hasNext)
+                .nextCursor(hasNext ? ProductCursor.of(pageRows.get(pageRows.size() - 1)).encode() : null)
+                .build();
+    }
+
+    private ProductDetailCache.CachedProduct getCachedProduct(Long id, boolean includeDeleted) {
+        ProductDetailCache.CachedProduct cached = productDetailCache.get(id, this::loadProductResponse);
+        if (!includeDeleted && Boolean.TRUE.equals(cached.getResponse().getIsDeleted())) {
+            throw new ResourceNotFoundException(
+                messageService.getMessage("error.product.not-found", new Object[]{id})
+            );
+        }
+        return cached;
+    }
+
+    // Cache loader for getProductById - not-found is thrown, so it is never cached
+    private ProductResponse loadProductResponse(Long id) {
+        Product product = productRepository.findByIdWithDetails(id);
+        if (product == null) {
+            throw new ResourceNotFoundException(
+                messageService.getMessage("error.product.not-found", new Object[]{id})
+            );
+        }
+        return productMapper.toProductResponse(product);
+    }
+
+    private ProductSort resolveSort(String sort) {
+        ProductSort productSort = ProductSort.fromValue(sort);
+        if (productSort == null) {
+            throw new BadRequestException(
+                messageService.getMessage("error.product.sort.invalid", new Object[]{sort})
+            );
+        }
+        return productSort;
+    }
+
+    /**
+     * Turns optionFilter=name:value parameters into the JSON object matched with option_values @> ...,
+     * e.g. [Color:Red, Size:M] -> {"Color":"Red","Size":"M"}. Returns null when there is no filter.
+     */
+    private String toOptionFilterJson(List<String> optionFilter) {
+        if (optionFilter == null || optionFilter.isEmpty()) {
+            return null;
+        }
+
+        // Sorted so equivalent filters share one count-cache key
+        Map<String, String> options = new TreeMap<>();
+        for (String filter : optionFilter) {
+            int separator = filter.indexOf(':');
+            String name = separator > 0 ? filter.substring(0, separator).trim() : "";
+            String value = separator > 0 ? filter.substring(separator + 1).trim() : "";
+            if (name.isEmpty() || value.isEmpty()) {
+                throw new BadRequestException(
+                    messageService.getMessage("error.product.option-filter.invalid", new Object[]{filter})
+                );
+            }
+            if (options.putIfAbsent(name, value) != null) {
+                throw new BadRequestException(
+                    messageService.getMessage("error.product.option-filter.duplicate", new Object[]{name})
+                );
+            }
+        }
+
+        try {
+            return objectMapper.writeValueAsString(options);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize option filter", e);
+        }
+    }
+
+    // Option name -> value -> product count, in the order returned by the facet query.
+    // The query walks every active variant in scope, so results are cached per filter like the page totals
+    private Map<String, Map<String, Long>> findOptionFacets(String tsQuery, String fuzzyTerm, String optionFilterJson,
+            Long statusId, Long categoryId, Long brandId, BigDecimal minPrice, BigDecimal maxPrice, boolean includeDeleted) {
+        return catalogCountCache.getFacets(
+                CatalogCountCache.key("products:facets", tsQuery, fuzzyTerm, optionFilterJson, statusId, categoryId,
+                        brandId, minPrice, maxPrice, includeDeleted),
+                () -> {
+                    Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+                    for (OptionFacetCount facet : productRepository.findOptionFacets(tsQuery, fuzzyTerm, optionFilterJson,
+                            statusId, categoryId, brandId, minPrice, maxPrice, includeDeleted)) {
+                        facets.computeIfAbsent(facet.getOptionName(), name -> new LinkedHashMap<>())
+                                .put(facet.getOptionValue(), facet.getProductCount());
+                    }
+                    return facets;
+                });
+    }
+
+    // Default listing order; price_asc seeks on idx_products_(category_)min_price, price_desc on idx_products_(category_)max_price
+    private Sort listingSort(ProductSort productSort) {
+        return switch (productSort) {
+            case PRICE_ASC -> Sort.by(Sort.Order.asc("minPrice"), Sort.Order.asc("id"));
+            case PRICE_DESC -> Sort.by(Sort.Order.desc("maxPrice"), Sort.Order.desc("id"));
+            default -> Sort.by("createdAt").descending();
+        };
+    }
+
+    // Same orders for the native id queries (column names); relevance ranks first in the query, newest breaks ties
+    private Sort idSort(ProductSort productSort) {
+        return switch (productSort) {
+            case PRICE_ASC -> Sort.by(Sort.Order.asc("min_price"), Sort.Order.asc("id"));
+            case PRICE_DESC -> Sort.by(Sort.Order.desc("max_price"), Sort.Order.desc("id"));
+            default -> Sort.by(Sort.Order.desc("created_at"), Sort.Order.desc("id"));
+        };
+    }
+
+    private void validatePriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        boolean negative = (minPrice != null && minPrice.signum() < 0) || (maxPrice != null && maxPrice.signum() < 0);
+        if (negative || (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0)) {
+            throw new BadRequestException(
+                messageService.getMessage("error.product.price-range.invalid", new Object[]{minPrice, maxPrice})
+            );
+        }
+    }
+
+    // Load list projections for the given ids, keeping the order decided by the search query
+    private List<ProductListDTO> findProductListInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, ProductListDTO> byId = productRepository.findProductListByIds(ids).stream()
+                .collect(Collectors.toMap(ProductListDTO::getId, Function.identity()));
+
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     private void validateProductNotAlreadyDeleted(Product product) {
         if (Boolean.TRUE.equals(product.getIsDeleted())) {
             throw new BadRequestException(
@@ -1,34 +1,68 @@
 package com.ecom.product_service.service.impl;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ecom.datasource.PrimaryPinning;
+import com.ecom.product_service.cache.VariantAvailabilityCache;
+import com.ecom.product_service.cache.VariantOptionSchema;
+import com.ecom.product_service.cache.VariantOptionSchemaCache;
 import com.ecom.product_service.dto.BulkVariantRequest;
+import com.ecom.product_service.dto.GenerateVariantsRequest;
+import com.ecom.product_service.dto.LowStockVariant;
 import com.ecom.product_service.dto.ProductVariantOptionRequest;
 import com.ecom.product_service.dto.ProductVariantRequest;
+import com.ecom.product_service.dto.VariantAvailabilityRow;
+import com.ecom.product_service.event.LowStockEvent;
+import com.ecom.product_service.event.ProductChangedEvent;
+import com.ecom.product_service.event.VariantOptionsChangedEvent;
 import com.ecom.product_service.exception.BadRequestException;
 import com.ecom.product_service.exception.ResourceNotFoundException;
+import com.ecom.product_service.inventory.LowStockAlertPublisher;
 import com.ecom.product_service.mapper.ProductVariantMapper;
 import com.ecom.product_service.model.Product;
 import com.ecom.product_service.model.ProductVariant;
 import com.ecom.product_service.model.ProductVariantOption;
+import com.ecom.product_service.model.ProductVariantStats;
 import com.ecom.product_service.repository.ProductRepository;
 import com.ecom.product_service.repository.ProductVariantOptionRepository;
 import com.ecom.product_service.repository.ProductVariantRepository;
+import com.ecom.product_service.repository.ProductVariantStatsRepository;
+import com.ecom.product_service.response.GenerateVariantsResponse;
+import com.ecom.product_service.response.LowStockVariantResponse;
+import com.ecom.product_service.response.PageResponse;
 import com.ecom.product_service.response.ProductVariantOptionResponse;
 import com.ecom.product_service.response.ProductVariantResponse;
 import com.ecom.product_service.response.ProductWithVariantsResponse;
+import com.ecom.product_service.response.VariantAvailabilityResponse;
 import com.ecom.product_service.service.MessageService;
 import com.ecom.product_service.service.ProductPriceHistoryService;
 import com.ecom.product_service.service.ProductVariantService;
+import com.ecom.product_service.util.Constants;
+import com.ecom.product_service.util.OptionHashUtils;
+import com.ecom.product_service.util.OptionValuesCodec;
+import com.ecom.product_service.util.SkuTemplateUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -40,13 +74,27 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ProductVariantServiceImpl implements ProductVariantService {
 
+    // Upper bound for one generate call (5 options x 20 values would be 3.2M rows)
+    private static final int MAX_GENERATED_VARIANTS = 2000;
+
+    private static final int GENERATE_BATCH_SIZE = 500;
+
+    private static final String DEFAULT_SKU_TEMPLATE = "{SLUG}-{VALUES}";
+
+    // Bitset size cap for the availability matrix (100k combinations = ~12.5 KB per bitset)
+    private static final int MAX_AVAILABILITY_COMBINATIONS = 100_000;
+
     private final ProductVariantRepository variantRepository;
     private final ProductVariantOptionRepository variantOptionRepository;
+    private final ProductVariantStatsRepository variantStatsRepository;
     private final ProductRepository productRepository;
     private final ProductVariantMapper variantMapper;
     private final MessageService messageService;
     private final ProductPriceHistoryService priceHistoryService;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VariantAvailabilityCache availabilityCache;
+    private final VariantOptionSchemaCache optionSchemaCache;
 
     // =========================================================================
     // VARIANT OPTION - BULK SETUP (only when no variants exist)
@@ -59,34 +107,8 @@ public class ProductVariantServiceImpl implements ProductVariantService {
         log.info("Creating/updating variant options for productId: {}", productId);
 
         Product product = findProductOrThrow(productId);
-
-        // Block replace-all when variants already exist
-        long variantCount = variantRepository.countByProductIdAndDeletedAtIsNull(productId);
-        if (variantCount > 0) {
-            log.error("Cannot replace options: {} variants already exist for productId: {}", variantCount, productId);
-            throw new BadRequestException(
-                    messageService.getMessage("error.variant.cannot-update-options-with-existing-variants"));
-        }
-
-        List<ProductVariantOption> existingOptions = variantOptionRepository
-                .findByProductIdOrderByDisplayOrder(productId);
-        if (!existingOptions.isEmpty()) {
-            variantOptionRepository.deleteAll(existingOptions);
-        }
-
-        List<ProductVariantOption> newOptions = new ArrayList<>();
-        for (int i = 0; i < requests.size(); i++) {
-            ProductVariantOptionRequest request = requests.get(i);
-            ProductVariantOption option = new ProductVariantOption();
-            option.setProduct(product);
-            option.setOptionName(request.getOptionName());
-            option.setOptionValues(request.getOptionValues().toArray(new String[0]));
-            option.setDisplayOrder(request.getDisplayOrder() != null ? request.getDisplayOrder() : i);
-            newOptions.add(option);
-        }
-
-        List<ProductVariantOption> savedOptions = variantOptionRepository.saveAll(newOptions);
-        log.info("Successfully created {} variant options for productId: {}", savedOptions.size(), productId);
+        List<ProductVariantOption> savedOptions = replaceVariantOptions(product, requests);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
 
         return savedOptions.stream()
                 .map(variantMapper::toOptionResponse)
@@ -118,6 +140,8 @@ public class ProductVariantServiceImpl implements ProductVariantService {
         if (!options.isEmpty()) {
             variantOptionRepository.deleteAll(options);
             log.info("Deleted {} variant options for productId: {}", options.size(), productId);
+            eventPublisher.publishEvent(new VariantOptionsChangedEvent(productId));
+            eventPublisher.publishEvent(new ProductChangedEvent(productId));
         }
     }
 
@@ -153,6 +177,8 @@ public class ProductVariantServiceImpl implements ProductVariantService {
                         messageService.getMessage("error.variant.option-not-found", new Object[]{optionId})));
 
         log.info("Added value '{}' to option '{}' for productId: {}", value, updated.getOptionName(), productId);
+        eventPublisher.publishEvent(new VariantOptionsChangedEvent(productId));
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
         return variantMapper.toOptionResponse(updated);
     }
 
@@ -189,6 +215,8 @@ public class ProductVariantServiceImpl implements ProductVariantService {
                         messageService.getMessage("error.variant.option-not-found", new Object[]{optionId})));
 
         log.info("Removed value '{}' from option '{}' for productId: {}", value, updated.getOptionName(), productId);
+        eventPublisher.publishEvent(new VariantOptionsChangedEvent(productId));
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
         return variantMapper.toOptionResponse(updated);
     }
 
@@ -234,6 +262,8 @@ public class ProductVariantServiceImpl implements ProductVariantService {
                         messageService.getMessage("error.variant.option-not-found", new Object[]{optionId})));
 
         log.info("Renamed option '{}' -> '{}' for productId: {}", oldName, newName, productId);
+        eventPublisher.publishEvent(new VariantOptionsChangedEvent(productId));
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
         return variantMapper.toOptionResponse(updated);
     }
 
@@ -250,18 +280,8 @@ public class ProductVariantServiceImpl implements ProductVariantService {
         validateSkuUnique(request.getSku(), null);
 
         List<ProductVariantOption> orderedOptions = validateOptionValues(productId, request.getOptionValues());
-
-        ProductVariant variant = new ProductVariant();
-        variant.setProduct(product);
-        variant.setSku(request.getSku());
-        variant.setVariantName(generateVariantName(request.getOptionValues(), orderedOptions));
-        variant.setOptionValuesJson(convertMapToJson(request.getOptionValues()));
-        variant.setPrice(request.getPrice());
-        variant.setCompareAtPrice(request.getCompareAtPrice());
-        variant.setStockQuantity(request.getStockQuantity());
-        variant.setLowStockThreshold(request.getLowStockThreshold());
-        variant.setDisplayOrder(request.getDisplayOrder() != null ? request.getDisplayOrder() : 0);
-        variant.setIsActive(request.getIsActive() != null ? request.getIsActive() : true);
+        ProductVariant variant = buildVariant(product, request, orderedOptions);
+        validateCombinationUnique(productId, variant, null);
 
         long existingCount = variantRepository.countByProductIdAndDeletedAtIsNull(productId);
         boolean shouldBeDefault = existingCount == 0 || Boolean.TRUE.equals(request.getIsDefault());
@@ -275,6 +295,7 @@ public class ProductVariantServiceImpl implements ProductVariantService {
 
         ProductVariant saved = variantRepository.save(variant);
         log.info("Created variant ID: {} for productId: {}", saved.getId(), productId);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
 
         return variantMapper.toVariantResponse(saved);
     }
@@ -282,19 +303,120 @@ public class ProductVariantServiceImpl implements ProductVariantService {
     @Override
     @Transactional
     public List<ProductVariantResponse> createVariantsBulk(Long productId, BulkVariantRequest request) {
-        log.info("Bulk creating {} variants for productId: {}", request.getVariants().size(), productId);
+        List<ProductVariantRequest> variantRequests = request.getVariants();
+        log.info("Bulk creating {} variants for productId: {}", variantRequests.size(), productId);
+
+        // Set-based path: every lookup runs once for the whole batch, rows go out as one JDBC batch
+        Product product = findProductOrThrow(productId);
+
+        // Freshly replaced options are compiled locally: they are not committed yet, so not cached
+        VariantOptionSchema schema = request.getOptions() != null && !request.getOptions().isEmpty()
+                ? VariantOptionSchema.compile(replaceVariantOptions(product, request.getOptions()))
+                : optionSchema(productId);
+        List<ProductVariantOption> options = schema.options();
 
-        if (request.getOptions() != null && !request.getOptions().isEmpty()) {
-            createOrUpdateVariantOptions(productId, request.getOptions());
+        validateSkusUnique(variantRequests);
+        variantRequests.forEach(variantRequest -> validateOptionValues(schema, variantRequest.getOptionValues()));
+        validateCombinationsUnique(productId, options, variantRequests);
+
+        // Same outcome as creating one by one: the last variant flagged default wins,
+        // otherwise the first one becomes default when the product had no variants
+        long existingCount = variantRepository.countByProductIdAndDeletedAtIsNull(productId);
+        int defaultIndex = -1;
+        for (int i = 0; i < variantRequests.size(); i++) {
+            if (Boolean.TRUE.equals(variantRequests.get(i).getIsDefault())) {
+                defaultIndex = i;
+            }
         }
+        if (defaultIndex < 0 && existingCount == 0) {
+            defaultIndex = 0;
+        }
+        if (defaultIndex >= 0 && existingCount > 0) {
+            variantRepository.clearDefaultVariant(productId);
+        }
+
+        List<ProductVariant> variants = insertVariantBatch(product, options, variantRequests, defaultIndex);
+        log.info("Bulk created {} variants for productId: {}", variants.size(), productId);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+
+        return variants.stream()
+                .map(variantMapper::toVariantResponse)
+                .collect(Collectors.toList());
+    }
 
-        List<ProductVariantResponse> created = new ArrayList<>();
-        for (ProductVariantRequest variantRequest : request.getVariants()) {
-            created.add(createVariant(productId, variantRequest));
+    @Override
+    @Transactional
+    public GenerateVariantsResponse generateVariants(Long productId, GenerateVariantsRequest request) {
+        log.info("Generating variant matrix for productId: {}", productId);
+
+        Product product = findProductOrThrow(productId);
+        List<ProductVariantOption> options = optionSchema(productId).options();
+        if (options.isEmpty()) {
+            throw new BadRequestException(messageService.getMessage("error.variant.no-options-defined"));
+        }
+
+        long totalCombinations = 1;
+        for (ProductVariantOption option : options) {
+            totalCombinations *= option.getOptionValues().length;
+            if (totalCombinations > MAX_GENERATED_VARIANTS) {
+                throw new BadRequestException(messageService.getMessage("error.variant.generate-too-many",
+                        new Object[]{MAX_GENERATED_VARIANTS}));
+            }
         }
 
-        log.info("Bulk created {} variants for productId: {}", created.size(), productId);
-        return created;
+        boolean skipExisting = !Boolean.FALSE.equals(request.getSkipExisting());
+        Set<String> existingHashes = new HashSet<>(variantRepository.findOptionHashesByProductId(productId));
+        long existingCount = variantRepository.countByProductIdAndDeletedAtIsNull(productId);
+        BigDecimal basePrice = request.getPrice() != null ? request.getPrice() : product.getPrice();
+        List<String> optionNames = options.stream().map(ProductVariantOption::getOptionName).toList();
+
+        int created = 0;
+        int skipped = 0;
+        Set<String> generatedSkus = new HashSet<>();
+        List<ProductVariantRequest> batch = new ArrayList<>(GENERATE_BATCH_SIZE);
+
+        // Odometer over option values in display order: the last option changes fastest
+        int[] position = new int[options.size()];
+        for (long n = 0; n < totalCombinations; n++) {
+            Map<String, String> combination = new LinkedHashMap<>();
+            for (int i = 0; i < options.size(); i++) {
+                combination.put(optionNames.get(i), options.get(i).getOptionValues()[position[i]]);
+            }
+            advance(position, options);
+
+            if (existingHashes.contains(OptionHashUtils.hash(combination, options))) {
+                if (!skipExisting) {
+                    throw new BadRequestException(messageService.getMessage("error.variant.combination-exists",
+                            new Object[]{generateVariantName(combination, options)}));
+                }
+                skipped++;
+                continue;
+            }
+
+            int displayOrder = (int) existingCount + created + batch.size();
+            batch.add(buildGeneratedRequest(product, optionNames, combination, basePrice, request, displayOrder));
+
+            if (batch.size() == GENERATE_BATCH_SIZE) {
+                created += insertGeneratedBatch(product, options, batch, generatedSkus, existingCount + created == 0);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            created += insertGeneratedBatch(product, options, batch, generatedSkus, existingCount + created == 0);
+        }
+
+        log.info("Generated {} variants for productId: {} ({} combinations, {} already existed)",
+                created, productId, totalCombinations, skipped);
+        if (created > 0) {
+            eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        }
+
+        return GenerateVariantsResponse.builder()
+                .productId(productId)
+                .totalCombinations((int) totalCombinations)
+                .created(created)
+                .skippedExisting(skipped)
+                .build();
     }
 
     @Override
@@ -331,12 +453,28 @@ public class ProductVariantServiceImpl implements ProductVariantService {
                                 messageService.getMessage("error.variant.default-not-found"))));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ProductVariantResponse resolveVariant(Long productId, Map<String, String> selection) {
+        findProductOrThrow(productId);
+
+        // Same rules as creating a variant: every option once, only defined values
+        List<ProductVariantOption> options = validateOptionValues(productId, selection);
+        return variantRepository.findByProductIdAndOptionHashAndDeletedAtIsNull(productId,
+                        OptionHashUtils.hash(selection, options))
+                .map(variantMapper::toVariantResponse)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        messageService.getMessage("error.variant.combination-not-found",
+                                new Object[]{generateVariantName(selection, options)})));
+    }
+
     @Override
     @Transactional
     public ProductVariantResponse updateVariant(Long variantId, ProductVariantRequest request) {
         log.info("Updating variant ID: {}", variantId);
 
         ProductVariant variant = findVariantOrThrow(variantId);
+        boolean wasLowStock = variant.isLowStock();
 
         if (!variant.getSku().equals(request.getSku())) {
             validateSkuUnique(request.getSku(), variantId);
@@ -347,6 +485,8 @@ public class ProductVariantServiceImpl implements ProductVariantService {
                     validateOptionValues(variant.getProduct().getId(), request.getOptionValues());
             variant.setVariantName(generateVariantName(request.getOptionValues(), orderedOptions));
             variant.setOptionValuesJson(convertMapToJson(request.getOptionValues()));
+            variant.setOptionHash(OptionHashUtils.hash(request.getOptionValues(), orderedOptions));
+            validateCombinationUnique(variant.getProduct().getId(), variant, variantId);
         }
 
         BigDecimal oldPrice = variant.getPrice();
@@ -377,6 +517,8 @@ public class ProductVariantServiceImpl implements ProductVariantService {
         }
 
         log.info("Updated variant ID: {}", variantId);
+        publishIfLowStockCrossed(updated, wasLowStock);
+        eventPublisher.publishEvent(new ProductChangedEvent(variant.getProduct().getId()));
         return variantMapper.toVariantResponse(updated);
     }
 
@@ -403,6 +545,8 @@ public class ProductVariantServiceImpl implements ProductVariantService {
                                 newDefault.getId(), variantId);
                     });
         }
+
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
     }
 
     @Override
@@ -416,10 +560,13 @@ public class ProductVariantServiceImpl implements ProductVariantService {
         }
 
         ProductVariant variant = findVariantOrThrow(variantId);
+        boolean wasLowStock = variant.isLowStock();
         variant.setStockQuantity(newStock);
         ProductVariant updated = variantRepository.save(variant);
 
         log.info("Updated stock for variant ID: {} to {}", variantId, newStock);
+        publishIfLowStockCrossed(updated, wasLowStock);
+        eventPublisher.publishEvent(new ProductChangedEvent(variant.getProduct().getId()));
         return variantMapper.toVariantResponse(updated);
     }
 
@@ -434,16 +581,20 @@ public class ProductVariantServiceImpl implements ProductVariantService {
                 ? variantRepository.findByProductIdOrderByDisplayOrder(productId)
                 : variantRepository.findByProductIdAndDeletedAtIsNullOrderByDisplayOrder(productId);
 
-        ProductVariant defaultVariant = variantRepository
-                .findByProductIdAndIsDefaultTrueAndDeletedAtIsNull(productId)
-                .orElse(null);
-
-        // Fix: totalVariants = all non-deleted (incl. inactive), activeVariants = active only
-        long totalVariants = variantRepository.countAllVariantsByProductId(productId);
-        Integer activeVariants = variantRepository.countActiveVariantsByProductId(productId);
-        BigDecimal minPrice = variantRepository.findMinPriceByProductId(productId);
-        BigDecimal maxPrice = variantRepository.findMaxPriceByProductId(productId);
-        Integer totalStock = variantRepository.sumStockByProductId(productId);
+        // Counts, price range and the default variant id come from one maintained row
+        ProductVariantStats stats = variantStatsRepository.findById(productId)
+                .orElseGet(() -> ProductVariantStats.empty(productId));
+        ProductVariant defaultVariant = stats.getDefaultVariantId() == null ? null
+                : variants.stream()
+                        .filter(v -> v.getId().equals(stats.getDefaultVariantId()))
+                        .findFirst()
+                        .orElse(null);
+
+        // Stock moves on every sale, so it is summed here rather than kept in the stats row (see V9)
+        int totalStock = variants.stream()
+                .filter(v -> v.getDeletedAt() == null)
+                .mapToInt(ProductVariant::getStockQuantity)
+                .sum();
 
         return ProductWithVariantsResponse.builder()
                 .id(product.getId())
@@ -460,12 +611,39 @@ public class ProductVariantServiceImpl implements ProductVariantService {
                         .map(variantMapper::toVariantResponse)
                         .collect(Collectors.toList()))
                 .defaultVariant(defaultVariant != null ? variantMapper.toVariantResponse(defaultVariant) : null)
-                .totalVariants((int) totalVariants)
-                .activeVariants(activeVariants)
-                .minPrice(minPrice)
-                .maxPrice(maxPrice)
-                .totalStock(totalStock != null ? totalStock : 0)
-                .hasVariants(totalVariants > 0)
+                .totalVariants(stats.getTotalVariants())
+                .activeVariants(stats.getActiveVariants())
+                .minPrice(stats.getMinPrice())
+                .maxPrice(stats.getMaxPrice())
+                .totalStock(totalStock)
+                .hasVariants(stats.getTotalVariants() > 0)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VariantAvailabilityResponse getVariantAvailability(Long productId) {
+        // Pinned before the first statement: the connection is bound lazily, so the version check
+        // and the matrix it is cached under both come from the primary
+        return PrimaryPinning.onPrimary(() -> availabilityCache.get(productId,
+                variantRepository.findVariantsVersion(productId), this::loadVariantAvailability));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<LowStockVariantResponse> getLowStockVariants(int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), Constants.MAX_PAGE_SIZE));
+        Page<LowStockVariant> lowStock = variantRepository.findAllLowStock(pageable);
+
+        return PageResponse.<LowStockVariantResponse>builder()
+                .content(lowStock.getContent().stream()
+                        .map(LowStockAlertPublisher::toResponse)
+                        .collect(Collectors.toList()))
+                .pageNumber(lowStock.getNumber())
+                .pageSize(lowStock.getSize())
+                .totalElements(lowStock.getTotalElements())
+                .totalPages(lowStock.getTotalPages())
+                .last(lowStock.isLast())
                 .build();
     }
 
@@ -473,6 +651,91 @@ public class ProductVariantServiceImpl implements ProductVariantService {
     // PRIVATE HELPERS
     // =========================================================================
 
+    // Alert only on the transition into low stock, not on every write while it stays low
+    private void publishIfLowStockCrossed(ProductVariant variant, boolean wasLowStock) {
+        if (wasLowStock || !variant.isLowStock() || variant.getDeletedAt() != null) {
+            return;
+        }
+        eventPublisher.publishEvent(new LowStockEvent(LowStockVariantResponse.builder()
+                .variantId(variant.getId())
+                .sku(variant.getSku())
+                .variantName(variant.getVariantName())
+                .productId(variant.getProduct().getId())
+                .productName(variant.getProduct().getName())
+                .stockQuantity(variant.getStockQuantity())
+                .lowStockThreshold(variant.getLowStockThreshold())
+                .outOfStock(variant.isOutOfStock())
+                .build()));
+    }
+
+    // Cache loader for getVariantAvailability: one options query, one variant projection query
+    private VariantAvailabilityResponse loadVariantAvailability(Long productId) {
+        findProductOrThrow(productId);
+
+        List<ProductVariantOption> options = new ArrayList<>(optionSchema(productId).options());
+        options.sort(OptionHashUtils.OPTION_ORDER);
+
+        long combinations = 1;
+        List<Map<String, Integer>> positions = new ArrayList<>(options.size());
+        for (ProductVariantOption option : options) {
+            combinations *= option.getOptionValues().length;
+            if (combinations > MAX_AVAILABILITY_COMBINATIONS) {
+                throw new BadRequestException(messageService.getMessage("error.variant.availability-too-many",
+                        new Object[]{MAX_AVAILABILITY_COMBINATIONS}));
+            }
+            Map<String, Integer> valuePositions = new HashMap<>();
+            String[] values = option.getOptionValues();
+            for (int i = 0; i < values.length; i++) {
+                valuePositions.putIfAbsent(values[i], i);
+            }
+            positions.add(valuePositions);
+        }
+
+        BitSet active = new BitSet();
+        BitSet inStock = new BitSet();
+        BitSet lowStock = new BitSet();
+        for (VariantAvailabilityRow row : variantRepository.findAvailabilityRows(productId)) {
+            int index = combinationIndex(row, options, positions);
+            if (index < 0) {
+                continue;
+            }
+            int stock = row.getStockQuantity() != null ? row.getStockQuantity() : 0;
+            active.set(index, Boolean.TRUE.equals(row.getActive()));
+            inStock.set(index, stock > 0);
+            lowStock.set(index, row.getLowStockThreshold() != null && stock <= row.getLowStockThreshold());
+        }
+
+        Base64.Encoder base64 = Base64.getEncoder();
+        return VariantAvailabilityResponse.builder()
+                .productId(productId)
+                .axes(options.stream().map(variantMapper::toOptionResponse).collect(Collectors.toList()))
+                .combinations((int) combinations)
+                .active(base64.encodeToString(active.toByteArray()))
+                .inStock(base64.encodeToString(inStock.toByteArray()))
+                .lowStock(base64.encodeToString(lowStock.toByteArray()))
+                .build();
+    }
+
+    // Mixed-radix index of the variant's combination (last option fastest), -1 if a value is no longer defined
+    private int combinationIndex(VariantAvailabilityRow row, List<ProductVariantOption> options,
+            List<Map<String, Integer>> positions) {
+        Map<String, String> values = OptionValuesCodec.decode(row.getOptionValues());
+        if (values == null) {
+            log.warn("Skipping unreadable option_values for variant {}", row.getId());
+            return -1;
+        }
+
+        int index = 0;
+        for (int i = 0; i < options.size(); i++) {
+            Integer position = positions.get(i).get(values.get(options.get(i).getOptionName()));
+            if (position == null) {
+                return -1;
+            }
+            index = index * options.get(i).getOptionValues().length + position;
+        }
+        return index;
+    }
+
     private Product findProductOrThrow(Long productId) {
         return productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -486,6 +749,11 @@ public class ProductVariantServiceImpl implements ProductVariantService {
                         messageService.getMessage("error.variant.not-found", new Object[]{variantId})));
     }
 
+    // Compiled options of the product, cached until its options change (see VariantOptionSchemaCache)
+    private VariantOptionSchema optionSchema(Long productId) {
+        return optionSchemaCache.get(productId, variantOptionRepository::findByProductIdOrderByDisplayOrder);
+    }
+
     private ProductVariantOption findOptionOrThrow(Long optionId, Long productId) {
         return variantOptionRepository.findById(optionId)
                 .filter(o -> o.getProduct().getId().equals(productId))
@@ -493,6 +761,159 @@ public class ProductVariantServiceImpl implements ProductVariantService {
                         messageService.getMessage("error.variant.option-not-found", new Object[]{optionId})));
     }
 
+    /**
+     * Deletes the product's current options and saves the requested ones (caller checks no variants exist).
+     */
+    private List<ProductVariantOption> replaceVariantOptions(Product product, List<ProductVariantOptionRequest> requests) {
+        Long productId = product.getId();
+
+        // Block replace-all when variants already exist
+        long variantCount = variantRepository.countByProductIdAndDeletedAtIsNull(productId);
+        if (variantCount > 0) {
+            log.error("Cannot replace options: {} variants already exist for productId: {}", variantCount, productId);
+            throw new BadRequestException(
+                    messageService.getMessage("error.variant.cannot-update-options-with-existing-variants"));
+        }
+
+        List<ProductVariantOption> existingOptions = variantOptionRepository
+                .findByProductIdOrderByDisplayOrder(productId);
+        if (!existingOptions.isEmpty()) {
+            variantOptionRepository.deleteAll(existingOptions);
+        }
+
+        List<ProductVariantOption> newOptions = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ProductVariantOptionRequest request = requests.get(i);
+            ProductVariantOption option = new ProductVariantOption();
+            option.setProduct(product);
+            option.setOptionName(request.getOptionName());
+            option.setOptionValues(request.getOptionValues().toArray(new String[0]));
+            option.setDisplayOrder(request.getDisplayOrder() != null ? request.getDisplayOrder() : i);
+            newOptions.add(option);
+        }
+
+        List<ProductVariantOption> savedOptions = new ArrayList<>(variantOptionRepository.saveAll(newOptions));
+        savedOptions.sort(Comparator.comparing(ProductVariantOption::getDisplayOrder));
+        log.info("Successfully created {} variant options for productId: {}", savedOptions.size(), productId);
+        eventPublisher.publishEvent(new VariantOptionsChangedEvent(productId));
+        return savedOptions;
+    }
+
+    /**
+     * Allocates ids and inserts the variants as one JDBC batch; only the variant at defaultIndex (if any) is default.
+     */
+    private List<ProductVariant> insertVariantBatch(Product product, List<ProductVariantOption> options,
+            List<ProductVariantRequest> requests, int defaultIndex) {
+        List<Long> ids = variantRepository.allocateVariantIds(requests.size());
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductVariant> variants = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            ProductVariant variant = buildVariant(product, requests.get(i), options);
+            variant.setId(ids.get(i));
+            variant.setIsDefault(i == defaultIndex);
+            variant.setCreatedAt(now);
+            variant.setUpdatedAt(now);
+            variants.add(variant);
+        }
+
+        variantRepository.insertAll(variants);
+        return variants;
+    }
+
+    private int insertGeneratedBatch(Product product, List<ProductVariantOption> options,
+            List<ProductVariantRequest> batch, Set<String> generatedSkus, boolean firstVariantIsDefault) {
+        validateSkusUnique(batch);
+        for (ProductVariantRequest variantRequest : batch) {
+            if (!generatedSkus.add(variantRequest.getSku())) {
+                throw new BadRequestException(messageService.getMessage("error.variant.sku-duplicate-in-request",
+                        new Object[]{variantRequest.getSku()}));
+            }
+        }
+
+        insertVariantBatch(product, options, batch, firstVariantIsDefault ? 0 : -1);
+        return batch.size();
+    }
+
+    private ProductVariantRequest buildGeneratedRequest(Product product, List<String> optionNames,
+            Map<String, String> combination, BigDecimal basePrice, GenerateVariantsRequest rules, int displayOrder) {
+        String sku = SkuTemplateUtils.render(rules.getSkuTemplate() != null ? rules.getSkuTemplate() : DEFAULT_SKU_TEMPLATE,
+                product.getSlug(), product.getId(), optionNames, combination);
+        if (sku == null) {
+            throw new BadRequestException(messageService.getMessage("error.variant.sku-template-invalid",
+                    new Object[]{rules.getSkuTemplate()}));
+        }
+
+        BigDecimal price = basePrice;
+        if (rules.getPriceAdjustments() != null) {
+            for (Map.Entry<String, String> entry : combination.entrySet()) {
+                Map<String, BigDecimal> adjustments = rules.getPriceAdjustments().get(entry.getKey());
+                if (adjustments != null && adjustments.get(entry.getValue()) != null) {
+                    price = price.add(adjustments.get(entry.getValue()));
+                }
+            }
+        }
+        if (price.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new BadRequestException(messageService.getMessage("error.variant.price-invalid"));
+        }
+        if (rules.getCompareAtPrice() != null && rules.getCompareAtPrice().compareTo(price) <= 0) {
+            throw new BadRequestException(messageService.getMessage("error.variant.compare-price-must-greater"));
+        }
+
+        ProductVariantRequest variantRequest = new ProductVariantRequest();
+        variantRequest.setSku(sku);
+        variantRequest.setPrice(price);
+        variantRequest.setCompareAtPrice(rules.getCompareAtPrice());
+        variantRequest.setStockQuantity(rules.getStockQuantity() != null ? rules.getStockQuantity() : 0);
+        variantRequest.setLowStockThreshold(rules.getLowStockThreshold());
+        variantRequest.setOptionValues(combination);
+        variantRequest.setIsActive(rules.getIsActive() != null ? rules.getIsActive() : true);
+        variantRequest.setDisplayOrder(displayOrder);
+        return variantRequest;
+    }
+
+    private static void advance(int[] position, List<ProductVariantOption> options) {
+        for (int i = position.length - 1; i >= 0; i--) {
+            if (++position[i] < options.get(i).getOptionValues().length) {
+                return;
+            }
+            position[i] = 0;
+        }
+    }
+
+    private ProductVariant buildVariant(Product product, ProductVariantRequest request,
+            List<ProductVariantOption> orderedOptions) {
+        ProductVariant variant = new ProductVariant();
+        variant.setProduct(product);
+        variant.setSku(request.getSku());
+        variant.setVariantName(generateVariantName(request.getOptionValues(), orderedOptions));
+        variant.setOptionValuesJson(convertMapToJson(request.getOptionValues()));
+        variant.setOptionHash(OptionHashUtils.hash(request.getOptionValues(), orderedOptions));
+        variant.setPrice(request.getPrice());
+        variant.setCompareAtPrice(request.getCompareAtPrice());
+        variant.setStockQuantity(request.getStockQuantity());
+        variant.setLowStockThreshold(request.getLowStockThreshold());
+        variant.setDisplayOrder(request.getDisplayOrder() != null ? request.getDisplayOrder() : 0);
+        variant.setIsActive(request.getIsActive() != null ? request.getIsActive() : true);
+        return variant;
+    }
+
+    // One IN query for the whole batch, plus duplicates inside the request itself
+    private void validateSkusUnique(List<ProductVariantRequest> requests) {
+        Set<String> skus = new LinkedHashSet<>();
+        for (ProductVariantRequest request : requests) {
+            if (!skus.add(request.getSku())) {
+                throw new BadRequestException(
+                        messageService.getMessage("error.variant.sku-duplicate-in-request", new Object[]{request.getSku()}));
+            }
+        }
+
+        List<String> existing = variantRepository.findExistingSkus(skus);
+        if (!existing.isEmpty()) {
+            throw new BadRequestException(
+                    messageService.getMessage("error.variant.sku-exists", new Object[]{String.join(", ", existing)}));
+        }
+    }
+
     private void validateSkuUnique(String sku, Long excludeId) {
         variantRepository.findBySkuAndDeletedAtIsNull(sku).ifPresent(existing -> {
             if (excludeId == null || !existing.getId().equals(excludeId)) {
@@ -502,6 +923,43 @@ public class ProductVariantServiceImpl implements ProductVariantService {
         });
     }
 
+    // One variant per option combination (also enforced by uq_product_variants_option_hash)
+    private void validateCombinationUnique(Long productId, ProductVariant variant, Long excludeId) {
+        if (variant.getOptionHash() == null) {
+            return;
+        }
+        variantRepository.findByProductIdAndOptionHashAndDeletedAtIsNull(productId, variant.getOptionHash())
+                .filter(existing -> excludeId == null || !existing.getId().equals(excludeId))
+                .ifPresent(existing -> {
+                    throw new BadRequestException(messageService.getMessage("error.variant.combination-exists",
+                            new Object[]{variant.getVariantName()}));
+                });
+    }
+
+    // Bulk form: duplicates inside the request, then one IN query against existing variants
+    private void validateCombinationsUnique(Long productId, List<ProductVariantOption> options,
+            List<ProductVariantRequest> requests) {
+        Map<String, ProductVariantRequest> byHash = new LinkedHashMap<>();
+        for (ProductVariantRequest request : requests) {
+            String hash = OptionHashUtils.hash(request.getOptionValues(), options);
+            if (hash != null && byHash.putIfAbsent(hash, request) != null) {
+                throw new BadRequestException(messageService.getMessage("error.variant.combination-duplicate-in-request",
+                        new Object[]{generateVariantName(request.getOptionValues(), options)}));
+            }
+        }
+
+        if (byHash.isEmpty()) {
+            return;
+        }
+
+        List<String> existing = variantRepository.findExistingOptionHashes(productId, byHash.keySet());
+        if (!existing.isEmpty()) {
+            ProductVariantRequest request = byHash.get(existing.get(0));
+            throw new BadRequestException(messageService.getMessage("error.variant.combination-exists",
+                    new Object[]{generateVariantName(request.getOptionValues(), options)}));
+        }
+    }
+
     /**
      * Validates option values map against product's defined options.
      * Checks:
@@ -516,15 +974,22 @@ public class ProductVariantServiceImpl implements ProductVariantService {
             throw new BadRequestException(messageService.getMessage("error.variant.options-required"));
         }
 
-        List<ProductVariantOption> productOptions = variantOptionRepository
-                .findByProductIdOrderByDisplayOrder(productId);
+        return validateOptionValues(optionSchema(productId), optionValues);
+    }
+
+    // Same checks against a schema already resolved by the caller (bulk paths), O(keys) per call
+    private List<ProductVariantOption> validateOptionValues(VariantOptionSchema schema,
+            Map<String, String> optionValues) {
+        if (optionValues == null || optionValues.isEmpty()) {
+            throw new BadRequestException(messageService.getMessage("error.variant.options-required"));
+        }
 
-        if (productOptions.isEmpty()) {
+        if (schema.isEmpty()) {
             throw new BadRequestException(messageService.getMessage("error.variant.no-options-defined"));
         }
 
         // Check 1: All defined options must have a value in the request
-        for (ProductVariantOption defined : productOptions) {
+        for (ProductVariantOption defined : schema.options()) {
             if (!optionValues.containsKey(defined.getOptionName())) {
                 throw new BadRequestException(
                         messageService.getMessage("error.variant.missing-required-option",
@@ -537,21 +1002,19 @@ public class ProductVariantServiceImpl implements ProductVariantService {
             String optionName = entry.getKey();
             String optionValue = entry.getValue();
 
-            ProductVariantOption matchingOption = productOptions.stream()
-                    .filter(opt -> opt.getOptionName().equals(optionName))
-                    .findFirst()
-                    .orElseThrow(() -> new BadRequestException(
-                            messageService.getMessage("error.variant.option-mismatch")));
+            Set<String> allowedValues = schema.allowedValues(optionName);
+            if (allowedValues == null) {
+                throw new BadRequestException(messageService.getMessage("error.variant.option-mismatch"));
+            }
 
-            boolean valueValid = Arrays.asList(matchingOption.getOptionValues()).contains(optionValue);
-            if (!valueValid) {
+            if (optionValue == null || !allowedValues.contains(optionValue)) {
                 throw new BadRequestException(
                         messageService.getMessage("error.variant.invalid-option-value",
                                 new Object[]{optionName, optionValue}));
             }
         }
 
-        return productOptions;
+        return schema.options();
     }
 
     /**
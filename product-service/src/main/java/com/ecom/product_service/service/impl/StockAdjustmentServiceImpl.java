@@ -0,0 +1,159 @@
+package com.ecom.product_service.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.ecom.product_service.dto.StockAdjustmentRequest;
+import com.ecom.product_service.dto.StockAdjustmentStatus;
+import com.ecom.product_service.inventory.LowStockAlertPublisher;
+import com.ecom.product_service.repository.ProductVariantBulkRepository.StockAdjustmentRow;
+import com.ecom.product_service.repository.ProductVariantRepository;
+import com.ecom.product_service.response.StockAdjustmentResult;
+import com.ecom.product_service.service.MessageService;
+import com.ecom.product_service.service.StockAdjustmentService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Warehouse stock sync: streams the request body, applies it in chunks of CHUNK_SIZE keys with
+ * one set-based statement each, and streams the per-key results back as each chunk completes.
+ * Memory stays bounded by one chunk whatever the body size.
+ *
+ * Each chunk is a single statement and commits on its own, so a failure part way leaves the
+ * earlier chunks applied; their results have already been written. Lines for the same key within
+ * a chunk are folded in order (an absolute value resets, deltas add up) before hitting the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockAdjustmentServiceImpl implements StockAdjustmentService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final ProductVariantRepository variantRepository;
+    private final LowStockAlertPublisher lowStockAlertPublisher;
+    private final MessageService messageService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void applyBatch(InputStream body, OutputStream results) throws IOException {
+        int line = 0;
+        int applied = 0;
+        Map<String, StockAdjustmentRow> chunk = new LinkedHashMap<>();
+
+        try (MappingIterator<StockAdjustmentRequest> lines = objectMapper
+                        .readerFor(StockAdjustmentRequest.class)
+                        .readValues(body);
+                SequenceWriter writer = objectMapper
+                        .writerFor(StockAdjustmentResult.class)
+                        .withRootValueSeparator("\n")
+                        .writeValues(results)) {
+
+            while (true) {
+                StockAdjustmentRequest request;
+                try {
+                    if (!lines.hasNextValue()) {
+                        break;
+                    }
+                    request = lines.nextValue();
+                    line++;
+                } catch (IOException | RuntimeJsonMappingException e) {
+                    // The stream cannot be resynchronized after malformed JSON: apply what was read, then stop
+                    applied += flush(chunk, writer);
+                    writer.write(invalid(line + 1, null, messageService.getMessage(
+                            "error.stock-batch.malformed-line", new Object[]{line + 1})));
+                    break;
+                }
+
+                String invalidReason = validate(request);
+                if (invalidReason != null) {
+                    writer.write(invalid(line, request, invalidReason));
+                    continue;
+                }
+
+                merge(chunk, line, request);
+                if (chunk.size() >= CHUNK_SIZE) {
+                    applied += flush(chunk, writer);
+                }
+            }
+            applied += flush(chunk, writer);
+        }
+
+        log.info("Stock batch: {} lines read, {} variants updated", line, applied);
+    }
+
+    // Returns the number of variants updated
+    private int flush(Map<String, StockAdjustmentRow> chunk, SequenceWriter writer) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        int updated = 0;
+        List<Long> lowStock = new ArrayList<>();
+        for (StockAdjustmentResult result : variantRepository.applyStockAdjustments(new ArrayList<>(chunk.values()))) {
+            if (result.getStatus() == StockAdjustmentStatus.UPDATED) {
+                updated++;
+            }
+            if (result.isLowStockCrossed()) {
+                lowStock.add(result.getVariantId());
+            }
+            writer.write(result);
+        }
+        writer.flush();
+        chunk.clear();
+        lowStockAlertPublisher.publish(lowStock);
+        return updated;
+    }
+
+    private static void merge(Map<String, StockAdjustmentRow> chunk, int line, StockAdjustmentRequest request) {
+        String key = request.getId() != null ? "id:" + request.getId() : "sku:" + request.getSku();
+        StockAdjustmentRow previous = chunk.remove(key);
+
+        Integer stockQuantity = request.getStockQuantity();
+        int delta = 0;
+        if (stockQuantity == null) {
+            delta = request.getDelta();
+            if (previous != null) {
+                stockQuantity = previous.stockQuantity();
+                delta += previous.delta();
+            }
+        }
+        // Re-insert so the key is ordered by its last line
+        chunk.put(key, new StockAdjustmentRow(line, request.getId(), request.getSku(), stockQuantity, delta));
+    }
+
+    private String validate(StockAdjustmentRequest request) {
+        if (request == null || (request.getId() == null) == (request.getSku() == null || request.getSku().isBlank())) {
+            return messageService.getMessage("error.stock-batch.key-required");
+        }
+        if ((request.getStockQuantity() == null) == (request.getDelta() == null)) {
+            return messageService.getMessage("error.stock-batch.value-required");
+        }
+        if (request.getStockQuantity() != null && request.getStockQuantity() < 0) {
+            return messageService.getMessage("error.variant.stock-invalid");
+        }
+        return null;
+    }
+
+    private static StockAdjustmentResult invalid(int line, StockAdjustmentRequest request, String message) {
+        return StockAdjustmentResult.builder()
+                .line(line)
+                .variantId(request != null ? request.getId() : null)
+                .sku(request != null ? request.getSku() : null)
+                .status(StockAdjustmentStatus.INVALID)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,206 @@
+package com.ecom.product_service.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ecom.product_service.dto.StockReservationRequest;
+import com.ecom.product_service.dto.StockWriteResult;
+import com.ecom.product_service.exception.BadRequestException;
+import com.ecom.product_service.exception.ResourceNotFoundException;
+import com.ecom.product_service.inventory.LowStockAlertPublisher;
+import com.ecom.product_service.model.ProductVariant;
+import com.ecom.product_service.model.StockReservation;
+import com.ecom.product_service.model.StockReservationStatus;
+import com.ecom.product_service.repository.ProductVariantRepository;
+import com.ecom.product_service.repository.StockReservationRepository;
+import com.ecom.product_service.response.StockReservationResponse;
+import com.ecom.product_service.service.HotStockService;
+import com.ecom.product_service.service.MessageService;
+import com.ecom.product_service.service.StockReservationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reserve / commit / release on top of a single conditional UPDATE of stock_quantity.
+ *
+ * Stock leaves the variant at reserve time, so concurrent buyers can never take more than
+ * is on hand, and the variant row is locked only for that one statement. Holds that are
+ * neither committed nor released are expired by StockReservationSweeper.
+ *
+ * Variants in hot-SKU mode ({@link HotStockService}) are served from an in-memory lease instead;
+ * their reservations are committed, released and expired exactly like the others.
+ *
+ * Reservations do not publish ProductChangedEvent: the cached product detail carries no
+ * variant stock, and variant ETags follow updated_at, which every statement here bumps.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private final StockReservationRepository reservationRepository;
+    private final ProductVariantRepository variantRepository;
+    private final MessageService messageService;
+    private final HotStockService hotStockService;
+    private final LowStockAlertPublisher lowStockAlertPublisher;
+
+    @Value("${inventory.reservation.default-ttl:10m}")
+    private Duration defaultTtl;
+
+    @Value("${inventory.reservation.max-ttl:1h}")
+    private Duration maxTtl;
+
+    @Override
+    @Transactional
+    public StockReservationResponse reserve(Long variantId, StockReservationRequest request, Long userId) {
+        Duration ttl = resolveTtl(request.getTtlSeconds());
+        int quantity = request.getQuantity();
+
+        // Hot SKUs sell from this node's leased allocation; everything else takes stock from the row.
+        // The in-memory path skips the row's is_active / deleted_at condition, so check them first (plain read, no lock)
+        HotStockService.TakeResult hotTake = variantRepository.existsByIdAndIsActiveTrueAndDeletedAtIsNull(variantId)
+                ? hotStockService.tryTake(variantId, quantity)
+                : HotStockService.TakeResult.NOT_HOT;
+        if (hotTake == HotStockService.TakeResult.TAKEN) {
+            giveBackOnRollback(variantId, quantity);
+        } else {
+            StockWriteResult taken = variantRepository.decrementStock(variantId, quantity)
+                    .orElseThrow(() -> reserveFailure(variantId, quantity));
+            // Hot SKUs alert from their flush, when the sales reach the row
+            if (Boolean.TRUE.equals(taken.getLowStockCrossed())) {
+                lowStockAlertPublisher.publish(List.of(variantId));
+            }
+        }
+
+        StockReservation reservation = StockReservation.builder()
+                .variant(variantRepository.getReferenceById(variantId))
+                .userId(userId)
+                .quantity(quantity)
+                .reference(request.getReference())
+                .expiresAt(LocalDateTime.now().plus(ttl))
+                .build();
+        StockReservation saved = reservationRepository.save(reservation);
+
+        log.debug("Reserved {} of variant {} as reservation {}", quantity, variantId, saved.getId());
+        return toResponse(saved, variantId);
+    }
+
+    @Override
+    @Transactional
+    public StockReservationResponse commit(Long reservationId, Long userId, boolean isAdmin) {
+        checkOwner(reservationId, userId, isAdmin);
+        if (reservationRepository.commit(reservationId, LocalDateTime.now()) == 0) {
+            throw closedReservation(reservationId);
+        }
+        return toResponse(findReservationOrThrow(reservationId));
+    }
+
+    @Override
+    @Transactional
+    public StockReservationResponse release(Long reservationId, Long userId, boolean isAdmin) {
+        checkOwner(reservationId, userId, isAdmin);
+        if (reservationRepository.release(reservationId) == 0) {
+            throw closedReservation(reservationId);
+        }
+        return toResponse(findReservationOrThrow(reservationId));
+    }
+
+    @Override
+    @Transactional
+    public int expireOverdueReservations(int batchSize) {
+        return reservationRepository.expireOverdue(LocalDateTime.now(), batchSize);
+    }
+
+    // =========================================================================
+    // PRIVATE HELPERS
+    // =========================================================================
+
+    private Duration resolveTtl(Long ttlSeconds) {
+        if (ttlSeconds == null) {
+            return defaultTtl;
+        }
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        if (ttl.compareTo(maxTtl) > 0) {
+            throw new BadRequestException(messageService.getMessage(
+                    "error.reservation.ttl-too-long", new Object[]{maxTtl.toSeconds()}));
+        }
+        return ttl;
+    }
+
+    // The conditional UPDATE matched nothing: tell "no such variant" apart from "not enough stock"
+    private RuntimeException reserveFailure(Long variantId, int quantity) {
+        ProductVariant variant = variantRepository.findByIdAndDeletedAtIsNull(variantId)
+                .orElse(null);
+        if (variant == null) {
+            return new ResourceNotFoundException(
+                    messageService.getMessage("error.variant.not-found", new Object[]{variantId}));
+        }
+        if (!Boolean.TRUE.equals(variant.getIsActive())) {
+            return new BadRequestException(
+                    messageService.getMessage("error.reservation.variant-inactive", new Object[]{variant.getSku()}));
+        }
+        // Units leased to hot-SKU counters are not available to this path
+        return new BadRequestException(messageService.getMessage("error.reservation.insufficient-stock",
+                new Object[]{variant.getSku(), variantRepository.findUnleasedStock(variantId), quantity}));
+    }
+
+    // Units taken from memory are not covered by the database rollback
+    private void giveBackOnRollback(Long variantId, int quantity) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    hotStockService.giveBack(variantId, quantity);
+                }
+            }
+        });
+    }
+
+    // Someone else's hold is reported as not found, so ids cannot be probed
+    private void checkOwner(Long reservationId, Long userId, boolean isAdmin) {
+        StockReservation reservation = findReservationOrThrow(reservationId);
+        if (!isAdmin && !reservation.getUserId().equals(userId)) {
+            throw new ResourceNotFoundException(
+                    messageService.getMessage("error.reservation.not-found", new Object[]{reservationId}));
+        }
+    }
+
+    private RuntimeException closedReservation(Long reservationId) {
+        StockReservation reservation = findReservationOrThrow(reservationId);
+        StockReservationStatus status = reservation.getStatus() == StockReservationStatus.RESERVED
+                ? StockReservationStatus.EXPIRED
+                : reservation.getStatus();
+        return new BadRequestException(messageService.getMessage(
+                "error.reservation.not-open", new Object[]{reservationId, status}));
+    }
+
+    private StockReservation findReservationOrThrow(Long reservationId) {
+        return reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        messageService.getMessage("error.reservation.not-found", new Object[]{reservationId})));
+    }
+
+    private StockReservationResponse toResponse(StockReservation reservation) {
+        return toResponse(reservation, reservation.getVariant().getId());
+    }
+
+    private StockReservationResponse toResponse(StockReservation reservation, Long variantId) {
+        return StockReservationResponse.builder()
+                .id(reservation.getId())
+                .variantId(variantId)
+                .quantity(reservation.getQuantity())
+                .status(reservation.getStatus())
+                .reference(reservation.getReference())
+                .expiresAt(reservation.getExpiresAt())
+                .createdAt(reservation.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecom.product_service.service.impl;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.ecom.product_service.cache.SuggestionIndex;
+import com.ecom.product_service.response.SuggestionResponse;
+import com.ecom.product_service.service.SuggestionService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Search-as-you-type completions, answered from memory only (no database access per keystroke).
+ */
+@Service
+@RequiredArgsConstructor
+public class SuggestionServiceImpl implements SuggestionService {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 20;
+
+    // Longer inputs are full searches, not completions
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private final SuggestionIndex suggestionIndex;
+
+    @Override
+    public List<SuggestionResponse> suggest(String query, int limit) {
+        if (query == null || query.isBlank() || query.length() > MAX_QUERY_LENGTH) {
+            return List.of();
+        }
+
+        int effectiveLimit = limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        return suggestionIndex.suggest(query, effectiveLimit);
+    }
+}
@@ -0,0 +1,116 @@
+package com.ecom.product_service.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.WebRequest;
+
+import com.ecom.product_service.dto.ResourceVersion;
+
+/**
+ * Helpers for conditional GET (ETag / If-None-Match, Last-Modified / If-Modified-Since).
+ */
+public class ETagUtils {
+
+    private static final int ETAG_BYTES = 16;
+
+    // How long shared caches (the gateway) may reuse an anonymous response; browsers always revalidate
+    private static final Duration SHARED_MAX_AGE = Duration.ofSeconds(60);
+
+    /**
+     * Conditional GET keyed on a version lookup: the ETag hashes the version plus keyParts (request
+     * parameters that change the body). Returns null once the response is marked 304, otherwise a 200
+     * carrying the checked validators. A null version (unknown id) skips validators so the loader can 404.
+     */
+    public static <T> ResponseEntity<T> conditionalGet(WebRequest webRequest, ResourceVersion version,
+            Supplier<T> loader, Object... keyParts) {
+        if (version == null) {
+            return ResponseEntity.ok(loader.get());
+        }
+
+        Object[] parts = new Object[keyParts.length + 2];
+        parts[0] = version.getLastModified();
+        parts[1] = version.getItemCount();
+        System.arraycopy(keyParts, 0, parts, 2, keyParts.length);
+
+        String eTag = strongETag(parts);
+        long lastModified = toEpochMillis(version.getLastModified());
+        if (isNotModified(webRequest, eTag, lastModified)) {
+            return null;
+        }
+        return okWithValidators(eTag, lastModified).body(loader.get());
+    }
+
+    /**
+     * Strong ETag from version parts (timestamps, counts, request parameters), e.g. "\"3f2a...\"".
+     */
+    public static String strongETag(Object... parts) {
+        String joined = Arrays.stream(parts)
+                .map(part -> Objects.toString(part, ""))
+                .collect(Collectors.joining("|"));
+        return strongETag(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Strong ETag from the exact bytes of a representation.
+     */
+    public static String strongETag(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + HexFormat.of().formatHex(digest, 0, ETAG_BYTES) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @return epoch millis for Last-Modified, or -1 when unknown
+     */
+    public static long toEpochMillis(LocalDateTime lastModified) {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Checks the request validators; when true the response is already marked 304 and the handler should return null.
+     */
+    public static boolean isNotModified(WebRequest webRequest, String eTag, long lastModified) {
+        return webRequest.checkNotModified(eTag, lastModified);
+    }
+
+    /**
+     * 200 builder carrying the same validators that were checked, plus Cache-Control for the caller.
+     */
+    public static ResponseEntity.BodyBuilder okWithValidators(String eTag, long lastModified) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl());
+        return lastModified >= 0 ? builder.lastModified(lastModified) : builder;
+    }
+
+    /**
+     * Anonymous responses are public (shared caches may keep them for SHARED_MAX_AGE);
+     * authenticated ones can differ per user (admin sees deleted items), so they stay private.
+     */
+    public static CacheControl cacheControl() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean anonymous = authentication == null
+                || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated();
+        if (anonymous) {
+            return CacheControl.maxAge(Duration.ZERO).sMaxAge(SHARED_MAX_AGE).cachePublic();
+        }
+        return CacheControl.noCache().cachePrivate();
+    }
+}
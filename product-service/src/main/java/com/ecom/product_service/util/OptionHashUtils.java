@@ -0,0 +1,58 @@
+package com.ecom.product_service.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.ecom.product_service.model.ProductVariantOption;
+
+/**
+ * Canonical hash of a variant's option combination (product_variants.option_hash).
+ *
+ * Values are joined in option order (displayOrder, then id) and hashed with MD5, exactly like the
+ * V15 backfill. Option names are implied by position, so the hash ignores JSON key order and
+ * survives option renames.
+ */
+public class OptionHashUtils {
+
+    private static final String SEPARATOR = "\u001F";
+
+    // Canonical option order (displayOrder, then id), shared with the availability matrix axes
+    public static final Comparator<ProductVariantOption> OPTION_ORDER = Comparator
+            .comparing(ProductVariantOption::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ProductVariantOption::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    /**
+     * @param options the product's option definitions, in any order
+     * @return 32-char hex hash, or null when no option has a value (e.g. a product without options)
+     */
+    public static String hash(Map<String, String> optionValues, List<ProductVariantOption> options) {
+        if (optionValues == null || optionValues.isEmpty()) {
+            return null;
+        }
+
+        // string_agg in the backfill skips missing values the same way, and is NULL only when all are
+        // missing (an empty-string value still hashes)
+        List<String> values = options.stream()
+                .sorted(OPTION_ORDER)
+                .map(option -> optionValues.get(option.getOptionName()))
+                .filter(Objects::nonNull)
+                .toList();
+        if (values.isEmpty()) {
+            return null;
+        }
+        String canonical = String.join(SEPARATOR, values);
+
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
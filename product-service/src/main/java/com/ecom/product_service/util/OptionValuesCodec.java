@@ -0,0 +1,64 @@
+package com.ecom.product_service.util;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decoding of product_variants.option_values (e.g. {"Color":"Red","Size":"M"}).
+ *
+ * Uses one pre-built, thread-safe ObjectReader instead of an ObjectMapper per call. Decoded maps
+ * are unmodifiable and shared: the JSON text is the key, so a changed option_values simply decodes
+ * to a new entry. Catalogs reuse a small vocabulary of combinations, so the cache stays small.
+ */
+@Slf4j
+public class OptionValuesCodec {
+
+    private static final ObjectReader READER = new ObjectMapper()
+            .readerFor(new TypeReference<LinkedHashMap<String, String>>() {});
+
+    private static final int MAX_CACHED_COMBINATIONS = 50_000;
+
+    private static final Cache<String, Map<String, String>> DECODED = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_COMBINATIONS)
+            .build();
+
+    /**
+     * @return unmodifiable map in JSON key order, or null for blank or unreadable JSON (not cached)
+     */
+    public static Map<String, String> decode(String optionValuesJson) {
+        if (optionValuesJson == null || optionValuesJson.isBlank()) {
+            return null;
+        }
+
+        Map<String, String> cached = DECODED.getIfPresent(optionValuesJson);
+        if (cached != null) {
+            return cached;
+        }
+
+        Map<String, String> decoded = read(optionValuesJson);
+        if (decoded != null) {
+            DECODED.put(optionValuesJson, decoded);
+        }
+        return decoded;
+    }
+
+    private static Map<String, String> read(String optionValuesJson) {
+        try {
+            Map<String, String> values = READER.readValue(optionValuesJson);
+            return values != null ? Collections.unmodifiableMap(values) : null;
+        } catch (IOException e) {
+            log.warn("Failed to parse option values {}: {}", optionValuesJson, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecom.product_service.util;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Builds PostgreSQL full-text queries from raw storefront search input.
+ */
+public class SearchQueryUtils {
+
+    // Anything that is not a letter, combining mark or digit separates tokens
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{M}\\p{N}]+");
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final int MAX_TOKENS = 8;
+
+    private static final int MAX_FUZZY_LENGTH = 100;
+
+    /**
+     * Lower-cases and strips diacritics the same way the database search_fold() function does,
+     * e.g. "Điện Thoại" -> "dien thoai". 'đ' has no decomposition in Unicode, so it is mapped explicitly.
+     */
+    public static String foldAccents(String input) {
+        if (input == null || input.isEmpty()) {
+            return "";
+        }
+
+        String decomposed = Normalizer.normalize(input, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D')
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Converts free text into a prefix-matching tsquery on folded tokens,
+     * e.g. "Điện thoại 15" -> "dien:* & thoai:* & 15:*".
+     * Tokens only contain letters and digits, so the result is always safe for to_tsquery().
+     *
+     * @return the tsquery string, or null when the input has no searchable token
+     */
+    public static String toPrefixTsQuery(String search) {
+        if (search == null || search.isBlank()) {
+            return null;
+        }
+
+        String query = Arrays.stream(TOKEN_SEPARATOR.split(foldAccents(search)))
+                .filter(token -> !token.isEmpty())
+                .limit(MAX_TOKENS)
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+
+        return query.isEmpty() ? null : query;
+    }
+
+    /**
+     * Normalizes free text for trigram matching against products.search_name.
+     *
+     * @return the folded term, or null when the input is blank
+     */
+    public static String toFuzzyTerm(String search) {
+        if (search == null || search.isBlank()) {
+            return null;
+        }
+
+        String term = WHITESPACE.matcher(foldAccents(search).trim()).replaceAll(" ");
+        return term.length() > MAX_FUZZY_LENGTH ? term.substring(0, MAX_FUZZY_LENGTH) : term;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecom.product_service.util;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders variant SKUs from templates such as "{SLUG}-{Color}-{Size}".
+ */
+public class SkuTemplateUtils {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([^}]+)}");
+
+    private static final Pattern NON_SKU_CHARS = Pattern.compile("[^A-Z0-9]+");
+
+    private static final Pattern EDGE_DASHES = Pattern.compile("(^-+|-+$)");
+
+    private static final int MAX_SKU_LENGTH = 100;
+
+    /**
+     * Fills {SLUG}, {ID}, {VALUES} and {OptionName} (case-insensitive), then normalizes to the SKU format
+     * (A-Z, 0-9, '-'), e.g. "{SLUG}-{VALUES}" -> "AO-THUN-DO-XL".
+     *
+     * @param optionNames option names in display order, used for {VALUES}
+     * @return the SKU, or null when the template has an unknown placeholder or renders empty / too long
+     */
+    public static String render(String template, String slug, Long productId, List<String> optionNames,
+            Map<String, String> optionValues) {
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder rendered = new StringBuilder();
+        while (matcher.find()) {
+            String value = resolve(matcher.group(1), slug, productId, optionNames, optionValues);
+            if (value == null) {
+                return null;
+            }
+            matcher.appendReplacement(rendered, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(rendered);
+
+        String sku = SearchQueryUtils.foldAccents(rendered.toString()).toUpperCase(Locale.ROOT);
+        sku = NON_SKU_CHARS.matcher(sku).replaceAll("-");
+        sku = EDGE_DASHES.matcher(sku).replaceAll("");
+        return sku.isEmpty() || sku.length() > MAX_SKU_LENGTH ? null : sku;
+    }
+
+    private static String resolve(String placeholder, String slug, Long productId, List<String> optionNames,
+            Map<String, String> optionValues) {
+        switch (placeholder.toUpperCase(Locale.ROOT)) {
+            case "SLUG":
+                return slug;
+            case "ID":
+                return String.valueOf(productId);
+            case "VALUES":
+                return String.join("-", optionNames.stream().map(optionValues::get).toList());
+            default:
+                return optionValues.entrySet().stream()
+                        .filter(entry -> entry.getKey().equalsIgnoreCase(placeholder))
+                        .map(Map.Entry::getValue)
+                        .findFirst()
+                        .orElse(null);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+-- ========================================
+-- V10: STOCK RESERVATIONS
+-- ========================================
+-- Purpose: Checkout reserves stock with one conditional UPDATE on
+--          product_variants (no read-modify-write, no oversell) and
+--          records the hold here. A hold is committed by the order,
+--          released by the caller, or expired by the background sweeper,
+--          which puts the quantity back.
+--          Holds belong to the user who took them: only that user (or an
+--          admin) may commit or release one.
+-- Status:  RESERVED -> COMMITTED | RELEASED | EXPIRED
+-- ========================================
+
+CREATE TABLE stock_reservations (
+    id BIGSERIAL PRIMARY KEY,
+    variant_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    quantity INT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'RESERVED',
+    reference VARCHAR(100),
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT NOW(),
+    updated_at TIMESTAMP DEFAULT NOW(),
+
+    CONSTRAINT fk_reservation_variant
+        FOREIGN KEY (variant_id)
+        REFERENCES product_variants(id)
+        ON DELETE CASCADE,
+
+    CONSTRAINT check_reservation_quantity_positive
+        CHECK (quantity > 0),
+
+    CONSTRAINT check_reservation_status
+        CHECK (status IN ('RESERVED', 'COMMITTED', 'RELEASED', 'EXPIRED'))
+);
+
+COMMENT ON TABLE stock_reservations IS
+    'Stock holds taken at checkout; the held quantity is already subtracted from product_variants.stock_quantity';
+
+COMMENT ON COLUMN stock_reservations.user_id IS
+    'User who took the hold (from the JWT); commit and release are limited to this user or an admin';
+
+COMMENT ON COLUMN stock_reservations.reference IS
+    'Caller reference (cart / order id), informational only';
+
+-- Sweeper: only open holds are scanned, ordered by expiry
+CREATE INDEX idx_stock_reservations_open_expires_at
+    ON stock_reservations(expires_at)
+    WHERE status = 'RESERVED';
+
+CREATE INDEX idx_stock_reservations_variant_id
+    ON stock_reservations(variant_id);
@@ -0,0 +1,43 @@
+-- ========================================
+-- V11: HOT-SKU STOCK LEASES
+-- ========================================
+-- Purpose: For flash-sale SKUs a node leases a block of stock into an
+--          in-memory counter and sells from it without touching the
+--          variant row. leased_quantity is the part of stock_quantity
+--          currently held by nodes; the database reserve path only sells
+--          stock_quantity - leased_quantity. Sales are written back as
+--          deltas (stock and lease shrink together).
+-- Leases:  one row per (variant, node) with the units that node still
+--          holds; renewed on every flush, reclaimed by any node once
+--          expired (crashed node).
+-- ========================================
+
+-- Not mapped on ProductVariant on purpose: JPA saves of a stale entity must never overwrite it
+ALTER TABLE product_variants
+    ADD COLUMN leased_quantity INT NOT NULL DEFAULT 0,
+    ADD CONSTRAINT check_leased_quantity_non_negative CHECK (leased_quantity >= 0);
+
+COMMENT ON COLUMN product_variants.leased_quantity IS
+    'Units of stock_quantity leased to in-memory hot-SKU counters (sum of stock_leases.quantity)';
+
+CREATE TABLE stock_leases (
+    variant_id BIGINT NOT NULL,
+    node_id VARCHAR(100) NOT NULL,
+    quantity INT NOT NULL DEFAULT 0,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT NOW(),
+    updated_at TIMESTAMP DEFAULT NOW(),
+
+    PRIMARY KEY (variant_id, node_id),
+
+    CONSTRAINT fk_stock_lease_variant
+        FOREIGN KEY (variant_id)
+        REFERENCES product_variants(id)
+        ON DELETE CASCADE,
+
+    CONSTRAINT check_stock_lease_quantity_non_negative
+        CHECK (quantity >= 0)
+);
+
+CREATE INDEX idx_stock_leases_expires_at
+    ON stock_leases(expires_at);
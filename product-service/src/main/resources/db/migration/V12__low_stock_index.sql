@@ -0,0 +1,14 @@
+-- ========================================
+-- V12: CATALOG-WIDE LOW-STOCK INDEX
+-- ========================================
+-- Purpose: GET /api/v1/admin/variants/low-stock lists low-stock variants
+--          across all products, most urgent first. Only the few rows at
+--          or below their threshold are indexed, so the listing and its
+--          count never scan the full variant table.
+-- Note:    queries must repeat the predicate below for the planner to
+--          use this index.
+-- ========================================
+
+CREATE INDEX idx_product_variants_low_stock
+    ON product_variants(stock_quantity, id)
+    WHERE deleted_at IS NULL AND stock_quantity <= low_stock_threshold;
@@ -0,0 +1,25 @@
+-- ========================================
+-- V13: PRODUCT LISTING FILTER BY VARIANT OPTIONS
+-- ========================================
+-- Purpose: GET /api/v1/products?optionFilter=Color:Red&optionFilter=Size:M
+--          keeps products having an active variant whose option_values
+--          contain every selected pair (option_values @> '{"Color":"Red","Size":"M"}').
+-- Note:    jsonb_path_ops only supports @>, but its index is smaller and
+--          faster than the default jsonb_ops one from V1, which no query
+--          used (the ? / ?| operators are never issued). Queries must repeat
+--          the partial predicate for the planner to use this index.
+-- ========================================
+
+
+-- STEP 1: CONTAINMENT INDEX ON SELLABLE VARIANTS
+DROP INDEX IF EXISTS idx_variants_option_values;
+
+CREATE INDEX idx_product_variants_option_values_path
+    ON product_variants USING GIN (option_values jsonb_path_ops)
+    WHERE is_active = TRUE AND deleted_at IS NULL;
+
+
+-- STEP 2: VERSION LOOKUP FOR OPTION-FILTERED LISTINGS
+-- Their ETag also depends on variant writes (MAX(updated_at) over all variants)
+CREATE INDEX idx_product_variants_updated_at
+    ON product_variants(updated_at);
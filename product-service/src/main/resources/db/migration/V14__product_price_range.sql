@@ -0,0 +1,113 @@
+-- ========================================
+-- V14: SELLABLE PRICE RANGE ON PRODUCTS
+-- ========================================
+-- Purpose: Listings filter (minPrice / maxPrice) and sort (price_asc /
+--          price_desc) on what a product actually sells for. With active
+--          variants that is their price range (product_variant_stats),
+--          otherwise products.price. The range is copied onto products so
+--          it can be indexed together with category_id, like
+--          idx_products_category_price.
+-- Rules:   min_price / max_price = active variant range, else price
+--          Kept in sync by triggers; never written by the application.
+-- ========================================
+
+
+-- STEP 1: COLUMNS + BACKFILL
+ALTER TABLE products
+    ADD COLUMN min_price DECIMAL(12,2),
+    ADD COLUMN max_price DECIMAL(12,2);
+
+UPDATE products p
+SET min_price = COALESCE((SELECT s.min_price FROM product_variant_stats s WHERE s.product_id = p.id), p.price),
+    max_price = COALESCE((SELECT s.max_price FROM product_variant_stats s WHERE s.product_id = p.id), p.price);
+
+ALTER TABLE products
+    ALTER COLUMN min_price SET NOT NULL,
+    ALTER COLUMN max_price SET NOT NULL;
+
+COMMENT ON COLUMN products.min_price IS
+    'Lowest sellable price (active variants, else price), maintained by triggers';
+COMMENT ON COLUMN products.max_price IS
+    'Highest sellable price (active variants, else price), maintained by triggers';
+
+
+-- STEP 2: PRODUCT PRICE CHANGES (products without active variants follow price)
+CREATE OR REPLACE FUNCTION products_price_range_from_price()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    v_min_price DECIMAL(12,2);
+    v_max_price DECIMAL(12,2);
+BEGIN
+    SELECT min_price, max_price INTO v_min_price, v_max_price
+    FROM product_variant_stats
+    WHERE product_id = NEW.id;
+
+    NEW.min_price := COALESCE(v_min_price, NEW.price);
+    NEW.max_price := COALESCE(v_max_price, NEW.price);
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER trg_products_price_range
+    BEFORE INSERT OR UPDATE OF price
+    ON products
+    FOR EACH ROW
+    EXECUTE FUNCTION products_price_range_from_price();
+
+
+-- STEP 3: VARIANT PRICE CHANGES (via the aggregates maintained in V9)
+-- The stats row is rewritten on every variant write, including stock-only
+-- ones; products is only touched when the range really moves.
+CREATE OR REPLACE FUNCTION products_price_range_from_stats()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF TG_OP = 'UPDATE'
+       AND NEW.min_price IS NOT DISTINCT FROM OLD.min_price
+       AND NEW.max_price IS NOT DISTINCT FROM OLD.max_price THEN
+        RETURN NULL;
+    END IF;
+
+    UPDATE products p
+    SET min_price = COALESCE(NEW.min_price, p.price),
+        max_price = COALESCE(NEW.max_price, p.price),
+        updated_at = NOW()
+    WHERE p.id = NEW.product_id
+      AND (p.min_price, p.max_price)
+          IS DISTINCT FROM (COALESCE(NEW.min_price, p.price), COALESCE(NEW.max_price, p.price));
+
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_product_variant_stats_price_range
+    AFTER INSERT OR UPDATE OF min_price, max_price
+    ON product_variant_stats
+    FOR EACH ROW
+    EXECUTE FUNCTION products_price_range_from_stats();
+
+
+-- STEP 4: INDEXES (same shape as idx_products_category_price), id breaks ties
+-- price_asc orders by min_price (cheapest variant first)
+CREATE INDEX idx_products_min_price
+    ON products(min_price, id)
+    WHERE is_deleted = false;
+
+CREATE INDEX idx_products_category_min_price
+    ON products(category_id, min_price, id)
+    WHERE is_deleted = false;
+
+-- price_desc orders by max_price (most expensive variant first), scanned backwards
+CREATE INDEX idx_products_max_price
+    ON products(max_price, id)
+    WHERE is_deleted = false;
+
+CREATE INDEX idx_products_category_max_price
+    ON products(category_id, max_price, id)
+    WHERE is_deleted = false;
+
+
+ANALYZE products;
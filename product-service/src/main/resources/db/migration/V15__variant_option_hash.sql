@@ -0,0 +1,47 @@
+-- ========================================
+-- V15: CANONICAL OPTION COMBINATION HASH
+-- ========================================
+-- Purpose: GET /api/v1/products/{id}/variants/resolve?Color=Red&Size=M
+--          finds the SKU for a selection with one unique index lookup, and
+--          the same index rejects duplicate combinations on create.
+-- Rules:   option_hash = md5 of the variant's option values joined with
+--          U+001F in option order (display_order, id). Names are implied
+--          by position, so renaming an option keeps every hash valid.
+--          Computed by OptionHashUtils; the backfill below must match it.
+-- ========================================
+
+
+-- STEP 1: COLUMN + BACKFILL
+ALTER TABLE product_variants
+    ADD COLUMN option_hash VARCHAR(32);
+
+UPDATE product_variants v
+SET option_hash = h.option_hash
+FROM (SELECT pv.id,
+             md5(string_agg(pv.option_values ->> o.option_name, E'\x1F'
+                            ORDER BY o.display_order, o.id)) AS option_hash
+      FROM product_variants pv
+      JOIN product_variant_options o ON o.product_id = pv.product_id
+      GROUP BY pv.id) h
+WHERE h.id = v.id;
+
+-- Pre-existing duplicate combinations: the oldest variant keeps the hash,
+-- later copies stay resolvable by id only until they are fixed or deleted
+UPDATE product_variants v
+SET option_hash = NULL
+WHERE v.deleted_at IS NULL
+  AND EXISTS (SELECT 1
+              FROM product_variants d
+              WHERE d.product_id = v.product_id
+                AND d.option_hash = v.option_hash
+                AND d.deleted_at IS NULL
+                AND d.id < v.id);
+
+COMMENT ON COLUMN product_variants.option_hash IS
+    'md5 of option values in option display order (see V15), unique per product among non-deleted variants';
+
+
+-- STEP 2: UNIQUE LOOKUP INDEX (soft-deleted variants free their combination)
+CREATE UNIQUE INDEX uq_product_variants_option_hash
+    ON product_variants(product_id, option_hash)
+    WHERE deleted_at IS NULL;
@@ -0,0 +1,170 @@
+-- ========================================
+-- V16: MONTHLY PARTITIONS FOR PRODUCT_PRICE_HISTORY
+-- ========================================
+-- Purpose: Price history only grows (every repricing appends a row). The
+--          table becomes RANGE-partitioned by month on changed_at, so
+--          time-bounded reads prune to the months they cover and old
+--          months can be detached without a long DELETE.
+-- Layout:  product_price_history               (partitioned parent)
+--            product_price_history_p2025_01    [2025-01-01, 2025-02-01)
+--            ...
+-- Rules:   Partitions are created ahead by PriceHistoryPartitionManager
+--          (create_price_history_partitions) and detached after the
+--          retention period (detach_price_history_partitions).
+--          There is no DEFAULT partition: rows in it would block creating
+--          the month they belong to. The migration and every manager run
+--          keep the next months in place.
+-- Note:    The primary key must contain the partition key, so it becomes
+--          (id, changed_at); ids still come from the same sequence.
+-- ========================================
+
+
+-- STEP 1: MOVE THE CURRENT TABLE ASIDE
+ALTER TABLE product_price_history RENAME TO product_price_history_old;
+ALTER TABLE product_price_history_old RENAME CONSTRAINT product_price_history_pkey TO product_price_history_old_pkey;
+ALTER TABLE product_price_history_old RENAME CONSTRAINT fk_price_product TO fk_price_product_old;
+ALTER TABLE product_price_history_old RENAME CONSTRAINT fk_price_history_variant TO fk_price_history_variant_old;
+ALTER TABLE product_price_history_old RENAME CONSTRAINT check_product_or_variant TO check_product_or_variant_old;
+
+DROP INDEX IF EXISTS idx_price_history_product;
+DROP INDEX IF EXISTS idx_price_history_variant;
+DROP INDEX IF EXISTS idx_price_history_changed_at;
+
+
+-- STEP 2: PARTITIONED TABLE (same columns, changed_at now required)
+CREATE TABLE product_price_history (
+    id BIGINT NOT NULL DEFAULT nextval('product_price_history_id_seq'),
+    product_id BIGINT,
+    variant_id BIGINT,
+    old_price NUMERIC(12,2),
+    new_price NUMERIC(12,2),
+    change_reason TEXT,
+    changed_by VARCHAR(100),
+    changed_at TIMESTAMP NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT product_price_history_pkey
+        PRIMARY KEY (id, changed_at),
+
+    CONSTRAINT fk_price_product
+        FOREIGN KEY (product_id) REFERENCES products(id),
+
+    CONSTRAINT fk_price_history_variant
+        FOREIGN KEY (variant_id) REFERENCES product_variants(id) ON DELETE CASCADE,
+
+    CONSTRAINT check_product_or_variant
+        CHECK (
+            (product_id IS NOT NULL AND variant_id IS NULL) OR
+            (product_id IS NULL AND variant_id IS NOT NULL)
+        )
+) PARTITION BY RANGE (changed_at);
+
+ALTER SEQUENCE product_price_history_id_seq OWNED BY product_price_history.id;
+
+COMMENT ON TABLE product_price_history IS
+    'Price changes, partitioned by month on changed_at (see V16 and PriceHistoryPartitionManager)';
+
+COMMENT ON COLUMN product_price_history.product_id IS
+    'Product ID (for products without variants)';
+
+COMMENT ON COLUMN product_price_history.variant_id IS
+    'Variant ID (for products with variants)';
+
+COMMENT ON COLUMN product_price_history.change_reason IS
+    'Reason for the price change';
+
+COMMENT ON COLUMN product_price_history.changed_by IS
+    'User who made the price change (e.g., ADMIN, SYSTEM)';
+
+COMMENT ON CONSTRAINT check_product_or_variant ON product_price_history IS
+    'Ensures that either product_id or variant_id is set, but not both';
+
+
+-- STEP 3: INDEXES (declared on the parent, created on every partition)
+-- Rows arrive in changed_at order, so a BRIN range summary stays tiny and exact enough
+CREATE INDEX idx_price_history_changed_at_brin
+    ON product_price_history USING BRIN (changed_at) WITH (pages_per_range = 32);
+
+-- History reads filter by owner and order by time
+CREATE INDEX idx_price_history_product_changed_at
+    ON product_price_history(product_id, changed_at);
+
+CREATE INDEX idx_price_history_variant_changed_at
+    ON product_price_history(variant_id, changed_at);
+
+
+-- STEP 4: PARTITION MAINTENANCE
+-- Creates the partitions of every month from p_from up to p_months_ahead months
+-- after the current one; existing ones are left alone. Returns the created names.
+CREATE OR REPLACE FUNCTION create_price_history_partitions(p_from DATE, p_months_ahead INT)
+RETURNS SETOF TEXT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    v_month DATE := date_trunc('month', p_from)::DATE;
+    v_last DATE := (date_trunc('month', NOW()) + make_interval(months => p_months_ahead))::DATE;
+    v_name TEXT;
+BEGIN
+    -- Instances run this concurrently at startup; one at a time, the others then skip
+    PERFORM pg_advisory_xact_lock(hashtext('product_price_history_partitions'));
+
+    WHILE v_month <= v_last LOOP
+        v_name := 'product_price_history_p' || to_char(v_month, 'YYYY_MM');
+        IF to_regclass(v_name) IS NULL THEN
+            EXECUTE format(
+                'CREATE TABLE %I PARTITION OF product_price_history FOR VALUES FROM (%L) TO (%L)',
+                v_name, v_month, (v_month + INTERVAL '1 month')::DATE);
+            RETURN NEXT v_name;
+        END IF;
+        v_month := (v_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$;
+
+-- Detaches the partitions holding only rows older than p_before (a month start).
+-- p_drop = false keeps them as plain tables (renamed *_archived) for export,
+-- p_drop = true drops them. Returns the affected partition names.
+CREATE OR REPLACE FUNCTION detach_price_history_partitions(p_before DATE, p_drop BOOLEAN)
+RETURNS SETOF TEXT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    v_partition RECORD;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('product_price_history_partitions'));
+
+    FOR v_partition IN
+        SELECT c.relname AS name
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'product_price_history'::regclass
+          AND c.relname ~ '^product_price_history_p\d{4}_\d{2}$'
+          AND (to_date(substring(c.relname FROM '\d{4}_\d{2}$'), 'YYYY_MM') + INTERVAL '1 month') <= p_before
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE product_price_history DETACH PARTITION %I', v_partition.name);
+        IF p_drop THEN
+            EXECUTE format('DROP TABLE %I', v_partition.name);
+        ELSE
+            EXECUTE format('ALTER TABLE %I RENAME TO %I', v_partition.name, v_partition.name || '_archived');
+        END IF;
+        RETURN NEXT v_partition.name;
+    END LOOP;
+END;
+$$;
+
+
+-- STEP 5: COPY EXISTING ROWS (partitions from the oldest month, 3 months ahead)
+UPDATE product_price_history_old SET changed_at = NOW() WHERE changed_at IS NULL;
+
+SELECT create_price_history_partitions(
+    COALESCE((SELECT MIN(changed_at) FROM product_price_history_old), NOW())::DATE, 3);
+
+INSERT INTO product_price_history
+    (id, product_id, variant_id, old_price, new_price, change_reason, changed_by, changed_at)
+SELECT id, product_id, variant_id, old_price, new_price, change_reason, changed_by, changed_at
+FROM product_price_history_old;
+
+DROP TABLE product_price_history_old;
+
+
+ANALYZE product_price_history;
@@ -0,0 +1,104 @@
+-- ========================================
+-- V4: PRODUCT FULL-TEXT SEARCH
+-- ========================================
+-- Purpose: Replace LIKE '%...%' product search (sequential scan) with a
+--          maintained, weighted tsvector backed by a GIN index
+-- Weights: A = product name, B = brand + category name, C = description
+-- ========================================
+
+
+-- STEP 1: SEARCH DOCUMENT COLUMN
+ALTER TABLE products ADD COLUMN search_vector TSVECTOR;
+
+COMMENT ON COLUMN products.search_vector IS
+    'Weighted search document (name > brand/category > description), maintained by triggers';
+
+
+-- STEP 2: DOCUMENT BUILDER (single place that defines the weighting)
+CREATE OR REPLACE FUNCTION product_search_document(
+    p_name TEXT,
+    p_description TEXT,
+    p_brand_id BIGINT,
+    p_category_id BIGINT)
+RETURNS TSVECTOR
+LANGUAGE plpgsql
+STABLE
+AS $$
+DECLARE
+    v_brand_name TEXT;
+    v_category_name TEXT;
+BEGIN
+    SELECT name INTO v_brand_name FROM brands WHERE id = p_brand_id;
+    SELECT name INTO v_category_name FROM categories WHERE id = p_category_id;
+
+    RETURN setweight(to_tsvector('simple', COALESCE(p_name, '')), 'A')
+        || setweight(to_tsvector('simple', COALESCE(v_brand_name, '') || ' ' || COALESCE(v_category_name, '')), 'B')
+        || setweight(to_tsvector('simple', COALESCE(p_description, '')), 'C');
+END;
+$$;
+
+
+-- STEP 3: KEEP DOCUMENT IN SYNC WITH PRODUCT WRITES
+CREATE OR REPLACE FUNCTION products_search_vector_refresh()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    NEW.search_vector := product_search_document(NEW.name, NEW.description, NEW.brand_id, NEW.category_id);
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER trg_products_search_vector
+    BEFORE INSERT OR UPDATE OF name, description, brand_id, category_id ON products
+    FOR EACH ROW
+    EXECUTE FUNCTION products_search_vector_refresh();
+
+
+-- STEP 4: PROPAGATE BRAND / CATEGORY RENAMES
+CREATE OR REPLACE FUNCTION brands_search_vector_propagate()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    UPDATE products
+    SET search_vector = product_search_document(name, description, brand_id, category_id)
+    WHERE brand_id = NEW.id;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_brands_search_vector
+    AFTER UPDATE OF name ON brands
+    FOR EACH ROW
+    WHEN (OLD.name IS DISTINCT FROM NEW.name)
+    EXECUTE FUNCTION brands_search_vector_propagate();
+
+CREATE OR REPLACE FUNCTION categories_search_vector_propagate()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    UPDATE products
+    SET search_vector = product_search_document(name, description, brand_id, category_id)
+    WHERE category_id = NEW.id;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_categories_search_vector
+    AFTER UPDATE OF name ON categories
+    FOR EACH ROW
+    WHEN (OLD.name IS DISTINCT FROM NEW.name)
+    EXECUTE FUNCTION categories_search_vector_propagate();
+
+
+-- STEP 5: BACKFILL + GIN INDEX
+UPDATE products
+SET search_vector = product_search_document(name, description, brand_id, category_id);
+
+CREATE INDEX idx_products_search_vector
+    ON products USING GIN (search_vector);
+
+
+ANALYZE products;
@@ -0,0 +1,95 @@
+-- ========================================
+-- V5: ACCENT-INSENSITIVE + FUZZY PRODUCT SEARCH
+-- ========================================
+-- Purpose: "dien thoai" must find "Điện thoại", and small typos
+--          ("iphon", "samsumg") should still match, without falling
+--          back to a sequential scan
+-- Approach:
+--   1. unaccent  -> fold diacritics (incl. đ/Đ) before indexing
+--   2. tsvector  -> rebuilt on folded text (exact/prefix word matches)
+--   3. pg_trgm   -> GIN trigram index on folded name (typo tolerance)
+-- Threshold: pg_trgm.word_similarity_threshold is set per connection
+--            (spring.datasource.hikari.connection-init-sql)
+-- ========================================
+
+
+-- STEP 1: EXTENSIONS
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+
+-- STEP 2: IMMUTABLE FOLDING FUNCTION
+-- unaccent() is only STABLE (it depends on search_path), so it cannot be
+-- used in index expressions; pinning the dictionary makes it safe
+CREATE OR REPLACE FUNCTION f_unaccent(TEXT)
+RETURNS TEXT
+LANGUAGE sql
+IMMUTABLE
+PARALLEL SAFE
+STRICT
+AS $$
+    SELECT public.unaccent('public.unaccent'::regdictionary, $1)
+$$;
+
+CREATE OR REPLACE FUNCTION search_fold(p_text TEXT)
+RETURNS TEXT
+LANGUAGE sql
+IMMUTABLE
+PARALLEL SAFE
+AS $$
+    SELECT lower(f_unaccent(COALESCE(p_text, '')))
+$$;
+
+
+-- STEP 3: FOLDED NAME COLUMN (trigram target)
+ALTER TABLE products ADD COLUMN search_name TEXT;
+
+COMMENT ON COLUMN products.search_name IS
+    'Lower-cased, accent-folded product name used for trigram (fuzzy) search';
+
+
+-- STEP 4: REBUILD SEARCH DOCUMENT ON FOLDED TEXT
+CREATE OR REPLACE FUNCTION product_search_document(
+    p_name TEXT,
+    p_description TEXT,
+    p_brand_id BIGINT,
+    p_category_id BIGINT)
+RETURNS TSVECTOR
+LANGUAGE plpgsql
+STABLE
+AS $$
+DECLARE
+    v_brand_name TEXT;
+    v_category_name TEXT;
+BEGIN
+    SELECT name INTO v_brand_name FROM brands WHERE id = p_brand_id;
+    SELECT name INTO v_category_name FROM categories WHERE id = p_category_id;
+
+    RETURN setweight(to_tsvector('simple', search_fold(p_name)), 'A')
+        || setweight(to_tsvector('simple', search_fold(v_brand_name) || ' ' || search_fold(v_category_name)), 'B')
+        || setweight(to_tsvector('simple', search_fold(p_description)), 'C');
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION products_search_vector_refresh()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    NEW.search_vector := product_search_document(NEW.name, NEW.description, NEW.brand_id, NEW.category_id);
+    NEW.search_name := search_fold(NEW.name);
+    RETURN NEW;
+END;
+$$;
+
+
+-- STEP 5: BACKFILL + TRIGRAM INDEX
+UPDATE products
+SET search_vector = product_search_document(name, description, brand_id, category_id),
+    search_name = search_fold(name);
+
+CREATE INDEX idx_products_search_name_trgm
+    ON products USING GIN (search_name gin_trgm_ops);
+
+
+ANALYZE products;
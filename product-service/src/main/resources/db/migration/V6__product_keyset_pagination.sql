@@ -0,0 +1,15 @@
+-- ========================================
+-- V6: KEYSET PAGINATION FOR PRODUCT LISTING
+-- ========================================
+-- Purpose: Cursor pages seek on (created_at, id) instead of OFFSET N.
+--          id is the tie-breaker for rows sharing the same created_at,
+--          so it has to be part of the index for an index-only seek.
+-- ========================================
+
+DROP INDEX IF EXISTS idx_products_created_at_desc;
+
+CREATE INDEX idx_products_created_at_desc
+    ON products(created_at DESC, id DESC)
+    WHERE is_deleted = false;
+
+ANALYZE products;
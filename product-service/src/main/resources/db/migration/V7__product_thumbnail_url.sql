@@ -0,0 +1,18 @@
+-- ========================================
+-- V7: DENORMALIZED PRODUCT THUMBNAIL
+-- ========================================
+-- Purpose: Listing pages read products.thumbnail_url directly instead of
+--          running a correlated product_images subquery per row
+-- Maintained by: ProductImageServiceImpl (same transaction as the image write)
+-- ========================================
+
+ALTER TABLE products ADD COLUMN thumbnail_url VARCHAR(500);
+
+COMMENT ON COLUMN products.thumbnail_url IS
+    'Copy of the thumbnail product_images.image_url, kept in sync by the image service';
+
+UPDATE products p
+SET thumbnail_url = pi.image_url
+FROM product_images pi
+WHERE pi.product_id = p.id
+  AND pi.is_thumbnail = true;
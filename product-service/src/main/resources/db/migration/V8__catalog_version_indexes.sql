@@ -0,0 +1,16 @@
+-- ========================================
+-- V8: INDEXES FOR CONDITIONAL GET VERSIONS
+-- ========================================
+-- Purpose: ETag / Last-Modified checks read MAX(updated_at) before any
+--          DTO is built; these must be index lookups, not scans
+-- ========================================
+
+-- Covers soft-deleted rows too (idx_products_updated_at_desc is partial)
+CREATE INDEX idx_products_updated_at
+    ON products(updated_at);
+
+CREATE INDEX idx_product_variants_product_updated_at
+    ON product_variants(product_id, updated_at);
+
+CREATE INDEX idx_product_variant_options_product_updated_at
+    ON product_variant_options(product_id, updated_at);
@@ -0,0 +1,154 @@
+-- ========================================
+-- V9: MAINTAINED PER-PRODUCT VARIANT AGGREGATES
+-- ========================================
+-- Purpose: The product-with-variants view ran five aggregate queries
+--          (counts, min/max price, stock) on every request. Counts,
+--          price range and default variant are now kept in one row per
+--          product, updated by a trigger on variant writes, and read by
+--          primary key.
+-- Rules:   total_variants              = non-deleted variants
+--          active_variants / min / max = non-deleted AND is_active
+--          Stock is deliberately not aggregated: reservations, flushes
+--          and stock syncs would all rewrite this one row per product,
+--          serialising every SKU of the product on it. The view sums
+--          stock from the variants it already loads.
+-- ========================================
+
+
+-- STEP 1: STATS TABLE
+CREATE TABLE product_variant_stats (
+    product_id BIGINT PRIMARY KEY,
+    total_variants INT NOT NULL DEFAULT 0,
+    active_variants INT NOT NULL DEFAULT 0,
+    min_price DECIMAL(12,2),
+    max_price DECIMAL(12,2),
+    default_variant_id BIGINT,
+    updated_at TIMESTAMP DEFAULT NOW(),
+
+    CONSTRAINT fk_variant_stats_product
+        FOREIGN KEY (product_id)
+        REFERENCES products(id)
+        ON DELETE CASCADE
+);
+
+COMMENT ON TABLE product_variant_stats IS
+    'Variant aggregates per product, maintained by trg_product_variant_stats (do not write from the application)';
+
+
+-- STEP 2: FULL PRICE RECOMPUTE (only when the current min/max row leaves the range)
+CREATE OR REPLACE FUNCTION product_variant_stats_reprice(p_product_id BIGINT)
+RETURNS VOID
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    UPDATE product_variant_stats s
+    SET min_price = a.min_price,
+        max_price = a.max_price
+    FROM (SELECT MIN(price) AS min_price, MAX(price) AS max_price
+          FROM product_variants
+          WHERE product_id = p_product_id
+            AND is_active IS TRUE
+            AND deleted_at IS NULL) a
+    WHERE s.product_id = p_product_id;
+END;
+$$;
+
+
+-- STEP 3: INCREMENTAL MAINTENANCE
+-- Each write removes the OLD row's contribution and adds the NEW row's one,
+-- so counts are O(1). Min/max only fall back to a recompute when
+-- the row holding the current bound changes price or leaves the active set.
+CREATE OR REPLACE FUNCTION product_variant_stats_refresh()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    v_old_live BOOLEAN := FALSE;
+    v_old_active BOOLEAN := FALSE;
+    v_new_live BOOLEAN := FALSE;
+    v_new_active BOOLEAN := FALSE;
+    v_min_price DECIMAL(12,2);
+    v_max_price DECIMAL(12,2);
+    v_reprice BOOLEAN := FALSE;
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        v_old_live := OLD.deleted_at IS NULL;
+        v_old_active := v_old_live AND OLD.is_active IS TRUE;
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        v_new_live := NEW.deleted_at IS NULL;
+        v_new_active := v_new_live AND NEW.is_active IS TRUE;
+    END IF;
+
+    IF TG_OP <> 'INSERT' THEN
+        UPDATE product_variant_stats
+        SET total_variants = total_variants - v_old_live::INT,
+            active_variants = active_variants - v_old_active::INT,
+            default_variant_id = CASE WHEN default_variant_id = OLD.id THEN NULL ELSE default_variant_id END,
+            updated_at = NOW()
+        WHERE product_id = OLD.product_id
+        RETURNING min_price, max_price INTO v_min_price, v_max_price;
+
+        -- Updates that keep the price and the active state skip the recompute
+        v_reprice := v_old_active
+            AND (OLD.price <= v_min_price OR OLD.price >= v_max_price)
+            AND NOT (TG_OP = 'UPDATE'
+                     AND v_new_active
+                     AND NEW.product_id = OLD.product_id
+                     AND NEW.price = OLD.price);
+    END IF;
+
+    IF TG_OP <> 'DELETE' THEN
+        -- LEAST / GREATEST ignore NULLs, so an inactive row leaves the bounds untouched
+        INSERT INTO product_variant_stats AS s (
+            product_id, total_variants, active_variants, min_price, max_price,
+            default_variant_id, updated_at)
+        VALUES (
+            NEW.product_id,
+            v_new_live::INT,
+            v_new_active::INT,
+            CASE WHEN v_new_active THEN NEW.price END,
+            CASE WHEN v_new_active THEN NEW.price END,
+            CASE WHEN v_new_live AND NEW.is_default IS TRUE THEN NEW.id END,
+            NOW())
+        ON CONFLICT (product_id) DO UPDATE
+        SET total_variants = s.total_variants + EXCLUDED.total_variants,
+            active_variants = s.active_variants + EXCLUDED.active_variants,
+            min_price = LEAST(s.min_price, EXCLUDED.min_price),
+            max_price = GREATEST(s.max_price, EXCLUDED.max_price),
+            default_variant_id = COALESCE(EXCLUDED.default_variant_id, s.default_variant_id),
+            updated_at = NOW();
+    END IF;
+
+    IF v_reprice THEN
+        PERFORM product_variant_stats_reprice(OLD.product_id);
+    END IF;
+
+    RETURN NULL;
+END;
+$$;
+
+-- option_values renames, display_order and stock changes do not affect the aggregates,
+-- so stock writes only lock their own variant row
+CREATE TRIGGER trg_product_variant_stats
+    AFTER INSERT OR DELETE OR UPDATE OF product_id, price, is_active, is_default, deleted_at
+    ON product_variants
+    FOR EACH ROW
+    EXECUTE FUNCTION product_variant_stats_refresh();
+
+
+-- STEP 4: BACKFILL
+INSERT INTO product_variant_stats (
+    product_id, total_variants, active_variants, min_price, max_price,
+    default_variant_id)
+SELECT product_id,
+       COUNT(*) FILTER (WHERE deleted_at IS NULL),
+       COUNT(*) FILTER (WHERE deleted_at IS NULL AND is_active IS TRUE),
+       MIN(price) FILTER (WHERE deleted_at IS NULL AND is_active IS TRUE),
+       MAX(price) FILTER (WHERE deleted_at IS NULL AND is_active IS TRUE),
+       MAX(id) FILTER (WHERE deleted_at IS NULL AND is_default IS TRUE)
+FROM product_variants
+GROUP BY product_id;
+
+
+ANALYZE product_variant_stats;
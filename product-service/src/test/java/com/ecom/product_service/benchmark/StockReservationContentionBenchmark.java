@@ -0,0 +1,174 @@
+package com.ecom.product_service.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecom.product_service.dto.StockReservationRequest;
+import com.ecom.product_service.exception.BadRequestException;
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.model.ProductVariant;
+import com.ecom.product_service.repository.ProductRepository;
+import com.ecom.product_service.repository.ProductVariantRepository;
+import com.ecom.product_service.service.ProductVariantService;
+import com.ecom.product_service.service.StockReservationService;
+import com.ecom.product_service.support.CatalogFixtures;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Flash sale on one hot SKU: THREADS buyers race for STOCK units, one unit per request,
+ * until the SKU sells out.
+ *
+ * Compares the read-modify-write path (read stock, then updateStock(stock - 1)) with
+ * reserve() (one conditional UPDATE). Reports units sold, final stock, oversold units
+ * and throughput; reserve() must sell exactly STOCK units.
+ *
+ * Needs the dev PostgreSQL database. Rows are committed (the threads use their own
+ * transactions) and the product is deleted afterwards.
+ * Run: mvn test -Dtest=StockReservationContentionBenchmark -Dbenchmark=true
+ */
+@Slf4j
+@SpringBootTest
+@Import(CatalogFixtures.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StockReservationContentionBenchmark {
+
+    private static final int STOCK = 2_000;
+    private static final int THREADS = 32;
+    private static final long BUYER_ID = 1L;
+
+    @Autowired
+    private StockReservationService reservationService;
+
+    @Autowired
+    private ProductVariantService variantService;
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductVariantRepository variantRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long productId;
+    private Long variantId;
+
+    @BeforeEach
+    void createHotSku() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Product product = fixtures.product("Flash sale product");
+            productId = product.getId();
+            variantId = fixtures.variant(product, "FLASH-" + productId, STOCK).getId();
+        });
+    }
+
+    @AfterEach
+    void deleteHotSku() {
+        // Cascades to variants, reservations and variant stats
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> productRepository.deleteById(productId));
+    }
+
+    @Test
+    void compareReadModifyWriteWithConditionalReserve() throws Exception {
+        Result readModifyWrite = race("read-modify-write updateStock", () -> {
+            int stock = variantService.getVariantById(variantId).getStockQuantity();
+            if (stock < 1) {
+                return false;
+            }
+            variantService.updateStock(variantId, stock - 1);
+            return true;
+        });
+
+        resetStock();
+
+        Result reserve = race("conditional UPDATE reserve", () -> {
+            try {
+                reservationService.reserve(variantId, new StockReservationRequest(1, null, null), BUYER_ID);
+                return true;
+            } catch (BadRequestException soldOut) {
+                return false;
+            }
+        });
+
+        log.info(String.format("%-32s %8s %12s %10s %12s", "path", "sold", "final stock", "oversold", "ops/s"));
+        report(readModifyWrite);
+        report(reserve);
+
+        assertEquals(STOCK, reserve.sold());
+        assertEquals(0, reserve.finalStock());
+    }
+
+    private Result race(String name, Purchase purchase) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger sold = new AtomicInteger();
+        List<Future<?>> buyers = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            buyers.add(executor.submit(() -> {
+                start.await();
+                while (purchase.buyOne()) {
+                    sold.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> buyer : buyers) {
+            buyer.get();
+        }
+        double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        int finalStock = variantRepository.findById(variantId).orElseThrow().getStockQuantity();
+        return new Result(name, sold.get(), finalStock, sold.get() / seconds);
+    }
+
+    private void resetStock() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ProductVariant variant = variantRepository.findById(variantId).orElseThrow();
+            variant.setStockQuantity(STOCK);
+            variantRepository.save(variant);
+        });
+    }
+
+    private static void report(Result result) {
+        // Every unit sold beyond the initial stock, plus stock still shown after selling out, is a lost update
+        int oversold = result.sold() - (STOCK - result.finalStock());
+        log.info(String.format("%-32s %8d %12d %10d %12.0f",
+                result.name(), result.sold(), result.finalStock(), oversold, result.opsPerSecond()));
+    }
+
+    @FunctionalInterface
+    private interface Purchase {
+        boolean buyOne() throws Exception;
+    }
+
+    private record Result(String name, int sold, int finalStock, double opsPerSecond) {
+    }
+}
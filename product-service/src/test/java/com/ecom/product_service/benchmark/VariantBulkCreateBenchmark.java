@@ -0,0 +1,209 @@
+package com.ecom.product_service.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecom.product_service.dto.BulkVariantRequest;
+import com.ecom.product_service.dto.ProductVariantOptionRequest;
+import com.ecom.product_service.dto.ProductVariantRequest;
+import com.ecom.product_service.service.ProductVariantService;
+import com.ecom.product_service.support.CatalogFixtures;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Statement count and latency of creating a 200-SKU product (10 colors x 20 sizes):
+ * one createVariant call per SKU (the previous createVariantsBulk) vs the set-based createVariantsBulk.
+ *
+ * Needs the dev PostgreSQL database; every run is rolled back.
+ * Run: mvn test -Dtest=VariantBulkCreateBenchmark -Dbenchmark=true
+ */
+@Slf4j
+@SpringBootTest
+@Import(CatalogFixtures.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VariantBulkCreateBenchmark {
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 10;
+
+    private static final List<String> COLORS = List.of(
+            "Black", "White", "Red", "Blue", "Green", "Yellow", "Grey", "Navy", "Pink", "Brown");
+    private static final List<String> SIZES = List.of(
+            "XS", "S", "M", "L", "XL", "XXL", "26", "27", "28", "29",
+            "30", "31", "32", "33", "34", "35", "36", "37", "38", "39");
+
+    // Executed statements; a JDBC batch counts once (one round trip)
+    private static final AtomicLong STATEMENTS = new AtomicLong();
+
+    @Autowired
+    private ProductVariantService variantService;
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareLoopWithSetBasedBulkCreate() {
+        Result loop = measure("loop (createVariant x 200)", productId -> {
+            BulkVariantRequest request = bulkRequest(productId);
+            variantService.createOrUpdateVariantOptions(productId, request.getOptions());
+            request.getVariants().forEach(variant -> variantService.createVariant(productId, variant));
+        });
+
+        Result bulk = measure("set-based createVariantsBulk", productId ->
+                variantService.createVariantsBulk(productId, bulkRequest(productId)));
+
+        log.info(String.format("%-32s %12s %14s", "path", "statements", "median ms"));
+        log.info(String.format("%-32s %12d %14.1f", loop.name(), loop.statements(), loop.medianMillis()));
+        log.info(String.format("%-32s %12d %14.1f", bulk.name(), bulk.statements(), bulk.medianMillis()));
+
+        assertTrue(bulk.statements() < loop.statements());
+    }
+
+    private Result measure(String name, Consumer<Long> action) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        long[] nanos = new long[MEASURED_RUNS];
+        long statements = 0;
+
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            int measuredRun = run - WARMUP_RUNS;
+            long[] runStatements = new long[1];
+            tx.executeWithoutResult(status -> {
+                Long productId = fixtures.product("Benchmark product", new BigDecimal("199000")).getId();
+                STATEMENTS.set(0);
+                long start = System.nanoTime();
+                action.accept(productId);
+                if (measuredRun >= 0) {
+                    nanos[measuredRun] = System.nanoTime() - start;
+                }
+                runStatements[0] = STATEMENTS.get();
+                status.setRollbackOnly();
+            });
+            statements = runStatements[0];
+        }
+
+        Arrays.sort(nanos);
+        return new Result(name, statements, nanos[MEASURED_RUNS / 2] / 1_000_000.0);
+    }
+
+    private BulkVariantRequest bulkRequest(Long productId) {
+        List<ProductVariantRequest> variants = new ArrayList<>();
+        for (String color : COLORS) {
+            for (String size : SIZES) {
+                ProductVariantRequest variant = new ProductVariantRequest();
+                variant.setSku(("BM-" + productId + "-" + color + "-" + size).toUpperCase());
+                variant.setPrice(new BigDecimal("199000"));
+                variant.setStockQuantity(10);
+                variant.setOptionValues(Map.of("Color", color, "Size", size));
+                variants.add(variant);
+            }
+        }
+
+        ProductVariantOptionRequest colorOption = new ProductVariantOptionRequest();
+        colorOption.setOptionName("Color");
+        colorOption.setOptionValues(COLORS);
+        colorOption.setDisplayOrder(0);
+
+        ProductVariantOptionRequest sizeOption = new ProductVariantOptionRequest();
+        sizeOption.setOptionName("Size");
+        sizeOption.setOptionValues(SIZES);
+        sizeOption.setDisplayOrder(1);
+
+        return new BulkVariantRequest(List.of(colorOption, sizeOption), variants);
+    }
+
+    private record Result(String name, long statements, double medianMillis) {
+    }
+
+    @TestConfiguration
+    static class StatementCountingConfig {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                        return new CountingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    static class CountingDataSource extends DelegatingDataSource {
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return countingConnection(super.getConnection());
+        }
+
+        private static Connection countingConnection(Connection target) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        return result instanceof Statement statement
+                                ? countingStatement(statement)
+                                : result;
+                    });
+        }
+
+        private static Object countingStatement(Statement target) {
+            Class<?>[] interfaces = target instanceof CallableStatement
+                    ? new Class<?>[]{CallableStatement.class}
+                    : target instanceof PreparedStatement
+                            ? new Class<?>[]{PreparedStatement.class}
+                            : new Class<?>[]{Statement.class};
+            return Proxy.newProxyInstance(Statement.class.getClassLoader(), interfaces, (proxy, method, args) -> {
+                if (method.getName().startsWith("execute")) {
+                    STATEMENTS.incrementAndGet();
+                }
+                return invoke(target, method, args);
+            });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
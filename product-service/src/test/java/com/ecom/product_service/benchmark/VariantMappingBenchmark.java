@@ -0,0 +1,137 @@
+package com.ecom.product_service.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mapstruct.factory.Mappers;
+
+import com.ecom.product_service.mapper.ProductVariantMapper;
+import com.ecom.product_service.model.ProductVariant;
+import com.ecom.product_service.response.ProductVariantResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Throughput and allocations of toVariantResponse over a 300-variant list:
+ * the previous mapping (new ObjectMapper + TypeReference parse per variant) vs the shared
+ * ObjectReader with decoded options cached per JSON value. Every run maps freshly loaded
+ * entities, like a listing request does.
+ *
+ * No database or Spring context needed.
+ * Run: mvn test -Dtest=VariantMappingBenchmark -Dbenchmark=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VariantMappingBenchmark {
+
+    private static final int WARMUP_RUNS = 200;
+    private static final int MEASURED_RUNS = 500;
+    private static final int VARIANTS = 300;
+
+    private static final List<String> COLORS = List.of(
+            "Black", "White", "Red", "Blue", "Green", "Yellow", "Grey", "Navy", "Pink", "Brown",
+            "Beige", "Olive", "Maroon", "Teal", "Purple");
+    private static final List<String> SIZES = List.of(
+            "XS", "S", "M", "L", "XL", "XXL", "26", "27", "28", "29",
+            "30", "31", "32", "33", "34", "35", "36", "37", "38", "39");
+
+    private final ProductVariantMapper mapper = Mappers.getMapper(ProductVariantMapper.class);
+
+    @Test
+    void compareLegacyWithCachedOptionDecoding() {
+        // The mapper now decodes optionValues itself, so the legacy figures include one cached lookup
+        Result legacy = measure("legacy (ObjectMapper per variant)", variant -> {
+            ProductVariantResponse response = mapper.toVariantResponse(variant);
+            response.setOptionValues(legacyParseOptionValues(variant.getOptionValuesJson()));
+            return response;
+        });
+        Result cached = measure("shared reader + decoded cache", mapper::toVariantResponse);
+
+        log.info(String.format("%-36s %14s %16s", "path", "median us", "KB / list"));
+        log.info(String.format("%-36s %14.1f %16.1f", legacy.name(), legacy.medianMicros(), legacy.allocatedKb()));
+        log.info(String.format("%-36s %14.1f %16.1f", cached.name(), cached.medianMicros(), cached.allocatedKb()));
+
+        assertTrue(cached.allocatedKb() < legacy.allocatedKb());
+    }
+
+    private Result measure(String name, Function<ProductVariant, ProductVariantResponse> toResponse) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long[] nanos = new long[MEASURED_RUNS];
+        long[] bytes = new long[MEASURED_RUNS];
+
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            List<ProductVariant> variants = loadVariants();
+            List<ProductVariantResponse> responses = new ArrayList<>(VARIANTS);
+
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            for (ProductVariant variant : variants) {
+                responses.add(toResponse.apply(variant));
+            }
+            long elapsed = System.nanoTime() - start;
+            long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            assertEquals(VARIANTS, responses.size());
+            assertEquals(2, responses.get(VARIANTS - 1).getOptionValues().size());
+            int measuredRun = run - WARMUP_RUNS;
+            if (measuredRun >= 0) {
+                nanos[measuredRun] = elapsed;
+                bytes[measuredRun] = allocated;
+            }
+        }
+
+        Arrays.sort(nanos);
+        Arrays.sort(bytes);
+        return new Result(name, nanos[MEASURED_RUNS / 2] / 1_000.0, bytes[MEASURED_RUNS / 2] / 1024.0);
+    }
+
+    // New entity instances with new JSON strings each run, as Hibernate hydrates them per request
+    private List<ProductVariant> loadVariants() {
+        List<ProductVariant> variants = new ArrayList<>(VARIANTS);
+        for (int i = 0; i < VARIANTS; i++) {
+            String color = COLORS.get(i / SIZES.size());
+            String size = SIZES.get(i % SIZES.size());
+            ProductVariant variant = new ProductVariant();
+            variant.setId((long) i);
+            variant.setSku("BM-" + color + "-" + size);
+            variant.setVariantName(color + " / " + size);
+            variant.setPrice(new BigDecimal("199000"));
+            variant.setCompareAtPrice(new BigDecimal("249000"));
+            variant.setStockQuantity(i % 7);
+            variant.setOptionValuesJson(new StringBuilder()
+                    .append("{\"Color\": \"").append(color).append("\", \"Size\": \"").append(size).append("\"}")
+                    .toString());
+            variants.add(variant);
+        }
+        return variants;
+    }
+
+    // ProductVariantMapper.parseOptionValues before the shared reader
+    private static Map<String, String> legacyParseOptionValues(String optionValuesJson) {
+        if (optionValuesJson == null || optionValuesJson.trim().isEmpty()) {
+            return null;
+        }
+
+        try {
+            ObjectMapper objectMapper = new ObjectMapper();
+            return objectMapper.readValue(optionValuesJson, new TypeReference<Map<String, String>>() {});
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private record Result(String name, double medianMicros, double allocatedKb) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecom.product_service.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class CatalogCountCacheTest {
+
+    // Background recounts are queued here and run by the test
+    private final List<Runnable> refreshes = new ArrayList<>();
+    private final AtomicLong exactCounts = new AtomicLong();
+
+    // Keys
+    @Test
+    void shouldNormalizeFiltersIntoKey() {
+        assertEquals("products|iphone||5", CatalogCountCache.key("products", "iPhone", null, 5L));
+    }
+
+    // Cached counts
+    @Test
+    void shouldCountColdKeyOnceAndServeItFromCache() {
+        CatalogCountCache cache = cache(Duration.ofMinutes(1));
+
+        assertEquals(1, cache.getCount("products|", exactCounts::incrementAndGet));
+        assertEquals(1, cache.getCount("products|", exactCounts::incrementAndGet));
+        assertEquals(1, exactCounts.get());
+        assertTrue(refreshes.isEmpty());
+    }
+
+    @Test
+    void shouldServeStaleCountWhileOneRefreshRuns() throws InterruptedException {
+        CatalogCountCache cache = cache(Duration.ofNanos(1));
+
+        assertEquals(1, cache.getCount("products|", exactCounts::incrementAndGet));
+        Thread.sleep(5);
+        assertEquals(1, cache.getCount("products|", exactCounts::incrementAndGet));
+        assertEquals(1, cache.getCount("products|", exactCounts::incrementAndGet));
+        assertEquals(1, refreshes.size());
+
+        refreshes.remove(0).run();
+
+        assertEquals(2, cache.getCount("products|", exactCounts::incrementAndGet));
+    }
+
+    // Page totals
+    @Test
+    void shouldFlagOnlyCachedTotalsAsApproximate() {
+        CatalogCountCache cache = cache(Duration.ofMinutes(1));
+
+        CatalogCountCache.PageTotal cold = cache.totalSupplier("products|", exactCounts::incrementAndGet, false);
+        assertEquals(1, cold.getAsLong());
+        assertFalse(cold.isApproximate());
+
+        CatalogCountCache.PageTotal warm = cache.totalSupplier("products|", exactCounts::incrementAndGet, false);
+        assertEquals(1, warm.getAsLong());
+        assertTrue(warm.isApproximate());
+    }
+
+    @Test
+    void shouldCountEveryTimeWhenExactTotalIsRequested() {
+        CatalogCountCache cache = cache(Duration.ofMinutes(1));
+        cache.getCount("products|", exactCounts::incrementAndGet);
+
+        CatalogCountCache.PageTotal exact = cache.totalSupplier("products|", exactCounts::incrementAndGet, true);
+        assertEquals(2, exact.getAsLong());
+        assertFalse(exact.isApproximate());
+    }
+
+    @Test
+    void shouldNotFlagTotalThatWasNeverAsked() {
+        CatalogCountCache cache = cache(Duration.ofMinutes(1));
+
+        assertFalse(cache.totalSupplier("products|", exactCounts::incrementAndGet, false).isApproximate());
+        assertEquals(0, exactCounts.get());
+    }
+
+    private CatalogCountCache cache(Duration refreshAfter) {
+        return new CatalogCountCache(refreshes::add, 100, refreshAfter, Duration.ofMinutes(10));
+    }
+}
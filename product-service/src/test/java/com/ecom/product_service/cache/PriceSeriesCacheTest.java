@@ -0,0 +1,82 @@
+package com.ecom.product_service.cache;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.ecom.datasource.PrimaryPinning;
+import com.ecom.product_service.dto.PriceSeriesBucket;
+import com.ecom.product_service.event.PriceHistoryChangedEvent;
+import com.ecom.product_service.response.PriceSeriesResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PriceSeriesCacheTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 3, 31);
+
+    private final PriceSeriesCache cache = new PriceSeriesCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    // Read-through
+    @Test
+    void shouldLoadOncePerProductBucketAndRange() {
+        PriceSeriesResponse first = cache.get(1L, PriceSeriesBucket.DAY, FROM, TO, loader(1L));
+
+        assertSame(first, cache.get(1L, PriceSeriesBucket.DAY, FROM, TO, loader(1L)));
+        cache.get(1L, PriceSeriesBucket.WEEK, FROM, TO, loader(1L));
+        cache.get(1L, PriceSeriesBucket.DAY, FROM, TO.plusDays(1), loader(1L));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void shouldNotCacheFailedLoad() {
+        assertThrows(IllegalStateException.class, () -> cache.get(1L, PriceSeriesBucket.DAY, FROM, TO, () -> {
+            throw new IllegalStateException("not found");
+        }));
+
+        cache.get(1L, PriceSeriesBucket.DAY, FROM, TO, loader(1L));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldLoadFromPrimary() {
+        cache.get(1L, PriceSeriesBucket.DAY, FROM, TO, () -> {
+            assertTrue(PrimaryPinning.isPinned());
+            return loader(1L).get();
+        });
+
+        assertEquals(1, loads.get());
+    }
+
+    // Invalidation
+    @Test
+    void shouldEvictEverySeriesOfTheChangedProductOnly() {
+        cache.get(1L, PriceSeriesBucket.DAY, FROM, TO, loader(1L));
+        cache.get(1L, PriceSeriesBucket.WEEK, FROM, TO, loader(1L));
+        cache.get(2L, PriceSeriesBucket.DAY, FROM, TO, loader(2L));
+
+        cache.onPriceHistoryChanged(new PriceHistoryChangedEvent(1L));
+
+        cache.get(1L, PriceSeriesBucket.DAY, FROM, TO, loader(1L));
+        cache.get(1L, PriceSeriesBucket.WEEK, FROM, TO, loader(1L));
+        cache.get(2L, PriceSeriesBucket.DAY, FROM, TO, loader(2L));
+        assertEquals(5, loads.get());
+    }
+
+    private Supplier<PriceSeriesResponse> loader(Long productId) {
+        return () -> {
+            loads.incrementAndGet();
+            return PriceSeriesResponse.builder().productId(productId).buckets(List.of()).build();
+        };
+    }
+}
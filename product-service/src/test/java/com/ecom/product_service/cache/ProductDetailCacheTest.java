@@ -0,0 +1,123 @@
+package com.ecom.product_service.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.ecom.datasource.PrimaryPinning;
+import com.ecom.product_service.event.ProductChangedEvent;
+import com.ecom.product_service.response.ProductResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ProductDetailCacheTest {
+
+    private final ProductDetailCache cache =
+            new ProductDetailCache(new SimpleMeterRegistry(), new ObjectMapper(), 100, Duration.ofMinutes(10));
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Long, ProductResponse> loader =
+            id -> ProductResponse.builder().id(id).name("Load " + loads.incrementAndGet()).build();
+
+    // Read-through
+    @Test
+    void shouldLoadOnceAndServeFromCache() {
+        ProductDetailCache.CachedProduct first = cache.get(1L, loader);
+
+        assertSame(first, cache.get(1L, loader));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentMisses() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Long, ProductResponse> slowLoader = id -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loader.apply(id);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ProductDetailCache.CachedProduct> first = executor.submit(() -> cache.get(1L, slowLoader));
+            loading.await();
+            Future<ProductDetailCache.CachedProduct> second = executor.submit(() -> cache.get(1L, slowLoader));
+            release.countDown();
+
+            assertSame(first.get(), second.get());
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldNotCacheFailedLoad() {
+        assertThrows(IllegalStateException.class, () -> cache.get(1L, id -> {
+            throw new IllegalStateException("not found");
+        }));
+
+        cache.get(1L, loader);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldLoadFromPrimary() {
+        cache.get(1L, id -> {
+            assertTrue(PrimaryPinning.isPinned());
+            return loader.apply(id);
+        });
+
+        assertEquals(1, loads.get());
+    }
+
+    // ETag
+    @Test
+    void shouldTagEntryWithHashOfItsBody() {
+        ProductDetailCache.CachedProduct cached = cache.get(1L, id -> ProductResponse.builder().id(id).name("Same").build());
+        ProductDetailCache.CachedProduct other = cache.get(2L, id -> ProductResponse.builder().id(1L).name("Same").build());
+        ProductDetailCache.CachedProduct changed = cache.get(3L, id -> ProductResponse.builder().id(1L).name("Changed").build());
+
+        assertEquals(cached.getETag(), other.getETag());
+        assertNotEquals(cached.getETag(), changed.getETag());
+    }
+
+    // Invalidation
+    @Test
+    void shouldEvictOnlyTheChangedProduct() {
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+
+        cache.onProductChanged(new ProductChangedEvent(1L));
+
+        assertEquals("Load 3", cache.get(1L, loader).getResponse().getName());
+        assertEquals("Load 2", cache.get(2L, loader).getResponse().getName());
+    }
+
+    @Test
+    void shouldEvictEverythingWhenAllProductsChange() {
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+
+        cache.onProductChanged(ProductChangedEvent.allProducts());
+
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+        assertEquals(4, loads.get());
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecom.product_service.cache;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.ecom.product_service.dto.SuggestionType;
+import com.ecom.product_service.event.SuggestionSourceChangedEvent;
+import com.ecom.product_service.response.SuggestionResponse;
+
+class SuggestionIndexTest {
+
+    // Repositories are only used by rebuild()
+    private final SuggestionIndex index = new SuggestionIndex(null, null, null);
+
+    // Prefix lookup
+    @Test
+    void shouldMatchAnyWordStart() {
+        index.upsert(SuggestionType.PRODUCT, 1L, "Apple iPhone 15", "apple-iphone-15");
+
+        assertEquals(List.of(1L), ids(index.suggest("iph", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("15", 10)));
+        assertEquals(List.of(), ids(index.suggest("phone", 10)));
+    }
+
+    @Test
+    void shouldMatchWithoutDiacritics() {
+        index.upsert(SuggestionType.CATEGORY, 1L, "Điện thoại", "dien-thoai");
+
+        assertEquals(List.of(1L), ids(index.suggest("dien th", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("ĐIỆN", 10)));
+    }
+
+    @Test
+    void shouldRankNameStartThenShorterName() {
+        index.upsert(SuggestionType.PRODUCT, 1L, "Ốp lưng Samsung Galaxy", "op-lung");
+        index.upsert(SuggestionType.PRODUCT, 2L, "Samsung Galaxy S24 Ultra", "s24-ultra");
+        index.upsert(SuggestionType.BRAND, 3L, "Samsung", null);
+
+        List<SuggestionResponse> suggestions = index.suggest("sam", 10);
+
+        assertEquals(List.of(3L, 2L, 1L), ids(suggestions));
+        assertEquals(SuggestionType.BRAND, suggestions.get(0).getType());
+    }
+
+    @Test
+    void shouldApplyLimit() {
+        for (long id = 1; id <= 5; id++) {
+            index.upsert(SuggestionType.PRODUCT, id, "Tripod " + id, "tripod-" + id);
+        }
+
+        assertEquals(3, index.suggest("tri", 3).size());
+    }
+
+    @Test
+    void shouldReturnNothingForBlankQuery() {
+        index.upsert(SuggestionType.PRODUCT, 1L, "Tripod", "tripod");
+
+        assertTrue(index.suggest(" -- ", 10).isEmpty());
+        assertTrue(index.suggest(null, 10).isEmpty());
+    }
+
+    // Updates
+    @Test
+    void shouldReplaceKeysOnRename() {
+        index.upsert(SuggestionType.BRAND, 1L, "Oldname", null);
+
+        index.onSourceChanged(SuggestionSourceChangedEvent.upserted(SuggestionType.BRAND, 1L, "Newname", null));
+
+        assertEquals(List.of(), ids(index.suggest("old", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("new", 10)));
+    }
+
+    @Test
+    void shouldDropRemovedEntryOnly() {
+        index.upsert(SuggestionType.PRODUCT, 1L, "Tripod", "tripod");
+        index.upsert(SuggestionType.CATEGORY, 1L, "Tripods", "tripods");
+
+        index.onSourceChanged(SuggestionSourceChangedEvent.removed(SuggestionType.PRODUCT, 1L));
+
+        List<SuggestionResponse> suggestions = index.suggest("trip", 10);
+        assertEquals(1, suggestions.size());
+        assertEquals(SuggestionType.CATEGORY, suggestions.get(0).getType());
+    }
+
+    // Normalization
+    @Test
+    void shouldNormalizeLikeSearchFold() {
+        assertEquals("dien thoai samsung s24", SuggestionIndex.normalize("Điện thoại  Samsung-S24"));
+    }
+
+    private static List<Long> ids(List<SuggestionResponse> suggestions) {
+        return suggestions.stream().map(SuggestionResponse::getId).toList();
+    }
+}
@@ -0,0 +1,99 @@
+package com.ecom.product_service.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.ecom.datasource.PrimaryPinning;
+import com.ecom.product_service.event.VariantOptionsChangedEvent;
+import com.ecom.product_service.model.ProductVariantOption;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VariantOptionSchemaCacheTest {
+
+    private final VariantOptionSchemaCache cache =
+            new VariantOptionSchemaCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Long, List<ProductVariantOption>> loader = id -> {
+        loads.incrementAndGet();
+        return List.of(option(1L, "Color", 0, "Red", "Blue"), option(2L, "Size", 1, "S", "M"));
+    };
+
+    // Schema
+    @Test
+    void shouldCompileAllowedValuesPerOption() {
+        VariantOptionSchema schema = VariantOptionSchema.compile(List.of(option(1L, "Color", 0, "Red", "Red", null)));
+
+        assertEquals(Set.of("Red"), schema.allowedValues("Color"));
+        assertNull(schema.allowedValues("Size"));
+    }
+
+    @Test
+    void shouldDetachOptionsFromEntities() {
+        ProductVariantOption color = option(1L, "Color", 0, "Red", "Blue");
+
+        VariantOptionSchema schema = VariantOptionSchema.compile(List.of(color));
+        color.getOptionValues()[0] = "Green";
+
+        ProductVariantOption compiled = schema.options().get(0);
+        assertNotSame(color, compiled);
+        assertEquals(1L, compiled.getId());
+        assertEquals("Red", compiled.getOptionValues()[0]);
+        assertEquals(Set.of("Red", "Blue"), schema.allowedValues("Color"));
+    }
+
+    // Read-through
+    @Test
+    void shouldLoadOnceAndServeFromCache() {
+        VariantOptionSchema first = cache.get(1L, loader);
+
+        assertSame(first, cache.get(1L, loader));
+        assertEquals(1, loads.get());
+        assertEquals(List.of("Color", "Size"), first.options().stream()
+                .map(ProductVariantOption::getOptionName)
+                .toList());
+    }
+
+    @Test
+    void shouldLoadFromPrimary() {
+        cache.get(1L, id -> {
+            assertTrue(PrimaryPinning.isPinned());
+            return loader.apply(id);
+        });
+
+        assertEquals(1, loads.get());
+    }
+
+    // Invalidation
+    @Test
+    void shouldEvictOnlyTheProductWhoseOptionsChanged() {
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+
+        cache.onOptionsChanged(new VariantOptionsChangedEvent(1L));
+
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+        assertEquals(3, loads.get());
+    }
+
+    private static ProductVariantOption option(Long id, String name, int displayOrder, String... values) {
+        ProductVariantOption option = ProductVariantOption.builder()
+                .optionName(name)
+                .optionValues(values)
+                .displayOrder(displayOrder)
+                .build();
+        option.setId(id);
+        return option;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecom.product_service.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class ProductCursorTest {
+
+    // Round trip
+    @Test
+    void shouldDecodeWhatItEncodes() {
+        ProductCursor cursor = new ProductCursor(LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000), 42L);
+
+        ProductCursor decoded = ProductCursor.decode(cursor.encode());
+
+        assertNotNull(decoded);
+        assertEquals(cursor.getCreatedAt(), decoded.getCreatedAt());
+        assertEquals(cursor.getId(), decoded.getId());
+    }
+
+    @Test
+    void shouldEncodeUrlSafeWithoutPadding() {
+        String token = ProductCursor.START.encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void shouldSortStartAfterEveryRealRow() {
+        assertTrue(ProductCursor.START.getCreatedAt().isAfter(LocalDateTime.now().plusYears(1000)));
+        assertEquals(Long.MAX_VALUE, ProductCursor.START.getId());
+    }
+
+    // Malformed tokens
+    @Test
+    void shouldReturnNullForMalformedToken() {
+        assertNull(ProductCursor.decode("not base64!"));
+        assertNull(ProductCursor.decode(encodeRaw("2025-03-14T09:26:53")));
+        assertNull(ProductCursor.decode(encodeRaw("yesterday|42")));
+        assertNull(ProductCursor.decode(encodeRaw("2025-03-14T09:26:53|forty-two")));
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
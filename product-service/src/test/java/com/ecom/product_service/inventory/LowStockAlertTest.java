@@ -0,0 +1,139 @@
+package com.ecom.product_service.inventory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import com.ecom.product_service.dto.LowStockVariant;
+import com.ecom.product_service.dto.StockReservationRequest;
+import com.ecom.product_service.event.LowStockEvent;
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.model.ProductVariant;
+import com.ecom.product_service.repository.ProductVariantRepository;
+import com.ecom.product_service.service.StockAdjustmentService;
+import com.ecom.product_service.service.StockReservationService;
+import com.ecom.product_service.service.impl.HotStockServiceImpl;
+import com.ecom.product_service.service.impl.StockAdjustmentServiceImpl;
+import com.ecom.product_service.service.impl.StockReservationServiceImpl;
+import com.ecom.product_service.support.CatalogFixtures;
+import com.ecom.product_service.support.PostgresTest;
+import com.ecom.product_service.support.ServiceSliceConfig;
+
+/**
+ * Low-stock alerts from the SQL stock writes (reservations, warehouse batches), which publish only
+ * on the transition into low stock, and the catalog-wide low-stock listing behind V12's index.
+ * Variants use the default low_stock_threshold of 5.
+ *
+ * Runs on PostgreSQL (RETURNING clauses, partial index); every test is rolled back.
+ */
+@PostgresTest
+@RecordApplicationEvents
+@Import({StockReservationServiceImpl.class, HotStockServiceImpl.class, StockAdjustmentServiceImpl.class,
+        LowStockAlertPublisher.class, ServiceSliceConfig.class})
+class LowStockAlertTest {
+
+    private static final long BUYER_ID = 1L;
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private StockReservationService reservationService;
+
+    @Autowired
+    private StockAdjustmentService stockAdjustmentService;
+
+    @Autowired
+    private ProductVariantRepository variantRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private Product product;
+    private String skuPrefix;
+
+    @BeforeEach
+    void createProduct() {
+        skuPrefix = CatalogFixtures.skuPrefix("LOW");
+        product = fixtures.product("Low stock product");
+    }
+
+    // Crossing
+    @Test
+    void shouldAlertOnceWhenReservationsCrossThreshold() {
+        ProductVariant variant = variant("A", 7);
+
+        reserve(variant, 1);
+        assertEquals(List.of(), alertedVariantIds());
+
+        reserve(variant, 2);
+        reserve(variant, 1);
+
+        List<LowStockEvent> alerts = events.stream(LowStockEvent.class).toList();
+        assertEquals(List.of(variant.getId()), alertedVariantIds());
+        assertEquals(4, alerts.get(0).getVariant().getStockQuantity());
+        assertEquals(product.getId(), alerts.get(0).getVariant().getProductId());
+    }
+
+    @Test
+    void shouldAlertOnlyForBatchLinesThatCrossThreshold() throws Exception {
+        ProductVariant crossing = variant("A", 20);
+        ProductVariant alreadyLow = variant("B", 3);
+        ProductVariant staysHigh = variant("C", 20);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        String body = "{\"sku\":\"" + crossing.getSku() + "\",\"stockQuantity\":2}\n"
+                + "{\"sku\":\"" + alreadyLow.getSku() + "\",\"delta\":-1}\n"
+                + "{\"sku\":\"" + staysHigh.getSku() + "\",\"delta\":-10}\n";
+        stockAdjustmentService.applyBatch(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+
+        assertEquals(List.of(crossing.getId()), alertedVariantIds());
+    }
+
+    // Listing
+    @Test
+    void shouldListLowStockAcrossProductsLowestFirst() {
+        ProductVariant low = variant("A", 4);
+        ProductVariant empty = variant("B", 0);
+        variant("C", 50);
+        ProductVariant deleted = variant("D", 1);
+        deleted.softDelete();
+        variantRepository.saveAndFlush(deleted);
+        Product otherProduct = fixtures.product("Other low stock product");
+        ProductVariant other = fixtures.variant(otherProduct, skuPrefix + "E", 2);
+
+        List<Long> listed = variantRepository.findAllLowStock(PageRequest.of(0, 1000)).getContent().stream()
+                .filter(variant -> variant.getProductId().equals(product.getId())
+                        || variant.getProductId().equals(otherProduct.getId()))
+                .map(LowStockVariant::getVariantId)
+                .toList();
+
+        assertEquals(List.of(empty.getId(), other.getId(), low.getId()), listed);
+    }
+
+    private ProductVariant variant(String suffix, int stock) {
+        return fixtures.variant(product, skuPrefix + suffix, stock);
+    }
+
+    private void reserve(ProductVariant variant, int quantity) {
+        StockReservationRequest request = new StockReservationRequest();
+        request.setQuantity(quantity);
+        reservationService.reserve(variant.getId(), request, BUYER_ID);
+    }
+
+    private List<Long> alertedVariantIds() {
+        return events.stream(LowStockEvent.class)
+                .map(event -> event.getVariant().getVariantId())
+                .toList();
+    }
+}
@@ -0,0 +1,178 @@
+package com.ecom.product_service.inventory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class StripedStockCounterTest {
+
+    // Add / take
+    @Test
+    void shouldSpreadAddedUnitsAcrossStripes() {
+        StripedStockCounter counter = new StripedStockCounter(4);
+
+        counter.add(10);
+
+        assertEquals(10, counter.remaining());
+        assertEquals(0, counter.taken());
+    }
+
+    @Test
+    void shouldTakeWhileUnitsRemain() {
+        StripedStockCounter counter = new StripedStockCounter(4);
+        counter.add(3);
+
+        assertTrue(counter.tryTake(1));
+        assertTrue(counter.tryTake(2));
+        assertFalse(counter.tryTake(1));
+
+        assertEquals(0, counter.remaining());
+        assertEquals(3, counter.taken());
+    }
+
+    @Test
+    void shouldTreatZeroOrNegativeStripesAsOne() {
+        StripedStockCounter counter = new StripedStockCounter(0);
+        counter.add(2);
+
+        assertTrue(counter.tryTake(2));
+        assertEquals(0, counter.remaining());
+    }
+
+    // Rebalance
+    @Test
+    void shouldServeOrderLargerThanAnyStripeByRebalancing() {
+        // 4 stripes of 2 units each; 7 only fits once the stripes are gathered
+        StripedStockCounter counter = new StripedStockCounter(4);
+        counter.add(8);
+
+        assertTrue(counter.tryTake(7));
+
+        assertEquals(1, counter.remaining());
+        assertEquals(7, counter.taken());
+    }
+
+    @Test
+    void shouldKeepUnitsWhenRebalanceCannotServe() {
+        StripedStockCounter counter = new StripedStockCounter(4);
+        counter.add(5);
+
+        assertFalse(counter.tryTake(6));
+
+        assertEquals(5, counter.remaining());
+        assertEquals(0, counter.taken());
+    }
+
+    // Give back
+    @Test
+    void shouldReturnUnitsAndShrinkTakenOnGiveBack() {
+        StripedStockCounter counter = new StripedStockCounter(2);
+        counter.add(4);
+        counter.tryTake(3);
+
+        counter.giveBack(3);
+
+        assertEquals(4, counter.remaining());
+        assertEquals(0, counter.taken());
+        assertTrue(counter.tryTake(4));
+    }
+
+    // Drain
+    @Test
+    void shouldEmptyCounterOnDrain() {
+        StripedStockCounter counter = new StripedStockCounter(4);
+        counter.add(9);
+        counter.tryTake(2);
+
+        assertEquals(7, counter.drain());
+
+        assertEquals(0, counter.remaining());
+        assertEquals(2, counter.taken());
+        assertFalse(counter.tryTake(1));
+    }
+
+    // Concurrency
+    @Test
+    void shouldNeverHandOutMoreThanAddedUnderContention() throws Exception {
+        int units = 10_000;
+        int threads = 16;
+        StripedStockCounter counter = new StripedStockCounter(8);
+        counter.add(units);
+
+        List<Integer> sold = race(threads, () -> {
+            int count = 0;
+            // Mixed sizes so some takes need the rebalance path
+            int quantity = 1;
+            while (counter.tryTake(quantity) || (quantity > 1 && counter.tryTake(quantity = 1))) {
+                count += quantity;
+                quantity = quantity % 3 + 1;
+            }
+            return count;
+        });
+
+        assertEquals(units, sold.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(units, counter.taken());
+        assertEquals(0, counter.remaining());
+    }
+
+    @Test
+    void shouldKeepTotalsConsistentWithConcurrentGiveBacksAndDrain() throws Exception {
+        int units = 5_000;
+        int threads = 8;
+        StripedStockCounter counter = new StripedStockCounter(4);
+        counter.add(units);
+
+        // Every buyer takes a unit and gives every other one back
+        List<Integer> kept = race(threads, () -> {
+            int count = 0;
+            for (int i = 0; i < units / threads; i++) {
+                if (counter.tryTake(1)) {
+                    if (i % 2 == 0) {
+                        counter.giveBack(1);
+                    } else {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        });
+        int keptTotal = kept.stream().mapToInt(Integer::intValue).sum();
+
+        assertEquals(keptTotal, counter.taken());
+        assertEquals(units - keptTotal, counter.drain());
+        assertEquals(0, counter.remaining());
+    }
+
+    private static List<Integer> race(int threads, Callable<Integer> buyer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return buyer.call();
+                }));
+            }
+            start.countDown();
+
+            List<Integer> results = new ArrayList<>();
+            for (Future<Integer> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.ecom.product_service.repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecom.product_service.dto.PriceBucketRow;
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.support.CatalogFixtures;
+import com.ecom.product_service.support.PostgresTest;
+
+/**
+ * OHLC window query behind GET /api/v1/products/{id}/price-history/series
+ * (ProductPriceHistoryRepository.findPriceBuckets): open / high / low / close per bucket and
+ * price owner, tie-breaking on id, and the [from, to) bounds.
+ *
+ * Runs on PostgreSQL (partitioned history, window functions); every test is rolled back.
+ */
+@PostgresTest
+class PriceBucketQueryTest {
+
+    private static final String INSERT_CHANGE_SQL = """
+            INSERT INTO product_price_history (product_id, variant_id, old_price, new_price, change_reason, changed_by, changed_at)
+            VALUES (?, ?, ?, ?, 'test', 'TEST', ?)
+            """;
+
+    @Autowired
+    private ProductPriceHistoryRepository priceHistoryRepository;
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long productId;
+    private Long variantId;
+    private LocalDateTime day1;
+    private LocalDateTime day2;
+    private LocalDateTime day3;
+
+    @BeforeEach
+    void createProduct() {
+        Product product = fixtures.product("Price series product", new BigDecimal("100"));
+        productId = product.getId();
+        variantId = fixtures.variant(product, "SERIES-" + productId, new BigDecimal("40"), 1, "{}").getId();
+
+        // First days of the current month; the partition exists, created again here only if it was not
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        jdbcTemplate.queryForList("SELECT create_price_history_partitions(?, 0)", monthStart);
+        day1 = monthStart.atStartOfDay();
+        day2 = day1.plusDays(1);
+        day3 = day1.plusDays(2);
+    }
+
+    @Test
+    void shouldComputeOpenHighLowCloseAcrossBuckets() {
+        // Product price: three changes on day 1, one on day 2, one on day 3 (outside the range)
+        productChange("100", "120", day1.plusHours(10));
+        productChange("120", "90", day1.plusHours(12));
+        productChange("90", "110", day1.plusHours(15));
+        productChange("110", "130", day2.plusHours(9));
+        productChange("130", "150", day3.plusHours(9));
+
+        // Variant price: first price ever (no old price) on day 1; two changes at the same instant on day 2
+        variantChange(null, "50", day1.plusHours(8));
+        variantChange("50", "40", day1.plusHours(9));
+        variantChange("40", "45", day2.plusHours(11));
+        variantChange("45", "42", day2.plusHours(11));
+
+        List<PriceBucketRow> buckets = priceHistoryRepository.findPriceBuckets(productId, "day", day1, day3);
+
+        // Product buckets come first (variantId null), then per variant, each by bucket start
+        assertEquals(4, buckets.size());
+        assertBucket(buckets.get(0), null, day1, "100", "120", "90", "110", 3);
+        assertBucket(buckets.get(1), null, day2, "110", "130", "110", "130", 1);
+        // open falls back to the new price when there was no previous one
+        assertBucket(buckets.get(2), variantId, day1, "50", "50", "40", "40", 2);
+        // same changed_at: id decides, so 45 is an intermediate high and 42 the close
+        assertBucket(buckets.get(3), variantId, day2, "40", "45", "40", "42", 2);
+    }
+
+    @Test
+    void shouldReturnNoBucketsWithoutChangesInRange() {
+        productChange("100", "120", day3.plusHours(1));
+
+        assertEquals(List.of(), priceHistoryRepository.findPriceBuckets(productId, "day", day1, day3));
+    }
+
+    private void productChange(String oldPrice, String newPrice, LocalDateTime changedAt) {
+        jdbcTemplate.update(INSERT_CHANGE_SQL, productId, null, price(oldPrice), price(newPrice), Timestamp.valueOf(changedAt));
+    }
+
+    private void variantChange(String oldPrice, String newPrice, LocalDateTime changedAt) {
+        jdbcTemplate.update(INSERT_CHANGE_SQL, null, variantId, price(oldPrice), price(newPrice), Timestamp.valueOf(changedAt));
+    }
+
+    private static BigDecimal price(String value) {
+        return value != null ? new BigDecimal(value) : null;
+    }
+
+    private static void assertBucket(PriceBucketRow bucket, Long variantId, LocalDateTime bucketStart,
+            String open, String high, String low, String close, long changes) {
+        if (variantId == null) {
+            assertNull(bucket.getVariantId());
+        } else {
+            assertEquals(variantId, bucket.getVariantId());
+        }
+        assertEquals(bucketStart, bucket.getBucketStart());
+        assertEquals(0, new BigDecimal(open).compareTo(bucket.getOpenPrice()), "open");
+        assertEquals(0, new BigDecimal(high).compareTo(bucket.getHighPrice()), "high");
+        assertEquals(0, new BigDecimal(low).compareTo(bucket.getLowPrice()), "low");
+        assertEquals(0, new BigDecimal(close).compareTo(bucket.getClosePrice()), "close");
+        assertEquals(changes, bucket.getChanges());
+    }
+}
@@ -0,0 +1,134 @@
+package com.ecom.product_service.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.model.ProductPriceHistory;
+import com.ecom.product_service.support.CatalogFixtures;
+import com.ecom.product_service.support.PostgresTest;
+
+/**
+ * Monthly partitions of product_price_history (V16): the maintenance functions behind
+ * PriceHistoryPartitionManager, rows landing in their month, and history reads bounded on changed_at.
+ * Months are taken from the database clock, which V16 also used.
+ *
+ * Runs on PostgreSQL (declarative partitioning, plpgsql); every test is rolled back, DDL included.
+ */
+@PostgresTest
+class PriceHistoryPartitionTest {
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private ProductPriceHistoryRepository priceHistoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDate thisMonth;
+
+    @BeforeEach
+    void readClock() {
+        thisMonth = jdbcTemplate.queryForObject("SELECT date_trunc('month', NOW())::date", LocalDate.class);
+    }
+
+    // Maintenance
+    @Test
+    void shouldCreateOnlyMissingMonths() {
+        // V16 already created the months up to 3 ahead
+        assertEquals(List.of(partition(thisMonth.plusMonths(4)), partition(thisMonth.plusMonths(5))),
+                priceHistoryRepository.createPartitions(thisMonth, 5));
+        assertEquals(List.of(), priceHistoryRepository.createPartitions(thisMonth, 5));
+    }
+
+    @Test
+    void shouldArchiveMonthsPastRetention() {
+        LocalDate expired = thisMonth.minusMonths(30);
+        priceHistoryRepository.createPartitions(expired, 3);
+
+        List<String> detached = priceHistoryRepository.detachPartitionsBefore(expired.plusMonths(1), false);
+
+        assertTrue(detached.contains(partition(expired)));
+        assertFalse(isAttached(partition(expired)));
+        assertTrue(exists(partition(expired) + "_archived"));
+        assertTrue(isAttached(partition(expired.plusMonths(1))));
+    }
+
+    @Test
+    void shouldDropDetachedMonthsWhenAsked() {
+        LocalDate expired = thisMonth.minusMonths(30);
+        priceHistoryRepository.createPartitions(expired, 3);
+
+        priceHistoryRepository.detachPartitionsBefore(expired.plusMonths(1), true);
+
+        assertFalse(exists(partition(expired)));
+        assertFalse(exists(partition(expired) + "_archived"));
+    }
+
+    // Rows
+    @Test
+    void shouldStoreRowInPartitionOfItsMonth() {
+        Product product = fixtures.product("History routing");
+        insertHistory(product, thisMonth.atStartOfDay().plusDays(1));
+
+        assertEquals(partition(thisMonth), jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM product_price_history WHERE product_id = ?",
+                String.class, product.getId()));
+    }
+
+    @Test
+    void shouldRejectRowOutsideEveryPartition() {
+        Product product = fixtures.product("History too late");
+
+        // No DEFAULT partition: the month has to be created first
+        assertThrows(DataAccessException.class,
+                () -> insertHistory(product, thisMonth.plusYears(5).atStartOfDay()));
+    }
+
+    // Bounded reads
+    @Test
+    void shouldOnlyReadRowsInsideRange() {
+        Product product = fixtures.product("History range");
+        priceHistoryRepository.createPartitions(thisMonth.minusMonths(2), 3);
+        insertHistory(product, thisMonth.minusMonths(2).atStartOfDay().plusDays(3));
+        LocalDateTime recent = thisMonth.atStartOfDay().plusHours(6);
+        insertHistory(product, recent);
+
+        List<ProductPriceHistory> history = priceHistoryRepository.findAllByProductIdIncludingVariants(product.getId(),
+                thisMonth.minusMonths(1).atStartOfDay(), thisMonth.plusMonths(1).atStartOfDay());
+
+        assertEquals(List.of(recent), history.stream().map(ProductPriceHistory::getChangedAt).toList());
+    }
+
+    private void insertHistory(Product product, LocalDateTime changedAt) {
+        jdbcTemplate.update("INSERT INTO product_price_history (product_id, old_price, new_price, change_reason, "
+                + "changed_by, changed_at) VALUES (?, 100000, 90000, 'test', 'SYSTEM', ?)", product.getId(), changedAt);
+    }
+
+    private boolean isAttached(String partition) {
+        return jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = 'product_price_history'::regclass AND c.relname = ?)", Boolean.class, partition);
+    }
+
+    private boolean exists(String table) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+    }
+
+    private static String partition(LocalDate month) {
+        return String.format("product_price_history_p%04d_%02d", month.getYear(), month.getMonthValue());
+    }
+}
@@ -0,0 +1,95 @@
+package com.ecom.product_service.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecom.product_service.dto.ProductCursor;
+import com.ecom.product_service.dto.ProductListDTO;
+import com.ecom.product_service.model.Brand;
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.support.CatalogFixtures;
+import com.ecom.product_service.support.PostgresTest;
+
+/**
+ * ProductRepository.findProductsAfterCursor walked one row at a time: newest first, rows sharing
+ * a created_at ordered by id, and no row skipped or repeated across pages.
+ *
+ * Runs on PostgreSQL (V6 index); every test is rolled back.
+ */
+@PostgresTest
+class ProductKeysetPaginationTest {
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldWalkNewestFirstBreakingTiesById() {
+        Brand brand = new Brand();
+        brand.setName("Keysetbrand");
+        brand = brandRepository.saveAndFlush(brand);
+        LocalDateTime tied = LocalDateTime.of(2025, 6, 1, 12, 0);
+        Product older = product("Keyset older", brand, tied.minusDays(1));
+        Product tiedLow = product("Keyset tied", brand, tied);
+        Product tiedHigh = product("Keyset tied", brand, tied);
+
+        assertEquals(List.of(tiedHigh.getId(), tiedLow.getId(), older.getId()), walk(brand.getId()));
+    }
+
+    @Test
+    void shouldSkipDeletedProductsUnlessIncluded() {
+        Brand brand = new Brand();
+        brand.setName("Keysetbrand");
+        brand = brandRepository.saveAndFlush(brand);
+        Product kept = product("Keyset kept", brand, LocalDateTime.of(2025, 6, 1, 12, 0));
+        Product deleted = product("Keyset deleted", brand, LocalDateTime.of(2025, 6, 2, 12, 0));
+        jdbcTemplate.update("UPDATE products SET is_deleted = true WHERE id = ?", deleted.getId());
+
+        assertEquals(List.of(kept.getId()), walk(brand.getId()));
+        assertEquals(List.of(deleted.getId(), kept.getId()), ids(productRepository.findProductsAfterCursor(
+                null, null, brand.getId(), null, null, true,
+                ProductCursor.START.getCreatedAt(), ProductCursor.START.getId(), PageRequest.of(0, 10))));
+    }
+
+    private Product product(String label, Brand brand, LocalDateTime createdAt) {
+        Product product = fixtures.product(label);
+        product.setBrand(brand);
+        productRepository.saveAndFlush(product);
+        jdbcTemplate.update("UPDATE products SET created_at = ? WHERE id = ?", createdAt, product.getId());
+        return product;
+    }
+
+    // Pages of one row from START until a page comes back empty
+    private List<Long> walk(Long brandId) {
+        List<Long> seen = new ArrayList<>();
+        ProductCursor cursor = ProductCursor.START;
+        while (true) {
+            List<ProductListDTO> page = productRepository.findProductsAfterCursor(
+                    null, null, brandId, null, null, false, cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, 1));
+            if (page.isEmpty()) {
+                return seen;
+            }
+            seen.addAll(ids(page));
+            cursor = ProductCursor.of(page.get(0));
+        }
+    }
+
+    private static List<Long> ids(List<ProductListDTO> page) {
+        return page.stream().map(ProductListDTO::getId).toList();
+    }
+}
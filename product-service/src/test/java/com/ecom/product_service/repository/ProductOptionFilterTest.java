@@ -0,0 +1,123 @@
+package com.ecom.product_service.repository;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import com.ecom.product_service.dto.OptionFacetCount;
+import com.ecom.product_service.dto.ProductCursor;
+import com.ecom.product_service.model.Brand;
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.support.CatalogFixtures;
+import com.ecom.product_service.support.PostgresTest;
+
+/**
+ * Option filtering (option_values @> on active variants) and facet counts of ProductRepository,
+ * on products of one brand so seed data stays out of the counts.
+ *
+ * Runs on PostgreSQL (jsonb containment, V13 index); every test is rolled back.
+ */
+@PostgresTest
+class ProductOptionFilterTest {
+
+    private static final String RED = "{\"Color\":\"Red\"}";
+    private static final String RED_M = "{\"Color\":\"Red\",\"Size\":\"M\"}";
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private ProductVariantRepository variantRepository;
+
+    private Brand brand;
+    private String skuPrefix;
+    private Product redShirt;
+    private Product redLargeShirt;
+    private Product blueShirt;
+
+    @BeforeEach
+    void createCatalog() {
+        brand = new Brand();
+        brand.setName("Optionbrand");
+        brand = brandRepository.saveAndFlush(brand);
+        skuPrefix = CatalogFixtures.skuPrefix("OPT");
+
+        redShirt = product("Red shirt", "{\"Color\":\"Red\",\"Size\":\"M\"}", "{\"Color\":\"Red\",\"Size\":\"S\"}");
+        redLargeShirt = product("Red large shirt", "{\"Color\":\"Red\",\"Size\":\"L\"}");
+        blueShirt = product("Blue shirt", "{\"Color\":\"Blue\",\"Size\":\"M\"}");
+
+        // Only an inactive variant matches, so the product never does
+        Product retired = product("Retired shirt");
+        variantRepository.saveAndFlush(fixtures.variantBuilder(retired, skuPrefix + "RETIRED",
+                        CatalogFixtures.DEFAULT_PRICE, 5, RED_M)
+                .isActive(false)
+                .build());
+    }
+
+    // Filter
+    @Test
+    void shouldRequireOneActiveVariantContainingEveryOption() {
+        assertEquals(Set.of(redShirt.getId()), Set.copyOf(findIds(RED_M)));
+        assertEquals(Set.of(redShirt.getId(), redLargeShirt.getId()), Set.copyOf(findIds(RED)));
+        assertEquals(List.of(), findIds("{\"Color\":\"Blue\",\"Size\":\"L\"}"));
+        assertEquals(2, productRepository.countProductsByOptions(RED, null, null, brand.getId(), null, null, false));
+    }
+
+    @Test
+    void shouldApplyOptionFilterOnKeysetPath() {
+        List<Long> ids = productRepository.findProductIdsByOptionsAfterCursor(RED, null, null, brand.getId(),
+                null, null, false, ProductCursor.START.getCreatedAt(), ProductCursor.START.getId(), 10);
+
+        assertEquals(Set.of(redShirt.getId(), redLargeShirt.getId()), Set.copyOf(ids));
+    }
+
+    // Facets
+    @Test
+    void shouldCountProductsPerOptionValue() {
+        assertEquals(List.of("Color=Red:2", "Color=Blue:1", "Size=M:2", "Size=L:1", "Size=S:1"), facets(null));
+    }
+
+    @Test
+    void shouldCountFacetsWithinFilteredListing() {
+        assertEquals(List.of("Color=Red:2", "Size=L:1", "Size=M:1", "Size=S:1"), facets(RED));
+        assertEquals(List.of("Color=Blue:1", "Size=M:1"), facets("{\"Color\":\"Blue\"}"));
+    }
+
+    private Product product(String label, String... variantOptions) {
+        Product product = fixtures.product(label);
+        product.setBrand(brand);
+        productRepository.saveAndFlush(product);
+        for (int i = 0; i < variantOptions.length; i++) {
+            fixtures.variant(product, skuPrefix + product.getId() + "-" + i, CatalogFixtures.DEFAULT_PRICE, 5,
+                    variantOptions[i]);
+        }
+        return product;
+    }
+
+    private List<Long> findIds(String optionFilter) {
+        return productRepository.findProductIdsByOptions(optionFilter, null, null, brand.getId(), null, null, false,
+                PageRequest.of(0, 10));
+    }
+
+    private List<String> facets(String optionFilter) {
+        return productRepository.findOptionFacets(null, null, optionFilter, null, null, brand.getId(), null, null, false)
+                .stream()
+                .map(ProductOptionFilterTest::format)
+                .toList();
+    }
+
+    private static String format(OptionFacetCount facet) {
+        return facet.getOptionName() + "=" + facet.getOptionValue() + ":" + facet.getProductCount();
+    }
+}
@@ -0,0 +1,147 @@
+package com.ecom.product_service.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecom.product_service.dto.ProductCursor;
+import com.ecom.product_service.dto.ProductListDTO;
+import com.ecom.product_service.model.Brand;
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.model.ProductVariant;
+import com.ecom.product_service.support.CatalogFixtures;
+import com.ecom.product_service.support.PostgresTest;
+
+/**
+ * products.min_price / max_price as the V14 triggers keep them: the active variant range, else
+ * the product price, and the overlap filter built on them.
+ *
+ * Runs on PostgreSQL (plpgsql triggers on products and product_variant_stats); every test is rolled back.
+ */
+@PostgresTest
+class ProductPriceRangeTest {
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private ProductVariantRepository variantRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Triggers
+    @Test
+    void shouldUseProductPriceWithoutVariants() {
+        Product product = fixtures.product("Range plain", new BigDecimal("100000"));
+        assertRange(product, "100000", "100000");
+
+        jdbcTemplate.update("UPDATE products SET price = 120000 WHERE id = ?", product.getId());
+        assertRange(product, "120000", "120000");
+    }
+
+    @Test
+    void shouldFollowActiveVariantRange() {
+        Product product = fixtures.product("Range variants", new BigDecimal("100000"));
+        variant(product, "A", "80000", true);
+        ProductVariant top = variant(product, "B", "150000", true);
+        variant(product, "C", "10000", false);
+        assertRange(product, "80000", "150000");
+
+        jdbcTemplate.update("UPDATE product_variants SET price = 90000 WHERE id = ?", top.getId());
+        assertRange(product, "80000", "90000");
+
+        // The product price no longer matters while active variants exist
+        jdbcTemplate.update("UPDATE products SET price = 500000 WHERE id = ?", product.getId());
+        assertRange(product, "80000", "90000");
+    }
+
+    @Test
+    void shouldFallBackToProductPriceWhenNoVariantIsActive() {
+        Product product = fixtures.product("Range fallback", new BigDecimal("100000"));
+        ProductVariant variant = variant(product, "A", "80000", true);
+
+        jdbcTemplate.update("UPDATE product_variants SET is_active = false WHERE id = ?", variant.getId());
+
+        assertRange(product, "100000", "100000");
+    }
+
+    @Test
+    void shouldNotRewriteProductOnStockOnlyUpdate() {
+        Product product = fixtures.product("Range stock", new BigDecimal("100000"));
+        ProductVariant variant = variant(product, "A", "80000", true);
+        String before = productRowVersion(product);
+
+        jdbcTemplate.update("UPDATE product_variants SET stock_quantity = stock_quantity + 7 WHERE id = ?",
+                variant.getId());
+
+        assertEquals(before, productRowVersion(product));
+    }
+
+    // Filter
+    @Test
+    void shouldFilterOnRangeOverlap() {
+        Brand brand = new Brand();
+        brand.setName("Rangebrand");
+        brand = brandRepository.saveAndFlush(brand);
+        Product cheap = branded("Range cheap", "50000", brand);
+        Product spread = branded("Range spread", "100000", brand);
+        variant(spread, "A", "80000", true);
+        variant(spread, "B", "150000", true);
+        Product premium = branded("Range premium", "200000", brand);
+
+        assertEquals(List.of(spread.getId()), filter(brand, "100000", "180000"));
+        assertEquals(List.of(premium.getId(), spread.getId()), filter(brand, "150000", null));
+        assertEquals(List.of(spread.getId(), cheap.getId()), filter(brand, null, "80000"));
+    }
+
+    private Product branded(String label, String price, Brand brand) {
+        Product product = fixtures.product(label, new BigDecimal(price));
+        product.setBrand(brand);
+        return productRepository.saveAndFlush(product);
+    }
+
+    private ProductVariant variant(Product product, String suffix, String price, boolean active) {
+        return variantRepository.saveAndFlush(fixtures.variantBuilder(product,
+                        CatalogFixtures.skuPrefix("RANGE") + suffix, new BigDecimal(price), 5, "{}")
+                .isActive(active)
+                .build());
+    }
+
+    // Newest first, so the product created last comes first
+    private List<Long> filter(Brand brand, String minPrice, String maxPrice) {
+        return productRepository.findProductsAfterCursor(null, null, brand.getId(),
+                        minPrice == null ? null : new BigDecimal(minPrice),
+                        maxPrice == null ? null : new BigDecimal(maxPrice), false,
+                        ProductCursor.START.getCreatedAt(), ProductCursor.START.getId(), PageRequest.of(0, 10))
+                .stream()
+                .map(ProductListDTO::getId)
+                .toList();
+    }
+
+    // Reads the columns as the triggers left them, not the entity cached in this transaction
+    private void assertRange(Product product, String minPrice, String maxPrice) {
+        Map<String, Object> range = jdbcTemplate.queryForMap(
+                "SELECT min_price, max_price FROM products WHERE id = ?", product.getId());
+        assertEquals(0, new BigDecimal(minPrice).compareTo((BigDecimal) range.get("min_price")), range.toString());
+        assertEquals(0, new BigDecimal(maxPrice).compareTo((BigDecimal) range.get("max_price")), range.toString());
+    }
+
+    // Any UPDATE writes a new tuple version, so an unchanged ctid means the row was not touched
+    private String productRowVersion(Product product) {
+        return jdbcTemplate.queryForObject("SELECT ctid::text FROM products WHERE id = ?",
+                String.class, product.getId());
+    }
+}
@@ -0,0 +1,108 @@
+package com.ecom.product_service.repository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecom.product_service.model.Brand;
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.support.CatalogFixtures;
+import com.ecom.product_service.support.PostgresTest;
+import com.ecom.product_service.util.SearchQueryUtils;
+
+/**
+ * products.search_vector and search_name as the V4/V5 triggers maintain them: name outranks
+ * description, tokens match by prefix and without diacritics, small typos still match the name,
+ * and brand renames reach the products of that brand.
+ *
+ * Runs on PostgreSQL (tsvector, unaccent, pg_trgm, triggers); every test is rolled back.
+ */
+@PostgresTest
+class ProductSearchVectorTest {
+
+    // The match and rank of ProductRepository.searchProductIds, without the listing filters
+    private static final String SEARCH_SQL = """
+            SELECT p.id
+            FROM products p
+            WHERE (p.search_vector @@ to_tsquery('simple', ?) OR ? <% p.search_name)
+            ORDER BY ts_rank(p.search_vector, to_tsquery('simple', ?)) + word_similarity(?, p.search_name) DESC, p.id
+            """;
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldRankNameMatchAboveDescriptionMatch() {
+        Product inDescription = fixtures.product("Camera bag");
+        inDescription.setDescription("Fits a Zephyrcam body and two lenses");
+        productRepository.saveAndFlush(inDescription);
+        Product inName = fixtures.product("Zephyrcam");
+
+        assertEquals(List.of(inName.getId(), inDescription.getId()), search("zephyrcam"));
+    }
+
+    @Test
+    void shouldMatchEveryTokenByPrefix() {
+        Product product = fixtures.product("Zephyrcam Quartzline");
+        fixtures.product("Zephyrcam");
+
+        assertEquals(List.of(product.getId()), search("zeph quartz"));
+    }
+
+    @Test
+    void shouldMatchWithOrWithoutDiacritics() {
+        Product product = fixtures.product("Điện thoại Zephyrcam");
+
+        assertEquals(List.of(product.getId()), search("dien thoai zephyrcam"));
+        assertEquals(List.of(product.getId()), search("ĐIỆN THOẠI zephyrcam"));
+    }
+
+    @Test
+    void shouldMatchNameWithTypo() {
+        Product product = fixtures.product("Zephyrcam Quartzline");
+
+        assertEquals(List.of(product.getId()), search("zephyrcan"));
+    }
+
+    @Test
+    void shouldFoldLikeSearchFold() {
+        for (String input : List.of("Điện Thoại", "Áo THUN Nữ", "Crème Brûlée", "iPhone 15 Pro")) {
+            assertEquals(jdbcTemplate.queryForObject("SELECT search_fold(?)", String.class, input),
+                    SearchQueryUtils.foldAccents(input), input);
+        }
+    }
+
+    @Test
+    void shouldRefreshProductsWhenBrandIsRenamed() {
+        Brand brand = new Brand();
+        brand.setName("Oldvexbrand");
+        brand = brandRepository.saveAndFlush(brand);
+        Product product = fixtures.product("Travel tripod");
+        product.setBrand(brand);
+        productRepository.saveAndFlush(product);
+
+        brand.setName("Newvexbrand");
+        brandRepository.saveAndFlush(brand);
+
+        assertEquals(List.of(), search("oldvexbrand"));
+        assertEquals(List.of(product.getId()), search("newvexbrand"));
+    }
+
+    private List<Long> search(String input) {
+        String tsQuery = SearchQueryUtils.toPrefixTsQuery(input);
+        String fuzzyTerm = SearchQueryUtils.toFuzzyTerm(input);
+        return jdbcTemplate.queryForList(SEARCH_SQL, Long.class, tsQuery, fuzzyTerm, tsQuery, fuzzyTerm);
+    }
+}
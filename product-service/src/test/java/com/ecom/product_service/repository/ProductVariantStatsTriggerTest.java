@@ -0,0 +1,123 @@
+package com.ecom.product_service.repository;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.model.ProductVariant;
+import com.ecom.product_service.support.CatalogFixtures;
+import com.ecom.product_service.support.PostgresTest;
+
+/**
+ * product_variant_stats as trg_product_variant_stats (V9) maintains it: counts, the active price
+ * range and the default variant follow inserts, price changes and deletes, while stock-only
+ * writes leave the row alone.
+ *
+ * Runs on PostgreSQL (plpgsql trigger); every test is rolled back.
+ */
+@PostgresTest
+class ProductVariantStatsTriggerTest {
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private ProductVariantRepository variantRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+    private String skuPrefix;
+
+    @BeforeEach
+    void createProduct() {
+        skuPrefix = CatalogFixtures.skuPrefix("STATS");
+        product = fixtures.product("Stats product");
+    }
+
+    @Test
+    void shouldCountVariantsAndBoundActivePrices() {
+        ProductVariant cheap = variant("A", "100000", true, true);
+        variant("B", "300000", true, false);
+        variant("C", "900000", false, false);
+
+        Map<String, Object> stats = stats();
+        assertEquals(3, stats.get("total_variants"));
+        assertEquals(2, stats.get("active_variants"));
+        assertPrice("100000", stats.get("min_price"));
+        assertPrice("300000", stats.get("max_price"));
+        assertEquals(cheap.getId(), stats.get("default_variant_id"));
+    }
+
+    @Test
+    void shouldRecomputeBoundWhenItsRowChangesPrice() {
+        variant("A", "100000", true, false);
+        ProductVariant top = variant("B", "300000", true, false);
+
+        jdbcTemplate.update("UPDATE product_variants SET price = 150000 WHERE id = ?", top.getId());
+        assertPrice("150000", stats().get("max_price"));
+
+        jdbcTemplate.update("UPDATE product_variants SET price = 50000 WHERE id = ?", top.getId());
+        assertPrice("50000", stats().get("min_price"));
+        assertPrice("100000", stats().get("max_price"));
+    }
+
+    @Test
+    void shouldDropDeletedVariantAndItsDefaultFlag() {
+        ProductVariant kept = variant("A", "100000", true, false);
+        ProductVariant deleted = variant("B", "300000", true, true);
+
+        jdbcTemplate.update("UPDATE product_variants SET deleted_at = NOW(), is_active = false WHERE id = ?",
+                deleted.getId());
+
+        Map<String, Object> stats = stats();
+        assertEquals(1, stats.get("total_variants"));
+        assertEquals(1, stats.get("active_variants"));
+        assertPrice("100000", stats.get("max_price"));
+        assertNull(stats.get("default_variant_id"));
+
+        jdbcTemplate.update("UPDATE product_variants SET is_active = false WHERE id = ?", kept.getId());
+        assertNull(stats().get("min_price"));
+    }
+
+    @Test
+    void shouldNotRewriteStatsRowOnStockOnlyUpdate() {
+        ProductVariant variant = variant("A", "100000", true, false);
+        String before = statsRowVersion();
+
+        jdbcTemplate.update("UPDATE product_variants SET stock_quantity = stock_quantity + 7 WHERE id = ?",
+                variant.getId());
+
+        assertEquals(before, statsRowVersion());
+    }
+
+    private ProductVariant variant(String suffix, String price, boolean active, boolean isDefault) {
+        return variantRepository.saveAndFlush(fixtures.variantBuilder(product, skuPrefix + suffix,
+                        new BigDecimal(price), 5, "{}")
+                .isActive(active)
+                .isDefault(isDefault)
+                .build());
+    }
+
+    private Map<String, Object> stats() {
+        return jdbcTemplate.queryForMap("SELECT * FROM product_variant_stats WHERE product_id = ?", product.getId());
+    }
+
+    // Any UPDATE writes a new tuple version, so an unchanged ctid means the row was not touched
+    private String statsRowVersion() {
+        return jdbcTemplate.queryForObject("SELECT ctid::text FROM product_variant_stats WHERE product_id = ?",
+                String.class, product.getId());
+    }
+
+    private static void assertPrice(String expected, Object actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo((BigDecimal) actual), String.valueOf(actual));
+    }
+}
@@ -0,0 +1,192 @@
+package com.ecom.product_service.repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecom.product_service.dto.StockAdjustmentStatus;
+import com.ecom.product_service.inventory.LowStockAlertPublisher;
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.model.ProductVariant;
+import com.ecom.product_service.repository.ProductVariantBulkRepository.StockAdjustmentRow;
+import com.ecom.product_service.response.StockAdjustmentResult;
+import com.ecom.product_service.service.StockAdjustmentService;
+import com.ecom.product_service.service.impl.StockAdjustmentServiceImpl;
+import com.ecom.product_service.support.CatalogFixtures;
+import com.ecom.product_service.support.PostgresTest;
+import com.ecom.product_service.support.ServiceSliceConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Status matrix of the set-based warehouse stock statement (applyStockAdjustments) and the
+ * folding of repeated lines done before it by StockAdjustmentService.
+ *
+ * Runs on PostgreSQL (unnest over arrays, DISTINCT ON); every test is rolled back.
+ */
+@PostgresTest
+@Import({StockAdjustmentServiceImpl.class, LowStockAlertPublisher.class, ServiceSliceConfig.class})
+class StockAdjustmentSqlTest {
+
+    private static final long MISSING_VARIANT_ID = Long.MAX_VALUE;
+
+    @Autowired
+    private ProductVariantRepository variantRepository;
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private StockAdjustmentService stockAdjustmentService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+    private String skuPrefix;
+
+    @BeforeEach
+    void createProduct() {
+        skuPrefix = CatalogFixtures.skuPrefix("ADJ");
+        product = fixtures.product("Stock adjustment product");
+    }
+
+    // Status matrix
+    @Test
+    void shouldReportUpdatedForChangedStock() {
+        ProductVariant variant = variant("A", 10);
+
+        List<StockAdjustmentResult> results = variantRepository.applyStockAdjustments(List.of(
+                new StockAdjustmentRow(1, variant.getId(), null, 20, 0)));
+
+        assertResult(results.get(0), 1, StockAdjustmentStatus.UPDATED, 10, 20);
+        assertEquals(20, stockOf(variant));
+    }
+
+    @Test
+    void shouldReportUnchangedWhenStockStaysTheSame() {
+        ProductVariant absolute = variant("A", 7);
+        ProductVariant delta = variant("B", 3);
+
+        List<StockAdjustmentResult> results = variantRepository.applyStockAdjustments(List.of(
+                new StockAdjustmentRow(1, absolute.getId(), null, 7, 0),
+                new StockAdjustmentRow(2, null, delta.getSku(), null, 0)));
+
+        assertResult(results.get(0), 1, StockAdjustmentStatus.UNCHANGED, 7, 7);
+        assertResult(results.get(1), 2, StockAdjustmentStatus.UNCHANGED, 3, 3);
+    }
+
+    @Test
+    void shouldReportNotFoundForUnknownOrDeletedKeys() {
+        ProductVariant deleted = variant("A", 4);
+        deleted.softDelete();
+        variantRepository.saveAndFlush(deleted);
+
+        List<StockAdjustmentResult> results = variantRepository.applyStockAdjustments(List.of(
+                new StockAdjustmentRow(1, MISSING_VARIANT_ID, null, 5, 0),
+                new StockAdjustmentRow(2, null, skuPrefix + "MISSING", null, 1),
+                new StockAdjustmentRow(3, null, deleted.getSku(), 9, 0)));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(StockAdjustmentStatus.NOT_FOUND, results.get(i).getStatus());
+            assertNull(results.get(i).getVariantId());
+        }
+        assertEquals(4, stockOf(deleted));
+    }
+
+    @Test
+    void shouldReportNegativeStockAndLeaveRowUntouched() {
+        ProductVariant variant = variant("A", 2);
+
+        List<StockAdjustmentResult> results = variantRepository.applyStockAdjustments(List.of(
+                new StockAdjustmentRow(1, variant.getId(), null, null, -3)));
+
+        assertResult(results.get(0), 1, StockAdjustmentStatus.NEGATIVE_STOCK, 2, 2);
+        assertEquals(2, stockOf(variant));
+    }
+
+    @Test
+    void shouldApplyLastLineWhenVariantIsAddressedByIdAndSku() {
+        ProductVariant variant = variant("A", 7);
+
+        // Different keys for the service, same row for the statement: the later line wins
+        List<StockAdjustmentResult> results = variantRepository.applyStockAdjustments(List.of(
+                new StockAdjustmentRow(1, variant.getId(), null, 3, 0),
+                new StockAdjustmentRow(2, null, variant.getSku(), null, 1)));
+
+        assertEquals(StockAdjustmentStatus.DUPLICATE, results.get(0).getStatus());
+        assertResult(results.get(1), 2, StockAdjustmentStatus.UPDATED, 7, 8);
+        assertEquals(8, stockOf(variant));
+    }
+
+    @Test
+    void shouldReturnOneResultPerLineInLineOrder() {
+        ProductVariant first = variant("A", 1);
+        ProductVariant second = variant("B", 1);
+
+        List<StockAdjustmentResult> results = variantRepository.applyStockAdjustments(List.of(
+                new StockAdjustmentRow(3, second.getId(), null, 5, 0),
+                new StockAdjustmentRow(1, first.getId(), null, null, 2),
+                new StockAdjustmentRow(2, MISSING_VARIANT_ID, null, 1, 0)));
+
+        assertEquals(List.of(1, 2, 3), results.stream().map(StockAdjustmentResult::getLine).toList());
+    }
+
+    // Folding (service)
+    @Test
+    void shouldFoldRepeatedLinesForOneKey() throws Exception {
+        ProductVariant deltas = variant("A", 10);
+        ProductVariant reset = variant("B", 10);
+
+        List<StockAdjustmentResult> results = applyBatch(
+                "{\"sku\":\"" + deltas.getSku() + "\",\"delta\":2}\n"
+                + "{\"sku\":\"" + reset.getSku() + "\",\"delta\":5}\n"
+                + "{\"sku\":\"" + deltas.getSku() + "\",\"delta\":-5}\n"
+                + "{\"sku\":\"" + reset.getSku() + "\",\"stockQuantity\":1}\n"
+                + "{\"sku\":\"" + reset.getSku() + "\",\"delta\":2}\n");
+
+        // One result per key, reported at its last line: deltas add up, an absolute value resets them
+        assertEquals(2, results.size());
+        assertResult(results.get(0), 3, StockAdjustmentStatus.UPDATED, 10, 7);
+        assertResult(results.get(1), 5, StockAdjustmentStatus.UPDATED, 10, 3);
+        assertEquals(7, stockOf(deltas));
+        assertEquals(3, stockOf(reset));
+    }
+
+    private List<StockAdjustmentResult> applyBatch(String body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        stockAdjustmentService.applyBatch(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        return objectMapper.readerFor(StockAdjustmentResult.class)
+                .<StockAdjustmentResult>readValues(out.toByteArray())
+                .readAll();
+    }
+
+    private ProductVariant variant(String suffix, int stock) {
+        return fixtures.variant(product, skuPrefix + suffix, stock);
+    }
+
+    // Reads the row as the statement left it, not the entity cached in this transaction
+    private int stockOf(ProductVariant variant) {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM product_variants WHERE id = ?",
+                Integer.class, variant.getId());
+    }
+
+    private static void assertResult(StockAdjustmentResult result, int line, StockAdjustmentStatus status,
+            int previousStock, int stockQuantity) {
+        assertEquals(line, result.getLine());
+        assertEquals(status, result.getStatus());
+        assertEquals(previousStock, result.getPreviousStock());
+        assertEquals(stockQuantity, result.getStockQuantity());
+    }
+}
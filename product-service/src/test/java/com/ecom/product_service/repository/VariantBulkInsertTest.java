@@ -0,0 +1,90 @@
+package com.ecom.product_service.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.model.ProductVariant;
+import com.ecom.product_service.support.CatalogFixtures;
+import com.ecom.product_service.support.PostgresTest;
+
+/**
+ * The set-based half of createVariantsBulk (ProductVariantBulkRepository): ids reserved from the
+ * BIGSERIAL sequence in one call, rows written as one batch, and the single SKU lookup.
+ *
+ * Runs on PostgreSQL (sequence, jsonb); every test is rolled back.
+ */
+@PostgresTest
+class VariantBulkInsertTest {
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private ProductVariantRepository variantRepository;
+
+    private Product product;
+    private String skuPrefix;
+
+    @BeforeEach
+    void createProduct() {
+        skuPrefix = CatalogFixtures.skuPrefix("BULK");
+        product = fixtures.product("Bulk insert product");
+    }
+
+    @Test
+    void shouldAllocateDistinctIdsAheadOfIdentityInserts() {
+        List<Long> ids = variantRepository.allocateVariantIds(50);
+
+        assertEquals(50, new HashSet<>(ids).size());
+        ProductVariant next = fixtures.variant(product, skuPrefix + "NEXT", 1);
+        assertTrue(next.getId() > ids.stream().mapToLong(Long::longValue).max().orElseThrow());
+    }
+
+    @Test
+    void shouldInsertBatchWithPreallocatedIds() {
+        List<Long> ids = variantRepository.allocateVariantIds(3);
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductVariant> variants = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            ProductVariant variant = fixtures.variantBuilder(product, skuPrefix + i, new BigDecimal("150000"), 10 + i,
+                    "{\"Size\":\"" + (38 + i) + "\"}")
+                    .isDefault(i == 0)
+                    .displayOrder(i)
+                    .build();
+            variant.setId(ids.get(i));
+            variant.setCreatedAt(now);
+            variant.setUpdatedAt(now);
+            variants.add(variant);
+        }
+
+        variantRepository.insertAll(variants);
+
+        List<ProductVariant> stored = variantRepository.findByProductIdAndDeletedAtIsNullOrderByDisplayOrder(product.getId());
+        assertEquals(ids, stored.stream().map(ProductVariant::getId).toList());
+        assertEquals(List.of(10, 11, 12), stored.stream().map(ProductVariant::getStockQuantity).toList());
+        assertEquals(List.of(true, false, false), stored.stream().map(ProductVariant::getIsDefault).toList());
+        assertTrue(stored.get(1).getOptionValuesJson().contains("39"));
+    }
+
+    @Test
+    void shouldFindExistingSkusIgnoringDeletedVariants() {
+        fixtures.variant(product, skuPrefix + "LIVE", 1);
+        ProductVariant deleted = fixtures.variant(product, skuPrefix + "GONE", 1);
+        deleted.softDelete();
+        variantRepository.saveAndFlush(deleted);
+
+        assertEquals(List.of(skuPrefix + "LIVE"), variantRepository.findExistingSkus(
+                List.of(skuPrefix + "LIVE", skuPrefix + "GONE", skuPrefix + "NEW")));
+        assertEquals(List.of(), variantRepository.findExistingSkus(List.of()));
+    }
+}
@@ -0,0 +1,154 @@
+package com.ecom.product_service.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecom.product_service.inventory.LowStockAlertPublisher;
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.model.ProductVariant;
+import com.ecom.product_service.repository.ProductVariantRepository;
+import com.ecom.product_service.service.impl.HotStockServiceImpl;
+import com.ecom.product_service.support.CatalogFixtures;
+import com.ecom.product_service.support.PostgresTest;
+
+/**
+ * Hot-SKU mode against the lease statements of V11: a block of stock leased into memory, sales
+ * written back as one delta per flush, top-ups, hand-back on shutdown and reclaiming a lease
+ * that stopped being renewed.
+ *
+ * Runs on PostgreSQL (CTE lease statements); every test is rolled back.
+ */
+@PostgresTest
+@Import(LowStockAlertPublisher.class)
+class HotStockLeaseTest {
+
+    private static final String NODE_ID = "test-node";
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private ProductVariantRepository variantRepository;
+
+    @Autowired
+    private LowStockAlertPublisher lowStockAlertPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ProductVariant variant;
+
+    @BeforeEach
+    void createVariant() {
+        Product product = fixtures.product("Hot SKU product");
+        variant = fixtures.variant(product, CatalogFixtures.skuPrefix("HOT") + "1", 20);
+    }
+
+    // Lease
+    @Test
+    void shouldSellFromLeaseWithoutTouchingStock() {
+        HotStockServiceImpl hotStock = hotStock(8, 0, Duration.ofMinutes(2));
+
+        assertEquals(8, leasedQuantity());
+        assertEquals(HotStockService.TakeResult.TAKEN, hotStock.tryTake(variant.getId(), 3));
+        assertEquals(HotStockService.TakeResult.NOT_HOT, hotStock.tryTake(variant.getId(), 6));
+        assertEquals(20, stock());
+        assertEquals(12, variantRepository.findUnleasedStock(variant.getId()));
+    }
+
+    @Test
+    void shouldTreatUnlistedVariantAsNotHot() {
+        HotStockServiceImpl hotStock = hotStock(8, 0, Duration.ofMinutes(2));
+
+        assertEquals(HotStockService.TakeResult.NOT_HOT, hotStock.tryTake(-1L, 1));
+    }
+
+    // Write-behind
+    @Test
+    void shouldWriteBackSalesAsOneDeltaOnFlush() {
+        HotStockServiceImpl hotStock = hotStock(8, 0, Duration.ofMinutes(2));
+        hotStock.tryTake(variant.getId(), 2);
+        hotStock.tryTake(variant.getId(), 1);
+
+        hotStock.flushSales();
+
+        assertEquals(17, stock());
+        assertEquals(5, leasedQuantity());
+        assertEquals(5, leaseRowQuantity());
+    }
+
+    @Test
+    void shouldTopUpLeaseBelowRefillMark() {
+        HotStockServiceImpl hotStock = hotStock(8, 6, Duration.ofMinutes(2));
+        hotStock.tryTake(variant.getId(), 3);
+
+        hotStock.flushSales();
+
+        assertEquals(17, stock());
+        assertEquals(13, leasedQuantity());
+        assertEquals(HotStockService.TakeResult.TAKEN, hotStock.tryTake(variant.getId(), 13));
+    }
+
+    @Test
+    void shouldHandBackUnsoldUnitsOnRelease() {
+        HotStockServiceImpl hotStock = hotStock(8, 0, Duration.ofMinutes(2));
+        hotStock.tryTake(variant.getId(), 3);
+
+        hotStock.releaseLeases();
+
+        assertEquals(17, stock());
+        assertEquals(0, leasedQuantity());
+        assertEquals(0, leaseRows());
+        assertEquals(HotStockService.TakeResult.NOT_HOT, hotStock.tryTake(variant.getId(), 1));
+    }
+
+    // Crashed node
+    @Test
+    void shouldStopSellingOnceLeaseWasReclaimed() {
+        // A zero TTL expires at NOW(), the transaction's start time, so the lease is already due
+        HotStockServiceImpl hotStock = hotStock(8, 0, Duration.ZERO);
+
+        hotStock.reclaimExpiredLeases();
+        assertEquals(0, leasedQuantity());
+        assertEquals(0, leaseRows());
+
+        hotStock.flushSales();
+        assertEquals(HotStockService.TakeResult.NOT_HOT, hotStock.tryTake(variant.getId(), 1));
+        assertEquals(20, stock());
+    }
+
+    private HotStockServiceImpl hotStock(int leaseSize, int refillBelow, Duration leaseTtl) {
+        HotStockServiceImpl hotStock = new HotStockServiceImpl(variantRepository, lowStockAlertPublisher,
+                List.of(variant.getId()), leaseSize, refillBelow, 2, leaseTtl, NODE_ID);
+        hotStock.leaseHotSkus();
+        return hotStock;
+    }
+
+    private int stock() {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM product_variants WHERE id = ?",
+                Integer.class, variant.getId());
+    }
+
+    // Not mapped on ProductVariant (see V11)
+    private int leasedQuantity() {
+        return jdbcTemplate.queryForObject("SELECT leased_quantity FROM product_variants WHERE id = ?",
+                Integer.class, variant.getId());
+    }
+
+    private int leaseRowQuantity() {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM stock_leases WHERE variant_id = ? AND node_id = ?",
+                Integer.class, variant.getId(), NODE_ID);
+    }
+
+    private int leaseRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_leases WHERE variant_id = ?",
+                Integer.class, variant.getId());
+    }
+}
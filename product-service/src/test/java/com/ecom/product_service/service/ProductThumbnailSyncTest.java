@@ -0,0 +1,79 @@
+package com.ecom.product_service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecom.product_service.mapper.ProductImageMapperImpl;
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.model.ProductImage;
+import com.ecom.product_service.repository.ProductImageRepository;
+import com.ecom.product_service.service.impl.ProductImageServiceImpl;
+import com.ecom.product_service.support.CatalogFixtures;
+import com.ecom.product_service.support.PostgresTest;
+
+/**
+ * products.thumbnail_url as ProductImageServiceImpl keeps it: it follows a thumbnail switch and
+ * is cleared when the thumbnail image is deleted, within the image write's transaction.
+ *
+ * Runs on PostgreSQL (V7 column); every test is rolled back.
+ */
+@PostgresTest
+@Import({ProductImageServiceImpl.class, ProductImageMapperImpl.class})
+class ProductThumbnailSyncTest {
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private ProductImageService productImageService;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldFollowThumbnailSwitch() {
+        Product product = fixtures.product("Thumbnail switch");
+        ProductImage front = image(product, "/uploads/products/front.jpg", false);
+        ProductImage back = image(product, "/uploads/products/back.jpg", false);
+
+        productImageService.setThumbnail(product.getId(), front.getId());
+        assertEquals("/uploads/products/front.jpg", thumbnailUrl(product));
+
+        productImageService.setThumbnail(product.getId(), back.getId());
+        assertEquals("/uploads/products/back.jpg", thumbnailUrl(product));
+    }
+
+    @Test
+    void shouldClearWhenThumbnailImageIsDeleted() {
+        Product product = fixtures.product("Thumbnail delete");
+        ProductImage front = image(product, "/uploads/products/front.jpg", false);
+        ProductImage side = image(product, "/uploads/products/side.jpg", false);
+        productImageService.setThumbnail(product.getId(), front.getId());
+
+        productImageService.deleteImage(product.getId(), side.getId());
+        assertEquals("/uploads/products/front.jpg", thumbnailUrl(product));
+
+        productImageService.deleteImage(product.getId(), front.getId());
+        assertNull(thumbnailUrl(product));
+    }
+
+    private ProductImage image(Product product, String imageUrl, boolean thumbnail) {
+        ProductImage image = new ProductImage();
+        image.setProduct(product);
+        image.setImageUrl(imageUrl);
+        image.setIsThumbnail(thumbnail);
+        return productImageRepository.saveAndFlush(image);
+    }
+
+    private String thumbnailUrl(Product product) {
+        return jdbcTemplate.queryForObject(
+                "SELECT thumbnail_url FROM products WHERE id = ?", String.class, product.getId());
+    }
+}
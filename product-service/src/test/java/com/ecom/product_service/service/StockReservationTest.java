@@ -0,0 +1,195 @@
+package com.ecom.product_service.service;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecom.product_service.dto.StockReservationRequest;
+import com.ecom.product_service.exception.BadRequestException;
+import com.ecom.product_service.exception.ResourceNotFoundException;
+import com.ecom.product_service.inventory.LowStockAlertPublisher;
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.model.ProductVariant;
+import com.ecom.product_service.model.StockReservation;
+import com.ecom.product_service.model.StockReservationStatus;
+import com.ecom.product_service.repository.ProductVariantRepository;
+import com.ecom.product_service.repository.StockReservationRepository;
+import com.ecom.product_service.response.StockReservationResponse;
+import com.ecom.product_service.service.impl.HotStockServiceImpl;
+import com.ecom.product_service.service.impl.StockReservationServiceImpl;
+import com.ecom.product_service.support.CatalogFixtures;
+import com.ecom.product_service.support.PostgresTest;
+import com.ecom.product_service.support.ServiceSliceConfig;
+
+/**
+ * StockReservationService end to end on one variant: the conditional UPDATE at reserve time,
+ * commit, release and the sweeper's batch expiry, and who may close a hold.
+ *
+ * Runs on PostgreSQL (native CTE updates, FOR UPDATE SKIP LOCKED); every test is rolled back.
+ */
+@PostgresTest
+@Import({StockReservationServiceImpl.class, HotStockServiceImpl.class, LowStockAlertPublisher.class,
+        ServiceSliceConfig.class})
+class StockReservationTest {
+
+    private static final long BUYER_ID = 1L;
+    private static final long OTHER_USER_ID = 2L;
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private StockReservationService reservationService;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @Autowired
+    private ProductVariantRepository variantRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ProductVariant variant;
+
+    @BeforeEach
+    void createVariant() {
+        Product product = fixtures.product("Reservation product");
+        variant = fixtures.variant(product, CatalogFixtures.skuPrefix("HOLD") + "1", 10);
+    }
+
+    // Reserve
+    @Test
+    void shouldTakeStockAtReserveTime() {
+        StockReservationResponse reservation = reservationService.reserve(variant.getId(), request(3), BUYER_ID);
+
+        assertEquals(StockReservationStatus.RESERVED, reservation.getStatus());
+        assertTrue(reservation.getExpiresAt().isAfter(LocalDateTime.now()));
+        assertEquals(7, stock());
+    }
+
+    @Test
+    void shouldRejectMoreThanIsOnHand() {
+        reservationService.reserve(variant.getId(), request(8), BUYER_ID);
+
+        assertThrows(BadRequestException.class, () -> reservationService.reserve(variant.getId(), request(3), BUYER_ID));
+        assertEquals(2, stock());
+    }
+
+    @Test
+    void shouldOnlySellStockOutsideHotSkuLeases() {
+        variantRepository.leaseStock(variant.getId(), "other-node", 8, 120);
+
+        assertThrows(BadRequestException.class, () -> reservationService.reserve(variant.getId(), request(3), BUYER_ID));
+        reservationService.reserve(variant.getId(), request(2), BUYER_ID);
+        assertEquals(8, stock());
+    }
+
+    @Test
+    void shouldTellUnknownAndInactiveVariantsApart() {
+        assertThrows(ResourceNotFoundException.class, () -> reservationService.reserve(-1L, request(1), BUYER_ID));
+
+        variant.setIsActive(false);
+        variantRepository.saveAndFlush(variant);
+        assertThrows(BadRequestException.class, () -> reservationService.reserve(variant.getId(), request(1), BUYER_ID));
+    }
+
+    @Test
+    void shouldRejectTtlAboveMaximum() {
+        StockReservationRequest request = request(1);
+        request.setTtlSeconds(Long.valueOf(24 * 3600));
+
+        assertThrows(BadRequestException.class, () -> reservationService.reserve(variant.getId(), request, BUYER_ID));
+        assertEquals(10, stock());
+    }
+
+    // Commit / release
+    @Test
+    void shouldCommitWithoutReturningStock() {
+        Long id = reservationService.reserve(variant.getId(), request(3), BUYER_ID).getId();
+
+        StockReservationResponse committed = reservationService.commit(id, BUYER_ID, false);
+
+        assertEquals(StockReservationStatus.COMMITTED, committed.getStatus());
+        assertEquals(7, stock());
+        assertThrows(BadRequestException.class, () -> reservationService.release(id, BUYER_ID, false));
+    }
+
+    @Test
+    void shouldReturnStockOnRelease() {
+        Long id = reservationService.reserve(variant.getId(), request(3), BUYER_ID).getId();
+
+        StockReservationResponse released = reservationService.release(id, BUYER_ID, false);
+
+        assertEquals(StockReservationStatus.RELEASED, released.getStatus());
+        assertEquals(10, stock());
+        assertThrows(BadRequestException.class, () -> reservationService.release(id, BUYER_ID, false));
+    }
+
+    @Test
+    void shouldHideOtherUsersHoldsButNotFromAdmins() {
+        Long id = reservationService.reserve(variant.getId(), request(3), BUYER_ID).getId();
+
+        assertThrows(ResourceNotFoundException.class, () -> reservationService.release(id, OTHER_USER_ID, false));
+        assertEquals(StockReservationStatus.RELEASED, reservationService.release(id, OTHER_USER_ID, true).getStatus());
+    }
+
+    // Expiry
+    @Test
+    void shouldExpireOverdueHoldsAndRestock() {
+        Long overdue = overdueHold(2);
+        Long alsoOverdue = overdueHold(3);
+        Long open = reservationService.reserve(variant.getId(), request(1), BUYER_ID).getId();
+
+        assertTrue(reservationService.expireOverdueReservations(500) >= 2);
+
+        assertEquals("EXPIRED", status(overdue));
+        assertEquals("EXPIRED", status(alsoOverdue));
+        assertEquals("RESERVED", status(open));
+        assertEquals(9, stock());
+        assertThrows(BadRequestException.class, () -> reservationService.commit(overdue, BUYER_ID, false));
+    }
+
+    @Test
+    void shouldNotCommitHoldPastItsExpiry() {
+        Long overdue = overdueHold(2);
+
+        assertThrows(BadRequestException.class, () -> reservationService.commit(overdue, BUYER_ID, false));
+        assertEquals("RESERVED", status(overdue));
+    }
+
+    // A hold whose TTL ran out before the sweeper came by, with its stock already taken from the variant
+    private Long overdueHold(int quantity) {
+        jdbcTemplate.update("UPDATE product_variants SET stock_quantity = stock_quantity - ? WHERE id = ?",
+                quantity, variant.getId());
+        return reservationRepository.saveAndFlush(StockReservation.builder()
+                .variant(variantRepository.getReferenceById(variant.getId()))
+                .userId(BUYER_ID)
+                .quantity(quantity)
+                .expiresAt(LocalDateTime.now().minusMinutes(1))
+                .build()).getId();
+    }
+
+    private static StockReservationRequest request(int quantity) {
+        StockReservationRequest request = new StockReservationRequest();
+        request.setQuantity(quantity);
+        return request;
+    }
+
+    private int stock() {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM product_variants WHERE id = ?",
+                Integer.class, variant.getId());
+    }
+
+    private String status(Long reservationId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM stock_reservations WHERE id = ?",
+                String.class, reservationId);
+    }
+}
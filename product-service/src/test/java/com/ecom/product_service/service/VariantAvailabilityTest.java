@@ -0,0 +1,138 @@
+package com.ecom.product_service.service;
+
+import java.math.BigDecimal;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecom.product_service.cache.PriceSeriesCache;
+import com.ecom.product_service.cache.VariantAvailabilityCache;
+import com.ecom.product_service.cache.VariantOptionSchemaCache;
+import com.ecom.product_service.dto.GenerateVariantsRequest;
+import com.ecom.product_service.exception.ResourceNotFoundException;
+import com.ecom.product_service.mapper.ProductPriceHistoryMapperImpl;
+import com.ecom.product_service.mapper.ProductVariantMapperImpl;
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.model.ProductVariantOption;
+import com.ecom.product_service.repository.ProductVariantOptionRepository;
+import com.ecom.product_service.response.ProductVariantOptionResponse;
+import com.ecom.product_service.response.VariantAvailabilityResponse;
+import com.ecom.product_service.service.impl.ProductPriceHistoryServiceImpl;
+import com.ecom.product_service.service.impl.ProductVariantServiceImpl;
+import com.ecom.product_service.support.CatalogFixtures;
+import com.ecom.product_service.support.PostgresTest;
+import com.ecom.product_service.support.ServiceSliceConfig;
+
+/**
+ * ProductVariantService.getVariantAvailability on Color[Red, Blue] x Size[S, M, L], where
+ * combination i is Red/S = 0, Red/M = 1, ... Blue/L = 5: the three bitsets, deleted variants
+ * leaving their combination empty, and the cached matrix following the variants version.
+ *
+ * Runs on PostgreSQL (jsonb projection, variants version); every test is rolled back.
+ */
+@PostgresTest
+@Import({ProductVariantServiceImpl.class, ProductVariantMapperImpl.class, ProductPriceHistoryServiceImpl.class,
+        ProductPriceHistoryMapperImpl.class, PriceSeriesCache.class, VariantAvailabilityCache.class,
+        VariantOptionSchemaCache.class, ServiceSliceConfig.class})
+class VariantAvailabilityTest {
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private ProductVariantService variantService;
+
+    @Autowired
+    private ProductVariantOptionRepository optionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+
+    @BeforeEach
+    void createMatrix() {
+        product = fixtures.product("Availability tee", new BigDecimal("100000"));
+        option("Color", 0, "Red", "Blue");
+        option("Size", 1, "S", "M", "L");
+
+        GenerateVariantsRequest request = new GenerateVariantsRequest();
+        request.setStockQuantity(10);
+        variantService.generateVariants(product.getId(), request);
+    }
+
+    @Test
+    void shouldSetOneBitPerCombinationAndState() {
+        setStock("Red", "S", 3);
+        setStock("Blue", "M", 0);
+        jdbcTemplate.update("UPDATE product_variants SET is_active = false WHERE sku = ?", sku("Red", "L"));
+        jdbcTemplate.update("UPDATE product_variants SET deleted_at = NOW() WHERE sku = ?", sku("Blue", "L"));
+
+        VariantAvailabilityResponse availability = variantService.getVariantAvailability(product.getId());
+
+        assertEquals(6, availability.getCombinations());
+        assertEquals(List.of("Color", "Size"), availability.getAxes().stream()
+                .map(ProductVariantOptionResponse::getOptionName)
+                .toList());
+        assertEquals(bits(0, 1, 3, 4), decode(availability.getActive()));
+        assertEquals(bits(0, 1, 2, 3), decode(availability.getInStock()));
+        assertEquals(bits(0, 4), decode(availability.getLowStock()));
+    }
+
+    @Test
+    void shouldServeCachedMatrixUntilVariantsVersionMoves() {
+        variantService.getVariantAvailability(product.getId());
+
+        // Stock written without touching updated_at is not seen...
+        jdbcTemplate.update("UPDATE product_variants SET stock_quantity = 0 WHERE product_id = ?", product.getId());
+        assertEquals(bits(0, 1, 2, 3, 4, 5), decode(variantService.getVariantAvailability(product.getId()).getInStock()));
+
+        // ...until a write moves the version, as reservations and batch adjustments do
+        jdbcTemplate.update("UPDATE product_variants SET updated_at = updated_at + INTERVAL '1 minute' "
+                + "WHERE product_id = ?", product.getId());
+        assertEquals(bits(), decode(variantService.getVariantAvailability(product.getId()).getInStock()));
+    }
+
+    @Test
+    void shouldRejectUnknownProduct() {
+        assertThrows(ResourceNotFoundException.class, () -> variantService.getVariantAvailability(-1L));
+    }
+
+    private void option(String name, int displayOrder, String... values) {
+        optionRepository.saveAndFlush(ProductVariantOption.builder()
+                .product(product)
+                .optionName(name)
+                .optionValues(values)
+                .displayOrder(displayOrder)
+                .build());
+    }
+
+    private void setStock(String color, String size, int stock) {
+        jdbcTemplate.update("UPDATE product_variants SET stock_quantity = ? WHERE sku = ?", stock, sku(color, size));
+    }
+
+    // Default template {SLUG}-{VALUES}
+    private String sku(String color, String size) {
+        return (product.getSlug() + "-" + color + "-" + size).toUpperCase();
+    }
+
+    private static BitSet decode(String base64) {
+        return BitSet.valueOf(Base64.getDecoder().decode(base64));
+    }
+
+    private static BitSet bits(int... indexes) {
+        BitSet bits = new BitSet();
+        for (int index : indexes) {
+            bits.set(index);
+        }
+        return bits;
+    }
+}
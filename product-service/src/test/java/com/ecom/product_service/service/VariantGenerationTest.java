@@ -0,0 +1,182 @@
+package com.ecom.product_service.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import com.ecom.product_service.cache.PriceSeriesCache;
+import com.ecom.product_service.cache.VariantAvailabilityCache;
+import com.ecom.product_service.cache.VariantOptionSchemaCache;
+import com.ecom.product_service.dto.GenerateVariantsRequest;
+import com.ecom.product_service.dto.ProductVariantRequest;
+import com.ecom.product_service.exception.BadRequestException;
+import com.ecom.product_service.exception.ResourceNotFoundException;
+import com.ecom.product_service.mapper.ProductPriceHistoryMapperImpl;
+import com.ecom.product_service.mapper.ProductVariantMapperImpl;
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.model.ProductVariant;
+import com.ecom.product_service.model.ProductVariantOption;
+import com.ecom.product_service.repository.ProductVariantOptionRepository;
+import com.ecom.product_service.repository.ProductVariantRepository;
+import com.ecom.product_service.response.GenerateVariantsResponse;
+import com.ecom.product_service.response.ProductVariantResponse;
+import com.ecom.product_service.service.impl.ProductPriceHistoryServiceImpl;
+import com.ecom.product_service.service.impl.ProductVariantServiceImpl;
+import com.ecom.product_service.support.CatalogFixtures;
+import com.ecom.product_service.support.PostgresTest;
+import com.ecom.product_service.support.ServiceSliceConfig;
+
+/**
+ * ProductVariantService.generateVariants on a 2 x 3 option matrix: SKUs from the template,
+ * per-value price adjustments, odometer order, and combinations that already have a variant.
+ * Also resolving a variant by its option combination (option_hash).
+ *
+ * Runs on PostgreSQL (TEXT[] options, sequence ids, JDBC batch); every test is rolled back.
+ */
+@PostgresTest
+@Import({ProductVariantServiceImpl.class, ProductVariantMapperImpl.class, ProductPriceHistoryServiceImpl.class,
+        ProductPriceHistoryMapperImpl.class, PriceSeriesCache.class, VariantAvailabilityCache.class,
+        VariantOptionSchemaCache.class, ServiceSliceConfig.class})
+class VariantGenerationTest {
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private ProductVariantService variantService;
+
+    @Autowired
+    private ProductVariantRepository variantRepository;
+
+    @Autowired
+    private ProductVariantOptionRepository optionRepository;
+
+    private Product product;
+
+    @BeforeEach
+    void createProduct() {
+        product = fixtures.product("Matrix tee", new BigDecimal("100000"));
+        option("Color", 0, "Red", "Blue");
+        option("Size", 1, "S", "M", "L");
+    }
+
+    @Test
+    void shouldCreateOneVariantPerCombinationInOptionOrder() {
+        GenerateVariantsRequest request = new GenerateVariantsRequest();
+        request.setStockQuantity(4);
+        request.setPriceAdjustments(Map.of("Size", Map.of("L", new BigDecimal("20000"))));
+
+        GenerateVariantsResponse response = variantService.generateVariants(product.getId(), request);
+
+        assertEquals(6, response.getTotalCombinations());
+        assertEquals(6, response.getCreated());
+        assertEquals(0, response.getSkippedExisting());
+
+        List<ProductVariant> variants = variants();
+        String slug = product.getSlug().toUpperCase();
+        assertEquals(List.of(slug + "-RED-S", slug + "-RED-M", slug + "-RED-L",
+                slug + "-BLUE-S", slug + "-BLUE-M", slug + "-BLUE-L"),
+                variants.stream().map(ProductVariant::getSku).toList());
+        assertEquals(0, new BigDecimal("120000").compareTo(variants.get(2).getPrice()));
+        assertEquals(0, new BigDecimal("100000").compareTo(variants.get(3).getPrice()));
+        assertTrue(variants.stream().allMatch(variant -> variant.getStockQuantity() == 4));
+        assertEquals(List.of(true, false, false, false, false, false),
+                variants.stream().map(ProductVariant::getIsDefault).toList());
+    }
+
+    @Test
+    void shouldApplySkuTemplatePlaceholders() {
+        GenerateVariantsRequest request = new GenerateVariantsRequest();
+        request.setSkuTemplate("TEE-{ID}-{Size}-{Color}");
+
+        variantService.generateVariants(product.getId(), request);
+
+        assertEquals("TEE-" + product.getId() + "-S-RED", variants().get(0).getSku());
+    }
+
+    @Test
+    void shouldSkipCombinationsThatAlreadyExist() {
+        existingVariant(Map.of("Color", "Blue", "Size", "M"));
+
+        GenerateVariantsResponse response = variantService.generateVariants(product.getId(), new GenerateVariantsRequest());
+
+        assertEquals(5, response.getCreated());
+        assertEquals(1, response.getSkippedExisting());
+        assertEquals(6, variants().size());
+    }
+
+    @Test
+    void shouldRejectExistingCombinationWhenNotSkipping() {
+        existingVariant(Map.of("Color", "Red", "Size", "S"));
+        GenerateVariantsRequest request = new GenerateVariantsRequest();
+        request.setSkipExisting(false);
+
+        assertThrows(BadRequestException.class, () -> variantService.generateVariants(product.getId(), request));
+    }
+
+    @Test
+    void shouldRejectProductWithoutOptions() {
+        Product bare = fixtures.product("Bare product");
+
+        assertThrows(BadRequestException.class,
+                () -> variantService.generateVariants(bare.getId(), new GenerateVariantsRequest()));
+    }
+
+    // Option combinations
+    @Test
+    void shouldResolveVariantBySelectionInAnyKeyOrder() {
+        variantService.generateVariants(product.getId(), new GenerateVariantsRequest());
+
+        ProductVariantResponse resolved = variantService.resolveVariant(product.getId(),
+                Map.of("Size", "M", "Color", "Blue"));
+
+        assertEquals(product.getSlug().toUpperCase() + "-BLUE-M", resolved.getSku());
+    }
+
+    @Test
+    void shouldTellMissingCombinationFromInvalidSelection() {
+        existingVariant(Map.of("Color", "Red", "Size", "S"));
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> variantService.resolveVariant(product.getId(), Map.of("Color", "Blue", "Size", "S")));
+        assertThrows(BadRequestException.class,
+                () -> variantService.resolveVariant(product.getId(), Map.of("Color", "Red")));
+    }
+
+    @Test
+    void shouldRejectSecondVariantForSameCombination() {
+        existingVariant(Map.of("Color", "Red", "Size", "S"));
+
+        assertThrows(BadRequestException.class, () -> existingVariant(Map.of("Size", "S", "Color", "Red")));
+    }
+
+    private void option(String name, int displayOrder, String... values) {
+        optionRepository.saveAndFlush(ProductVariantOption.builder()
+                .product(product)
+                .optionName(name)
+                .optionValues(values)
+                .displayOrder(displayOrder)
+                .build());
+    }
+
+    private void existingVariant(Map<String, String> optionValues) {
+        ProductVariantRequest request = new ProductVariantRequest();
+        request.setSku(CatalogFixtures.skuPrefix("EXISTING").toUpperCase() + "1");
+        request.setPrice(new BigDecimal("100000"));
+        request.setStockQuantity(1);
+        request.setOptionValues(optionValues);
+        variantService.createVariant(product.getId(), request);
+    }
+
+    private List<ProductVariant> variants() {
+        return variantRepository.findByProductIdAndDeletedAtIsNullOrderByDisplayOrder(product.getId());
+    }
+}
@@ -0,0 +1,67 @@
+package com.ecom.product_service.support;
+
+import java.math.BigDecimal;
+
+import org.springframework.boot.test.context.TestComponent;
+
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.model.ProductVariant;
+import com.ecom.product_service.repository.ProductRepository;
+import com.ecom.product_service.repository.ProductStatusRepository;
+import com.ecom.product_service.repository.ProductVariantRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Products and variants for database tests and benchmarks. Names, slugs and SKUs get a
+ * nanoTime suffix so rows never collide with seed data or earlier (committed) runs.
+ */
+@TestComponent
+@RequiredArgsConstructor
+public class CatalogFixtures {
+
+    public static final BigDecimal DEFAULT_PRICE = new BigDecimal("99000");
+
+    private final ProductRepository productRepository;
+    private final ProductStatusRepository productStatusRepository;
+    private final ProductVariantRepository variantRepository;
+
+    public Product product(String label) {
+        return product(label, DEFAULT_PRICE);
+    }
+
+    public Product product(String label, BigDecimal price) {
+        String suffix = String.valueOf(System.nanoTime());
+        Product product = new Product();
+        product.setName(label + " " + suffix);
+        product.setSlug(label.toLowerCase().replace(' ', '-') + "-" + suffix);
+        product.setPrice(price);
+        product.setStatus(productStatusRepository.findAll().get(0));
+        return productRepository.saveAndFlush(product);
+    }
+
+    public ProductVariant variant(Product product, String sku, int stock) {
+        return variant(product, sku, DEFAULT_PRICE, stock, "{}");
+    }
+
+    public ProductVariant variant(Product product, String sku, BigDecimal price, int stock, String optionValuesJson) {
+        return variantRepository.saveAndFlush(variantBuilder(product, sku, price, stock, optionValuesJson).build());
+    }
+
+    // For variants that need more fields than variant(...) sets; the caller saves the result
+    public ProductVariant.ProductVariantBuilder variantBuilder(Product product, String sku, BigDecimal price,
+            int stock, String optionValuesJson) {
+        return ProductVariant.builder()
+                .product(product)
+                .sku(sku)
+                .price(price)
+                .stockQuantity(stock)
+                .optionValuesJson(optionValuesJson)
+                .isDefault(false);
+    }
+
+    // Unique SKU prefix for one test
+    public static String skuPrefix(String label) {
+        return label + "-" + System.nanoTime() + "-";
+    }
+}
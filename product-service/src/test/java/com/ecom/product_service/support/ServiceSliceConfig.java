@@ -0,0 +1,26 @@
+package com.ecom.product_service.support;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import com.ecom.product_service.config.WebConfig;
+import com.ecom.product_service.service.MessageService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Beans that services under test need but the JPA slice does not load: the application's
+ * ObjectMapper and MessageSource (WebConfig), MessageService, and a meter registry for the
+ * Caffeine caches. Import it next to the service.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+@Import({WebConfig.class, MessageService.class})
+public class ServiceSliceConfig {
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}
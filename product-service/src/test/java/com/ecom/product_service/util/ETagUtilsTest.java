@@ -0,0 +1,95 @@
+package com.ecom.product_service.util;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.ecom.product_service.dto.ResourceVersion;
+
+class ETagUtilsTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    // Conditional GET
+    @Test
+    void shouldReturnBodyWithValidatorsWhenRequestHasNoValidators() {
+        AtomicInteger loads = new AtomicInteger();
+
+        ResponseEntity<String> response = ETagUtils.conditionalGet(request(null), version(UPDATED_AT, 1L),
+                () -> "body" + loads.incrementAndGet(), 7L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("body1", response.getBody());
+        assertEquals(ETagUtils.strongETag(UPDATED_AT, 1L, 7L), response.getHeaders().getETag());
+        assertEquals(ETagUtils.toEpochMillis(UPDATED_AT), response.getHeaders().getLastModified());
+    }
+
+    @Test
+    void shouldSkipLoaderWhenETagMatches() {
+        AtomicInteger loads = new AtomicInteger();
+        ServletWebRequest webRequest = request(ETagUtils.strongETag(UPDATED_AT, 1L, 7L));
+
+        ResponseEntity<String> response = ETagUtils.conditionalGet(webRequest, version(UPDATED_AT, 1L),
+                () -> "body" + loads.incrementAndGet(), 7L);
+
+        assertNull(response);
+        assertEquals(0, loads.get());
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), webRequest.getResponse().getStatus());
+    }
+
+    @Test
+    void shouldLoadWhenVersionChanged() {
+        ServletWebRequest webRequest = request(ETagUtils.strongETag(UPDATED_AT, 1L, 7L));
+
+        ResponseEntity<String> response = ETagUtils.conditionalGet(webRequest, version(UPDATED_AT.plusSeconds(1), 1L),
+                () -> "body", 7L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void shouldSkipValidatorsWhenVersionMissing() {
+        ResponseEntity<String> response = ETagUtils.conditionalGet(request("\"anything\""), null, () -> "body", 7L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getHeaders().getETag());
+    }
+
+    // ETag
+    @Test
+    void shouldChangeETagWhenKeyPartsChange() {
+        assertNotEquals(ETagUtils.strongETag(UPDATED_AT, 1L, 7L), ETagUtils.strongETag(UPDATED_AT, 1L, 8L));
+        assertEquals(ETagUtils.strongETag(UPDATED_AT, 1L, 7L), ETagUtils.strongETag(UPDATED_AT, 1L, 7L));
+    }
+
+    private ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/brands/7");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private ResourceVersion version(LocalDateTime lastModified, Long itemCount) {
+        return new ResourceVersion() {
+            @Override
+            public LocalDateTime getLastModified() {
+                return lastModified;
+            }
+
+            @Override
+            public Long getItemCount() {
+                return itemCount;
+            }
+        };
+    }
+}
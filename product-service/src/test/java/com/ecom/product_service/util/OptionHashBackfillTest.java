@@ -0,0 +1,98 @@
+package com.ecom.product_service.util;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecom.product_service.model.Product;
+import com.ecom.product_service.model.ProductVariant;
+import com.ecom.product_service.model.ProductVariantOption;
+import com.ecom.product_service.repository.ProductVariantOptionRepository;
+import com.ecom.product_service.support.CatalogFixtures;
+import com.ecom.product_service.support.PostgresTest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * OptionHashUtils must hash exactly like the V15 backfill, or variants created before and after
+ * the migration would not collide on uq_product_variants_option_hash. Runs the backfill's
+ * aggregate on real rows and compares it with the Java hash of every variant.
+ *
+ * Runs on PostgreSQL (md5, string_agg over jsonb); every test is rolled back.
+ */
+@PostgresTest
+class OptionHashBackfillTest {
+
+    // The V15 backfill subquery, restricted to one product
+    private static final String BACKFILL_HASH_SQL = """
+            SELECT pv.id,
+                   md5(string_agg(pv.option_values ->> o.option_name, E'\\x1F'
+                                  ORDER BY o.display_order, o.id)) AS option_hash
+            FROM product_variants pv
+            JOIN product_variant_options o ON o.product_id = pv.product_id
+            WHERE pv.product_id = ?
+            GROUP BY pv.id
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private ProductVariantOptionRepository variantOptionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldMatchBackfillForEveryVariant() throws Exception {
+        Product product = fixtures.product("Option hash product");
+
+        // Color and Material tie on display_order (id decides), Size comes first
+        List<ProductVariantOption> options = List.of(
+                option(product, "Color", 1),
+                option(product, "Size", 0),
+                option(product, "Material", 1));
+
+        // Key order, missing values, diacritics and an empty value
+        List<String> combinations = List.of(
+                "{\"Color\": \"Red\", \"Size\": \"M\", \"Material\": \"Cotton\"}",
+                "{\"Material\": \"Cotton\", \"Size\": \"M\", \"Color\": \"Red\"}",
+                "{\"Size\": \"L\", \"Color\": \"Blue\"}",
+                "{\"Color\": \"Đỏ\", \"Size\": \"XL\", \"Material\": \"Lụa\"}",
+                "{\"Color\": \"\", \"Size\": \"S\"}",
+                "{\"Color\": \"Green\", \"Fit\": \"Slim\"}",
+                "{}");
+        Map<Long, Map<String, String>> valuesById = new HashMap<>();
+        for (int i = 0; i < combinations.size(); i++) {
+            ProductVariant variant = fixtures.variant(product, "HASH-" + product.getId() + "-" + i,
+                    CatalogFixtures.DEFAULT_PRICE, 1, combinations.get(i));
+            valuesById.put(variant.getId(),
+                    objectMapper.readValue(combinations.get(i), new TypeReference<Map<String, String>>() {}));
+        }
+
+        Map<Long, String> backfill = new HashMap<>();
+        jdbcTemplate.query(BACKFILL_HASH_SQL,
+                rs -> { backfill.put(rs.getLong("id"), rs.getString("option_hash")); },
+                product.getId());
+
+        assertEquals(valuesById.keySet(), backfill.keySet());
+        valuesById.forEach((id, values) ->
+                assertEquals(backfill.get(id), OptionHashUtils.hash(values, options), "variant " + values));
+    }
+
+    private ProductVariantOption option(Product product, String name, int displayOrder) {
+        return variantOptionRepository.saveAndFlush(ProductVariantOption.builder()
+                .product(product)
+                .optionName(name)
+                .optionValues(new String[]{"any"})
+                .displayOrder(displayOrder)
+                .build());
+    }
+}
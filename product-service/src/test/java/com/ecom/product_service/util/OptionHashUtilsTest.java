@@ -0,0 +1,83 @@
+package com.ecom.product_service.util;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+import com.ecom.product_service.model.ProductVariantOption;
+
+/**
+ * Expected values are md5(string_agg(value, E'\x1F' ORDER BY display_order, id)) as computed by
+ * the V15 backfill; OptionHashBackfillTest checks the same against the SQL itself.
+ */
+class OptionHashUtilsTest {
+
+    private static final String RED_M = "a8d47140efcf305b621e75b949a48a45";
+    private static final String M_RED = "b445bb340aa5a3000727b0e5abdfa4ce";
+
+    // Ordering
+    @Test
+    void shouldJoinValuesInDisplayOrder() {
+        List<ProductVariantOption> options = List.of(option(2L, "Size", 1), option(1L, "Color", 0));
+
+        assertEquals(RED_M, OptionHashUtils.hash(Map.of("Size", "M", "Color", "Red"), options));
+    }
+
+    @Test
+    void shouldBreakDisplayOrderTiesById() {
+        List<ProductVariantOption> options = List.of(option(5L, "Color", 0), option(3L, "Size", 0));
+
+        assertEquals(M_RED, OptionHashUtils.hash(Map.of("Color", "Red", "Size", "M"), options));
+    }
+
+    @Test
+    void shouldPutNullDisplayOrderLast() {
+        List<ProductVariantOption> options = List.of(option(1L, "Color", null), option(2L, "Size", 0));
+
+        assertEquals(M_RED, OptionHashUtils.hash(Map.of("Color", "Red", "Size", "M"), options));
+    }
+
+    // Values
+    @Test
+    void shouldSkipMissingValues() {
+        List<ProductVariantOption> options = List.of(option(1L, "Color", 0), option(2L, "Size", 1));
+
+        assertEquals("ee38e4d5dd68c4e440825018d549cb47", OptionHashUtils.hash(Map.of("Color", "Red"), options));
+    }
+
+    @Test
+    void shouldHashUtf8Bytes() {
+        List<ProductVariantOption> options = List.of(option(1L, "Màu", 0), option(2L, "Size", 1));
+
+        assertEquals("c9d3d272544b4e8865a0e478da6c5f75", OptionHashUtils.hash(Map.of("Màu", "Đỏ", "Size", "XL"), options));
+    }
+
+    @Test
+    void shouldHashEmptyStringValue() {
+        // string_agg('') is '' (not NULL), so md5 of the empty string
+        assertEquals("d41d8cd98f00b204e9800998ecf8427e",
+                OptionHashUtils.hash(Map.of("Color", ""), List.of(option(1L, "Color", 0))));
+    }
+
+    @Test
+    void shouldReturnNullWhenNoOptionHasValue() {
+        List<ProductVariantOption> options = List.of(option(1L, "Color", 0));
+
+        assertNull(OptionHashUtils.hash(Map.of(), options));
+        assertNull(OptionHashUtils.hash(null, options));
+        assertNull(OptionHashUtils.hash(Map.of("Size", "M"), options));
+    }
+
+    private static ProductVariantOption option(Long id, String name, Integer displayOrder) {
+        ProductVariantOption option = ProductVariantOption.builder()
+                .optionName(name)
+                .optionValues(new String[0])
+                .displayOrder(displayOrder)
+                .build();
+        option.setId(id);
+        return option;
+    }
+}
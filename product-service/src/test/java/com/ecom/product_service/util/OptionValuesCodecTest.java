@@ -0,0 +1,58 @@
+package com.ecom.product_service.util;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import com.ecom.product_service.model.ProductVariant;
+
+/**
+ * OptionValuesCodec and the decoded map ProductVariant memoizes on top of it.
+ */
+class OptionValuesCodecTest {
+
+    // Codec
+    @Test
+    void shouldDecodeInJsonKeyOrder() {
+        Map<String, String> values = OptionValuesCodec.decode("{\"Size\":\"M\",\"Color\":\"Red\"}");
+
+        assertEquals(Map.of("Size", "M", "Color", "Red"), values);
+        assertEquals(List.of("Size", "Color"), List.copyOf(values.keySet()));
+    }
+
+    @Test
+    void shouldShareOneUnmodifiableMapPerJsonText() {
+        // Distinct String instances with the same text hit the same entry
+        Map<String, String> first = OptionValuesCodec.decode(new String("{\"Color\":\"Green\"}"));
+        Map<String, String> second = OptionValuesCodec.decode(new String("{\"Color\":\"Green\"}"));
+
+        assertSame(first, second);
+        assertThrows(UnsupportedOperationException.class, () -> first.put("Size", "L"));
+    }
+
+    @Test
+    void shouldReturnNullForBlankOrUnreadableJson() {
+        assertNull(OptionValuesCodec.decode(null));
+        assertNull(OptionValuesCodec.decode("  "));
+        assertNull(OptionValuesCodec.decode("{\"Color\":"));
+    }
+
+    // ProductVariant memo
+    @Test
+    void shouldDecodeVariantValuesAgainAfterJsonChanges() {
+        ProductVariant variant = ProductVariant.builder()
+                .optionValuesJson("{\"Color\":\"Red\"}")
+                .build();
+        Map<String, String> red = variant.getOptionValues();
+        assertSame(red, variant.getOptionValues());
+
+        variant.setOptionValuesJson("{\"Color\":\"Blue\"}");
+
+        assertEquals(Map.of("Color", "Blue"), variant.getOptionValues());
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecom.product_service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+class SearchQueryUtilsTest {
+
+    // Prefix tsquery
+    @Test
+    void shouldJoinTokensAsPrefixTerms() {
+        assertEquals("iphone:* & 15:* & pro:*", SearchQueryUtils.toPrefixTsQuery("iPhone 15 Pro"));
+    }
+
+    @Test
+    void shouldFoldTokensBeforeBuildingTsQuery() {
+        assertEquals("dien:* & thoai:* & 15:*", SearchQueryUtils.toPrefixTsQuery("Điện thoại 15"));
+    }
+
+    @Test
+    void shouldDropTsQueryOperatorsAndPunctuation() {
+        assertEquals("usb:* & c:* & cable:*", SearchQueryUtils.toPrefixTsQuery("usb-c & !cable:*"));
+    }
+
+    @Test
+    void shouldCapTokenCount() {
+        assertEquals("a:* & b:* & c:* & d:* & e:* & f:* & g:* & h:*",
+                SearchQueryUtils.toPrefixTsQuery("a b c d e f g h i j"));
+    }
+
+    @Test
+    void shouldReturnNullWithoutSearchableToken() {
+        assertNull(SearchQueryUtils.toPrefixTsQuery(null));
+        assertNull(SearchQueryUtils.toPrefixTsQuery("   "));
+        assertNull(SearchQueryUtils.toPrefixTsQuery("&|!():*"));
+    }
+
+    // Accent folding
+    @Test
+    void shouldFoldDiacriticsIncludingDStroke() {
+        assertEquals("dien thoai", SearchQueryUtils.foldAccents("Điện Thoại"));
+        assertEquals("ao thun nu", SearchQueryUtils.foldAccents("Áo THUN Nữ"));
+        assertEquals("duong", SearchQueryUtils.foldAccents("đường"));
+    }
+
+    // Fuzzy term
+    @Test
+    void shouldCollapseWhitespaceInFuzzyTerm() {
+        assertEquals("samsumg galaxy", SearchQueryUtils.toFuzzyTerm("  Samsumg \t Galaxy "));
+    }
+
+    @Test
+    void shouldCapFuzzyTermLength() {
+        assertEquals(100, SearchQueryUtils.toFuzzyTerm("x".repeat(150)).length());
+        assertNull(SearchQueryUtils.toFuzzyTerm(" "));
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecom.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Primary + read replicas behind one DataSource.
+ *
+ * LazyConnectionDataSourceProxy defers the physical connection until the first statement,
+ * by which time the transaction manager has marked it read-only; read-only connections
+ * come from {@link ReplicaRoutingDataSource}, everything else (writes, Flyway) from the primary.
+ * Disabled by default, the auto-configured single DataSource is used then.
+ *
+ * Shared by the services as an auto-configuration (see META-INF/spring), ordered before
+ * Boot's DataSourceAutoConfiguration so that one backs off when routing is enabled.
+ */
+@AutoConfiguration(beforeName = "org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${spring.datasource.driver-class-name:org.postgresql.Driver}") String driverClassName) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .driverClassName(driverClassName)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+            ReplicaRoutingProperties properties) {
+        List<ReplicaRoutingProperties.Replica> configured = properties.getReplicas().stream()
+                .filter(replica -> replica.getUrl() != null && !replica.getUrl().isBlank())
+                .toList();
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < configured.size(); i++) {
+            replicas.add(createReplica(primaryDataSource, configured.get(i), i));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.getMaxLag());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public PrimaryPinningFilter primaryPinningFilter(ReplicaRoutingProperties properties) {
+        return new PrimaryPinningFilter(properties);
+    }
+
+    // Same pool settings as the primary (sizes, timeouts, connection-init-sql), own URL and credentials
+    private HikariDataSource createReplica(HikariDataSource primary, ReplicaRoutingProperties.Replica replica, int index) {
+        HikariDataSource dataSource = new HikariDataSource();
+        primary.copyStateTo(dataSource);
+        dataSource.setJdbcUrl(replica.getUrl());
+        if (StringUtils.hasText(replica.getUsername())) {
+            dataSource.setUsername(replica.getUsername());
+        }
+        if (StringUtils.hasText(replica.getPassword())) {
+            dataSource.setPassword(replica.getPassword());
+        }
+        dataSource.setPoolName("replica-" + index);
+        dataSource.setReadOnly(true);
+        // Do not fail startup when a replica is down; the lag check keeps it out of rotation
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+}
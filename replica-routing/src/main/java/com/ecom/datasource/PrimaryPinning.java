@@ -0,0 +1,41 @@
+package com.ecom.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Forces read-only transactions on the current thread to use the primary (read-your-writes).
+ * Calls nest; the thread is unpinned when the outermost call returns.
+ */
+public final class PrimaryPinning {
+
+    private static final ThreadLocal<Integer> DEPTH = ThreadLocal.withInitial(() -> 0);
+
+    private PrimaryPinning() {
+    }
+
+    public static boolean isPinned() {
+        return DEPTH.get() > 0;
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        pin();
+        try {
+            return action.get();
+        } finally {
+            unpin();
+        }
+    }
+
+    static void pin() {
+        DEPTH.set(DEPTH.get() + 1);
+    }
+
+    static void unpin() {
+        int depth = DEPTH.get() - 1;
+        if (depth <= 0) {
+            DEPTH.remove();
+        } else {
+            DEPTH.set(depth);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.ecom.datasource;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Read-your-writes for HTTP clients. A request is served from the primary when it is a write
+ * (its read-only lookups must see its own changes), sends X-Read-Primary: true, or carries
+ * the cookie set by a recent write from the same client (valid for datasource.routing.pin-after-write).
+ * Registered by {@link DataSourceRoutingConfig}.
+ */
+@RequiredArgsConstructor
+public class PrimaryPinningFilter extends OncePerRequestFilter {
+
+    public static final String PIN_HEADER = "X-Read-Primary";
+    public static final String PIN_COOKIE = "readPrimary";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ReplicaRoutingProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (write) {
+            // Set before the body is written; harmless if the write fails
+            ResponseCookie cookie = ResponseCookie.from(PIN_COOKIE, "1")
+                    .httpOnly(true)
+                    .path("/")
+                    .maxAge(properties.getPinAfterWrite())
+                    .build();
+            response.addHeader("Set-Cookie", cookie.toString());
+        }
+
+        if (!write && !isPinRequested(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        PrimaryPinning.pin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrimaryPinning.unpin();
+        }
+    }
+
+    private boolean isPinRequested(HttpServletRequest request) {
+        if ("true".equalsIgnoreCase(request.getHeader(PIN_HEADER))) {
+            return true;
+        }
+
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (PIN_COOKIE.equals(cookie.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
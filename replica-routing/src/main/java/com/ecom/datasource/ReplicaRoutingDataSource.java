@@ -0,0 +1,138 @@
+package com.ecom.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-only side of the routing setup: hands out connections from a healthy replica
+ * (round-robin) and falls back to the primary when every replica is down or lagging,
+ * or when the current thread is pinned with {@link PrimaryPinning}.
+ *
+ * Replica lag is polled on a schedule; a replica whose connection attempt fails is
+ * marked unhealthy until the next successful check.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    // Caught-up standbys report 0 even when the primary is idle; a non-standby (plain second instance) is always 0
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<ReplicaNode> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(ReplicaNode::new).toList();
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (PrimaryPinning.isPinned()) {
+            return primary.getConnection();
+        }
+
+        List<ReplicaNode> healthy = replicas.stream().filter(ReplicaNode::isHealthy).toList();
+        if (healthy.isEmpty()) {
+            return primary.getConnection();
+        }
+
+        ReplicaNode replica = healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+        try {
+            Connection connection = replica.dataSource.getConnection();
+            connection.setReadOnly(true);
+            return connection;
+        } catch (SQLException e) {
+            log.warn("Replica {} unavailable, reading from primary: {}", replica.name(), e.getMessage());
+            replica.healthy = false;
+            return primary.getConnection();
+        }
+    }
+
+    // Replica pools are bound to their configured credentials; explicit ones can only go to the primary
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.lag-check-interval:5s}")
+    public void checkReplicaLag() {
+        replicas.forEach(this::checkReplica);
+    }
+
+    private void checkReplica(ReplicaNode replica) {
+        boolean wasHealthy = replica.healthy;
+        try (Connection connection = replica.dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+            try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                Duration lag = Duration.ofMillis((long) (rs.getDouble(1) * 1000));
+                replica.lag = lag;
+                replica.healthy = lag.compareTo(maxLag) <= 0;
+            }
+        } catch (SQLException e) {
+            replica.healthy = false;
+            log.debug("Replica {} lag check failed: {}", replica.name(), e.getMessage());
+        }
+
+        if (wasHealthy != replica.healthy) {
+            if (replica.healthy) {
+                log.info("Replica {} back in rotation (lag {} ms)", replica.name(), replica.lag.toMillis());
+            } else {
+                log.warn("Replica {} out of rotation (lag {} ms, max {} ms)",
+                        replica.name(), replica.lag.toMillis(), maxLag.toMillis());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static class ReplicaNode {
+
+        private final HikariDataSource dataSource;
+
+        // Optimistic until the first lag check says otherwise
+        private volatile boolean healthy = true;
+        private volatile Duration lag = Duration.ZERO;
+
+        ReplicaNode(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        boolean isHealthy() {
+            return healthy;
+        }
+
+        String name() {
+            return dataSource.getPoolName();
+        }
+    }
+}
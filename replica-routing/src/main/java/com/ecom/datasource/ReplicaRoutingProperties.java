@@ -0,0 +1,38 @@
+package com.ecom.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * datasource.routing.* - read replicas for @Transactional(readOnly = true).
+ * Replica pools inherit every spring.datasource.hikari setting of the primary;
+ * username / password default to the primary's when not set.
+ */
+@Data
+@ConfigurationProperties(prefix = "datasource.routing")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Replicas further behind than this are skipped until they catch up
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    // How long a client that just wrote keeps reading from the primary
+    private Duration pinAfterWrite = Duration.ofSeconds(10);
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
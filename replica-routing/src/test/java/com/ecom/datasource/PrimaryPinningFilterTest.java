@@ -0,0 +1,55 @@
+package com.ecom.datasource;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+
+class PrimaryPinningFilterTest {
+
+    private final PrimaryPinningFilter filter = new PrimaryPinningFilter(new ReplicaRoutingProperties());
+    private final AtomicBoolean pinnedInChain = new AtomicBoolean();
+    private final FilterChain chain = (request, response) -> pinnedInChain.set(PrimaryPinning.isPinned());
+
+    @Test
+    void shouldLeavePlainReadsOnReplicas() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/products"), response, chain);
+
+        assertFalse(pinnedInChain.get());
+        assertNull(response.getHeader("Set-Cookie"));
+    }
+
+    @Test
+    void shouldPinWritesAndSetPinCookie() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/v1/products/1"), response, chain);
+
+        assertTrue(pinnedInChain.get());
+        assertTrue(response.getHeader("Set-Cookie").startsWith(PrimaryPinningFilter.PIN_COOKIE + "=1"));
+        assertFalse(PrimaryPinning.isPinned());
+    }
+
+    @Test
+    void shouldPinReadsThatAskForPrimary() throws Exception {
+        MockHttpServletRequest withHeader = new MockHttpServletRequest("GET", "/api/v1/products/1");
+        withHeader.addHeader(PrimaryPinningFilter.PIN_HEADER, "true");
+        filter.doFilter(withHeader, new MockHttpServletResponse(), chain);
+        assertTrue(pinnedInChain.get());
+
+        pinnedInChain.set(false);
+        MockHttpServletRequest withCookie = new MockHttpServletRequest("GET", "/api/v1/products/1");
+        withCookie.setCookies(new Cookie(PrimaryPinningFilter.PIN_COOKIE, "1"));
+        filter.doFilter(withCookie, new MockHttpServletResponse(), chain);
+        assertTrue(pinnedInChain.get());
+    }
+}
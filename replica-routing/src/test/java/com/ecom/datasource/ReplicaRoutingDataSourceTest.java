@@ -0,0 +1,122 @@
+package com.ecom.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final HikariDataSource replicaA = mock(HikariDataSource.class);
+    private final HikariDataSource replicaB = mock(HikariDataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection connectionA = mock(Connection.class);
+    private final Connection connectionB = mock(Connection.class);
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replicaA.getConnection()).thenReturn(connectionA);
+        when(replicaB.getConnection()).thenReturn(connectionB);
+        routing = new ReplicaRoutingDataSource(primary, List.of(replicaA, replicaB), Duration.ofSeconds(5));
+    }
+
+    // Replica selection
+    @Test
+    void shouldRoundRobinOverReplicas() throws SQLException {
+        assertSame(connectionA, routing.getConnection());
+        assertSame(connectionB, routing.getConnection());
+        assertSame(connectionA, routing.getConnection());
+        verify(connectionA).setReadOnly(true);
+    }
+
+    @Test
+    void shouldUsePrimaryWhilePinned() throws SQLException {
+        Connection pinned = PrimaryPinning.onPrimary(() -> {
+            try {
+                return routing.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertSame(primaryConnection, pinned);
+        assertSame(connectionA, routing.getConnection());
+    }
+
+    @Test
+    void shouldFallBackToPrimaryAndDropFailingReplica() throws SQLException {
+        when(replicaA.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        assertSame(primaryConnection, routing.getConnection());
+        assertSame(connectionB, routing.getConnection());
+        assertSame(connectionB, routing.getConnection());
+    }
+
+    // Lag check
+    @Test
+    void shouldTakeLaggingReplicaOutOfRotationUntilItCatchesUp() throws SQLException {
+        ResultSet lagA = lagResult(connectionA);
+        lagResult(connectionB);
+        when(lagA.getDouble(1)).thenReturn(30.0);
+
+        routing.checkReplicaLag();
+        assertSame(connectionB, routing.getConnection());
+        assertSame(connectionB, routing.getConnection());
+
+        when(lagA.getDouble(1)).thenReturn(0.5);
+        routing.checkReplicaLag();
+        List<Connection> rotation = List.of(routing.getConnection(), routing.getConnection());
+        assertTrue(rotation.contains(connectionA));
+    }
+
+    @Test
+    void shouldUsePrimaryWhenNoReplicaIsHealthy() throws SQLException {
+        when(replicaA.getConnection()).thenThrow(new SQLException("down"));
+        when(replicaB.getConnection()).thenThrow(new SQLException("down"));
+
+        routing.checkReplicaLag();
+
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    // Pinning
+    @Test
+    void shouldUnpinOnlyAfterOutermostCall() {
+        PrimaryPinning.onPrimary(() -> {
+            PrimaryPinning.onPrimary(() -> null);
+            assertTrue(PrimaryPinning.isPinned());
+            return null;
+        });
+
+        assertFalse(PrimaryPinning.isPinned());
+    }
+
+    private static ResultSet lagResult(Connection connection) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        return resultSet;
+    }
+}